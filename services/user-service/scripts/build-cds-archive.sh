@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Builds a class-data-sharing (CDS) archive for user-service.
+#
+# Usage: scripts/build-cds-archive.sh [--aot]
+#   --aot  train with Spring AOT enabled (jar must be built with ./mvnw -Paot package)
+#
+# The jar is extracted to target/cds and a training run starts the application context
+# and exits right after refresh, recording the loaded classes in target/cds/application.jsa.
+# The fast-start profile keeps Hibernate from touching the database, so no Postgres is needed.
+#
+# Run the archived application with:
+#   java -XX:SharedArchiveFile=target/cds/application.jsa [-Dspring.aot.enabled=true] \
+#        -jar target/cds/user-service-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAR_NAME="user-service-0.0.1-SNAPSHOT.jar"
+OUT_DIR="target/cds"
+AOT_FLAG=""
+
+if [[ "${1:-}" == "--aot" ]]; then
+    AOT_FLAG="-Dspring.aot.enabled=true"
+fi
+
+if [[ ! -f "target/$JAR_NAME" ]]; then
+    echo "target/$JAR_NAME not found, build it first with ./mvnw package" >&2
+    exit 1
+fi
+
+rm -rf "$OUT_DIR"
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$OUT_DIR"
+
+java -XX:ArchiveClassesAtExit="$OUT_DIR/application.jsa" \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.profiles.active=dev,fast-start \
+     $AOT_FLAG \
+     -jar "$OUT_DIR/$JAR_NAME"
+
+echo "CDS archive written to $OUT_DIR/application.jsa"
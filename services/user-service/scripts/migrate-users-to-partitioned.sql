@@ -0,0 +1,36 @@
+-- Moves an existing (Hibernate-generated) users table to the hash-partitioned layout of
+-- db/schema/users-partitioned.sql, in one transaction. The old table is kept as users_unpartitioned
+-- with its indexes renamed old_*; drop it once the partitioned profile runs fine.
+--
+-- Usage: psql -f scripts/migrate-users-to-partitioned.sql user_service_db
+-- Stop the service first: the copy holds locks on both tables until it commits.
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+\ir ../src/main/resources/db/schema/user-activity.sql
+ALTER TABLE users RENAME TO users_unpartitioned;
+
+DO $$
+DECLARE
+    idx record;
+BEGIN
+    FOR idx IN SELECT indexname FROM pg_indexes
+               WHERE schemaname = current_schema() AND tablename = 'users_unpartitioned' LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.indexname, left('old_' || idx.indexname, 63));
+    END LOOP;
+END
+$$;
+
+\ir ../src/main/resources/db/schema/users-partitioned.sql
+
+-- The triggers fill user_emails and user_phones; a duplicate email or phone number aborts the whole migration
+INSERT INTO users (id, email, first_name, last_name, phone_number, status, created_at, updated_at, last_seen_at)
+SELECT id, email, first_name, last_name, phone_number, status, created_at, updated_at, last_seen_at
+FROM users_unpartitioned;
+
+COMMIT;
+
+\ir ../src/main/resources/db/schema/user-search.sql
+ANALYZE users;
+ANALYZE user_emails;
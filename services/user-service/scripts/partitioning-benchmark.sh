@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+# Compares the unpartitioned users table with the hash-partitioned layout (db/schema/users-partitioned.sql):
+# insert throughput, point lookups by id and by email, and VACUUM time after updating 10% of the rows.
+#
+# Usage: scripts/partitioning-benchmark.sh <database> [rows]
+#
+# Environment:
+#   CLIENTS   pgbench clients (default: 8)
+#   DURATION  seconds per pgbench run (default: 60)
+#   PGHOST, PGPORT, PGUSER, PGPASSWORD  as for psql
+#
+# Each layout is built in its own schema (bench_plain, bench_partitioned) of the given database, seeded with
+# the same rows (id = md5(n)::uuid, email = user<n>@example.com), and dropped at the end.
+# Requires psql and pgbench of PostgreSQL 13 or later.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+DATABASE="${1:?usage: $0 <database> [rows]}"
+ROWS="${2:-5000000}"
+CLIENTS="${CLIENTS:-8}"
+DURATION="${DURATION:-60}"
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+psql_in() {
+    local schema="$1"
+    shift
+    PGOPTIONS="-c search_path=$schema" psql -X -q -v ON_ERROR_STOP=1 -d "$DATABASE" "$@"
+}
+
+create_plain() {
+    psql_in bench_plain <<'SQL'
+CREATE TABLE users (
+    id UUID PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+CREATE UNIQUE INDEX idx_user_email ON users (email);
+CREATE INDEX idx_user_status ON users (status);
+CREATE INDEX idx_user_updated_at ON users (updated_at, id);
+SQL
+}
+
+create_partitioned() {
+    psql_in bench_partitioned -f src/main/resources/db/schema/users-partitioned.sql
+}
+
+seed() {
+    psql_in "$1" -v rows="$ROWS" <<'SQL'
+INSERT INTO users (id, email, first_name, last_name, phone_number, status, created_at, updated_at)
+SELECT md5(n::text)::uuid, 'user' || n || '@example.com', 'John', 'Doe', NULL, 'ACTIVE', now(), now()
+FROM generate_series(1, :rows) AS n;
+VACUUM ANALYZE;
+SQL
+}
+
+cat > "$WORK_DIR/insert.sql" <<'SQL'
+INSERT INTO users (id, email, first_name, last_name, phone_number, status, created_at, updated_at)
+VALUES (gen_random_uuid(), gen_random_uuid() || '@example.com', 'Jane', 'Roe', NULL, 'ACTIVE', now(), now());
+SQL
+
+cat > "$WORK_DIR/find-by-id.sql" <<SQL
+\set n random(1, $ROWS)
+SELECT * FROM users WHERE id = md5(:n::text)::uuid;
+SQL
+
+cat > "$WORK_DIR/find-by-email-plain.sql" <<SQL
+\set n random(1, $ROWS)
+SELECT * FROM users WHERE email = 'user' || :n || '@example.com';
+SQL
+
+cat > "$WORK_DIR/find-by-email-partitioned.sql" <<SQL
+\set n random(1, $ROWS)
+SELECT u.* FROM user_emails e JOIN users u ON u.id = e.user_id WHERE e.email = 'user' || :n || '@example.com';
+SQL
+
+run_pgbench() {
+    local schema="$1" script="$2"
+    PGOPTIONS="-c search_path=$schema" pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+        -f "$WORK_DIR/$script" "$DATABASE" | grep -E '^(tps|latency average)'
+}
+
+measure_vacuum() {
+    local schema="$1"
+    psql_in "$schema" -c "UPDATE users SET updated_at = now() WHERE hashtext(id::text) % 10 = 0" >/dev/null
+    local start end
+    start=$(date +%s%N)
+    psql_in "$schema" -c "VACUUM users" >/dev/null
+    end=$(date +%s%N)
+    echo "VACUUM users: $(( (end - start) / 1000000 )) ms"
+}
+
+for layout in plain partitioned; do
+    schema="bench_$layout"
+    echo "== $layout ($ROWS rows, $CLIENTS clients, ${DURATION}s per run)"
+    psql -X -q -d "$DATABASE" -c "DROP SCHEMA IF EXISTS $schema CASCADE; CREATE SCHEMA $schema;"
+    "create_$layout"
+    seed "$schema"
+
+    echo "-- find by id";     run_pgbench "$schema" find-by-id.sql
+    echo "-- find by email";  run_pgbench "$schema" "find-by-email-$layout.sql"
+    echo "-- insert";         run_pgbench "$schema" insert.sql
+    echo "-- vacuum";         measure_vacuum "$schema"
+
+    psql -X -q -d "$DATABASE" -c "DROP SCHEMA $schema CASCADE;"
+done
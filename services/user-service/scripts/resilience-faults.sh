@@ -0,0 +1,91 @@
+#!/usr/bin/env bash
+# Injects database faults through Toxiproxy and shows how user-service responds.
+#
+# Usage: scripts/resilience-faults.sh [scenario...]
+#   latency  adds 3s of latency to every database packet: statement timeouts and slow calls open the circuit
+#   outage   disables the proxy: connection failures open the circuit
+#   stall    stops forwarding data without closing connections (Toxiproxy "timeout" toxic)
+# Without arguments, all scenarios run in order. Before each one the proxy is reset, a user is registered
+# and read once, so that it is in the fallback cache.
+#
+# Prerequisites:
+#   docker compose -f src/main/java/com/ecommerce/user_service/infrastructure/docker/docker-compose.yml \
+#       --profile resilience up -d postgres-user toxiproxy
+#   SPRING_PROFILES_ACTIVE=dev,resilience ./mvnw spring-boot:run
+#
+# Environment:
+#   TOXIPROXY  Toxiproxy API (default: http://localhost:8474)
+#   BASE_URL   user-service base URL (default: http://localhost:8081/api)
+#   REQUESTS   requests per phase (default: 40)
+#
+# For each phase, prints the HTTP statuses of the requests (200 from the database or the fallback cache,
+# 404 for the unknown user, 503 when refused), their total time, and the persistence health.
+set -euo pipefail
+
+TOXIPROXY="${TOXIPROXY:-http://localhost:8474}"
+BASE_URL="${BASE_URL:-http://localhost:8081/api}"
+REQUESTS="${REQUESTS:-40}"
+PROXY="postgres-user"
+
+toxiproxy() {
+    local method="$1" path="$2" body="${3:-}"
+    curl -sf -X "$method" -H 'Content-Type: application/json' ${body:+-d "$body"} "$TOXIPROXY$path" > /dev/null
+}
+
+reset_proxy() {
+    curl -sf -X POST "$TOXIPROXY/reset" > /dev/null
+    if ! curl -sf "$TOXIPROXY/proxies/$PROXY" > /dev/null; then
+        toxiproxy POST /proxies \
+            "{\"name\":\"$PROXY\",\"listen\":\"0.0.0.0:15433\",\"upstream\":\"postgres-user:5432\",\"enabled\":true}"
+    fi
+}
+
+register_user() {
+    curl -sf -X POST -H 'Content-Type: application/json' \
+        -d "{\"email\":\"resilience-$RANDOM$RANDOM@example.com\",\"firstName\":\"Fault\",\"lastName\":\"Injection\"}" \
+        "$BASE_URL/v1/users" | sed -E 's/.*"id":"([^"]+)".*/\1/'
+}
+
+# Reads a known (cached) user and an unknown one, REQUESTS times each, and prints the status counts.
+phase() {
+    local label="$1" user_id="$2" start end
+    start=$(date +%s%N)
+    for _ in $(seq "$REQUESTS"); do
+        curl -s -o /dev/null -w '%{http_code}\n' --max-time 10 "$BASE_URL/v1/users/$user_id" || true
+        curl -s -o /dev/null -w '%{http_code}\n' --max-time 10 "$BASE_URL/v1/users/$(uuidgen)" || true
+    done | sort | uniq -c | tr '\n' ' ' | sed "s/^/  $label: statuses /"
+    end=$(date +%s%N)
+    echo "in $(( (end - start) / 1000000 )) ms"
+    echo "  health: $(curl -s "$BASE_URL/actuator/health/persistence")"
+}
+
+run_scenario() {
+    local scenario="$1" user_id
+    echo "== $scenario"
+    reset_proxy
+    user_id="$(register_user)"
+    curl -sf -o /dev/null "$BASE_URL/v1/users/$user_id"
+    phase "healthy" "$user_id"
+
+    case "$scenario" in
+        latency) toxiproxy POST "/proxies/$PROXY/toxics" \
+                     '{"name":"latency","type":"latency","stream":"downstream","attributes":{"latency":3000}}' ;;
+        outage)  toxiproxy POST "/proxies/$PROXY" '{"enabled":false}' ;;
+        stall)   toxiproxy POST "/proxies/$PROXY/toxics" \
+                     '{"name":"stall","type":"timeout","stream":"downstream","attributes":{"timeout":0}}' ;;
+        *)       echo "unknown scenario: $scenario" >&2; exit 1 ;;
+    esac
+    phase "faulty" "$user_id"
+
+    reset_proxy
+    # The circuit lets trial calls through once its open state has elapsed
+    sleep 12
+    phase "recovered" "$user_id"
+}
+
+if [[ $# -eq 0 ]]; then
+    set -- latency outage stall
+fi
+for scenario in "$@"; do
+    run_scenario "$scenario"
+done
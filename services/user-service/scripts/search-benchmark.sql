@@ -0,0 +1,66 @@
+-- Latency of the trigram user search (TrigramUserSearch) on a large users table.
+--
+-- Usage: psql -v rows=2000000 -f scripts/search-benchmark.sql <database>
+--
+-- Seeds :rows synthetic users into users_search_benchmark (a copy of the users table
+-- with the indexes of db/schema/user-search.sql), then prints EXPLAIN ANALYZE for typo'd
+-- name, email prefix and phone queries, first page and a deep keyset page.
+-- Run it twice and read the second run, so the indexes and table are cached.
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 2000000
+\endif
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER FUNCTION word_similarity_op(text, text) COST 100;
+
+DROP TABLE IF EXISTS users_search_benchmark;
+CREATE TABLE users_search_benchmark (LIKE users INCLUDING DEFAULTS);
+
+INSERT INTO users_search_benchmark (id, email, first_name, last_name, phone_number, status, created_at, updated_at)
+SELECT gen_random_uuid(),
+       'user' || n || '.' || (ARRAY['smith','jones','hamilton','hopper','lovelace','turing'])[1 + n % 6] || '@example.com',
+       (ARRAY['Ada','Alan','Grace','Margaret','Alexander','Alexandra','Barbara','Edsger'])[1 + n % 8],
+       (ARRAY['Lovelace','Turing','Hopper','Hamilton','Liskov','Dijkstra','Knuth','Ritchie'])[1 + (n / 8) % 8] || (n % 1000),
+       '+3491' || lpad((n % 10000000)::text, 7, '0'),
+       'ACTIVE', now(), now()
+FROM generate_series(1, :rows) AS n;
+
+ALTER TABLE users_search_benchmark ADD PRIMARY KEY (id);
+CREATE INDEX ON users_search_benchmark USING gin ((first_name || ' ' || last_name) gin_trgm_ops);
+CREATE INDEX ON users_search_benchmark USING gin (email gin_trgm_ops);
+CREATE INDEX ON users_search_benchmark USING gin (phone_number gin_trgm_ops);
+ANALYZE users_search_benchmark;
+
+-- Same statement as TrigramUserSearch, against the benchmark table
+PREPARE user_search(text, double precision, uuid, int) AS
+SELECT id, email, first_name, last_name, phone_number, status, created_at, updated_at, score
+FROM (
+    SELECT u.*, GREATEST(
+            word_similarity($1, (u.first_name || ' ' || u.last_name)),
+            word_similarity($1, u.email),
+            word_similarity($1, COALESCE(u.phone_number, ''))) AS score
+    FROM users_search_benchmark u
+    WHERE $1 <% (u.first_name || ' ' || u.last_name)
+       OR $1 <% u.email
+       OR $1 <% u.phone_number
+) ranked
+WHERE $2 IS NULL OR score < $2 OR (score = $2 AND id > $3)
+ORDER BY score DESC, id
+LIMIT $4;
+
+\echo '== typo in name, first page'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE user_search('Margret Hamiltn123', NULL, NULL, 21);
+
+\echo '== email prefix, first page'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE user_search('user4242.hamil', NULL, NULL, 21);
+
+\echo '== phone fragment, first page'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE user_search('3491004242', NULL, NULL, 21);
+
+\echo '== typo in name, keyset page after a mid-ranked cursor'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE user_search('Margret Hamiltn123', 0.6, '80000000-0000-0000-0000-000000000000', 21);
+
+DEALLOCATE user_search;
+DROP TABLE users_search_benchmark;
@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Measures user-service time-to-first-request and resident memory (RSS).
+#
+# Usage: scripts/startup-benchmark.sh <mode> [runs]
+#   jar      plain executable jar
+#   cds      extracted jar with the CDS archive (scripts/build-cds-archive.sh)
+#   aot-cds  as cds, with Spring AOT enabled (./mvnw -Paot package, scripts/build-cds-archive.sh --aot)
+#   native   GraalVM native image (./mvnw -Pnative native:compile)
+#
+# Environment:
+#   SPRING_PROFILES_ACTIVE  profiles to start with (default: dev,fast-start)
+#   PORT                    server port (default: 8081)
+#
+# Time-to-first-request is measured from process start until the first HTTP response
+# from /api/actuator/health, whatever its status. RSS is sampled right after that response.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODE="${1:?usage: $0 <jar|cds|aot-cds|native> [runs]}"
+RUNS="${2:-5}"
+PORT="${PORT:-8081}"
+PROFILES="${SPRING_PROFILES_ACTIVE:-dev,fast-start}"
+JAR_NAME="user-service-0.0.1-SNAPSHOT.jar"
+URL="http://localhost:$PORT/api/actuator/health"
+
+case "$MODE" in
+    jar)     CMD=(java -jar "target/$JAR_NAME") ;;
+    cds)     CMD=(java -XX:SharedArchiveFile=target/cds/application.jsa -jar "target/cds/$JAR_NAME") ;;
+    aot-cds) CMD=(java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true
+                  -jar "target/cds/$JAR_NAME") ;;
+    native)  CMD=(target/user-service) ;;
+    *)       echo "unknown mode: $MODE" >&2; exit 1 ;;
+esac
+
+rss_kb() {
+    if [[ -r "/proc/$1/status" ]]; then
+        awk '/VmRSS/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+now_ms() {
+    python3 -c 'import time; print(int(time.time() * 1000))'
+}
+
+printf "%-4s %12s %10s\n" "run" "first-req-ms" "rss-mb"
+TIMES=()
+
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    SPRING_PROFILES_ACTIVE="$PROFILES" "${CMD[@]}" --server.port="$PORT" > "target/startup-run-$run.log" 2>&1 &
+    pid=$!
+
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" != "000" ]]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "user-service exited early, see target/startup-run-$run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    TIMES+=("$elapsed")
+    printf "%-4s %12s %10s\n" "$run" "$elapsed" "$(( rss / 1024 ))"
+done
+
+median=$(printf "%s\n" "${TIMES[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+echo "median time-to-first-request ($MODE): ${median} ms"
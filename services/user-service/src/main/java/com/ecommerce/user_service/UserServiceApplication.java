@@ -2,8 +2,10 @@ package com.ecommerce.user_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication; // ¡Correcto!
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class UserServiceApplication {
 
     public static void main(String[] args) {
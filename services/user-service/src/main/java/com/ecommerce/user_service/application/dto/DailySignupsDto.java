@@ -0,0 +1,9 @@
+package com.ecommerce.user_service.application.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Number of users created on one day.
+ */
+public record DailySignupsDto(LocalDate day, long signups) {
+}
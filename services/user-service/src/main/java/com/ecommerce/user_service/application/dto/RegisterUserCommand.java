@@ -0,0 +1,30 @@
+package com.ecommerce.user_service.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Data needed to register a user.
+ * The password is left out of the JSON form, so it is not part of idempotency fingerprints, nor of toString.
+ *
+ * @param email       the email, unique across users
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param phoneNumber the phone number, optional
+ * @param password    the password to log in with, optional
+ */
+public record RegisterUserCommand(String email, String firstName, String lastName, String phoneNumber,
+                                  @JsonIgnore String password) {
+
+    /**
+     * A registration without a password.
+     */
+    public RegisterUserCommand(String email, String firstName, String lastName, String phoneNumber) {
+        this(email, firstName, lastName, phoneNumber, null);
+    }
+
+    @Override
+    public String toString() {
+        return "RegisterUserCommand{email=" + email + ", firstName=" + firstName + ", lastName=" + lastName
+                + ", phoneNumber=" + phoneNumber + '}';
+    }
+}
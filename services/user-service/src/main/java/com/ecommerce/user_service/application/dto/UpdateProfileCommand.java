@@ -0,0 +1,11 @@
+package com.ecommerce.user_service.application.dto;
+
+/**
+ * New profile data of a user.
+ *
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param phoneNumber the phone number, optional
+ */
+public record UpdateProfileCommand(String firstName, String lastName, String phoneNumber) {
+}
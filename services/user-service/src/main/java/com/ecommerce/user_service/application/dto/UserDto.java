@@ -0,0 +1,30 @@
+package com.ecommerce.user_service.application.dto;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user, as returned by the application services.
+ */
+public record UserDto(UUID id, String email, String firstName, String lastName, String phoneNumber,
+                      UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static UserDto from(User user) {
+        return new UserDto(user.getId(), user.getEmail().getAddress(), user.getFirstName(), user.getLastName(),
+                phoneValue(user.getPhoneNumber()), user.getStatus(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    public static UserDto from(UserSnapshot user) {
+        return new UserDto(user.id(), user.email().getAddress(), user.firstName(), user.lastName(),
+                phoneValue(user.phoneNumber()), user.status(), user.createdAt(), user.updatedAt());
+    }
+
+    private static String phoneValue(PhoneNumber phoneNumber) {
+        return phoneNumber != null ? phoneNumber.getValue() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.user_service.application.dto;
+
+import com.ecommerce.user_service.domain.model.UserStatus;
+
+import java.util.Map;
+
+/**
+ * Number of users by status, every status included.
+ */
+public record UserStatisticsDto(Map<UserStatus, Long> byStatus, long total) {
+}
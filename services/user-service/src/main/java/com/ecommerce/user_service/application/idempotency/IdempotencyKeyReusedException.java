@@ -0,0 +1,11 @@
+package com.ecommerce.user_service.application.idempotency;
+
+/**
+ * Thrown when an idempotency key is used again for a different request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key was already used for a different request: " + key);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.application.idempotency;
+
+/**
+ * State of an idempotency key.
+ *
+ * @param fingerprint the fingerprint of the request that claimed the key
+ * @param response    the serialized response, or {@code null} while the request is running
+ */
+public record IdempotencyRecord(String fingerprint, String response) {
+
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null);
+    }
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
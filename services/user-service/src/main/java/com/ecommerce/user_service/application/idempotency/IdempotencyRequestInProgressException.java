@@ -0,0 +1,11 @@
+package com.ecommerce.user_service.application.idempotency;
+
+/**
+ * Thrown when a request with the same idempotency key is still running after the wait timeout.
+ */
+public class IdempotencyRequestInProgressException extends RuntimeException {
+
+    public IdempotencyRequestInProgressException(String key) {
+        super("A request with the same idempotency key is in progress: " + key);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.user_service.application.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs operations at most once per idempotency key, returning the first response to retries.
+ * - Keys are scoped by operation, so the same key can be used for different operations
+ * - A request is identified by a SHA-256 fingerprint of its JSON form; reusing a key for a different
+ *   request fails with {@link IdempotencyKeyReusedException}
+ * - Concurrent duplicates wait for the first request (up to the wait timeout) and get its response
+ * - Only successful responses are recorded; on failure the key is released, so a retry runs again
+ */
+public class IdempotencyService {
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration lease;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper,
+                              Duration retention, Duration lease, Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs an operation once per key.
+     *
+     * @param operation    the operation name, scoping the key
+     * @param key          the idempotency key, or {@code null} to just run the operation
+     * @param request      the request, fingerprinted to detect key reuse
+     * @param responseType the type of the response, used to read recorded responses
+     * @param action       the operation
+     * @return the response of the operation, or the recorded response of an earlier request
+     * @throws IdempotencyKeyReusedException         if the key was used for a different request
+     * @throws IdempotencyRequestInProgressException if an earlier request is still running after the wait timeout
+     */
+    public <T> IdempotentResult<T> execute(String operation, String key, Object request,
+                                           Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResult<>(action.get(), false);
+        }
+
+        String scopedKey = operation + ':' + key;
+        String fingerprint = fingerprint(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            Optional<IdempotencyRecord> existing = store.claim(scopedKey, fingerprint, lease);
+            if (existing.isEmpty()) {
+                return new IdempotentResult<>(runClaimed(scopedKey, fingerprint, action), false);
+            }
+
+            IdempotencyRecord record = existing.get();
+            if (!record.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            if (record.isCompleted()) {
+                return new IdempotentResult<>(read(record.response(), responseType), true);
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IdempotencyRequestInProgressException(key);
+            }
+            try {
+                store.awaitRelease(scopedKey, Duration.ofNanos(remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyRequestInProgressException(key);
+            }
+        }
+    }
+
+    private <T> T runClaimed(String scopedKey, String fingerprint, Supplier<T> action) {
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            store.release(scopedKey, fingerprint);
+            throw e;
+        }
+
+        store.complete(scopedKey, fingerprint, write(response), retention);
+        return response;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot fingerprint request", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is supported by every JVM", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot serialize response", e);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot read recorded response", e);
+        }
+    }
+}
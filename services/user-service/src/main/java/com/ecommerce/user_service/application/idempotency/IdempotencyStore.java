@@ -0,0 +1,41 @@
+package com.ecommerce.user_service.application.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage of idempotency keys and the responses recorded for them.
+ * A key is claimed by the first request that uses it and holds a lease while that request runs.
+ * It then either completes, keeping the response for the retention period, or is released so
+ * the request can be retried. Implementations must make {@link #claim} atomic across all callers
+ * sharing the store.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request, unless it is already claimed.
+     *
+     * @param key         the idempotency key
+     * @param fingerprint the fingerprint of the request
+     * @param lease       how long the claim holds if it is neither completed nor released
+     * @return empty if the key was claimed by this call, otherwise the existing record
+     */
+    Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lease);
+
+    /**
+     * Records the response of a claimed key. Does nothing if the claim is no longer held.
+     *
+     * @param retention how long the response is kept
+     */
+    void complete(String key, String fingerprint, String response, Duration retention);
+
+    /**
+     * Releases a claimed key without recording a response. Does nothing if the claim is no longer held.
+     */
+    void release(String key, String fingerprint);
+
+    /**
+     * Waits until a claimed key is completed or released, or until the timeout elapses.
+     */
+    void awaitRelease(String key, Duration timeout) throws InterruptedException;
+}
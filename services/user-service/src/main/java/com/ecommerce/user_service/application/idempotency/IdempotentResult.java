@@ -0,0 +1,10 @@
+package com.ecommerce.user_service.application.idempotency;
+
+/**
+ * Result of an idempotent operation.
+ *
+ * @param value    the result
+ * @param replayed whether the result was recorded by an earlier request with the same key
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
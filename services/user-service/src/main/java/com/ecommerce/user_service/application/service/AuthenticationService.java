@@ -0,0 +1,33 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.domain.model.AccessToken;
+import com.ecommerce.user_service.domain.service.AccessTokenIssuer;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Login use case: checks the credentials and issues an access token.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthenticationService {
+
+    private final CredentialService credentialService;
+    private final AccessTokenIssuer accessTokenIssuer;
+
+    /**
+     * Logs a user in.
+     *
+     * @param email       the user email
+     * @param rawPassword the password
+     * @return the access token, or a future failed with InvalidCredentialsException
+     * @throws IllegalArgumentException if the email is not valid
+     */
+    public CompletableFuture<AccessToken> login(String email, String rawPassword) {
+        return credentialService.authenticate(new Email(email), rawPassword)
+                .thenApply(accessTokenIssuer::issue);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.domain.exception.InvalidCredentialsException;
+import com.ecommerce.user_service.domain.exception.UserNotFoundException;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserCredential;
+import com.ecommerce.user_service.domain.repository.CredentialRepository;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.service.PasswordHasher;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Use cases of user passwords: setting a password and logging in.
+ * - Hashing runs on the PasswordHasher's own threads. Logins return futures completing there, so async
+ *   controllers never block a request thread on them; setting a password waits for the hash and saves it
+ *   on the caller's thread, keeping database calls off the hashing threads
+ * - Only active users can log in; all failures look the same to the caller
+ * - On a successful login, a hash made with outdated parameters is replaced. This is best effort:
+ *   if the hasher is busy the login still succeeds and the rehash waits for the next one
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CredentialService {
+
+    static final int MIN_PASSWORD_LENGTH = 8;
+    // bcrypt ignores input beyond 72 bytes
+    static final int MAX_PASSWORD_BYTES = 72;
+
+    private final UserRepository userRepository;
+    private final CredentialRepository credentialRepository;
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Sets the password of a user.
+     *
+     * @param userId      the user ID
+     * @param rawPassword the new password
+     * @throws UserNotFoundException      if there is no such user
+     * @throws IllegalArgumentException   if the password is too short or too long
+     * @throws RejectedExecutionException if the hasher is overloaded
+     */
+    public void setPassword(UUID userId, String rawPassword) {
+        if (userRepository.findById(userId).isEmpty()) {
+            throw new UserNotFoundException(userId);
+        }
+
+        savePasswordHash(userId, hashPassword(rawPassword));
+    }
+
+    /**
+     * Hashes a new password, waiting for a hashing thread. Used to hash the password of a user
+     * before saving the user, so an overloaded hasher fails the registration before anything is saved.
+     *
+     * @param rawPassword the new password
+     * @return the encoded hash, for {@link #savePasswordHash}
+     * @throws IllegalArgumentException   if the password is too short or too long
+     * @throws RejectedExecutionException if the hasher is overloaded
+     */
+    public String hashPassword(String rawPassword) {
+        validatePassword(rawPassword);
+        try {
+            return passwordHasher.hash(rawPassword).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a hash made by {@link #hashPassword} as the password of a user.
+     *
+     * @param userId       the user ID
+     * @param passwordHash the encoded hash
+     */
+    public void savePasswordHash(UUID userId, String passwordHash) {
+        credentialRepository.save(new UserCredential(userId, passwordHash, LocalDateTime.now()));
+    }
+
+    /**
+     * Checks the email and password of a user.
+     *
+     * @param email       the user email
+     * @param rawPassword the password
+     * @return the user, or a future failed with {@link InvalidCredentialsException}
+     */
+    public CompletableFuture<User> authenticate(Email email, String rawPassword) {
+        Optional<User> user = userRepository.findByEmail(email).filter(User::isActive);
+        Optional<UserCredential> credential = user.flatMap(found -> credentialRepository.findByUserId(found.getId()));
+        String passwordHash = credential.map(UserCredential::passwordHash).orElse(null);
+
+        return passwordHasher.matches(rawPassword, passwordHash).thenApply(matches -> {
+            if (!matches || user.isEmpty()) {
+                throw new InvalidCredentialsException();
+            }
+            if (passwordHasher.needsRehash(passwordHash)) {
+                rehash(user.get().getId(), rawPassword);
+            }
+            return user.get();
+        });
+    }
+
+    private void rehash(UUID userId, String rawPassword) {
+        // Saved on the common pool: the login has returned, and the hashing threads do no database calls
+        passwordHasher.hash(rawPassword)
+                .thenAcceptAsync(hash -> savePasswordHash(userId, hash))
+                .exceptionally(e -> {
+                    log.debug("Password rehash of user {} postponed: {}", userId, e.getMessage());
+                    return null;
+                });
+    }
+
+    private void validatePassword(String rawPassword) {
+        if (rawPassword == null || rawPassword.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Password must have at least " + MIN_PASSWORD_LENGTH + " characters");
+        }
+        if (rawPassword.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            throw new IllegalArgumentException(
+                    "Password cannot be longer than " + MAX_PASSWORD_BYTES + " bytes");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.application.dto.RegisterUserCommand;
+import com.ecommerce.user_service.application.dto.UpdateProfileCommand;
+import com.ecommerce.user_service.application.dto.UserDto;
+import com.ecommerce.user_service.domain.exception.PhoneNumberAlreadyInUseException;
+import com.ecommerce.user_service.domain.exception.UserAlreadyExistsException;
+import com.ecommerce.user_service.domain.exception.UserNotFoundException;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.service.UserStatistics;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Use cases of the user lifecycle: registration, profile updates, status changes and deletion.
+ * Signups and status changes are recorded in {@link UserStatistics} once saved. Status changes go through
+ * {@link UserRepository#updateStatus}, which reports only the changes it made, so each is recorded once.
+ * A password given at registration is hashed before the user is saved (see {@link CredentialService}).
+ */
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final UserStatistics userStatistics;
+    private final CredentialService credentialService;
+
+    /**
+     * Registers a new, active user, with the password of the command if it has one.
+     *
+     * @throws UserAlreadyExistsException       if the email is taken, also when taken concurrently
+     * @throws PhoneNumberAlreadyInUseException if the phone number is taken, also when taken concurrently
+     * @throws IllegalArgumentException         if the data is not valid
+     * @throws RejectedExecutionException       if the password hasher is overloaded; nothing is saved
+     */
+    public UserDto register(RegisterUserCommand command) {
+        Email email = new Email(command.email());
+        PhoneNumber phoneNumber = PhoneNumber.ofNullable(command.phoneNumber());
+        if (userRepository.existsByEmail(email)) {
+            throw new UserAlreadyExistsException(email.getAddress());
+        }
+        if (phoneNumber != null && userRepository.existsByPhone(phoneNumber)) {
+            throw new PhoneNumberAlreadyInUseException(phoneNumber.getValue());
+        }
+        String passwordHash = command.password() != null ? credentialService.hashPassword(command.password()) : null;
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User(UUID.randomUUID(), email, command.firstName(), command.lastName(),
+                phoneNumber, UserStatus.ACTIVE, now, now);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another registration of the same email or phone number
+            if (phoneNumber != null && !userRepository.existsByEmail(email)
+                    && userRepository.existsByPhone(phoneNumber)) {
+                throw new PhoneNumberAlreadyInUseException(phoneNumber.getValue());
+            }
+            throw new UserAlreadyExistsException(email.getAddress());
+        }
+        if (passwordHash != null) {
+            credentialService.savePasswordHash(saved.getId(), passwordHash);
+        }
+        userStatistics.recordSignup(saved.getCreatedAt().toLocalDate(), saved.getStatus());
+        return UserDto.from(saved);
+    }
+
+    /**
+     * @throws UserNotFoundException if there is no such user
+     */
+    public UserDto getUser(UUID id) {
+        return userRepository.findSnapshotById(id)
+                .map(UserDto::from)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    /**
+     * Updates the profile of a user.
+     *
+     * @throws UserNotFoundException            if there is no such user
+     * @throws PhoneNumberAlreadyInUseException if the new phone number belongs to another user
+     * @throws IllegalStateException            if the user is deleted
+     */
+    public UserDto updateProfile(UUID id, UpdateProfileCommand command) {
+        User user = load(id);
+        PhoneNumber phoneNumber = PhoneNumber.ofNullable(command.phoneNumber());
+        boolean phoneChanged = phoneNumber != null && !phoneNumber.equals(user.getPhoneNumber());
+        if (phoneChanged && userRepository.existsByPhone(phoneNumber)) {
+            throw new PhoneNumberAlreadyInUseException(phoneNumber.getValue());
+        }
+
+        user.updateProfile(command.firstName(), command.lastName(), phoneNumber);
+        try {
+            return UserDto.from(save(user));
+        } catch (DataIntegrityViolationException e) {
+            if (phoneChanged) {
+                // Lost a race with another user taking the same phone number
+                throw new PhoneNumberAlreadyInUseException(phoneNumber.getValue());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Activates a user. Activating an active user changes nothing.
+     *
+     * @throws UserNotFoundException if there is no such user
+     * @throws IllegalStateException if the user is deleted
+     */
+    public UserDto activate(UUID id) {
+        changeStatus(id, UserStatus.ACTIVE, "activate");
+        return getUser(id);
+    }
+
+    /**
+     * Deactivates (suspends) a user. Deactivating an inactive user changes nothing.
+     *
+     * @throws UserNotFoundException if there is no such user
+     * @throws IllegalStateException if the user is deleted
+     */
+    public UserDto deactivate(UUID id) {
+        changeStatus(id, UserStatus.INACTIVE, "deactivate");
+        return getUser(id);
+    }
+
+    /**
+     * Soft-deletes a user. Deleting a deleted user changes nothing.
+     *
+     * @throws UserNotFoundException if there is no such user
+     */
+    public void delete(UUID id) {
+        changeStatus(id, UserStatus.DELETED, "delete");
+    }
+
+    /**
+     * Moves many users to a status at once (e.g. fraud and compliance sweeps), with the rules of
+     * {@link UserRepository#updateStatus}, and records the status changes made.
+     */
+    public StatusUpdateResult changeStatus(Collection<UUID> ids, UserStatus status) {
+        StatusUpdateResult result = userRepository.updateStatus(ids, status);
+        userStatistics.recordTransitions(result.transitions().values());
+        return result;
+    }
+
+    /**
+     * Moves one user to a status. The status is read and changed atomically by the repository, so of concurrent
+     * changes of a user to the same status only one is recorded.
+     */
+    private void changeStatus(UUID id, UserStatus status, String action) {
+        switch (changeStatus(List.of(id), status).outcomes().get(id)) {
+            case NOT_FOUND -> throw new UserNotFoundException(id);
+            case USER_DELETED -> {
+                if (status != UserStatus.DELETED) {
+                    throw new IllegalStateException("Cannot " + action + " a deleted user");
+                }
+            }
+            case UPDATED -> {
+                // The user has the status now
+            }
+        }
+    }
+
+    private User load(UUID id) {
+        return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    /**
+     * Saves a user and records its status changes, only once they are saved.
+     */
+    private User save(User user) {
+        User saved = userRepository.save(user);
+        userStatistics.recordTransitions(user.pullStatusTransitions());
+        return saved;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.application.dto.DailySignupsDto;
+import com.ecommerce.user_service.application.dto.UserStatisticsDto;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.service.UserStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard queries over the maintained user counters: each count is read in O(1), the users table is not touched.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatisticsService {
+
+    /**
+     * Longest range of days of a signups query.
+     */
+    public static final int MAX_SIGNUP_DAYS = 366;
+
+    private final UserStatistics userStatistics;
+
+    public UserStatisticsDto countByStatus() {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        long total = 0;
+        for (UserStatus status : UserStatus.values()) {
+            long count = userStatistics.countByStatus(status);
+            byStatus.put(status, count);
+            total += count;
+        }
+        return new UserStatisticsDto(byStatus, total);
+    }
+
+    /**
+     * Returns the signups of every day of a range, days without signups included.
+     *
+     * @param from the first day
+     * @param to   the last day, included
+     * @throws IllegalArgumentException if the range is reversed or longer than {@value #MAX_SIGNUP_DAYS} days
+     */
+    public List<DailySignupsDto> signups(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The range must not end before it starts: " + from + " to " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SIGNUP_DAYS) {
+            throw new IllegalArgumentException("The range must not exceed " + MAX_SIGNUP_DAYS + " days");
+        }
+
+        return from.datesUntil(to.plusDays(1))
+                .map(day -> new DailySignupsDto(day, userStatistics.signupsOn(day)))
+                .toList();
+    }
+}
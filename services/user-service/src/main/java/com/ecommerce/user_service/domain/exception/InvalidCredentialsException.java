@@ -0,0 +1,12 @@
+package com.ecommerce.user_service.domain.exception;
+
+/**
+ * Login failed. The message does not tell whether the user or the password was wrong.
+ */
+
+public class InvalidCredentialsException extends DomainException {
+
+    public InvalidCredentialsException() {
+        super("Invalid email or password");
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.user_service.domain.exception;
+
+public class PhoneNumberAlreadyInUseException extends DomainException {
+
+    private final String phoneNumber;
+
+    public PhoneNumberAlreadyInUseException (String phoneNumber){
+        super("Phone number already in use by another user: " + phoneNumber);
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getPhoneNumber(){
+        return phoneNumber;
+    }
+}
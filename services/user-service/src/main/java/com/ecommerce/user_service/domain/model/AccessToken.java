@@ -0,0 +1,23 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A signed access token issued to a user after login.
+ *
+ * @param value     the encoded token
+ * @param expiresAt when the token stops being accepted
+ */
+public record AccessToken(String value, Instant expiresAt) {
+
+    public AccessToken {
+        Objects.requireNonNull(value, "Token value cannot be null");
+        Objects.requireNonNull(expiresAt, "Expiry cannot be null");
+    }
+
+    @Override
+    public String toString() {
+        return "AccessToken{expiresAt=" + expiresAt + '}';
+    }
+}
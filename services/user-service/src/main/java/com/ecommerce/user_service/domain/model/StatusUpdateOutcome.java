@@ -0,0 +1,14 @@
+package com.ecommerce.user_service.domain.model;
+
+/**
+ * Outcome of a bulk status update for one user.
+ * - UPDATED: the user now has the target status; it may have had it already, in which case it was left unchanged
+ * - USER_DELETED: the user is deleted and was left unchanged (a deleted user cannot change status)
+ * - NOT_FOUND: there is no user with this ID
+ */
+
+public enum StatusUpdateOutcome {
+    UPDATED,
+    USER_DELETED,
+    NOT_FOUND
+}
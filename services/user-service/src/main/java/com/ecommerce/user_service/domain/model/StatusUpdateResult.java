@@ -0,0 +1,40 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of a bulk status update: the outcome for every requested user ID, in request order, and the status
+ * changes the update made.
+ *
+ * @param outcomes    the outcome by user ID
+ * @param transitions the status change by user ID, only for users whose status this update changed
+ */
+public record StatusUpdateResult(Map<UUID, StatusUpdateOutcome> outcomes,
+                                 Map<UUID, UserStatusTransition> transitions) {
+
+    public StatusUpdateResult {
+        outcomes = Collections.unmodifiableMap(new LinkedHashMap<>(outcomes));
+        transitions = Collections.unmodifiableMap(new LinkedHashMap<>(transitions));
+    }
+
+    /**
+     * Returns the IDs with the given outcome, in request order.
+     */
+    public List<UUID> idsWith(StatusUpdateOutcome outcome) {
+        return outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue() == outcome)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Returns the number of IDs with the given outcome.
+     */
+    public long count(StatusUpdateOutcome outcome) {
+        return outcomes.values().stream().filter(value -> value == outcome).count();
+    }
+}
@@ -1,9 +1,15 @@
 package com.ecommerce.user_service.domain.model;
 
 import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -13,9 +19,12 @@ import java.util.UUID;
  * It's framework-agnostic (no Spring, no JPA annotations).
  * Business invariants:
  * - A user must always have a valid email
+ * - A phone number, if any, is in E.164 form (see PhoneNumber)
  * - A user must have first and last name
  * - A deleted user cannot be activated
  * - Timestamps must be consistent (createdAt <= updatedAt)
+ * Status changes made through activate, deactivate and delete are recorded until
+ * {@link #pullStatusTransitions()} is called, so the application can act on them once they are saved.
  */
 @Data
 public class User {
@@ -24,18 +33,22 @@ public class User {
     private final Email email;
     private String firstName;
     private String lastName;
-    private String phoneNumber;
+    private PhoneNumber phoneNumber;
     private UserStatus status;
     private final LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<UserStatusTransition> statusTransitions = new ArrayList<>();
+
     /**
      * Constructor for creating a new user.
      * Used when creating a user for the first time.
      */
 
     public User (UUID id, Email email, String firstName, String lastName,
-                 String phoneNumber, UserStatus status,
+                 PhoneNumber phoneNumber, UserStatus status,
                 LocalDateTime createdAt, LocalDateTime updatedAt){
         // Validations
         Objects.requireNonNull(id, "User ID cannot be null");
@@ -60,7 +73,7 @@ public class User {
         this.email = email;
         this.firstName = firstName.trim();
         this.lastName = lastName.trim();
-        this.phoneNumber = phoneNumber != null ? phoneNumber.trim() : null;
+        this.phoneNumber = phoneNumber;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -78,7 +91,7 @@ public class User {
         if (this.status == UserStatus.DELETED){
             throw new IllegalStateException("Cannot activate a deleted user");
         }
-        this.status = UserStatus.ACTIVE;
+        changeStatus(UserStatus.ACTIVE);
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -89,7 +102,7 @@ public class User {
         if (this.status == UserStatus.DELETED){
             throw new IllegalStateException("Cannot deactivate a deleted user");
         }
-        this.status = UserStatus.INACTIVE;
+        changeStatus(UserStatus.INACTIVE);
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -98,14 +111,30 @@ public class User {
      * This is irreversible.
      */
     public void delete (){
-        this.status = UserStatus.DELETED;
+        changeStatus(UserStatus.DELETED);
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Returns the status changes made since the last call, oldest first, and forgets them.
+     */
+    public List<UserStatusTransition> pullStatusTransitions(){
+        List<UserStatusTransition> transitions = List.copyOf(statusTransitions);
+        statusTransitions.clear();
+        return transitions;
+    }
+
+    private void changeStatus (UserStatus newStatus){
+        if (this.status != newStatus){
+            statusTransitions.add(new UserStatusTransition(this.status, newStatus));
+        }
+        this.status = newStatus;
+    }
+
     /**
      * Updates user profile information.
      */
-    public void updateProfile (String firstName, String lastName, String phoneNumber){
+    public void updateProfile (String firstName, String lastName, PhoneNumber phoneNumber){
         if (this.status == UserStatus.DELETED){
             throw new IllegalStateException("Cannot update a deleted user");
         }
@@ -120,7 +149,7 @@ public class User {
 
         this.firstName = firstName.trim();
         this.lastName = lastName.trim();
-        this.phoneNumber = phoneNumber != null ? phoneNumber.trim() : null;
+        this.phoneNumber = phoneNumber;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -145,6 +174,14 @@ public class User {
         return firstName + " " + lastName;
     }
 
+    /**
+     * Returns an immutable snapshot of the current state, safe to share across threads and caches.
+     * Later changes to this user are not reflected in it.
+     */
+    public UserSnapshot snapshot(){
+        return new UserSnapshot(id, email, firstName, lastName, phoneNumber, status, createdAt, updatedAt);
+    }
+
     // ==================== Object Methods ====================
     @Override
     public boolean equals(Object o){
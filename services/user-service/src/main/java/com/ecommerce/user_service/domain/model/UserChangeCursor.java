@@ -0,0 +1,35 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position in the feed of user changes, which lists users by update timestamp, then by ID.
+ *
+ * @param updatedAt the update timestamp of the last user read
+ * @param id        the ID of the last user read
+ */
+public record UserChangeCursor(LocalDateTime updatedAt, UUID id) {
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    public UserChangeCursor {
+        Objects.requireNonNull(updatedAt, "Updated date cannot be null");
+        Objects.requireNonNull(id, "User ID cannot be null");
+    }
+
+    /**
+     * Returns the cursor before every user updated at or after the given time.
+     */
+    public static UserChangeCursor from(LocalDateTime updatedAt) {
+        return new UserChangeCursor(updatedAt, LOWEST_ID);
+    }
+
+    /**
+     * Returns the cursor right after a user.
+     */
+    public static UserChangeCursor after(User user) {
+        return new UserChangeCursor(user.getUpdatedAt(), user.getId());
+    }
+}
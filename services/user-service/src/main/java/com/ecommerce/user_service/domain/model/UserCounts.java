@@ -0,0 +1,60 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of users by status and number of signups by day.
+ * Statuses and days without users are absent; {@link #count} and {@link #signupsOn} return 0 for them.
+ * Depending on the source, counts are exact (a count over the users table) or deltas to add to other counts.
+ *
+ * @param byStatus     the number of users by status
+ * @param signupsByDay the number of users created on each day
+ */
+public record UserCounts(Map<UserStatus, Long> byStatus, Map<LocalDate, Long> signupsByDay) {
+
+    public static final UserCounts EMPTY = new UserCounts(Map.of(), Map.of());
+
+    public UserCounts {
+        byStatus = byStatus.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new EnumMap<>(byStatus));
+        signupsByDay = Map.copyOf(signupsByDay);
+    }
+
+    public long count(UserStatus status) {
+        return byStatus.getOrDefault(status, 0L);
+    }
+
+    /**
+     * Returns the number of users in any status.
+     */
+    public long total() {
+        return byStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long signupsOn(LocalDate day) {
+        return signupsByDay.getOrDefault(day, 0L);
+    }
+
+    public boolean isEmpty() {
+        return byStatus.isEmpty() && signupsByDay.isEmpty();
+    }
+
+    /**
+     * Adds up counts, e.g. the counts of several shards.
+     */
+    public static UserCounts sum(Collection<UserCounts> counts) {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        Map<LocalDate, Long> signupsByDay = new HashMap<>();
+        for (UserCounts count : counts) {
+            count.byStatus().forEach((status, value) -> byStatus.merge(status, value, Long::sum));
+            count.signupsByDay().forEach((day, value) -> signupsByDay.merge(day, value, Long::sum));
+        }
+        return new UserCounts(byStatus, signupsByDay);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The password credential of a user: a one-way hash, never the password itself.
+ * Kept apart from User, so the hash never travels with user data (caches, search results, logs).
+ *
+ * @param userId       the ID of the user
+ * @param passwordHash the encoded hash, including the algorithm and its parameters
+ * @param updatedAt    when the hash was last set
+ */
+public record UserCredential(UUID userId, String passwordHash, LocalDateTime updatedAt) {
+
+    public UserCredential {
+        Objects.requireNonNull(userId, "User ID cannot be null");
+        Objects.requireNonNull(updatedAt, "Updated date cannot be null");
+        if (passwordHash == null || passwordHash.isBlank()) {
+            throw new IllegalArgumentException("Password hash cannot be null or empty");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UserCredential{userId=" + userId + ", updatedAt=" + updatedAt + '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position after the last result of a search page (keyset pagination).
+ * Results are ordered by score descending, then by ID ascending.
+ *
+ * @param score score of the last result
+ * @param id    ID of the last result
+ */
+public record UserSearchCursor(double score, UUID id) {
+
+    public UserSearchCursor {
+        Objects.requireNonNull(id, "Cursor ID cannot be null");
+    }
+}
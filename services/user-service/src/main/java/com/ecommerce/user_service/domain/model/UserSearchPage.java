@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of search results, best match first.
+ *
+ * @param results the results of this page
+ * @param next    the cursor of the next page, empty if this is the last page
+ */
+public record UserSearchPage(List<UserSearchResult> results, Optional<UserSearchCursor> next) {
+
+    public UserSearchPage {
+        results = List.copyOf(results);
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} results; the extra result only tells
+     * whether there is a next page.
+     */
+    public static UserSearchPage of(List<UserSearchResult> results, int limit) {
+        if (results.size() <= limit) {
+            return new UserSearchPage(results, Optional.empty());
+        }
+        List<UserSearchResult> page = results.subList(0, limit);
+        return new UserSearchPage(page, Optional.of(page.get(limit - 1).toCursor()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.user_service.domain.model;
+
+/**
+ * A ranked, typo-tolerant search over first name, last name, email and phone number.
+ *
+ * @param text  the text to search for, trimmed
+ * @param limit the maximum number of results per page, between 1 and {@value #MAX_LIMIT}
+ * @param after the cursor returned with the previous page, or null for the first page
+ */
+public record UserSearchQuery(String text, int limit, UserSearchCursor after) {
+
+    public static final int MAX_LIMIT = 100;
+    public static final int MIN_TEXT_LENGTH = 3;
+
+    public UserSearchQuery {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be null or empty");
+        }
+
+        text = text.trim();
+
+        if (text.length() < MIN_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Search text must have at least " + MIN_TEXT_LENGTH + " characters");
+        }
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * Returns the query for the page after the given cursor.
+     */
+    public UserSearchQuery after(UserSearchCursor cursor) {
+        return new UserSearchQuery(text, limit, cursor);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.util.Objects;
+
+/**
+ * A user matching a search, with its relevance score between 0.0 and 1.0.
+ *
+ * @param user  the matching user
+ * @param score the relevance score
+ */
+public record UserSearchResult(User user, double score) {
+
+    public UserSearchResult {
+        Objects.requireNonNull(user, "User cannot be null");
+    }
+
+    /**
+     * Returns the cursor pointing right after this result.
+     */
+    public UserSearchCursor toCursor() {
+        return new UserSearchCursor(score, user.getId());
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.user_service.domain.model;
+
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable, read-only view of a user at one point in time.
+ * Unlike the User aggregate, a snapshot can be shared as is: stored in caches, handed to concurrent
+ * readers or returned from several calls, without copying or locking. All of its components are immutable.
+ * To change a user, load the aggregate (or {@link #toUser()}), apply the change and save it.
+ */
+public record UserSnapshot(UUID id, Email email, String firstName, String lastName, PhoneNumber phoneNumber,
+                           UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public UserSnapshot {
+        Objects.requireNonNull(id, "User ID cannot be null");
+        Objects.requireNonNull(email, "Email cannot be null");
+        Objects.requireNonNull(status, "Status cannot be null");
+        Objects.requireNonNull(createdAt, "Created date cannot be null");
+        Objects.requireNonNull(updatedAt, "Updated date cannot be null");
+    }
+
+    /**
+     * Returns a new aggregate with the state of this snapshot.
+     */
+    public User toUser() {
+        return new User(id, email, firstName, lastName, phoneNumber, status, createdAt, updatedAt);
+    }
+
+    public boolean isActive() {
+        return status == UserStatus.ACTIVE;
+    }
+
+    public boolean isDeleted() {
+        return status == UserStatus.DELETED;
+    }
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSnapshot{id=" + id + ", email=" + email + ", status=" + status + ", updatedAt=" + updatedAt + '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.user_service.domain.model;
+
+import java.util.Objects;
+
+/**
+ * A change of status applied to a user through {@link User#activate()}, {@link User#deactivate()}
+ * or {@link User#delete()}.
+ *
+ * @param from the status before the change
+ * @param to   the status after the change, never equal to {@code from}
+ */
+public record UserStatusTransition(UserStatus from, UserStatus to) {
+
+    public UserStatusTransition {
+        Objects.requireNonNull(from, "From status cannot be null");
+        Objects.requireNonNull(to, "To status cannot be null");
+        if (from == to) {
+            throw new IllegalArgumentException("A transition must change the status: " + from);
+        }
+    }
+}
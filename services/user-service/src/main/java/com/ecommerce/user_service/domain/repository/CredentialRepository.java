@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.domain.repository;
+
+import com.ecommerce.user_service.domain.model.UserCredential;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for user credentials.
+ * This is a PORT in Hexagonal Architecture, like {@link UserRepository}.
+ */
+
+public interface CredentialRepository {
+    /**
+     * Saves the credential of a user, replacing any previous one.
+     *
+     * @param credential the credential to save
+     * @return the saved credential
+     */
+    UserCredential save(UserCredential credential);
+
+    /**
+     * Finds the credential of a user.
+     *
+     * @param userId the user ID
+     * @return an Optional containing the credential if the user has one
+     */
+    Optional<UserCredential> findByUserId(UUID userId);
+}
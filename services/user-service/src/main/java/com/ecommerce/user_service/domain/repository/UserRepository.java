@@ -1,8 +1,20 @@
 package com.ecommerce.user_service.domain.repository;
 
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
 import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
 import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,6 +43,37 @@ public interface UserRepository {
      */
     Optional<User> findById(UUID id);
 
+    /**
+     * Finds all users with the given IDs.
+     * IDs without a matching user are skipped; the order of the result is not specified.
+     *
+     * @param ids the user IDs
+     * @return the users found
+     */
+    List<User> findAllByIds(Collection<UUID> ids);
+
+    /**
+     * Finds a user by ID, as an immutable snapshot for read-only use.
+     * Backends that can build or keep snapshots directly override this to skip the aggregate.
+     *
+     * @param id the user ID
+     * @return an Optional containing the snapshot if found
+     */
+    default Optional<UserSnapshot> findSnapshotById(UUID id) {
+        return findById(id).map(User::snapshot);
+    }
+
+    /**
+     * Finds all users with the given IDs, as immutable snapshots for read-only use.
+     * Same rules as {@link #findAllByIds}.
+     *
+     * @param ids the user IDs
+     * @return the snapshots of the users found
+     */
+    default List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+        return findAllByIds(ids).stream().map(User::snapshot).toList();
+    }
+
     /**
      * Finds a user by email.
      *
@@ -46,6 +89,20 @@ public interface UserRepository {
      */
     void deleteUser(UUID id);
 
+    /**
+     * Moves many users to a status at once, without loading them.
+     * Follows the rules of User: a deleted user is left unchanged, whatever the target status.
+     * Each user's status is read and changed atomically, and a user who already has the target status is left
+     * unchanged: of concurrent updates of a user to the same status, only one reports a transition.
+     * Large inputs are applied in chunks; unless the caller runs in a transaction,
+     * each chunk is committed on its own.
+     *
+     * @param ids    the user IDs; duplicates are ignored
+     * @param status the target status (DELETED soft-deletes the users)
+     * @return the outcome for every distinct ID, and the status changes made
+     */
+    StatusUpdateResult updateStatus(Collection<UUID> ids, UserStatus status);
+
     /**
      * Checks if a user exists with the given email.
      *
@@ -53,4 +110,68 @@ public interface UserRepository {
      * @return true if exists, false otherwise
      */
     boolean existsByEmail(Email email);
+
+    /**
+     * Finds a user by phone number.
+     * Phone numbers are unique, like emails, and compared in their E.164 form.
+     *
+     * @param phoneNumber the phone number
+     * @return an Optional containing the user if found
+     */
+    Optional<User> findByPhone(PhoneNumber phoneNumber);
+
+    /**
+     * Checks if a user exists with the given phone number.
+     *
+     * @param phoneNumber the phone number to check
+     * @return true if exists, false otherwise
+     */
+    boolean existsByPhone(PhoneNumber phoneNumber);
+
+    /**
+     * Records when users were last seen, without touching anything else.
+     * - A timestamp only moves forward: a value older than the stored one is ignored
+     * - The update timestamp is left unchanged, so the users do not show up in the change feed
+     *   of {@link #findUpdatedAfter} and cached users stay valid
+     * - Unknown users are skipped
+     *
+     * @param lastSeenAt the last activity of each user
+     */
+    void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt);
+
+    /**
+     * Finds when a user was last seen.
+     *
+     * @param id the user ID
+     * @return the last recorded activity, or empty if the user is unknown or was never seen
+     */
+    Optional<LocalDateTime> findLastSeen(UUID id);
+
+    /**
+     * Searches users by first name, last name, email and phone number.
+     * Matching is typo-tolerant and ranked by relevance, best match first.
+     *
+     * @param query the search text, page size and cursor
+     * @return a page of results
+     */
+    UserSearchPage search(UserSearchQuery query);
+
+    /**
+     * Lists users by update timestamp, then by ID, starting after a cursor.
+     * Read page by page, this is a feed of user changes (e.g. for status revocation).
+     *
+     * @param after the cursor; see {@link UserChangeCursor#after(User)}
+     * @param limit the maximum number of users
+     * @return the users updated after the cursor, in feed order
+     */
+    List<User> findUpdatedAfter(UserChangeCursor after, int limit);
+
+    /**
+     * Counts all users by status and by day of creation.
+     * This scans the users table: it is meant for reconciling the counters of
+     * {@link com.ecommerce.user_service.domain.service.UserStatistics}, not for serving reads.
+     *
+     * @return the exact counts at the time of the scan
+     */
+    UserCounts countUsers();
 }
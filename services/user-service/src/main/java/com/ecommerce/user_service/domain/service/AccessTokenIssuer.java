@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.domain.service;
+
+import com.ecommerce.user_service.domain.model.AccessToken;
+import com.ecommerce.user_service.domain.model.User;
+
+/**
+ * Issues access tokens to authenticated users.
+ */
+
+public interface AccessTokenIssuer {
+    /**
+     * Issues an access token for a user.
+     *
+     * @param user the authenticated, active user
+     * @return the token
+     */
+    AccessToken issue(User user);
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.user_service.domain.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hashes and checks passwords.
+ * Hashing is deliberately slow, so implementations run it away from the caller's thread
+ * and may refuse work when overloaded, completing the future exceptionally.
+ */
+
+public interface PasswordHasher {
+    /**
+     * Hashes a password with the current algorithm and parameters.
+     *
+     * @param rawPassword the password
+     * @return the encoded hash
+     */
+    CompletableFuture<String> hash(String rawPassword);
+
+    /**
+     * Checks a password against a hash.
+     * A null hash never matches, but costs as much as a real check,
+     * so unknown users cannot be told apart by response time.
+     *
+     * @param rawPassword  the password
+     * @param passwordHash the encoded hash, or null
+     * @return true if the password matches
+     */
+    CompletableFuture<Boolean> matches(String rawPassword, String passwordHash);
+
+    /**
+     * Checks whether a hash was made with other algorithm or parameters than the current ones.
+     *
+     * @param passwordHash the encoded hash
+     * @return true if the password should be hashed again
+     */
+    boolean needsRehash(String passwordHash);
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.user_service.domain.service;
+
+import java.util.UUID;
+
+/**
+ * When each user was last active, recorded on every authenticated request.
+ * Recording must stay cheap on the request path: implementations may buffer activity, keep only the
+ * latest per user and write it later, so the stored value can lag behind and a crash may lose the last
+ * few seconds of it. Activity is not a change of the user: it does not affect the update timestamp.
+ */
+
+public interface UserActivity {
+    /**
+     * Records that a user is active now.
+     *
+     * @param userId the user ID
+     */
+    void touch(UUID userId);
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.user_service.domain.service;
+
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Number of users by status and of signups by day, kept current as users are created and change status,
+ * so that reading them never scans the users table.
+ * Changes are recorded by the application once they are saved, bulk status updates included. Implementations
+ * may apply them to the durable counts later and correct drift (e.g. from hard deletes, which are not recorded)
+ * by recounting.
+ */
+
+public interface UserStatistics {
+    /**
+     * Records a new user.
+     *
+     * @param day    the day the user was created
+     * @param status the status the user was created with
+     */
+    void recordSignup(LocalDate day, UserStatus status);
+
+    /**
+     * Records saved status changes.
+     *
+     * @param transitions the changes, in the order they were applied
+     */
+    void recordTransitions(Collection<UserStatusTransition> transitions);
+
+    /**
+     * Returns the number of users with a status.
+     */
+    long countByStatus(UserStatus status);
+
+    /**
+     * Returns the number of users created on a day.
+     */
+    long signupsOn(LocalDate day);
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.user_service.domain.valueobject;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Value Object representing a phone number in E.164 form, e.g. +34600000000.
+ * This is immutable and ensures phone number validity through the constructor.
+ * Input is normalized before validation:
+ * - Spaces, dots, dashes, slashes and parentheses are removed
+ * - A leading 00 international prefix becomes +
+ * National numbers (without a country code) are rejected, as their country cannot be told.
+ * Two phone numbers are equal if they have the same E.164 value.
+ */
+public class PhoneNumber {
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s.\\-/()]");
+    private static final Pattern E164_PATTERN = Pattern.compile("^\\+[1-9]\\d{6,14}$");
+
+    private final String value;
+
+    /**
+     * Creates a new PhoneNumber value object.
+     *
+     * @param number the phone number, in E.164 or international format
+     * @throws IllegalArgumentException if the phone number is invalid
+     */
+
+    public PhoneNumber (String number){
+        if(number == null || number.isBlank()){
+            throw new IllegalArgumentException("Phone number cannot be null or empty");
+        }
+
+        String normalized = normalize(number);
+
+        if(!E164_PATTERN.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid phone number format: " + number);
+        }
+
+        this.value = normalized;
+    }
+
+    /**
+     * Creates a PhoneNumber from an optional input.
+     *
+     * @param number the phone number, or null or blank for none
+     * @return the phone number, or null if there is none
+     * @throws IllegalArgumentException if the phone number is invalid
+     */
+    public static PhoneNumber ofNullable(String number){
+        return number == null || number.isBlank() ? null : new PhoneNumber(number);
+    }
+
+    /**
+     * Parses a phone number, without failing on invalid input.
+     *
+     * @param number the phone number, possibly null or invalid
+     * @return the phone number, or empty if the input is missing or not a valid phone number
+     */
+    public static Optional<PhoneNumber> tryParse(String number){
+        if(number == null || number.isBlank()){
+            return Optional.empty();
+        }
+        String normalized = normalize(number);
+        return E164_PATTERN.matcher(normalized).matches()
+                ? Optional.of(new PhoneNumber(normalized))
+                : Optional.empty();
+    }
+
+    public String getValue(){
+        return value;
+    }
+
+    private static String normalize(String number){
+        String compact = SEPARATORS.matcher(number.trim()).replaceAll("");
+        return compact.startsWith("00") ? "+" + compact.substring(2) : compact;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        PhoneNumber that = (PhoneNumber) o;
+        return Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(value);
+    }
+
+    @Override
+    public String toString(){
+        return value;
+    }
+
+}
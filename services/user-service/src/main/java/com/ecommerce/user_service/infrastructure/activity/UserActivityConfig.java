@@ -0,0 +1,20 @@
+package com.ecommerce.user_service.infrastructure.activity;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Wires the write-behind user activity. Timestamps use the default time zone, like the other user timestamps.
+ */
+
+@Configuration
+public class UserActivityConfig {
+
+    @Bean(destroyMethod = "close")
+    public WriteBehindUserActivity userActivity(UserRepository userRepository, UserActivityProperties properties) {
+        return new WriteBehindUserActivity(userRepository, Clock.systemDefaultZone(), properties.getMaxPendingUsers());
+    }
+}
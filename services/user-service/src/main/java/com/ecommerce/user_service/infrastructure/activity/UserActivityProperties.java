@@ -0,0 +1,27 @@
+package com.ecommerce.user_service.infrastructure.activity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-behind tracking of the last activity of users (see {@link WriteBehindUserActivity}).
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.activity")
+public class UserActivityProperties {
+
+    /**
+     * How often the buffered activity is written, as one batched update.
+     * Also bounds how much activity a crash can lose, and how far the stored value lags behind.
+     */
+    private Duration flushInterval = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of distinct users buffered between two flushes.
+     * Touches of further users are dropped until the next flush; touches of buffered users are always kept.
+     */
+    private int maxPendingUsers = 100_000;
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.user_service.infrastructure.activity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the flush of the user activity, per {@link UserActivityProperties}.
+ */
+
+@Component
+@RequiredArgsConstructor
+public class UserActivityTasks implements SchedulingConfigurer {
+
+    private final WriteBehindUserActivity userActivity;
+    private final UserActivityProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(userActivity::flush, properties.getFlushInterval());
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.user_service.infrastructure.activity;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.service.UserActivity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User activity buffered in memory and written behind, in batches.
+ * - A touch updates a map entry in one of {@value #STRIPES} stripes, chosen by user ID, so concurrent
+ *   requests rarely contend on the same lock and never wait for the database
+ * - Touches of the same user are coalesced: only the latest timestamp is kept until the next flush
+ * - {@link #flush()} swaps out the stripe maps and writes all of them with one
+ *   {@link UserRepository#updateLastSeen} call. A failed flush puts its entries back for the next one,
+ *   unless the user was touched again meanwhile
+ * - At most maxPendingUsers distinct users are buffered: touches of further users are dropped (and counted)
+ *   until the next flush, so an outage of the database cannot exhaust the heap
+ * - {@link #close()} flushes what is left on shutdown
+ * Buffer size and outcomes are published as the {@value #PENDING_GAUGE}, {@value #FLUSHED_COUNTER}
+ * and {@value #DROPPED_COUNTER} meters.
+ */
+@Slf4j
+public class WriteBehindUserActivity implements UserActivity, MeterBinder, AutoCloseable {
+
+    static final int STRIPES = 64;
+
+    static final String PENDING_GAUGE = "user.activity.pending";
+    static final String FLUSHED_COUNTER = "user.activity.flushed";
+    static final String DROPPED_COUNTER = "user.activity.dropped";
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final int maxPendingUsers;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger pendingUsers = new AtomicInteger();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private static final class Stripe {
+        private Map<UUID, LocalDateTime> pending = new HashMap<>();
+    }
+
+    public WriteBehindUserActivity(UserRepository userRepository, Clock clock, int maxPendingUsers) {
+        if (maxPendingUsers < 1) {
+            throw new IllegalArgumentException("maxPendingUsers must be at least 1: " + maxPendingUsers);
+        }
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.maxPendingUsers = maxPendingUsers;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void touch(UUID userId) {
+        record(userId, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Writes the buffered activity of all users.
+     */
+    public synchronized void flush() {
+        Map<UUID, LocalDateTime> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<UUID, LocalDateTime> taken;
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                taken = stripe.pending;
+                stripe.pending = new HashMap<>();
+                pendingUsers.addAndGet(-taken.size());
+            }
+            batch.putAll(taken);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            userRepository.updateLastSeen(batch);
+            flushed.add(batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(this::record);
+            log.warn("User activity flush failed, {} users kept for the next flush", batch.size(), e);
+        }
+    }
+
+    /**
+     * Returns the number of distinct users waiting for the next flush.
+     */
+    public int pendingUsers() {
+        return pendingUsers.get();
+    }
+
+    /**
+     * Returns the number of touches dropped because the buffer was full.
+     */
+    public long droppedTouches() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PENDING_GAUGE, pendingUsers, AtomicInteger::get)
+                .description("Users whose activity waits for the next flush")
+                .register(registry);
+        FunctionCounter.builder(FLUSHED_COUNTER, flushed, LongAdder::sum)
+                .description("User activity entries written to the database")
+                .register(registry);
+        FunctionCounter.builder(DROPPED_COUNTER, dropped, LongAdder::sum)
+                .description("User activity touches dropped because the buffer was full")
+                .register(registry);
+    }
+
+    /**
+     * Flushes the last activity.
+     */
+    @Override
+    public void close() {
+        flush();
+        int lost = pendingUsers.get();
+        if (lost > 0) {
+            log.warn("User activity of {} users could not be written on shutdown", lost);
+        }
+    }
+
+    private void record(UUID userId, LocalDateTime seen) {
+        Stripe stripe = stripes[Math.floorMod(userId.hashCode(), STRIPES)];
+        synchronized (stripe) {
+            LocalDateTime previous = stripe.pending.get(userId);
+            if (previous != null) {
+                if (seen.isAfter(previous)) {
+                    stripe.pending.put(userId, seen);
+                }
+                return;
+            }
+            if (!reserve()) {
+                dropped.increment();
+                return;
+            }
+            stripe.pending.put(userId, seen);
+        }
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int pending = pendingUsers.get();
+            if (pending >= maxPendingUsers) {
+                return false;
+            }
+            if (pendingUsers.compareAndSet(pending, pending + 1)) {
+                return true;
+            }
+        }
+    }
+}
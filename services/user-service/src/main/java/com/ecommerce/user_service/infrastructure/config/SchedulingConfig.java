@@ -0,0 +1,15 @@
+package com.ecommerce.user_service.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks (see the SchedulingConfigurer beans of each feature).
+ * They run on the auto-configured scheduler, sized by spring.task.scheduling.pool.size to one thread per task:
+ * a task added to a feature needs a thread added there.
+ */
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.user_service.infrastructure.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JCache (Ehcache) backed Hibernate second-level cache.
+ * The cache manager is built from {@link SecondLevelCacheProperties}, so regions,
+ * sizes and expiry are configured in application.yml instead of a separate ehcache.xml.
+ */
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            configuration = configuration.withCache(entry.getKey(), toCacheConfiguration(entry.getValue()));
+        }
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching
+                .getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        // One manager per application context, so test contexts do not share regions
+        URI uri = URI.create("urn:user-service:hibernate-cache:" + UUID.randomUUID());
+        return provider.getCacheManager(uri, configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CacheConfiguration<Object, Object> toCacheConfiguration(SecondLevelCacheProperties.Region region) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(region.getMaxEntries()));
+
+        if (region.getTimeToLive() != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.user_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Regions of the Hibernate second-level cache.
+ * Every region used by an entity, natural id or query cache must be declared here;
+ * Hibernate is configured to fail on startup when a region is missing.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Regions by name.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries kept on heap; least recently used entries are evicted first.
+         */
+        private long maxEntries = 10_000;
+
+        /**
+         * Time to live of an entry. No expiry when null.
+         */
+        private Duration timeToLive;
+    }
+}
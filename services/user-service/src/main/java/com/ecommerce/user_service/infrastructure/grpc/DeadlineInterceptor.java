@@ -0,0 +1,71 @@
+package com.ecommerce.user_service.infrastructure.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every call a deadline.
+ * - Calls arriving with an expired deadline are refused before any work is done
+ * - Calls without a deadline get the default one, so a caller that never gives up cannot hold a thread forever
+ * The deadline is in the call's Context, which is what services check and what outgoing gRPC calls propagate.
+ */
+public class DeadlineInterceptor implements ServerInterceptor {
+
+    private final Duration defaultDeadline;
+    private final ScheduledExecutorService scheduler;
+
+    public DeadlineInterceptor(Duration defaultDeadline, ScheduledExecutorService scheduler) {
+        this.defaultDeadline = defaultDeadline;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null) {
+            if (deadline.isExpired()) {
+                call.close(Status.DEADLINE_EXCEEDED.withDescription("Deadline expired before the call started"),
+                        new Metadata());
+                return new ServerCall.Listener<>() {
+                };
+            }
+            return next.startCall(call, headers);
+        }
+
+        Context.CancellableContext context = Context.current()
+                .withDeadlineAfter(defaultDeadline.toNanos(), TimeUnit.NANOSECONDS, scheduler);
+        ServerCall.Listener<ReqT> listener = Contexts.interceptCall(context, call, headers, next);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    context.cancel(null);
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    context.cancel(null);
+                }
+            }
+        };
+    }
+}
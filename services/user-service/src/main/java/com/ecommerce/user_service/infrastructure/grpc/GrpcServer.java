@@ -0,0 +1,85 @@
+package com.ecommerce.user_service.infrastructure.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The internal gRPC server, started and stopped with the application context.
+ * Calls run on a fixed pool rather than gRPC's default unbounded one, as they block on the repository.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private Server server;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+
+    public GrpcServer(GrpcServerProperties properties, List<BindableService> services) {
+        this.properties = properties;
+        this.services = services;
+    }
+
+    @Override
+    public synchronized void start() {
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : 2 * Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(threads);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        DeadlineInterceptor deadlineInterceptor = new DeadlineInterceptor(properties.getDefaultDeadline(), scheduler);
+
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort()).executor(executor);
+        services.forEach(service -> builder.addService(ServerInterceptors.intercept(service, deadlineInterceptor)));
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start gRPC server on port " + properties.getPort(), e);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            scheduler.shutdownNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * @return the port the server listens on, useful when configured with port 0
+     */
+    public synchronized int getPort() {
+        return server.getPort();
+    }
+}
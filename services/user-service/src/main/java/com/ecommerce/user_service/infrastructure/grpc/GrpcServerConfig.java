@@ -0,0 +1,31 @@
+package com.ecommerce.user_service.infrastructure.grpc;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.presentation.grpc.UserLookupGrpcService;
+import io.grpc.BindableService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Wires the internal gRPC server and its services. Disabled with {@code user-service.grpc.enabled=false}.
+ */
+
+@Configuration
+@ConditionalOnProperty(name = "user-service.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfig {
+
+    @Bean
+    public UserLookupGrpcService userLookupGrpcService(UserRepository userRepository,
+                                                       GrpcServerProperties properties) {
+        return new UserLookupGrpcService(userRepository, properties.getMaxIdsPerRequest(),
+                properties.getStreamChunkSize());
+    }
+
+    @Bean
+    public GrpcServer grpcServer(GrpcServerProperties properties, List<BindableService> services) {
+        return new GrpcServer(properties, services);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.user_service.infrastructure.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Internal gRPC server settings.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.grpc")
+public class GrpcServerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Port of the gRPC server; 0 picks a free port.
+     */
+    private int port = 9090;
+
+    /**
+     * Threads running calls; 0 means two per available processor. Calls block on the repository.
+     */
+    private int threads = 0;
+
+    /**
+     * Deadline of calls that do not set one.
+     */
+    private Duration defaultDeadline = Duration.ofSeconds(2);
+
+    /**
+     * Maximum number of ids of a FindAllByIds call.
+     */
+    private int maxIdsPerRequest = 10_000;
+
+    /**
+     * Ids loaded per repository call while streaming FindAllByIds.
+     */
+    private int streamChunkSize = 500;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.user_service.infrastructure.idempotency;
+
+import com.ecommerce.user_service.application.idempotency.IdempotencyService;
+import com.ecommerce.user_service.application.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Wires the idempotency service and its store, selected by {@code user-service.idempotency.store}.
+ */
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user-service.idempotency.store", havingValue = "redis")
+    public IdempotencyStore redisIdempotencyStore(StringRedisTemplate redisTemplate) {
+        return new RedisIdempotencyStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getMaxEntries());
+    }
+
+    @Bean
+    public IdempotencyService idempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                                                 IdempotencyProperties properties) {
+        return new IdempotencyService(idempotencyStore, objectMapper, properties.getRetention(),
+                properties.getLease(), properties.getWaitTimeout());
+    }
+}
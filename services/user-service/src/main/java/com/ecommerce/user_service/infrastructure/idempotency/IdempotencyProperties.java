@@ -0,0 +1,40 @@
+package com.ecommerce.user_service.infrastructure.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency key store and retention settings.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Where keys are stored: in-memory (per instance) or redis (shared by all instances).
+     */
+    private String store = "in-memory";
+
+    /**
+     * How long the response of a completed request is kept for retries.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * How long a key stays claimed by a request that neither completes nor fails, e.g. after a crash.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * How long a duplicate waits for the running request before it is refused.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of keys of the in-memory store; the least recently used are evicted first.
+     */
+    private long maxEntries = 100_000;
+}
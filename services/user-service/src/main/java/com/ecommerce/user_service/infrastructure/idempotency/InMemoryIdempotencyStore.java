@@ -0,0 +1,109 @@
+package com.ecommerce.user_service.infrastructure.idempotency;
+
+import com.ecommerce.user_service.application.idempotency.IdempotencyRecord;
+import com.ecommerce.user_service.application.idempotency.IdempotencyStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-instance idempotency store on a bounded Caffeine cache.
+ * - Each entry expires on its own schedule: the lease while in progress, the retention once completed
+ * - Claims are atomic through the cache's map view
+ * - Duplicates wait on a future completed when the claim ends, so they wake up without polling
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentMap<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(long maxEntries) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                // Maintenance and the listener are cheap: run them on the caller instead of handing them off
+                .executor(Runnable::run)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        entry.released().complete(null);
+                    }
+                })
+                .build();
+        this.entries = cache.asMap();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lease) {
+        Entry existing = entries.putIfAbsent(key, new Entry(IdempotencyRecord.inProgress(fingerprint), lease.toNanos(),
+                new CompletableFuture<>()));
+        return Optional.ofNullable(existing).map(Entry::record);
+    }
+
+    @Override
+    public void complete(String key, String fingerprint, String response, Duration retention) {
+        Entry completed = new Entry(new IdempotencyRecord(fingerprint, response), retention.toNanos(),
+                CompletableFuture.completedFuture(null));
+        replaceClaim(key, fingerprint, completed);
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        replaceClaim(key, fingerprint, null);
+    }
+
+    @Override
+    public void awaitRelease(String key, Duration timeout) throws InterruptedException {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.record().isCompleted()) {
+            return;
+        }
+        try {
+            entry.released().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // The caller checks the key again
+        }
+    }
+
+    private void replaceClaim(String key, String fingerprint, Entry replacement) {
+        Entry[] claimed = new Entry[1];
+        entries.computeIfPresent(key, (k, current) -> {
+            if (current.record().isCompleted() || !current.record().fingerprint().equals(fingerprint)) {
+                return current;
+            }
+            claimed[0] = current;
+            return replacement;
+        });
+        if (claimed[0] != null) {
+            claimed[0].released().complete(null);
+        }
+    }
+
+    private record Entry(IdempotencyRecord record, long timeToLiveNanos, CompletableFuture<Void> released) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
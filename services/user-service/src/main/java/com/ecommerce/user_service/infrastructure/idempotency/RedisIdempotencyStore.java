@@ -0,0 +1,93 @@
+package com.ecommerce.user_service.infrastructure.idempotency;
+
+import com.ecommerce.user_service.application.idempotency.IdempotencyRecord;
+import com.ecommerce.user_service.application.idempotency.IdempotencyStore;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency store shared by all instances, on Redis.
+ * - A claim is a SET NX with the lease as expiry; values are {@code P|fingerprint} while in progress and
+ *   {@code C|fingerprint|response} once completed
+ * - Completing and releasing check that the claim is still held, atomically, with a Lua script
+ * - Duplicates poll for the end of the claim
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    static final String KEY_PREFIX = "user-service:idempotency:";
+
+    private static final String IN_PROGRESS = "P|";
+    private static final String COMPLETED = "C|";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private static final RedisScript<Long> COMPLETE = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisIdempotencyStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lease) {
+        String redisKey = KEY_PREFIX + key;
+        while (true) {
+            if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(redisKey, IN_PROGRESS + fingerprint, lease))) {
+                return Optional.empty();
+            }
+            String value = redis.opsForValue().get(redisKey);
+            if (value != null) {
+                return Optional.of(parse(value));
+            }
+            // Expired or released in between: try to claim again
+        }
+    }
+
+    @Override
+    public void complete(String key, String fingerprint, String response, Duration retention) {
+        redis.execute(COMPLETE, List.of(KEY_PREFIX + key), IN_PROGRESS + fingerprint,
+                COMPLETED + fingerprint + '|' + response, Long.toString(retention.toMillis()));
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        redis.execute(RELEASE, List.of(KEY_PREFIX + key), IN_PROGRESS + fingerprint);
+    }
+
+    @Override
+    public void awaitRelease(String key, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            String value = redis.opsForValue().get(KEY_PREFIX + key);
+            if (value == null || value.startsWith(COMPLETED)) {
+                return;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+    }
+
+    static IdempotencyRecord parse(String value) {
+        if (value.startsWith(IN_PROGRESS)) {
+            return IdempotencyRecord.inProgress(value.substring(IN_PROGRESS.length()));
+        }
+        int separator = value.indexOf('|', COMPLETED.length());
+        return new IdempotencyRecord(value.substring(COMPLETED.length(), separator), value.substring(separator + 1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+
+/**
+ * Masks personal data before it reaches the logs.
+ */
+
+public final class LogMasking {
+
+    private LogMasking() {
+    }
+
+    /**
+     * Masks the local part of an email, keeping its first character and the domain.
+     * Example: {@code john.doe@example.com} becomes {@code j***@example.com}.
+     *
+     * @param email the email to mask
+     * @return the masked address, or {@code null} if the email is null
+     */
+    public static String maskEmail(Email email) {
+        if (email == null) {
+            return null;
+        }
+
+        String address = email.getAddress();
+        int at = address.indexOf('@');
+        return address.charAt(0) + "***" + address.substring(at);
+    }
+
+    /**
+     * Masks a phone number, keeping its first two and last two digits.
+     * Example: {@code +34600123456} becomes {@code +34***56}.
+     *
+     * @param phoneNumber the phone number to mask
+     * @return the masked number, or {@code null} if the phone number is null
+     */
+    public static String maskPhone(PhoneNumber phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+
+        String value = phoneNumber.getValue();
+        return value.substring(0, 3) + "***" + value.substring(value.length() - 2);
+    }
+}
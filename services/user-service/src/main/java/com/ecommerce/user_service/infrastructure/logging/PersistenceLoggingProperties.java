@@ -0,0 +1,28 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the persistence layer logging.
+ * Sampling rates are fractions between 0.0 (never log) and 1.0 (always log),
+ * keyed by {@link PersistenceOperation#getKey()}.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.logging.persistence")
+public class PersistenceLoggingProperties {
+
+    /**
+     * Sampling rate for operations without an explicit entry in {@link #sampleRates}.
+     */
+    private double defaultSampleRate = 1.0;
+
+    /**
+     * Per-operation sampling rates.
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+/**
+ * Operations of the persistence layer that emit structured log events.
+ * Each operation has its own sampling rate, configured by its key.
+ */
+
+public enum PersistenceOperation {
+    SAVE("save"),
+    FIND_BY_ID("find-by-id"),
+    FIND_ALL_BY_IDS("find-all-by-ids"),
+    FIND_BY_EMAIL("find-by-email"),
+    DELETE("delete"),
+    UPDATE_STATUS("update-status"),
+    EXISTS_BY_EMAIL("exists-by-email"),
+    FIND_BY_PHONE("find-by-phone"),
+    EXISTS_BY_PHONE("exists-by-phone"),
+    SEARCH("search"),
+    FIND_UPDATED_AFTER("find-updated-after"),
+    COUNT("count"),
+    UPDATE_LAST_SEEN("update-last-seen"),
+    FIND_LAST_SEEN("find-last-seen");
+
+    private final String key;
+
+    PersistenceOperation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structured, sampled DEBUG logger for the persistence layer.
+ * - When DEBUG is disabled, {@link #at(PersistenceOperation)} costs a level check and returns a no-op builder
+ * - When enabled, only a configured fraction of events per operation is emitted
+ * - Arguments are added as suppliers, so they are only evaluated for emitted events
+ * Events carry the operation as a key-value pair; the correlation id is taken from the MDC by the log pattern.
+ * Usage:
+ * <pre>
+ * persistenceLog.at(PersistenceOperation.FIND_BY_ID)
+ *         .addKeyValue("userId", id)
+ *         .log("User lookup");
+ * </pre>
+ */
+
+@Component
+public class SampledPersistenceLogger {
+
+    public static final String LOGGER_NAME = "com.ecommerce.user_service.persistence";
+
+    private final Logger log;
+    private final double[] sampleRates;
+
+    @Autowired
+    public SampledPersistenceLogger(PersistenceLoggingProperties properties) {
+        this(LoggerFactory.getLogger(LOGGER_NAME), properties);
+    }
+
+    public SampledPersistenceLogger(Logger log, PersistenceLoggingProperties properties) {
+        this.log = log;
+        this.sampleRates = new double[PersistenceOperation.values().length];
+
+        for (PersistenceOperation operation : PersistenceOperation.values()) {
+            double rate = properties.getSampleRates()
+                    .getOrDefault(operation.getKey(), properties.getDefaultSampleRate());
+            if (rate < 0.0 || rate > 1.0) {
+                throw new IllegalArgumentException(
+                        "Sample rate for " + operation.getKey() + " must be between 0.0 and 1.0: " + rate);
+            }
+            sampleRates[operation.ordinal()] = rate;
+        }
+    }
+
+    /**
+     * Starts a DEBUG event for the given operation.
+     *
+     * @param operation the persistence operation being logged
+     * @return a builder for the event, or a no-op builder if the event is disabled or not sampled
+     */
+    public LoggingEventBuilder at(PersistenceOperation operation) {
+        if (!log.isDebugEnabled() || !isSampled(operation)) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+
+        return log.atDebug().addKeyValue("operation", operation.getKey());
+    }
+
+    private boolean isSampled(PersistenceOperation operation) {
+        double rate = sampleRates[operation.ordinal()];
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rewrites the phone numbers of one users table in their E.164 form (see {@link PhoneNumber}), online.
+ * - Users are read in pages of batchSize rows, in ID order (keyset pagination: every page costs the same)
+ * - The changed rows of a page are written with one batch of single-row updates, in a transaction of its
+ *   own, so row locks are held for one short statement batch; a pause between pages leaves room for the regular traffic
+ * - An update only applies if the row still holds the value that was read, so a concurrent profile
+ *   update always wins, and running the backfill again is harmless
+ * - updated_at is left unchanged: the user did not change, and neither does the change feed
+ * Rows that cannot be written are left as they are and reported, with their user IDs, in the log:
+ * - values that are not phone numbers (they read as no phone number, and are cleared on the next save)
+ * - phone numbers taken by another user once normalized (a unique index violation); when a batch hits one,
+ *   the whole batch is rolled back and its rows are retried one at a time to tell them apart
+ * Used for the main users table and for every shard of the sharded backend.
+ */
+@Slf4j
+public class PhoneNumberBackfill {
+
+    private static final String SELECT_PAGE = """
+            SELECT id, phone_number FROM users
+            WHERE id > ? AND phone_number IS NOT NULL
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE = "UPDATE users SET phone_number = ? WHERE id = ? AND phone_number = ?";
+
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration pause;
+
+    /**
+     * Outcome of a backfill.
+     *
+     * @param scanned    users with a phone number
+     * @param normalized users whose phone number was rewritten
+     * @param invalid    users whose phone number is not a valid phone number
+     * @param conflicts  users whose normalized phone number belongs to another user
+     */
+    public record Result(long scanned, long normalized, long invalid, long conflicts) {
+
+        Result plus(Result other) {
+            return new Result(scanned + other.scanned, normalized + other.normalized,
+                    invalid + other.invalid, conflicts + other.conflicts);
+        }
+    }
+
+    /**
+     * A phone number as stored, and in E.164 form (null if it is not a valid phone number).
+     */
+    private record Row(UUID id, String stored, String normalized) {
+    }
+
+    public PhoneNumberBackfill(JdbcTemplate jdbc, int batchSize, Duration pause) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    /**
+     * Normalizes all phone numbers of the users table.
+     *
+     * @return what was found and done
+     * @throws InterruptedException if interrupted between two pages; pages already done stay done
+     */
+    public Result run() throws InterruptedException {
+        Result total = new Result(0, 0, 0, 0);
+        UUID lastId = NIL_UUID;
+
+        while (true) {
+            List<Row> rows = jdbc.query(SELECT_PAGE, (rs, rowNum) -> {
+                String stored = rs.getString("phone_number");
+                return new Row(rs.getObject("id", UUID.class), stored,
+                        PhoneNumber.tryParse(stored).map(PhoneNumber::getValue).orElse(null));
+            }, lastId, batchSize);
+            if (rows.isEmpty()) {
+                return total;
+            }
+
+            List<Row> changes = new ArrayList<>();
+            long invalid = 0;
+            for (Row row : rows) {
+                if (row.normalized() == null) {
+                    invalid++;
+                    log.warn("User {} has an invalid phone number, left unchanged", row.id());
+                } else if (!row.normalized().equals(row.stored())) {
+                    changes.add(row);
+                }
+            }
+
+            Result page = apply(changes);
+            total = total.plus(new Result(rows.size(), page.normalized(), invalid, page.conflicts()));
+            lastId = rows.get(rows.size() - 1).id();
+
+            if (rows.size() < batchSize) {
+                return total;
+            }
+            if (!pause.isZero()) {
+                Thread.sleep(pause.toMillis());
+            }
+        }
+    }
+
+    private Result apply(List<Row> changes) {
+        if (changes.isEmpty()) {
+            return new Result(0, 0, 0, 0);
+        }
+
+        try {
+            int[] counts = transaction.execute(status -> jdbc.batchUpdate(UPDATE, changes.stream()
+                    .map(change -> new Object[]{change.normalized(), change.id(), change.stored()})
+                    .toList()));
+            return new Result(0, updatedRows(counts), 0, 0);
+        } catch (DataIntegrityViolationException e) {
+            return applyOneByOne(changes);
+        }
+    }
+
+    private Result applyOneByOne(List<Row> changes) {
+        long normalized = 0;
+        long conflicts = 0;
+        for (Row change : changes) {
+            try {
+                normalized += jdbc.update(UPDATE, change.normalized(), change.id(), change.stored());
+            } catch (DataIntegrityViolationException e) {
+                conflicts++;
+                log.warn("User {} has a phone number taken by another user once normalized, left unchanged",
+                        change.id());
+            }
+        }
+        return new Result(0, normalized, 0, conflicts);
+    }
+
+    private static long updatedRows(int[] counts) {
+        long updated = 0;
+        for (int count : counts) {
+            // SUCCESS_NO_INFO (-2): the driver does not report counts; the row was written
+            updated += count >= 0 ? count : 1;
+        }
+        return updated;
+    }
+}
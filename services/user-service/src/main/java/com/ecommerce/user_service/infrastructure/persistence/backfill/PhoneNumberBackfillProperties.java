@@ -0,0 +1,30 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Normalization of existing phone numbers (see {@link PhoneNumberBackfill}).
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.phone-backfill")
+public class PhoneNumberBackfillProperties {
+
+    /**
+     * Whether to run the backfill in the background after startup. Enable it on a single instance, once.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of users read and written per page.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between two pages, leaving room for the regular traffic.
+     */
+    private Duration pause = Duration.ofMillis(100);
+}
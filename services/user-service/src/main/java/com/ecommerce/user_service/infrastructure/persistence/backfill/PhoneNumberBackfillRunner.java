@@ -0,0 +1,61 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import com.ecommerce.user_service.infrastructure.persistence.sharding.ShardDataSources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs {@link PhoneNumberBackfill} once after startup, in a background thread, so the instance serves
+ * requests meanwhile, then creates the phone number index if it is missing ({@link PhoneNumberIndex}).
+ * With the sharded backend every shard is backfilled in turn; otherwise the main users table.
+ * Enabled with user-service.phone-backfill.enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "user-service.phone-backfill.enabled", havingValue = "true")
+@ConditionalOnExpression("'${user-service.persistence.backend:jpa}' != 'in-memory'")
+@RequiredArgsConstructor
+public class PhoneNumberBackfillRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final PhoneNumberBackfillProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        List<JdbcTemplate> targets = shards != null ? shards.getJdbcTemplates() : List.of(jdbcTemplate);
+
+        Thread thread = new Thread(() -> backfill(targets), "phone-number-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void backfill(List<JdbcTemplate> targets) {
+        for (int i = 0; i < targets.size(); i++) {
+            try {
+                PhoneNumberBackfill.Result result = new PhoneNumberBackfill(
+                        targets.get(i), properties.getBatchSize(), properties.getPause()).run();
+                PhoneNumberIndex.Outcome index = new PhoneNumberIndex(targets.get(i)).create();
+                log.info("Phone number backfill of users table {}/{} done: {} scanned, {} normalized, "
+                                + "{} invalid, {} conflicts, index {}", i + 1, targets.size(), result.scanned(),
+                        result.normalized(), result.invalid(), result.conflicts(), index);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Phone number backfill interrupted");
+                return;
+            } catch (RuntimeException e) {
+                log.error("Phone number backfill of users table {}/{} failed", i + 1, targets.size(), e);
+            }
+        }
+    }
+}
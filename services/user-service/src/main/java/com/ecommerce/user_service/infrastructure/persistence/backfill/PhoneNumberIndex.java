@@ -0,0 +1,82 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the unique phone number index (idx_user_phone, see db/schema/user-phone.sql) of a users table
+ * whose phone numbers were normalized by {@link PhoneNumberBackfill}, without blocking writes. PostgreSQL only.
+ * - Nothing is done if the index exists and is valid (also the user_phones key of the partitioned layout)
+ * - Users sharing a phone number are reported, with their user IDs, and the index is not created:
+ *   once they are resolved, running the backfill again creates it
+ * - The index is built with CREATE UNIQUE INDEX CONCURRENTLY. A build that fails (a duplicate written meanwhile)
+ *   leaves an invalid index, which is dropped, here or on the next run
+ */
+@Slf4j
+public class PhoneNumberIndex {
+
+    /**
+     * What {@link #create()} found or did.
+     */
+    public enum Outcome {
+        EXISTS, CREATED, DUPLICATES
+    }
+
+    private static final String VALID = """
+            SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass('idx_user_phone')
+            """;
+
+    private static final String DUPLICATES = """
+            SELECT string_agg(id::text, ', ' ORDER BY id) FROM users
+            WHERE phone_number IS NOT NULL
+            GROUP BY phone_number
+            HAVING count(*) > 1
+            """;
+
+    private static final String CREATE = "CREATE UNIQUE INDEX CONCURRENTLY idx_user_phone ON users (phone_number) "
+            + "WHERE phone_number IS NOT NULL";
+
+    private static final String DROP = "DROP INDEX CONCURRENTLY IF EXISTS idx_user_phone";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * @param jdbc the users table's database, on an auto-commit connection (CONCURRENTLY cannot run in a transaction)
+     */
+    public PhoneNumberIndex(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Creates the index unless it exists or users share a phone number.
+     */
+    public Outcome create() {
+        List<Boolean> valid = jdbc.queryForList(VALID, Boolean.class);
+        if (valid.contains(Boolean.TRUE)) {
+            return Outcome.EXISTS;
+        }
+        if (!valid.isEmpty()) {
+            log.warn("Dropping the invalid idx_user_phone left by a failed build");
+            jdbc.execute(DROP);
+        }
+
+        List<String> duplicates = jdbc.queryForList(DUPLICATES, String.class);
+        if (!duplicates.isEmpty()) {
+            duplicates.forEach(userIds -> log.warn("Users {} share a phone number", userIds));
+            log.warn("idx_user_phone not created: {} phone numbers belong to several users", duplicates.size());
+            return Outcome.DUPLICATES;
+        }
+
+        try {
+            jdbc.execute(CREATE);
+            return Outcome.CREATED;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("idx_user_phone not created: a phone number was taken twice during the build");
+            jdbc.execute(DROP);
+            return Outcome.DUPLICATES;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.user_service.infrastructure.persistence.batching;
+
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapper;
+import com.ecommerce.user_service.infrastructure.persistence.repository.JpaUserRepositorySpring;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the group commit writer used by JpaUserRepositoryAdapter.save, when enabled
+ * with {@code user-service.persistence.group-commit.enabled=true} on the JPA backend.
+ */
+
+@Configuration
+@ConditionalOnExpression("'${user-service.persistence.backend:jpa}' == 'jpa'"
+        + " and ${user-service.persistence.group-commit.enabled:false}")
+public class GroupCommitConfig {
+
+    @Bean(destroyMethod = "close")
+    public GroupCommitUserWriter groupCommitUserWriter(JpaUserRepositorySpring jpaRepository, UserEntityMapper mapper,
+                                                       PlatformTransactionManager transactionManager,
+                                                       MeterRegistry meterRegistry,
+                                                       GroupCommitProperties properties) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return new GroupCommitUserWriter(
+                users -> transaction.execute(status ->
+                        mapper.toDomain(jpaRepository.saveAll(mapper.toEntities(users)))),
+                properties.getQueueCapacity(), properties.getMaxBatchSize(), properties.getMaxDelay(),
+                properties.getCommitTimeout(), meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.user_service.infrastructure.persistence.batching;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Group commit of user saves (JPA backend only).
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.persistence.group-commit")
+public class GroupCommitProperties {
+
+    /**
+     * Whether saves are queued and committed in batches instead of one transaction each.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Saves waiting for a batch; when full, saves are written synchronously by the caller.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of saves committed in one transaction.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * How long the first save of a batch may wait for more saves to join it. 0 commits whatever
+     * has queued up while the previous batch was committing.
+     */
+    private Duration maxDelay = Duration.ofMillis(2);
+
+    /**
+     * How long a save waits for its batch to commit before failing. The save may still be committed afterwards.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,258 @@
+package com.ecommerce.user_service.infrastructure.persistence.batching;
+
+import com.ecommerce.user_service.domain.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Group commit of user saves: saves are queued and written by one thread, many per transaction,
+ * so concurrent callers share a commit (and its fsync) instead of paying one each.
+ * - A batch starts with the oldest queued save and takes the saves queued within the max delay,
+ *   up to the max batch size
+ * - Saves of the same user in a batch are coalesced: only the last one is written, and all of
+ *   their futures complete with it
+ * - Futures complete once the batch is committed. If a batch fails, its saves are retried one
+ *   transaction each, so one bad save (e.g. a duplicate email) fails alone
+ * - When the queue is full, {@link #submit} fails fast with {@link RejectedExecutionException}
+ *   and the caller is expected to write synchronously
+ * - If the writer thread dies (an Error), its batch fails with that error, the writer stops accepting saves
+ *   and the queued ones are rejected, so callers write synchronously instead of waiting forever
+ * Batch size, queue latency, commit time, coalesced and rejected saves are published as metrics.
+ */
+@Slf4j
+public class GroupCommitUserWriter implements AutoCloseable {
+
+    private static final String METRIC_PREFIX = "user.persistence.group-commit.";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Function<List<User>, List<User>> commit;
+    private final BlockingQueue<PendingSave> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration commitTimeout;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Timer queueLatency;
+    private final Timer commitTime;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    /**
+     * @param commit        saves users in one transaction, returning the saved users
+     * @param commitTimeout how long a caller waits for the commit of its save (see {@link #getCommitTimeout})
+     */
+    public GroupCommitUserWriter(Function<List<User>, List<User>> commit, int queueCapacity, int maxBatchSize,
+                                 Duration maxDelay, Duration commitTimeout, MeterRegistry registry) {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity and max batch size must be positive");
+        }
+
+        this.commit = commit;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.commitTimeout = commitTimeout;
+
+        this.batchSize = DistributionSummary.builder(METRIC_PREFIX + "batch.size")
+                .description("Users written per group commit")
+                .register(registry);
+        this.queueLatency = Timer.builder(METRIC_PREFIX + "queue.latency")
+                .description("Time from queueing a save to the start of its batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.commitTime = Timer.builder(METRIC_PREFIX + "commit")
+                .description("Time to write and commit a batch")
+                .register(registry);
+        this.coalesced = Counter.builder(METRIC_PREFIX + "coalesced")
+                .description("Saves merged into a later save of the same user")
+                .register(registry);
+        this.rejected = Counter.builder(METRIC_PREFIX + "rejected")
+                .description("Saves written synchronously because the queue was full or the writer stopped")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "queue.depth", queue, BlockingQueue::size)
+                .description("Saves waiting for a batch")
+                .register(registry);
+
+        this.writer = new Thread(this::run, "user-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a save.
+     *
+     * @return the saved user, completed when its batch is committed, or a future failed with
+     * {@link RejectedExecutionException} if the queue is full or the writer is stopped
+     */
+    public CompletableFuture<User> submit(User user) {
+        if (!running) {
+            return reject("Group commit writer is stopped");
+        }
+        PendingSave save = new PendingSave(user, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(save)) {
+            return reject("Group commit queue is full");
+        }
+        if (!running && queue.remove(save)) {
+            // The writer stopped after the check above and will not take this save
+            return reject("Group commit writer is stopped");
+        }
+        return save.result();
+    }
+
+    /**
+     * Returns how long a caller should wait for the future returned by {@link #submit}. When it times out,
+     * the save may still be committed later.
+     */
+    public Duration getCommitTimeout() {
+        return commitTimeout;
+    }
+
+    /**
+     * Stops accepting saves, commits the queued ones and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<PendingSave> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingSave first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    fill(batch, first.queuedAt() + maxDelayNanos);
+                    commit(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } catch (Throwable e) {
+                    // commit completes every future on a RuntimeException; this is an Error, or a bug in the writer
+                    log.error("Group commit writer failed", e);
+                    batch.forEach(save -> save.result().completeExceptionally(e));
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            running = false;
+            rejectQueued();
+        }
+    }
+
+    /**
+     * Fails the saves queued after the writer stopped taking them.
+     */
+    private void rejectQueued() {
+        List<PendingSave> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        if (!stranded.isEmpty()) {
+            log.warn("Group commit writer stopped, rejecting {} queued saves", stranded.size());
+        }
+        stranded.forEach(save -> {
+            rejected.increment();
+            save.result().completeExceptionally(new RejectedExecutionException("Group commit writer is stopped"));
+        });
+    }
+
+    private CompletableFuture<User> reject(String reason) {
+        rejected.increment();
+        return CompletableFuture.failedFuture(new RejectedExecutionException(reason));
+    }
+
+    private void fill(List<PendingSave> batch, long deadline) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingSave next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void commit(List<PendingSave> batch) {
+        long start = System.nanoTime();
+        Map<UUID, List<PendingSave>> savesById = new LinkedHashMap<>();
+        for (PendingSave save : batch) {
+            queueLatency.record(start - save.queuedAt(), TimeUnit.NANOSECONDS);
+            savesById.computeIfAbsent(save.user().getId(), id -> new ArrayList<>(1)).add(save);
+        }
+        coalesced.increment(batch.size() - savesById.size());
+
+        // The last save of each user wins
+        List<User> users = savesById.values().stream()
+                .map(saves -> saves.get(saves.size() - 1).user())
+                .toList();
+        try {
+            complete(savesById, commitTime.record(() -> commit.apply(users)));
+            batchSize.record(users.size());
+        } catch (RuntimeException e) {
+            if (users.size() == 1) {
+                savesById.values().forEach(saves -> fail(saves, e));
+                return;
+            }
+            for (User user : users) {
+                commitAlone(user, savesById.get(user.getId()));
+            }
+        }
+    }
+
+    private void commitAlone(User user, List<PendingSave> saves) {
+        try {
+            complete(Map.of(user.getId(), saves), commitTime.record(() -> commit.apply(List.of(user))));
+            batchSize.record(1);
+        } catch (RuntimeException e) {
+            fail(saves, e);
+        }
+    }
+
+    private static void complete(Map<UUID, List<PendingSave>> savesById, List<User> savedUsers) {
+        for (User saved : savedUsers) {
+            savesById.get(saved.getId()).forEach(save -> save.result().complete(saved));
+        }
+    }
+
+    private static void fail(List<PendingSave> saves, RuntimeException e) {
+        saves.forEach(save -> save.result().completeExceptionally(e));
+    }
+
+    private record PendingSave(User user, long queuedAt, CompletableFuture<User> result) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.user_service.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for the user_credentials table: one password hash per user.
+ * A separate table from users, so hashes stay out of the users second-level cache and of user queries.
+ * Not cached itself: credentials are only read on login.
+ */
+
+@Entity
+@Table(name = "user_credentials")
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialEntity {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @ToString.Exclude
+    @Column(name = "password_hash", nullable = false, length = 100)
+    private String passwordHash;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
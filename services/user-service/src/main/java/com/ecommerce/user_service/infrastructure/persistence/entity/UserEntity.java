@@ -5,6 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,13 +17,21 @@ import java.util.UUID;
  * JPA Entity for User table.
  * This class belongs to the infrastructure layer and knows about JPA/PostgreSQL.
  * It's separated from the domain User to keep domain clean.
+ * Cached in the second-level cache by id ({@value #CACHE_REGION}) and by email,
+ * which is the immutable natural id ({@value #NATURAL_ID_CACHE_REGION}).
+ * The unique index on the phone number (idx_user_phone) is partial, which JPA cannot declare:
+ * it is created by db/schema/user-phone.sql.
  */
 
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_user_email", columnList = "email", unique = true),
-        @Index(name = "idx_user_status", columnList = "status")
+        @Index(name = "idx_user_status", columnList = "status"),
+        @Index(name = "idx_user_updated_at", columnList = "updated_at, id")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 
 @Data
 @Builder
@@ -27,11 +39,15 @@ import java.util.UUID;
 @AllArgsConstructor
 public class UserEntity {
 
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+
     @Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
-    @Column(name = "email", nullable = false, unique = true, length = 255)
+    @NaturalId
+    @Column(name = "email", nullable = false, unique = true, updatable = false, length = 255)
     private String email;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -63,7 +79,7 @@ public class UserEntity {
         }
     }
 
-    @PrePersist
+    @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
@@ -0,0 +1,33 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import com.ecommerce.user_service.domain.model.UserCredential;
+import com.ecommerce.user_service.domain.repository.CredentialRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of CredentialRepository (domain interface),
+ * companion of {@link InMemoryUserRepository}. Credentials are immutable, so they are stored as is.
+ */
+@Repository
+@ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "in-memory")
+public class InMemoryCredentialRepository implements CredentialRepository {
+
+    private final Map<UUID, UserCredential> credentialsByUserId = new ConcurrentHashMap<>();
+
+    @Override
+    public UserCredential save(UserCredential credential) {
+        credentialsByUserId.put(credential.userId(), credential);
+        return credential;
+    }
+
+    @Override
+    public Optional<UserCredential> findByUserId(UUID userId) {
+        return Optional.ofNullable(credentialsByUserId.get(userId));
+    }
+}
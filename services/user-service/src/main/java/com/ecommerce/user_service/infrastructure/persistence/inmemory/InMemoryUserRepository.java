@@ -0,0 +1,246 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSearchResult;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.TrigramUserSearch;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserChangeFeed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of UserRepository (domain interface).
+ * This is an ADAPTER in Hexagonal Architecture, alternative to the JPA adapter,
+ * used for fast tests and for benchmarking the application layer without a database.
+ * - Users are kept by ID; two more indexes map the normalized email and phone number to the user ID
+ * - Email and phone number uniqueness is enforced like idx_user_email and idx_user_phone: saving
+ *   another user with a taken email or phone number fails with DuplicateKeyException
+ * - Writes to the same ID are serialized; everything else runs concurrently
+ * - Users are stored as immutable snapshots: saving takes one, findSnapshotById and findSnapshotsByIds
+ *   return the stored snapshot itself, and only the methods returning aggregates build new ones
+ * - search scans all users, scoring them like the PostgreSQL trigram search
+ * - Last-seen timestamps are kept apart from the snapshots, so recording them leaves the users unchanged
+ * Enabled with user-service.persistence.backend=in-memory (see the "in-memory" profile).
+ */
+@Repository
+@ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "in-memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<UUID, UserSnapshot> usersById = new ConcurrentHashMap<>();
+    private final Map<String, UUID> userIdsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, UUID> userIdsByPhone = new ConcurrentHashMap<>();
+    private final Map<UUID, LocalDateTime> lastSeenById = new ConcurrentHashMap<>();
+
+    @Override
+    public User save(User user) {
+        UserSnapshot stored = user.snapshot();
+        String email = stored.email().getAddress();
+        String phone = phoneValue(stored);
+
+        usersById.compute(stored.id(), (id, previous) -> {
+            UUID owner = userIdsByEmail.putIfAbsent(email, id);
+            if (owner != null && !owner.equals(id)) {
+                throw new DuplicateKeyException("Duplicate key in idx_user_email: " + email);
+            }
+            if (phone != null) {
+                UUID phoneOwner = userIdsByPhone.putIfAbsent(phone, id);
+                if (phoneOwner != null && !phoneOwner.equals(id)) {
+                    if (owner == null) {
+                        userIdsByEmail.remove(email, id);
+                    }
+                    throw new DuplicateKeyException("Duplicate key in idx_user_phone: " + phone);
+                }
+            }
+            if (previous != null && !previous.email().getAddress().equals(email)) {
+                userIdsByEmail.remove(previous.email().getAddress(), id);
+            }
+            String previousPhone = previous != null ? phoneValue(previous) : null;
+            if (previousPhone != null && !previousPhone.equals(phone)) {
+                userIdsByPhone.remove(previousPhone, id);
+            }
+            return stored;
+        });
+        return stored.toUser();
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return findSnapshotById(id).map(UserSnapshot::toUser);
+    }
+
+    @Override
+    public Optional<UserSnapshot> findSnapshotById(UUID id) {
+        return Optional.ofNullable(usersById.get(id));
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<UUID> ids) {
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(UserSnapshot::toUser)
+                .toList();
+    }
+
+    @Override
+    public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        return Optional.ofNullable(userIdsByEmail.get(email.getAddress())).flatMap(this::findById);
+    }
+
+    @Override
+    public void deleteUser(UUID id) {
+        usersById.computeIfPresent(id, (key, previous) -> {
+            userIdsByEmail.remove(previous.email().getAddress(), key);
+            String phone = phoneValue(previous);
+            if (phone != null) {
+                userIdsByPhone.remove(phone, key);
+            }
+            lastSeenById.remove(key);
+            return null;
+        });
+    }
+
+    @Override
+    public StatusUpdateResult updateStatus(Collection<UUID> ids, UserStatus status) {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        Map<UUID, StatusUpdateOutcome> outcomes = new LinkedHashMap<>();
+        Map<UUID, UserStatusTransition> transitions = new LinkedHashMap<>();
+
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            outcomes.put(id, StatusUpdateOutcome.NOT_FOUND);
+            usersById.computeIfPresent(id, (key, previous) -> {
+                if (previous.isDeleted()) {
+                    outcomes.put(key, StatusUpdateOutcome.USER_DELETED);
+                    return previous;
+                }
+                outcomes.put(key, StatusUpdateOutcome.UPDATED);
+                if (previous.status() == status) {
+                    return previous;
+                }
+                transitions.put(key, new UserStatusTransition(previous.status(), status));
+                return new UserSnapshot(key, previous.email(), previous.firstName(), previous.lastName(),
+                        previous.phoneNumber(), status, previous.createdAt(), updatedAt);
+            });
+        }
+        return new StatusUpdateResult(outcomes, transitions);
+    }
+
+    @Override
+    public Optional<User> findByPhone(PhoneNumber phoneNumber) {
+        return Optional.ofNullable(userIdsByPhone.get(phoneNumber.getValue())).flatMap(this::findById);
+    }
+
+    @Override
+    public boolean existsByPhone(PhoneNumber phoneNumber) {
+        return userIdsByPhone.containsKey(phoneNumber.getValue());
+    }
+
+    @Override
+    public void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt) {
+        lastSeenAt.forEach((id, seen) -> usersById.computeIfPresent(id, (key, user) -> {
+            lastSeenById.merge(key, seen, (stored, latest) -> latest.isAfter(stored) ? latest : stored);
+            return user;
+        }));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastSeen(UUID id) {
+        return Optional.ofNullable(lastSeenById.get(id));
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return userIdsByEmail.containsKey(email.getAddress());
+    }
+
+    @Override
+    public UserSearchPage search(UserSearchQuery query) {
+        return UserSearchPage.of(usersById.values().stream()
+                .<UserSearchResult>mapMulti((user, matches) -> {
+                    double score = score(query.text(), user);
+                    if (score >= TrigramSimilarity.WORD_SIMILARITY_THRESHOLD) {
+                        matches.accept(new UserSearchResult(user.toUser(), score));
+                    }
+                })
+                .filter(result -> query.after() == null || TrigramUserSearch.isAfter(result, query.after()))
+                .sorted(TrigramUserSearch.RESULT_ORDER)
+                .limit(query.limit() + 1L)
+                .toList(), query.limit());
+    }
+
+    @Override
+    public List<User> findUpdatedAfter(UserChangeCursor after, int limit) {
+        return usersById.values().stream()
+                .filter(user -> UserChangeFeed.isAfter(user.updatedAt(), user.id(), after))
+                .map(UserSnapshot::toUser)
+                .sorted(UserChangeFeed.ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public UserCounts countUsers() {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        Map<LocalDate, Long> signupsByDay = new HashMap<>();
+        for (UserSnapshot user : usersById.values()) {
+            byStatus.merge(user.status(), 1L, Long::sum);
+            signupsByDay.merge(user.createdAt().toLocalDate(), 1L, Long::sum);
+        }
+        return new UserCounts(byStatus, signupsByDay);
+    }
+
+    /**
+     * Removes all users.
+     */
+    public void clear() {
+        usersById.clear();
+        userIdsByEmail.clear();
+        userIdsByPhone.clear();
+        lastSeenById.clear();
+    }
+
+    private double score(String text, UserSnapshot user) {
+        return Math.max(
+                TrigramSimilarity.wordSimilarity(text, user.fullName()),
+                Math.max(TrigramSimilarity.wordSimilarity(text, user.email().getAddress()),
+                        TrigramSimilarity.wordSimilarity(text, phoneValue(user))));
+    }
+
+    private static String phoneValue(UserSnapshot user) {
+        return user.phoneNumber() != null ? user.phoneNumber().getValue() : null;
+    }
+}
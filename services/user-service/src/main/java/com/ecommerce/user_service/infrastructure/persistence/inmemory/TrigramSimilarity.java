@@ -0,0 +1,74 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram word similarity following PostgreSQL pg_trgm, so the in-memory backend ranks
+ * search results like the database does:
+ * - Text is lowercased and split into words of letters and digits
+ * - Each word is padded with two spaces in front and one behind, then cut into trigrams
+ * - The word similarity of a query to a text is the best similarity (shared trigrams over
+ *   all distinct trigrams) between the query and any continuous extent of the text's trigrams
+ */
+
+final class TrigramSimilarity {
+
+    /**
+     * Default of pg_trgm.word_similarity_threshold, used by the {@code <%} operator.
+     */
+    static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+
+    private TrigramSimilarity() {
+    }
+
+    static double wordSimilarity(String query, String text) {
+        if (text == null || text.isEmpty()) {
+            return 0.0;
+        }
+
+        Set<String> queryTrigrams = new HashSet<>(trigrams(words(query)));
+        if (queryTrigrams.isEmpty()) {
+            return 0.0;
+        }
+
+        List<String> textTrigrams = trigrams(words(text));
+        double best = 0.0;
+        for (int from = 0; from < textTrigrams.size(); from++) {
+            Set<String> extent = new HashSet<>();
+            int shared = 0;
+            for (int to = from; to < textTrigrams.size(); to++) {
+                String trigram = textTrigrams.get(to);
+                if (extent.add(trigram) && queryTrigrams.contains(trigram)) {
+                    shared++;
+                }
+                best = Math.max(best, (double) shared / (queryTrigrams.size() + extent.size() - shared));
+            }
+        }
+        return best;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> trigrams(List<String> words) {
+        List<String> trigrams = new ArrayList<>();
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
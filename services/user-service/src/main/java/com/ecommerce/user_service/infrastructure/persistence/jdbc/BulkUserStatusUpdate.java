@@ -0,0 +1,120 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based status update of many users of a PostgreSQL users table.
+ * - Each chunk of IDs is one statement: the requested rows that exist are locked with their current status,
+ *   and those neither DELETED nor already in the target status are updated, so deleted, missing and changed
+ *   users are told apart in the same round trip
+ * - The status is read under the row lock, so the transitions returned are exactly the changes made: of two
+ *   concurrent updates to the same status, the second finds the status already changed
+ * - The rows are locked by an ordered SELECT ... FOR UPDATE before the UPDATE; an UPDATE ... WHERE id = ANY(?)
+ *   alone would lock them in the order of its plan. IDs are chunked in the same order (UuidOrder, the database's
+ *   UUID order), so concurrent sweeps lock rows in the same order and do not deadlock
+ * - Without a surrounding transaction each chunk commits on its own
+ * - An optional row condition restricts the rows touched; the sharded backend uses it to skip the rows of
+ *   buckets a shard no longer owns, which are then reported as NOT_FOUND
+ * Used by the JPA backend and by every shard of the sharded backend.
+ */
+
+public final class BulkUserStatusUpdate {
+
+    /**
+     * Maximum number of IDs per statement.
+     */
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE = """
+            WITH locked AS MATERIALIZED (
+                SELECT id, status FROM users
+                WHERE id = ANY(?) AND %s
+                ORDER BY id
+                FOR UPDATE
+            ), updated AS (
+                UPDATE users SET status = ?, updated_at = ?
+                FROM locked
+                WHERE users.id = locked.id AND locked.status <> 'DELETED' AND locked.status <> ?
+                RETURNING users.id
+            )
+            SELECT locked.id, locked.status AS previous_status, updated.id IS NOT NULL AS updated
+            FROM locked
+            LEFT JOIN updated ON updated.id = locked.id
+            """;
+
+    private BulkUserStatusUpdate() {
+    }
+
+    /**
+     * Moves users of one users table to a status.
+     *
+     * @param jdbc      the database holding the users table
+     * @param ids       the user IDs; duplicates are ignored
+     * @param status    the target status
+     * @param updatedAt the new update timestamp of the updated users
+     * @return the outcome for every distinct ID, in the order of {@code ids}, and the status changes made
+     */
+    public static StatusUpdateResult update(JdbcOperations jdbc, Collection<UUID> ids, UserStatus status,
+                                            LocalDateTime updatedAt) {
+        return update(jdbc, ids, status, updatedAt, "TRUE");
+    }
+
+    /**
+     * Moves the users of one users table that match a row condition to a status.
+     *
+     * @param jdbc         the database holding the users table
+     * @param ids          the user IDs; duplicates are ignored
+     * @param status       the target status
+     * @param updatedAt    the new update timestamp of the updated users
+     * @param rowCondition SQL condition on the users row; rows not matching it are reported as NOT_FOUND
+     * @return the outcome for every distinct ID, in the order of {@code ids}, and the status changes made
+     */
+    public static StatusUpdateResult update(JdbcOperations jdbc, Collection<UUID> ids, UserStatus status,
+                                            LocalDateTime updatedAt, String rowCondition) {
+        String sql = UPDATE.formatted(rowCondition);
+        Map<UUID, StatusUpdateOutcome> outcomes = new LinkedHashMap<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            outcomes.put(id, StatusUpdateOutcome.NOT_FOUND);
+        }
+        Map<UUID, UserStatusTransition> transitions = new LinkedHashMap<>();
+
+        List<UUID> sorted = new ArrayList<>(outcomes.keySet());
+        sorted.sort(UuidOrder.COMPARATOR);
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+            jdbc.query(sql,
+                    ps -> {
+                        Array array = ps.getConnection().createArrayOf("uuid", chunk.toArray());
+                        ps.setArray(1, array);
+                        ps.setString(2, status.name());
+                        ps.setObject(3, updatedAt);
+                        ps.setString(4, status.name());
+                    },
+                    rs -> {
+                        UUID id = rs.getObject("id", UUID.class);
+                        UserStatus previous = UserStatus.valueOf(rs.getString("previous_status"));
+                        outcomes.put(id, previous == UserStatus.DELETED
+                                ? StatusUpdateOutcome.USER_DELETED
+                                : StatusUpdateOutcome.UPDATED);
+                        if (rs.getBoolean("updated")) {
+                            transitions.put(id, new UserStatusTransition(previous, status));
+                        }
+                    });
+        }
+        return new StatusUpdateResult(outcomes, transitions);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Batched update of the last_seen_at column of a PostgreSQL users table (see db/schema/user-activity.sql).
+ * - Each chunk is one statement joining the users table with unnest(ids, timestamps), so a whole flush
+ *   of coalesced activity costs one round trip per chunk instead of one per user
+ * - A row is only written when the new timestamp is later than the stored one, so late or
+ *   replayed flushes never move it backwards and unchanged rows are not rewritten
+ * - updated_at is left alone, and last_seen_at has no index, so PostgreSQL can apply the
+ *   update as a heap-only tuple (HOT) update without touching any index
+ * - The rows to write are locked by an ordered SELECT ... FOR UPDATE before the UPDATE, which alone would
+ *   lock them in the order of its plan. IDs are chunked in the same order (UuidOrder, the database's UUID
+ *   order), so concurrent flushes lock rows in the same order and do not deadlock
+ * - An optional row condition restricts the rows written; the sharded backend uses it to skip the rows of
+ *   buckets a shard no longer owns
+ * Used by the JPA backend and by every shard of the sharded backend.
+ */
+
+public final class LastSeenUpdate {
+
+    /**
+     * Maximum number of users per statement.
+     */
+    public static final int CHUNK_SIZE = 5000;
+
+    private static final String UPDATE = """
+            WITH locked AS MATERIALIZED (
+                SELECT u.id, v.seen FROM users u
+                JOIN unnest(?::uuid[], ?::timestamp[]) AS v(id, seen) ON v.id = u.id
+                WHERE (u.last_seen_at IS NULL OR u.last_seen_at < v.seen) AND %s
+                ORDER BY u.id
+                FOR UPDATE OF u
+            )
+            UPDATE users u SET last_seen_at = locked.seen
+            FROM locked
+            WHERE u.id = locked.id
+            """;
+
+    private static final String SELECT = "SELECT last_seen_at FROM users WHERE id = ?";
+
+    private LastSeenUpdate() {
+    }
+
+    /**
+     * Records the last activity of users of one users table.
+     *
+     * @param jdbc       the database holding the users table
+     * @param lastSeenAt the last activity of each user
+     * @return the number of rows written
+     */
+    public static int update(JdbcOperations jdbc, Map<UUID, LocalDateTime> lastSeenAt) {
+        return update(jdbc, lastSeenAt, "TRUE");
+    }
+
+    /**
+     * Records the last activity of the users of one users table that match a row condition.
+     *
+     * @param jdbc         the database holding the users table
+     * @param lastSeenAt   the last activity of each user
+     * @param rowCondition SQL condition on the users row, which is aliased u
+     * @return the number of rows written
+     */
+    public static int update(JdbcOperations jdbc, Map<UUID, LocalDateTime> lastSeenAt, String rowCondition) {
+        String sql = UPDATE.formatted(rowCondition);
+        List<UUID> sorted = new ArrayList<>(lastSeenAt.keySet());
+        sorted.sort(UuidOrder.COMPARATOR);
+
+        int updated = 0;
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+            Timestamp[] seen = chunk.stream()
+                    .map(id -> Timestamp.valueOf(lastSeenAt.get(id)))
+                    .toArray(Timestamp[]::new);
+            updated += jdbc.update(sql, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray()));
+                ps.setArray(2, ps.getConnection().createArrayOf("timestamp", seen));
+            });
+        }
+        return updated;
+    }
+
+    /**
+     * Finds the last activity of a user of one users table.
+     *
+     * @param jdbc the database holding the users table
+     * @param id   the user ID
+     * @return the last activity, or empty if the user is unknown or was never seen
+     */
+    public static Optional<LocalDateTime> find(JdbcOperations jdbc, UUID id) {
+        return jdbc.query(SELECT, (rs, rowNum) -> rs.getObject("last_seen_at", LocalDateTime.class), id)
+                .stream()
+                .filter(seen -> seen != null)
+                .findFirst();
+    }
+}
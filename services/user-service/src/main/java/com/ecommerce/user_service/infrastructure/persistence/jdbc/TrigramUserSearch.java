@@ -0,0 +1,105 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import com.ecommerce.user_service.domain.model.UserSearchCursor;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSearchResult;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * PostgreSQL trigram (pg_trgm) search over a users table.
+ * - Candidates are selected with the word similarity operator (<%) on the full name, email and
+ *   phone number, which the GIN indexes of db/schema/user-search.sql serve as a bitmap OR
+ * - The score is the best word similarity over those three fields
+ * - Pages are cut with a keyset on (score DESC, id ASC), so deep pages cost the same as the first one
+ * Used by the JPA backend and by every shard of the sharded backend.
+ */
+
+public final class TrigramUserSearch {
+
+    /**
+     * Order of search results, matching the ORDER BY of the query.
+     */
+    public static final Comparator<UserSearchResult> RESULT_ORDER = Comparator
+            .comparingDouble(UserSearchResult::score).reversed()
+            .thenComparing(result -> result.user().getId(), UuidOrder.COMPARATOR);
+
+    private static final String FULL_NAME = "(u.first_name || ' ' || u.last_name)";
+
+    private static final String SELECT = """
+            SELECT id, email, first_name, last_name, phone_number, status, created_at, updated_at, score
+            FROM (
+                SELECT u.*, GREATEST(
+                        word_similarity(:text, %1$s),
+                        word_similarity(:text, u.email),
+                        word_similarity(:text, COALESCE(u.phone_number, ''))) AS score
+                FROM users u
+                WHERE :text <%% %1$s
+                   OR :text <%% u.email
+                   OR :text <%% u.phone_number
+            ) ranked
+            """.formatted(FULL_NAME);
+
+    private static final String AFTER_CURSOR = """
+            WHERE score < :afterScore OR (score = :afterScore AND id > :afterId)
+            """;
+
+    private static final String ORDER_AND_LIMIT = """
+            ORDER BY score DESC, id
+            LIMIT :limit
+            """;
+
+    private static final UserRowMapper USER_ROW_MAPPER = new UserRowMapper();
+    private static final RowMapper<UserSearchResult> ROW_MAPPER = (rs, rowNum) ->
+            new UserSearchResult(USER_ROW_MAPPER.mapRow(rs, rowNum), rs.getDouble("score"));
+
+    private TrigramUserSearch() {
+    }
+
+    /**
+     * Runs a search against one users table.
+     *
+     * @param jdbc  the database holding the users table
+     * @param query the search
+     * @return up to {@code query.limit() + 1} results, best match first
+     */
+    public static List<UserSearchResult> search(NamedParameterJdbcTemplate jdbc, UserSearchQuery query) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("text", query.text())
+                .addValue("limit", query.limit() + 1);
+
+        String sql = SELECT;
+        if (query.after() != null) {
+            sql += AFTER_CURSOR;
+            parameters.addValue("afterScore", query.after().score())
+                    .addValue("afterId", query.after().id());
+        }
+
+        return jdbc.query(sql + ORDER_AND_LIMIT, parameters, ROW_MAPPER);
+    }
+
+    /**
+     * Merges the results of several {@link #search} calls into one page.
+     */
+    public static UserSearchPage merge(Collection<List<UserSearchResult>> results, int limit) {
+        return UserSearchPage.of(results.stream()
+                .flatMap(List::stream)
+                .sorted(RESULT_ORDER)
+                .limit(limit + 1L)
+                .toList(), limit);
+    }
+
+    /**
+     * Checks whether a result comes after a cursor in {@link #RESULT_ORDER}.
+     */
+    public static boolean isAfter(UserSearchResult result, UserSearchCursor cursor) {
+        return result.score() < cursor.score()
+                || (result.score() == cursor.score() && UuidOrder.compare(result.user().getId(), cursor.id()) > 0);
+    }
+}
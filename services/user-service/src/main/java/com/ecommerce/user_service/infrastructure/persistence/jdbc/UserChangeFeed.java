@@ -0,0 +1,69 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads a users table in the order of the last update, after a (updated_at, id) cursor.
+ * The cursor is a row value comparison, which PostgreSQL and H2 serve as one range scan of idx_user_updated_at.
+ * Used by the JPA backend and by every shard of the sharded backend.
+ */
+
+public final class UserChangeFeed {
+
+    /**
+     * Order of the feed, matching the ORDER BY of the query.
+     */
+    public static final Comparator<User> ORDER = Comparator.comparing(User::getUpdatedAt)
+            .thenComparing(User::getId, UuidOrder.COMPARATOR);
+
+    private static final String SELECT = "SELECT " + UserRowMapper.COLUMNS + " FROM users "
+            + "WHERE (updated_at, id) > (?, ?) "
+            + "ORDER BY updated_at, id "
+            + "LIMIT ?";
+
+    private static final UserRowMapper ROW_MAPPER = new UserRowMapper();
+
+    private UserChangeFeed() {
+    }
+
+    /**
+     * Reads one page of the feed of one users table.
+     */
+    public static List<User> find(JdbcOperations jdbc, UserChangeCursor after, int limit) {
+        return jdbc.query(SELECT, ROW_MAPPER, after.updatedAt(), after.id(), limit);
+    }
+
+    /**
+     * Merges pages of several users tables into one page.
+     */
+    public static List<User> merge(Collection<List<User>> pages, int limit) {
+        return pages.stream()
+                .flatMap(List::stream)
+                .sorted(ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Checks whether a user comes after a cursor in {@link #ORDER}.
+     */
+    public static boolean isAfter(User user, UserChangeCursor cursor) {
+        return isAfter(user.getUpdatedAt(), user.getId(), cursor);
+    }
+
+    /**
+     * Checks whether a user, given by its update timestamp and ID, comes after a cursor in {@link #ORDER}.
+     */
+    public static boolean isAfter(LocalDateTime updatedAt, UUID id, UserChangeCursor cursor) {
+        int result = updatedAt.compareTo(cursor.updatedAt());
+        return result > 0 || (result == 0 && UuidOrder.compare(id, cursor.id()) > 0);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the users of a users table by status and by day of creation.
+ * Both counts read the whole table (for three statuses, PostgreSQL prefers a sequential scan to idx_user_status),
+ * so they are only meant for reconciliation. Used by the JPA backend and by every shard of the sharded backend.
+ */
+
+public final class UserCountQuery {
+
+    private static final String COUNT_BY_STATUS = "SELECT status, COUNT(*) AS user_count FROM users GROUP BY status";
+
+    private static final String COUNT_BY_DAY = "SELECT CAST(created_at AS DATE) AS signup_day, COUNT(*) AS user_count "
+            + "FROM users GROUP BY CAST(created_at AS DATE)";
+
+    private UserCountQuery() {
+    }
+
+    /**
+     * Counts the users of one users table.
+     */
+    public static UserCounts count(JdbcOperations jdbc) {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        jdbc.query(COUNT_BY_STATUS, rs -> {
+            byStatus.put(UserStatus.valueOf(rs.getString("status")), rs.getLong("user_count"));
+        });
+
+        Map<LocalDate, Long> signupsByDay = new HashMap<>();
+        jdbc.query(COUNT_BY_DAY, rs -> {
+            signupsByDay.put(rs.getObject("signup_day", LocalDate.class), rs.getLong("user_count"));
+        });
+
+        return new UserCounts(byStatus, signupsByDay);
+    }
+}
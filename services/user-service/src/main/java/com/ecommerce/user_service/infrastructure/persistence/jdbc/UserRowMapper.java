@@ -0,0 +1,36 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maps a row of a users table (main database or shard) to the domain User.
+ */
+
+public class UserRowMapper implements RowMapper<User> {
+
+    public static final String COLUMNS =
+            "id, email, first_name, last_name, phone_number, status, created_at, updated_at";
+
+    @Override
+    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new User(
+                rs.getObject("id", UUID.class),
+                new Email(rs.getString("email")),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                PhoneNumber.tryParse(rs.getString("phone_number")).orElse(null),
+                UserStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.user_service.infrastructure.persistence.jdbc;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * UUID order of the database: unsigned, most significant bits first, like PostgreSQL and H2
+ * compare UUIDs. {@link UUID#compareTo} compares signed and does not match it.
+ * Needed wherever rows sorted by the database are merged or compared with a cursor in Java.
+ */
+
+public final class UuidOrder {
+
+    public static final Comparator<UUID> COMPARATOR = UuidOrder::compare;
+
+    private UuidOrder() {
+    }
+
+    public static int compare(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0
+                ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.infrastructure.persistence.mapper;
+
+import com.ecommerce.user_service.domain.model.UserCredential;
+import com.ecommerce.user_service.infrastructure.persistence.entity.CredentialEntity;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper between Domain UserCredential and JPA CredentialEntity,
+ * generated by MapStruct at compile time like {@link UserEntityMapper}.
+ */
+
+@Mapper
+public interface CredentialEntityMapper {
+
+    CredentialEntity toEntity(UserCredential credential);
+
+    UserCredential toDomain(CredentialEntity entity);
+}
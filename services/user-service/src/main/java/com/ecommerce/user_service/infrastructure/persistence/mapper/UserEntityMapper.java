@@ -1,95 +1,69 @@
 package com.ecommerce.user_service.infrastructure.persistence.mapper;
 
 import com.ecommerce.user_service.domain.model.User;
-import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
 import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
 import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
-import com.ecommerce.user_service.infrastructure.persistence.entity.UserStatusEntity;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+
+import java.util.List;
 
 /**
  * Mapper between Domain User and JPA UserEntity.
  * This is a key component in Hexagonal Architecture:
  * - It translates between domain language and persistence language
  * - Keeps domain independent of JPA
+ * The implementation (UserEntityMapperImpl, a Spring bean) is generated by MapStruct at compile time:
+ * - Targets are created directly, UserEntity with its no-args constructor and setters, User and
+ *   UserSnapshot with their constructors; no builder and no reflection
+ * - UserStatus and UserStatusEntity are mapped by constant name; a constant missing on either side
+ *   fails the build, and so does a target property without a source (see the compiler arguments in pom.xml)
+ * - The list methods map into a presized list, without a stream per call
+ * A null source maps to null.
  */
 
-@Component
-public class UserEntityMapper {
+@Mapper
+public interface UserEntityMapper {
 
     /**
      * Converts domain User to JPA UserEntity.
-     *
-     * @param user domain user
-     * @return JPA entity
      */
-    public UserEntity toEntity(User user) {
-        if (user == null) {
-            return null;
-        }
+    UserEntity toEntity(User user);
 
-        return UserEntity.builder()
-                .id(user.getId())
-                .email(user.getEmail().getAddress())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .phoneNumber(user.getPhoneNumber())
-                .status(toEntityStatus(user.getStatus()))
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .build();
-    }
+    List<UserEntity> toEntities(List<User> users);
 
     /**
      * Converts JPA UserEntity to domain User.
-     *
-     * @param entity JPA entity
-     * @return domain user
      */
-    public User toDomain(UserEntity entity) {
-        if (entity == null) {
-            return null;
-        }
+    User toDomain(UserEntity entity);
 
-        return new User(
-                entity.getId(),
-                new Email(entity.getEmail()),
-                entity.getFirstName(),
-                entity.getLastName(),
-                entity.getPhoneNumber(),
-                toDomainStatus(entity.getStatus()),
-                entity.getCreatedAt(),
-                entity.getUpdatedAt()
-        );
-    }
+    List<User> toDomain(List<UserEntity> entities);
 
     /**
-     * Converts domain UserStatus to entity UserStatusEntity.
+     * Converts JPA UserEntity to an immutable domain UserSnapshot, without building the aggregate.
      */
-    private UserStatusEntity toEntityStatus(UserStatus status) {
-        if (status == null) {
-            return null;
-        }
+    UserSnapshot toSnapshot(UserEntity entity);
 
-        return switch (status) {
-            case ACTIVE -> UserStatusEntity.ACTIVE;
-            case INACTIVE -> UserStatusEntity.INACTIVE;
-            case DELETED -> UserStatusEntity.DELETED;
-        };
+    List<UserSnapshot> toSnapshots(List<UserEntity> entities);
+
+    default String toAddress(Email email) {
+        return email != null ? email.getAddress() : null;
+    }
+
+    default Email toEmail(String address) {
+        return address != null ? new Email(address) : null;
+    }
+
+    default String toPhoneValue(PhoneNumber phoneNumber) {
+        return phoneNumber != null ? phoneNumber.getValue() : null;
     }
 
     /**
-     * Converts entity UserStatusEntity to domain UserStatus.
+     * Reads a stored phone number. Rows written before phone numbers were normalized may hold values
+     * that are not phone numbers: they read as none (see PhoneNumberBackfill).
      */
-    private UserStatus toDomainStatus(UserStatusEntity status) {
-        if (status == null) {
-            return null;
-        }
-
-        return switch (status) {
-            case ACTIVE -> UserStatus.ACTIVE;
-            case INACTIVE -> UserStatus.INACTIVE;
-            case DELETED -> UserStatus.DELETED;
-        };
+    default PhoneNumber toPhoneNumber(String number) {
+        return PhoneNumber.tryParse(number).orElse(null);
     }
 }
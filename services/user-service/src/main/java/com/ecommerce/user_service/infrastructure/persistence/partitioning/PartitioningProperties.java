@@ -0,0 +1,19 @@
+package com.ecommerce.user_service.infrastructure.persistence.partitioning;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Layout of the users table of the JPA backend.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.persistence.partitioning")
+public class PartitioningProperties {
+
+    /**
+     * Whether users is hash-partitioned by id (db/schema/users-partitioned.sql).
+     * Lookups by email and phone number then go through the user_emails and user_phones tables.
+     */
+    private boolean enabled = false;
+}
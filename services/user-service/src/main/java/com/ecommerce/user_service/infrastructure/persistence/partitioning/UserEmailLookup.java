@@ -0,0 +1,31 @@
+package com.ecommerce.user_service.infrastructure.persistence.partitioning;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the user_emails lookup table of the partitioned users layout.
+ * A lookup is one primary key probe, where a query on users by email would probe every partition.
+ */
+
+public final class UserEmailLookup {
+
+    private static final String SELECT_USER_ID = "SELECT user_id FROM user_emails WHERE email = :email";
+
+    private UserEmailLookup() {
+    }
+
+    /**
+     * Returns the ID of the user owning an email.
+     *
+     * @param jdbc    the main database
+     * @param address the normalized email address
+     * @return the user ID, if the email is taken
+     */
+    public static Optional<UUID> findUserId(NamedParameterJdbcTemplate jdbc, String address) {
+        return jdbc.queryForList(SELECT_USER_ID, Map.of("email", address), UUID.class).stream().findFirst();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.user_service.infrastructure.persistence.partitioning;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the user_phones lookup table of the partitioned users layout.
+ * A lookup is one primary key probe, where a query on users by phone number would probe every partition.
+ */
+
+public final class UserPhoneLookup {
+
+    private static final String SELECT_USER_ID = "SELECT user_id FROM user_phones WHERE phone_number = :phoneNumber";
+
+    private UserPhoneLookup() {
+    }
+
+    /**
+     * Returns the ID of the user owning a phone number.
+     *
+     * @param jdbc        the main database
+     * @param phoneNumber the phone number, in E.164 form
+     * @return the user ID, if the phone number is taken
+     */
+    public static Optional<UUID> findUserId(NamedParameterJdbcTemplate jdbc, String phoneNumber) {
+        return jdbc.queryForList(SELECT_USER_ID, Map.of("phoneNumber", phoneNumber), UUID.class).stream().findFirst();
+    }
+}
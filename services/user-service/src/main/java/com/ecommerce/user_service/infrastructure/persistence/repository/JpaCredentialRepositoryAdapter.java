@@ -0,0 +1,35 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.UserCredential;
+import com.ecommerce.user_service.domain.repository.CredentialRepository;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.CredentialEntityMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA implementation of CredentialRepository (domain interface).
+ * Credentials live in the main database with every backend but in-memory,
+ * including the sharded one, whose main database also holds the email index.
+ */
+@Repository
+@ConditionalOnExpression("'${user-service.persistence.backend:jpa}' != 'in-memory'")
+@RequiredArgsConstructor
+public class JpaCredentialRepositoryAdapter implements CredentialRepository {
+
+    private final JpaCredentialRepositorySpring jpaRepository;
+    private final CredentialEntityMapper mapper;
+
+    @Override
+    public UserCredential save(UserCredential credential) {
+        return mapper.toDomain(jpaRepository.save(mapper.toEntity(credential)));
+    }
+
+    @Override
+    public Optional<UserCredential> findByUserId(UUID userId) {
+        return jpaRepository.findById(userId).map(mapper::toDomain);
+    }
+}
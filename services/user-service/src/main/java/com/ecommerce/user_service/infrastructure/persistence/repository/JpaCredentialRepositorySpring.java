@@ -0,0 +1,15 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.infrastructure.persistence.entity.CredentialEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for CredentialEntity.
+ */
+
+@Repository
+public interface JpaCredentialRepositorySpring extends JpaRepository<CredentialEntity, UUID> {
+}
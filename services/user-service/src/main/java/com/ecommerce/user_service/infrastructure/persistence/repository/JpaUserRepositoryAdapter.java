@@ -1,16 +1,53 @@
 package com.ecommerce.user_service.infrastructure.persistence.repository;
 
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
 import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
 import com.ecommerce.user_service.domain.repository.UserRepository;
 import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.logging.LogMasking;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceOperation;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.batching.GroupCommitUserWriter;
 import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.BulkUserStatusUpdate;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.LastSeenUpdate;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.TrigramUserSearch;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserCountQuery;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserChangeFeed;
 import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapper;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.UserEmailLookup;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.UserPhoneLookup;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * JPA implementation of UserRepository (domain interface).
@@ -19,65 +56,250 @@ import java.util.UUID;
  * - Uses JPA infrastructure to persist data
  * - Translates between domain objects and JPA entities
  * The @Repository annotation makes this a Spring bean and enables exception translation.
+ * Logging goes through {@link SampledPersistenceLogger}: one sampled, structured event per operation,
+ * with emails masked.
+ * Bulk status updates run as plain SQL and evict the updated users from the second-level cache.
+ * Last-seen timestamps are not mapped by UserEntity: they are written and read as plain SQL,
+ * leaving the second-level cache alone.
+ * With a hash-partitioned users table, email and phone number lookups resolve the user ID through the
+ * user_emails and user_phones tables and then load the user by ID (still served by the second-level cache).
+ * With group commit enabled, saves outside a transaction go through {@link GroupCommitUserWriter} and
+ * return once their batch is committed; when its queue is full or it has stopped they are written synchronously,
+ * and when the batch takes longer than its commit timeout they fail with a QueryTimeoutException.
+ * Active unless another backend is selected with user-service.persistence.backend.
+ * Callers get it through the resilience decorator (see ResilientUserRepository) unless that is disabled.
  */
-@Slf4j
 @Repository
+@Qualifier("userRepositoryBackend")
+@ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 public class JpaUserRepositoryAdapter implements UserRepository {
 
     private final JpaUserRepositorySpring jpaRepository;
     private final UserEntityMapper mapper;
+    private final SampledPersistenceLogger persistenceLog;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PartitioningProperties partitioning;
+    private final Optional<GroupCommitUserWriter> groupCommit;
 
 
     @Override
     public User save(User user) {
-        log.debug("Saving user with id: {}", user.getId());
+        boolean grouped = groupCommit.isPresent() && !TransactionSynchronizationManager.isActualTransactionActive();
+        User savedUser = grouped ? saveGrouped(groupCommit.get(), user) : saveNow(user);
 
-        UserEntity entity = mapper.toEntity(user);
-        UserEntity savedEntity = jpaRepository.save(entity);
-        User savedUser = mapper.toDomain(savedEntity);
-
-        log.debug("User saved successfully with id: {} ", savedUser.getId());
+        persistenceLog.at(PersistenceOperation.SAVE)
+                .addKeyValue("userId", savedUser.getId())
+                .addKeyValue("grouped", grouped)
+                .log("User saved");
         return savedUser;
     }
 
+    private User saveNow(User user) {
+        return mapper.toDomain(jpaRepository.save(mapper.toEntity(user)));
+    }
+
+    private User saveGrouped(GroupCommitUserWriter writer, User user) {
+        Duration timeout = writer.getCommitTimeout();
+        try {
+            return writer.submit(user).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                // Backpressure (the queue is full) or the writer stopped: write in the caller's thread
+                return saveNow(user);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Not written synchronously instead: the batch may still commit, saving the user twice
+            throw new QueryTimeoutException("Group commit did not complete within " + timeout
+                    + "; the user may still be saved", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Interrupted waiting for group commit", e);
+        }
+    }
+
     @Override
     public Optional<User> findById(UUID id) {
-        log.debug("Finding user with id: {} ", id);
+        Optional<User> user = jpaRepository.findById(id).map(mapper::toDomain);
+
+        persistenceLog.at(PersistenceOperation.FIND_BY_ID)
+                .addKeyValue("userId", id)
+                .addKeyValue("found", user.isPresent())
+                .log("User lookup by id");
+        return user;
+    }
 
-        return jpaRepository.findById(id)
-                .map(entity -> {
-                    User user = mapper.toDomain(entity);
-                    log.debug("User found with id: {} ", id);
-                    return user;
-                });
+    @Override
+    public List<User> findAllByIds(Collection<UUID> ids) {
+        List<User> users = mapper.toDomain(jpaRepository.findAllByIdsCached(ids));
+
+        persistenceLog.at(PersistenceOperation.FIND_ALL_BY_IDS)
+                .addKeyValue("requested", ids.size())
+                .addKeyValue("found", users.size())
+                .log("User lookup by ids");
+        return users;
+    }
+
+    @Override
+    public Optional<UserSnapshot> findSnapshotById(UUID id) {
+        Optional<UserSnapshot> user = jpaRepository.findById(id).map(mapper::toSnapshot);
+
+        persistenceLog.at(PersistenceOperation.FIND_BY_ID)
+                .addKeyValue("userId", id)
+                .addKeyValue("found", user.isPresent())
+                .log("User snapshot lookup by id");
+        return user;
+    }
+
+    @Override
+    public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+        List<UserSnapshot> users = mapper.toSnapshots(jpaRepository.findAllByIdsCached(ids));
+
+        persistenceLog.at(PersistenceOperation.FIND_ALL_BY_IDS)
+                .addKeyValue("requested", ids.size())
+                .addKeyValue("found", users.size())
+                .log("User snapshot lookup by ids");
+        return users;
     }
 
     @Override
     public Optional<User> findByEmail(Email email) {
-        log.debug("Finding user by email: {}", email.getAddress());
+        Optional<UserEntity> entity = partitioning.isEnabled()
+                ? UserEmailLookup.findUserId(jdbc, email.getAddress()).flatMap(jpaRepository::findById)
+                : jpaRepository.findByNaturalEmail(email.getAddress());
+        Optional<User> user = entity.map(mapper::toDomain);
 
-        return jpaRepository.findByEmail(email.getAddress())
-                .map(entity -> {
-                    User user = mapper.toDomain(entity);
-                    log.debug("User found with email: {}", email.getAddress());
-                    return user;
-                });
+        persistenceLog.at(PersistenceOperation.FIND_BY_EMAIL)
+                .addKeyValue("email", () -> LogMasking.maskEmail(email))
+                .addKeyValue("found", user.isPresent())
+                .log("User lookup by email");
+        return user;
     }
 
     @Override
     public void deleteUser(UUID id) {
-
-        log.debug("Deleting user with id: {} ", id);
         jpaRepository.deleteById(id);
-        log.debug("User deleted with id: {} ", id);
+
+        persistenceLog.at(PersistenceOperation.DELETE)
+                .addKeyValue("userId", id)
+                .log("User deleted");
+    }
+
+    @Override
+    public StatusUpdateResult updateStatus(Collection<UUID> ids, UserStatus status) {
+        StatusUpdateResult result =
+                BulkUserStatusUpdate.update(jdbc.getJdbcOperations(), ids, status, LocalDateTime.now());
+
+        Cache cache = entityManagerFactory.getCache();
+        result.transitions().keySet().forEach(id -> cache.evict(UserEntity.class, id));
+
+        persistenceLog.at(PersistenceOperation.UPDATE_STATUS)
+                .addKeyValue("status", status)
+                .addKeyValue("requested", result.outcomes().size())
+                .addKeyValue("updated", () -> result.count(StatusUpdateOutcome.UPDATED))
+                .addKeyValue("changed", () -> result.transitions().size())
+                .log("User status bulk update");
+        return result;
+    }
+
+    @Override
+    public Optional<User> findByPhone(PhoneNumber phoneNumber) {
+        Optional<UserEntity> entity = partitioning.isEnabled()
+                ? UserPhoneLookup.findUserId(jdbc, phoneNumber.getValue()).flatMap(jpaRepository::findById)
+                : jpaRepository.findByPhoneNumber(phoneNumber.getValue());
+        Optional<User> user = entity.map(mapper::toDomain);
+
+        persistenceLog.at(PersistenceOperation.FIND_BY_PHONE)
+                .addKeyValue("phoneNumber", () -> LogMasking.maskPhone(phoneNumber))
+                .addKeyValue("found", user.isPresent())
+                .log("User lookup by phone number");
+        return user;
+    }
+
+    @Override
+    public boolean existsByPhone(PhoneNumber phoneNumber) {
+        boolean exists = partitioning.isEnabled()
+                ? UserPhoneLookup.findUserId(jdbc, phoneNumber.getValue()).isPresent()
+                : jpaRepository.existsByPhoneNumber(phoneNumber.getValue());
+
+        persistenceLog.at(PersistenceOperation.EXISTS_BY_PHONE)
+                .addKeyValue("phoneNumber", () -> LogMasking.maskPhone(phoneNumber))
+                .addKeyValue("exists", exists)
+                .log("User existence check by phone number");
+        return exists;
+    }
+
+    @Override
+    public void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt) {
+        int updated = LastSeenUpdate.update(jdbc.getJdbcOperations(), lastSeenAt);
+
+        persistenceLog.at(PersistenceOperation.UPDATE_LAST_SEEN)
+                .addKeyValue("requested", lastSeenAt.size())
+                .addKeyValue("updated", updated)
+                .log("User last seen update");
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastSeen(UUID id) {
+        Optional<LocalDateTime> lastSeen = LastSeenUpdate.find(jdbc.getJdbcOperations(), id);
+
+        persistenceLog.at(PersistenceOperation.FIND_LAST_SEEN)
+                .addKeyValue("userId", id)
+                .addKeyValue("found", lastSeen.isPresent())
+                .log("User last seen lookup");
+        return lastSeen;
     }
 
     @Override
     public boolean existsByEmail(Email email) {
-        log.debug("Checking if user exists with email: {} ", email.getAddress());
-        boolean exists = jpaRepository.existsByEmail(email.getAddress());
-        log.debug("User found with email {}: {} ", email.getAddress(), exists);
+        boolean exists = partitioning.isEnabled()
+                ? UserEmailLookup.findUserId(jdbc, email.getAddress()).isPresent()
+                : jpaRepository.existsByEmail(email.getAddress());
+
+        persistenceLog.at(PersistenceOperation.EXISTS_BY_EMAIL)
+                .addKeyValue("email", () -> LogMasking.maskEmail(email))
+                .addKeyValue("exists", exists)
+                .log("User existence check by email");
         return exists;
     }
-}
\ No newline at end of file
+
+    @Override
+    public UserSearchPage search(UserSearchQuery query) {
+        UserSearchPage page = UserSearchPage.of(TrigramUserSearch.search(jdbc, query), query.limit());
+
+        persistenceLog.at(PersistenceOperation.SEARCH)
+                .addKeyValue("limit", query.limit())
+                .addKeyValue("found", page.results().size())
+                .log("User search");
+        return page;
+    }
+
+    @Override
+    public List<User> findUpdatedAfter(UserChangeCursor after, int limit) {
+        List<User> users = UserChangeFeed.find(jdbc.getJdbcOperations(), after, limit);
+
+        persistenceLog.at(PersistenceOperation.FIND_UPDATED_AFTER)
+                .addKeyValue("after", after.updatedAt())
+                .addKeyValue("found", users.size())
+                .log("User change feed read");
+        return users;
+    }
+
+    @Override
+    public UserCounts countUsers() {
+        UserCounts counts = UserCountQuery.count(jdbc.getJdbcOperations());
+
+        persistenceLog.at(PersistenceOperation.COUNT)
+                .addKeyValue("users", counts::total)
+                .log("User count");
+        return counts;
+    }
+}
@@ -1,7 +1,10 @@
 package com.ecommerce.user_service.infrastructure.persistence.repository;
 
 import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,19 +14,28 @@ import java.util.UUID;
  * Spring Data JPA repository for UserEntity.
  * This is the "magic" Spring interface that provides CRUD operations.
  * Spring will generate the implementation automatically at runtime.
+ * Lookups by email go through {@link UserCachedLookup} to use the second-level cache.
  */
 
 @Repository
-public interface JpaUserRepositorySpring extends JpaRepository<UserEntity, UUID> {
+public interface JpaUserRepositorySpring extends JpaRepository<UserEntity, UUID>, UserCachedLookup {
 
     /**
-     * Find user by email.
-     * Spring Data JPA will generate the query automatically from the method name.
+     * Check if user exists by email.
+     * The result, positive or negative, is kept in the query cache until the users table changes.
      */
-    Optional<UserEntity> findByEmail(String email);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByEmail(String email);
 
     /**
-     * Check if user exists by email.
+     * Find a user by its normalized phone number, served by idx_user_phone.
      */
-    boolean existsByEmail(String email);
+    Optional<UserEntity> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Check if user exists by normalized phone number.
+     * The result, positive or negative, is kept in the query cache until the users table changes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByPhoneNumber(String phoneNumber);
 }
@@ -0,0 +1,27 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Custom Spring Data fragment for lookups that should be served from the second-level cache.
+ * Unlike derived queries, these go through Hibernate's natural id resolution and multi-id loading,
+ * which check the cache before querying the database.
+ */
+
+public interface UserCachedLookup {
+
+    /**
+     * Loads a user by its email natural id.
+     */
+    Optional<UserEntity> findByNaturalEmail(String email);
+
+    /**
+     * Loads users by ID, querying the database only for the ones not in the cache.
+     */
+    List<UserEntity> findAllByIdsCached(Collection<UUID> ids);
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link UserCachedLookup}, picked up by Spring Data by its "Impl" suffix.
+ */
+
+public class UserCachedLookupImpl implements UserCachedLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserEntity> findByNaturalEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserEntity> findAllByIdsCached(Collection<UUID> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(UserEntity.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+/**
+ * A shard refused a write because it does not own the bucket of the row (see {@link BucketOwnership}):
+ * the bucket was moved, or is being moved, to another shard.
+ */
+
+class BucketFencedException extends RuntimeException {
+
+    BucketFencedException(int bucket, int shard) {
+        super("Shard " + shard + " does not own bucket " + bucket);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Buckets owned by each shard: the fence that keeps writes routed by stale bucket assignments off a shard.
+ * - Every shard lists the buckets it owns in its owned_bucket table (db/sharding/shard-schema.sql)
+ * - Writes to a shard only touch rows of owned buckets, in the same statement ({@link #OWNED_ROWS}), so no
+ *   statement started after a bucket was fenced writes to it. A write that touched fewer rows than expected
+ *   checks {@link #owned} to tell a missing row from a fenced bucket
+ * - Buckets never moved (version 0 in user_shard_bucket) are owned by the shard the index assigns them to,
+ *   which {@link #initialize} records; ownership of moved buckets is only changed by {@link ShardRebalancer}
+ */
+
+public final class BucketOwnership {
+
+    /**
+     * Condition on the shard_bucket column of a shard's users table that only matches rows of owned buckets.
+     */
+    public static final String OWNED_ROWS = "shard_bucket IN (SELECT bucket FROM owned_bucket)";
+
+    private BucketOwnership() {
+    }
+
+    /**
+     * Records the ownership of the buckets that were never moved, on the shards they are assigned to.
+     *
+     * @param indexJdbc the database holding the bucket assignments
+     * @param shards    the shard databases, by shard id
+     */
+    static void initialize(JdbcTemplate indexJdbc, List<JdbcTemplate> shards) {
+        List<int[]> assignments = indexJdbc.query("SELECT bucket, shard_id FROM user_shard_bucket WHERE version = 0",
+                (rs, rowNum) -> new int[]{rs.getInt("bucket"), rs.getInt("shard_id")});
+        for (int[] assignment : assignments) {
+            own(shards.get(assignment[1]), assignment[0]);
+        }
+    }
+
+    /**
+     * Returns which of some buckets a shard owns.
+     */
+    static Set<Integer> owned(JdbcTemplate shard, Collection<Integer> buckets) {
+        if (buckets.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(new NamedParameterJdbcTemplate(shard).queryForList(
+                "SELECT bucket FROM owned_bucket WHERE bucket IN (:buckets)", Map.of("buckets", buckets),
+                Integer.class));
+    }
+
+    /**
+     * Makes a shard the owner of a bucket, if it is not already.
+     */
+    static void own(JdbcTemplate shard, int bucket) {
+        try {
+            shard.update("INSERT INTO owned_bucket (bucket) SELECT CAST(? AS INTEGER) WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM owned_bucket WHERE bucket = ?)", bucket, bucket);
+        } catch (DuplicateKeyException e) {
+            // Recorded by another instance in between
+        }
+    }
+
+    /**
+     * Stops a shard from taking writes for a bucket.
+     *
+     * @return true if the shard owned the bucket
+     */
+    static boolean fence(JdbcTemplate shard, int bucket) {
+        return shard.update("DELETE FROM owned_bucket WHERE bucket = ?", bucket) > 0;
+    }
+}
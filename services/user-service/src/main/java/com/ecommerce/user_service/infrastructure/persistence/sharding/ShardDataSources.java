@@ -0,0 +1,46 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.infrastructure.resilience.QueryTimeoutDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Connection pools of the shard databases, in shard id order.
+ * The JDBC templates apply the statement timeout of the current repository call (see {@link QueryTimeoutDataSource}).
+ */
+
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates;
+
+    public ShardDataSources(List<ShardingProperties.Shard> shards) {
+        this.dataSources = shards.stream()
+                .map(shard -> DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .toList();
+        this.jdbcTemplates = dataSources.stream()
+                .map(dataSource -> new JdbcTemplate(new QueryTimeoutDataSource(dataSource)))
+                .toList();
+    }
+
+    public List<HikariDataSource> getDataSources() {
+        return dataSources;
+    }
+
+    public List<JdbcTemplate> getJdbcTemplates() {
+        return jdbcTemplates;
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
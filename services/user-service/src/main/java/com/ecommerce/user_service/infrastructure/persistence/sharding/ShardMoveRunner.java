@@ -0,0 +1,58 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the bucket move configured under user-service.sharding.move once after startup, in a background thread,
+ * so the instance serves requests meanwhile (see {@link ShardRebalancer}).
+ * Enabled with user-service.sharding.move.enabled=true on one instance of the sharded backend; the range and
+ * target shard are checked at startup. Running it again after it completed moves nothing, and running it again
+ * after it was interrupted completes the move.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${user-service.sharding.move.enabled:false} "
+        + "and '${user-service.persistence.backend:jpa}' == 'sharded'")
+@RequiredArgsConstructor
+public class ShardMoveRunner implements ApplicationRunner {
+
+    private final ShardRebalancer rebalancer;
+    private final ShardRouter router;
+    private final ShardingProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ShardingProperties.Move move = properties.getMove();
+        if (move.getFromBucket() == null || move.getToBucket() == null || move.getTargetShard() == null) {
+            throw new IllegalStateException("user-service.sharding.move needs from-bucket, to-bucket and target-shard");
+        }
+        int fromBucket = move.getFromBucket();
+        int toBucket = move.getToBucket();
+        int targetShard = move.getTargetShard();
+        if (fromBucket < 0 || toBucket >= router.getBucketCount() || fromBucket > toBucket) {
+            throw new IllegalStateException("Invalid bucket range to move: " + fromBucket + "-" + toBucket);
+        }
+        if (targetShard < 0 || targetShard >= properties.getShards().size()) {
+            throw new IllegalStateException("Unknown shard to move buckets to: " + targetShard);
+        }
+
+        Thread thread = new Thread(() -> moveBuckets(fromBucket, toBucket, targetShard), "shard-move");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void moveBuckets(int fromBucket, int toBucket, int targetShard) {
+        log.info("Moving buckets {}-{} to shard {}", fromBucket, toBucket, targetShard);
+        try {
+            rebalancer.moveBuckets(fromBucket, toBucket, targetShard);
+        } catch (RuntimeException e) {
+            log.error("Moving buckets {}-{} to shard {} failed; run it again to complete it",
+                    fromBucket, toBucket, targetShard, e);
+        }
+    }
+}
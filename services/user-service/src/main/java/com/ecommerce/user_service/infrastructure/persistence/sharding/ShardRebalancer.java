@@ -0,0 +1,193 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Resharding tool: moves ranges of buckets to another shard while the service keeps running.
+ * The buckets of a range stay readable throughout; writes to them are refused (503) from the fence until
+ * the target shard owns them. All other buckets stay available. Steps:
+ * 1. Each bucket is fenced: its source shard stops taking writes for it ({@link BucketOwnership}), once the
+ *    operations of this instance on the bucket are done
+ * 2. The fence grace lets the writes already running on the source shards finish; it must be longer than
+ *    the longest write statement timeout. It is waited again if an instance starting meanwhile owned a bucket
+ *    again ({@link BucketOwnership#initialize})
+ * 3. For each bucket, leftovers of an interrupted earlier move are removed from the target shard, the rows
+ *    are copied to it in batches, in ID order, the target shard takes ownership and the bucket is reassigned
+ * 4. The propagation delay lets the routers of the other instances reload the assignments
+ *    (see {@link ShardRouter#refresh()}); until then they read the rows left on the source shards
+ * 5. The rows are deleted from the source shards
+ * Run one move at a time, with {@link ShardMoveRunner}. A move interrupted before step 3 leaves its buckets fenced: running it again,
+ * to the same shard or back to the source shard, makes them writable again.
+ */
+
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, shard_bucket, email, first_name, last_name, phone_number, status, created_at, updated_at, "
+                    + "last_seen_at FROM users WHERE shard_bucket = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String INSERT =
+            "INSERT INTO users (id, shard_bucket, email, first_name, last_name, phone_number, status, "
+                    + "created_at, updated_at, last_seen_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    private final List<JdbcTemplate> shards;
+    private final ShardRouter router;
+    private final int batchSize;
+    private final Duration fenceGrace;
+    private final Duration propagationDelay;
+
+    /**
+     * @param shards           the shard databases, by shard id
+     * @param router           the router of this instance
+     * @param batchSize        rows copied per batch
+     * @param fenceGrace       how long writes started before a fence may still run
+     * @param propagationDelay how long the other instances take to reload the bucket assignments
+     */
+    public ShardRebalancer(List<JdbcTemplate> shards, ShardRouter router, int batchSize, Duration fenceGrace,
+                           Duration propagationDelay) {
+        this.shards = List.copyOf(shards);
+        this.router = router;
+        this.batchSize = batchSize;
+        this.fenceGrace = fenceGrace;
+        this.propagationDelay = propagationDelay;
+    }
+
+    /**
+     * Moves a range of buckets to a shard.
+     *
+     * @param fromBucket  first bucket of the range
+     * @param toBucket    last bucket of the range (inclusive)
+     * @param targetShard the shard to move the buckets to
+     * @return the number of rows moved
+     */
+    public long moveBuckets(int fromBucket, int toBucket, int targetShard) {
+        if (fromBucket < 0 || toBucket >= router.getBucketCount() || fromBucket > toBucket) {
+            throw new IllegalArgumentException("Invalid bucket range: " + fromBucket + "-" + toBucket);
+        }
+        if (targetShard < 0 || targetShard >= shards.size()) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+
+        router.refresh();
+        Map<Integer, Integer> sources = new LinkedHashMap<>();
+        for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+            Integer source = fence(bucket, targetShard);
+            if (source != null) {
+                sources.put(bucket, source);
+            }
+        }
+        if (sources.isEmpty()) {
+            return 0;
+        }
+        // An instance starting meanwhile may have read a bucket as never moved and owned it again
+        do {
+            pause(fenceGrace);
+        } while (refence(sources));
+
+        long moved = 0;
+        for (Map.Entry<Integer, Integer> move : sources.entrySet()) {
+            moved += copy(move.getKey(), shards.get(move.getValue()), shards.get(targetShard));
+            BucketOwnership.own(shards.get(targetShard), move.getKey());
+            withMoveLock(move.getKey(), () -> router.reassign(move.getKey(), targetShard));
+        }
+        pause(propagationDelay);
+
+        sources.forEach((bucket, source) -> withMoveLock(bucket, () ->
+                shards.get(source).update("DELETE FROM users WHERE shard_bucket = ?", bucket)));
+        log.info("Moved buckets {}-{} to shard {}: {} rows", fromBucket, toBucket, targetShard, moved);
+        return moved;
+    }
+
+    /**
+     * Stops the source shard of a bucket from taking writes for it, once the operations of this instance on the
+     * bucket are done.
+     *
+     * @return the source shard, or null if the bucket is already assigned to the target shard
+     */
+    private Integer fence(int bucket, int targetShard) {
+        Lock lock = router.moveLock(bucket);
+        lock.lock();
+        try {
+            int sourceShard = router.shardOf(bucket);
+            if (sourceShard == targetShard) {
+                // Writable again if an interrupted move had fenced it
+                BucketOwnership.own(shards.get(sourceShard), bucket);
+                return null;
+            }
+            router.markMoving(bucket);
+            BucketOwnership.fence(shards.get(sourceShard), bucket);
+            return sourceShard;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fences the source shards again.
+     *
+     * @return true if one of them owned its bucket again
+     */
+    private boolean refence(Map<Integer, Integer> sources) {
+        boolean owned = false;
+        for (Map.Entry<Integer, Integer> move : sources.entrySet()) {
+            owned |= BucketOwnership.fence(shards.get(move.getValue()), move.getKey());
+        }
+        return owned;
+    }
+
+    private long copy(int bucket, JdbcTemplate source, JdbcTemplate target) {
+        target.update("DELETE FROM users WHERE shard_bucket = ?", bucket);
+
+        long copied = 0;
+        UUID lastId = NIL_UUID;
+        while (true) {
+            List<Map<String, Object>> rows = source.queryForList(SELECT_BATCH, bucket, lastId, batchSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+
+            target.batchUpdate(INSERT, rows.stream()
+                    .map(row -> new Object[]{
+                            row.get("id"), row.get("shard_bucket"), row.get("email"), row.get("first_name"),
+                            row.get("last_name"), row.get("phone_number"), row.get("status"),
+                            row.get("created_at"), row.get("updated_at"), row.get("last_seen_at")})
+                    .toList());
+
+            copied += rows.size();
+            lastId = (UUID) rows.get(rows.size() - 1).get("id");
+        }
+    }
+
+    private void withMoveLock(int bucket, Runnable action) {
+        Lock lock = router.moveLock(bucket);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving buckets", e);
+        }
+    }
+}
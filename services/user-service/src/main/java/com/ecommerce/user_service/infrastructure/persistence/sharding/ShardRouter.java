@@ -0,0 +1,230 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.infrastructure.resilience.PersistenceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes user IDs to shards.
+ * - An ID is hashed to one of a fixed number of buckets
+ * - Each bucket is assigned to a shard; assignments are persisted in the index database with a version per
+ *   bucket, bumped on every change. {@link #refresh()} reloads them when the sum of the versions has changed,
+ *   so the routers of all instances follow the moves made by any of them
+ * - Operations on a bucket hold its read lock, so a bucket being moved by a {@link ShardRebalancer} of this
+ *   instance (which holds the write lock) is never accessed half-moved
+ * - A write routed by assignments not refreshed yet is refused by the shard ({@link BucketOwnership}):
+ *   {@link #withBucket} then refreshes and retries on the new shard, or fails with
+ *   {@link PersistenceUnavailableException} while the bucket is still being moved
+ */
+
+@Slf4j
+public class ShardRouter {
+
+    private final JdbcTemplate indexJdbc;
+    private final int bucketCount;
+    private final int shardCount;
+    private final AtomicIntegerArray bucketToShard;
+    private final ReadWriteLock[] bucketLocks;
+    private volatile long version;
+
+    public ShardRouter(JdbcTemplate indexJdbc, int bucketCount, int shardCount) {
+        if (bucketCount < shardCount) {
+            throw new IllegalArgumentException("Bucket count must be at least the shard count");
+        }
+
+        this.indexJdbc = indexJdbc;
+        this.bucketCount = bucketCount;
+        this.shardCount = shardCount;
+        this.bucketToShard = new AtomicIntegerArray(bucketCount);
+        this.bucketLocks = new ReadWriteLock[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketLocks[bucket] = new ReentrantReadWriteLock();
+        }
+
+        loadAssignments();
+    }
+
+    /**
+     * Returns the bucket of a user ID.
+     */
+    public int bucketOf(UUID id) {
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        // MurmurHash3 finalizer, so non-random UUIDs spread evenly too
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) bucketCount);
+    }
+
+    /**
+     * Returns the shard a bucket is currently assigned to.
+     */
+    public int shardOf(int bucket) {
+        return bucketToShard.get(bucket);
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Runs an action against the shard of a bucket, holding the bucket's read lock. If the shard refuses a write
+     * of the action, the action is run again on the bucket's new shard.
+     *
+     * @param bucket the bucket
+     * @param action receives the shard id
+     * @return the result of the action
+     * @throws PersistenceUnavailableException if the bucket is being moved
+     */
+    public <T> T withBucket(int bucket, IntFunction<T> action) {
+        Lock lock = bucketLocks[bucket].readLock();
+        lock.lock();
+        try {
+            int shard = bucketToShard.get(bucket);
+            try {
+                return action.apply(shard);
+            } catch (BucketFencedException e) {
+                return action.apply(shardAfterFence(bucket, shard, e));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the shard a bucket was moved to after its former shard refused a write.
+     *
+     * @param bucket the bucket
+     * @param shard  the shard that refused the write
+     * @param fenced the refusal
+     * @return the new shard of the bucket
+     * @throws PersistenceUnavailableException if the bucket is still assigned to that shard, so it is being moved
+     */
+    int shardAfterFence(int bucket, int shard, BucketFencedException fenced) {
+        refresh();
+        int current = bucketToShard.get(bucket);
+        if (current == shard) {
+            throw new PersistenceUnavailableException("Bucket " + bucket + " is being moved, retry later", fenced);
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the bucket assignments if any of them changed since they were last loaded.
+     */
+    public synchronized void refresh() {
+        Long stored = indexJdbc.queryForObject("SELECT COALESCE(SUM(version), 0) FROM user_shard_bucket", Long.class);
+        if (stored != null && stored != version) {
+            int changed = loadAssignments();
+            if (changed > 0) {
+                log.info("Reloaded shard bucket assignments, {} buckets moved", changed);
+            }
+        }
+    }
+
+    /**
+     * Runs an action holding the read locks of several buckets, so none of them moves while it runs.
+     * Locks are taken in bucket order; the action may call {@link #shardOf(int)} for those buckets.
+     *
+     * @param buckets the buckets
+     * @param action  the action
+     * @return the result of the action
+     */
+    public <T> T withBuckets(Collection<Integer> buckets, Supplier<T> action) {
+        List<Lock> locks = new TreeSet<>(buckets).stream()
+                .map(bucket -> bucketLocks[bucket].readLock())
+                .toList();
+
+        int locked = 0;
+        try {
+            for (Lock lock : locks) {
+                lock.lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the lock that excludes all operations on a bucket while it is moved.
+     */
+    Lock moveLock(int bucket) {
+        return bucketLocks[bucket].writeLock();
+    }
+
+    /**
+     * Records that a bucket is being moved: it is not assigned to another shard yet, but is no longer one of the
+     * buckets never moved (see {@link BucketOwnership}).
+     */
+    void markMoving(int bucket) {
+        indexJdbc.update("UPDATE user_shard_bucket SET version = version + 1 WHERE bucket = ?", bucket);
+    }
+
+    /**
+     * Assigns a bucket to another shard. Must be called holding {@link #moveLock(int)}.
+     */
+    synchronized void reassign(int bucket, int shard) {
+        indexJdbc.update("UPDATE user_shard_bucket SET shard_id = ?, version = version + 1 WHERE bucket = ?",
+                shard, bucket);
+        bucketToShard.set(bucket, shard);
+    }
+
+    /**
+     * Loads the bucket assignments, creating them on first start.
+     *
+     * @return the number of buckets whose shard changed
+     */
+    private int loadAssignments() {
+        List<long[]> rows = indexJdbc.query("SELECT bucket, shard_id, version FROM user_shard_bucket",
+                (rs, rowNum) -> new long[]{rs.getInt("bucket"), rs.getInt("shard_id"), rs.getLong("version")});
+
+        if (rows.isEmpty()) {
+            // First start: contiguous bucket ranges per shard
+            List<Object[]> assignments = new ArrayList<>(bucketCount);
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                int shard = (int) ((long) bucket * shardCount / bucketCount);
+                bucketToShard.set(bucket, shard);
+                assignments.add(new Object[]{bucket, shard});
+            }
+            indexJdbc.batchUpdate("INSERT INTO user_shard_bucket (bucket, shard_id) VALUES (?, ?)", assignments);
+            version = 0;
+            return 0;
+        }
+
+        if (rows.size() != bucketCount) {
+            throw new IllegalStateException(
+                    "Stored bucket count " + rows.size() + " does not match configured bucket count " + bucketCount);
+        }
+        int changed = 0;
+        long loadedVersion = 0;
+        for (long[] row : rows) {
+            if (row[1] >= shardCount) {
+                throw new IllegalStateException("Bucket " + row[0] + " is assigned to unknown shard " + row[1]);
+            }
+            if (bucketToShard.getAndSet((int) row[0], (int) row[1]) != row[1]) {
+                changed++;
+            }
+            loadedVersion += row[2];
+        }
+        version = loadedVersion;
+        return changed;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the refresh of the bucket assignments at the interval of {@link ShardingProperties}, so the router
+ * follows the moves made by other instances before they delete the rows they copied.
+ */
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "sharded")
+public class ShardRoutingTasks implements SchedulingConfigurer {
+
+    private final ShardRouter router;
+    private final ShardingProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(router::refresh, properties.getAssignmentRefreshInterval());
+    }
+}
@@ -0,0 +1,452 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSearchResult;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.BulkUserStatusUpdate;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.LastSeenUpdate;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.TrigramUserSearch;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserCountQuery;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserChangeFeed;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Sharded implementation of UserRepository (domain interface).
+ * This is an ADAPTER in Hexagonal Architecture, alternative to the JPA adapter:
+ * - findById, save and deleteUser are routed by the bucket of the user ID
+ * - findByEmail and existsByEmail go through the global email index, which maps an email
+ *   to its user ID (and so to its shard) and enforces email uniqueness across shards
+ * - findByPhone and existsByPhone query every shard in parallel, each served by its idx_user_phone.
+ *   Phone numbers are only unique within a shard: there is no global phone number index
+ * - findAllByIds locks all involved buckets, then queries each involved shard in parallel and merges the results
+ * - updateStatus and updateLastSeen lock all involved buckets, then update each involved shard in parallel
+ * - search and findUpdatedAfter query every shard in parallel and merge the ordered results
+ * - countUsers counts every shard in parallel, on its own executor, and adds up the counts
+ * - Writes only touch rows of buckets their shard owns ({@link BucketOwnership}). A write refused by a shard
+ *   because its bucket was moved by another instance is run again on the new shard of the bucket
+ * There are no distributed transactions: on save the email is registered in the index first
+ * and unregistered again if the shard write fails, unless the user is on its shard after all (a concurrent
+ * save of the same user won) or the shard cannot tell; on delete the shard row goes first.
+ * A save that finds its user inserted by a concurrent save since it looked becomes an update.
+ */
+@Slf4j
+
+public class ShardedUserRepository implements UserRepository {
+
+    private static final UserRowMapper ROW_MAPPER = new UserRowMapper();
+
+    private final List<JdbcTemplate> shards;
+    private final JdbcTemplate indexJdbc;
+    private final ShardRouter router;
+    private final Executor fanOutExecutor;
+    private final Executor countExecutor;
+
+    /**
+     * @param shards         the shard databases, by shard id
+     * @param indexJdbc      the database of the global email index
+     * @param router         the bucket routing
+     * @param fanOutExecutor runs the per-shard queries of calls; it should refuse work once saturated
+     * @param countExecutor  runs the per-shard queries of countUsers, which can take minutes
+     */
+    public ShardedUserRepository(List<JdbcTemplate> shards, JdbcTemplate indexJdbc, ShardRouter router,
+                                 Executor fanOutExecutor, Executor countExecutor) {
+        this.shards = List.copyOf(shards);
+        this.indexJdbc = indexJdbc;
+        this.router = router;
+        this.fanOutExecutor = fanOutExecutor;
+        this.countExecutor = countExecutor;
+        BucketOwnership.initialize(indexJdbc, this.shards);
+    }
+
+    @Override
+    public User save(User user) {
+        boolean registered = registerEmail(user);
+        int bucket = router.bucketOf(user.getId());
+
+        try {
+            router.withBucket(bucket, shard -> upsert(shard, bucket, user));
+        } catch (RuntimeException e) {
+            if (registered) {
+                unregisterEmail(user, bucket, e);
+            }
+            throw e;
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return router.withBucket(router.bucketOf(id), shard -> shards.get(shard)
+                .query("SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id = ?", ROW_MAPPER, id)
+                .stream()
+                .findFirst());
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<UUID> ids) {
+        Map<Integer, List<UUID>> idsByBucket = new HashMap<>();
+        for (UUID id : ids) {
+            idsByBucket.computeIfAbsent(router.bucketOf(id), key -> new ArrayList<>()).add(id);
+        }
+
+        return router.withBuckets(idsByBucket.keySet(), () -> {
+            Map<Integer, List<UUID>> idsByShard = new HashMap<>();
+            idsByBucket.forEach((bucket, bucketIds) -> idsByShard
+                    .computeIfAbsent(router.shardOf(bucket), key -> new ArrayList<>())
+                    .addAll(bucketIds));
+
+            List<CompletableFuture<List<User>>> queries = idsByShard.entrySet().stream()
+                    .map(entry -> CompletableFuture.supplyAsync(
+                            () -> findAllByIds(shards.get(entry.getKey()), entry.getValue()), fanOutExecutor))
+                    .toList();
+
+            List<User> users = new ArrayList<>(ids.size());
+            for (CompletableFuture<List<User>> query : queries) {
+                users.addAll(query.join());
+            }
+            return users;
+        });
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        return findUserIdByEmail(email).flatMap(this::findById);
+    }
+
+    @Override
+    public void deleteUser(UUID id) {
+        int bucket = router.bucketOf(id);
+        Optional<String> email = router.withBucket(bucket, shard -> {
+            JdbcTemplate jdbc = shards.get(shard);
+            List<String> emails = jdbc.queryForList("SELECT email FROM users WHERE id = ?", String.class, id);
+            int deleted = jdbc.update("DELETE FROM users WHERE id = ? AND " + BucketOwnership.OWNED_ROWS, id);
+            if (deleted == 0 && !owns(shard, bucket)) {
+                throw new BucketFencedException(bucket, shard);
+            }
+            return emails.stream().findFirst();
+        });
+
+        email.ifPresent(address -> indexJdbc.update(
+                "DELETE FROM user_email_index WHERE email = ? AND user_id = ?", address, id));
+    }
+
+    @Override
+    public StatusUpdateResult updateStatus(Collection<UUID> ids, UserStatus status) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        Map<Integer, List<UUID>> idsByBucket = new HashMap<>();
+        for (UUID id : distinctIds) {
+            idsByBucket.computeIfAbsent(router.bucketOf(id), key -> new ArrayList<>()).add(id);
+        }
+
+        LocalDateTime updatedAt = LocalDateTime.now();
+        Map<UUID, StatusUpdateOutcome> shardOutcomes = new HashMap<>();
+        Map<UUID, UserStatusTransition> transitions = new LinkedHashMap<>();
+        router.withBuckets(idsByBucket.keySet(), () -> {
+            Map<Integer, List<Integer>> pending = bucketsByShard(idsByBucket.keySet());
+            while (!pending.isEmpty()) {
+                Map<Integer, StatusUpdateResult> results = onShards(pending, (shard, buckets) ->
+                        BulkUserStatusUpdate.update(shards.get(shard), idsOf(buckets, idsByBucket), status,
+                                updatedAt, BucketOwnership.OWNED_ROWS));
+
+                // Users not found may be in buckets moved away from their shard: look for them on the new shard
+                Map<Integer, List<Integer>> missed = new HashMap<>();
+                results.forEach((shard, result) -> {
+                    shardOutcomes.putAll(result.outcomes());
+                    transitions.putAll(result.transitions());
+                    result.outcomes().forEach((id, outcome) -> {
+                        if (outcome == StatusUpdateOutcome.NOT_FOUND) {
+                            missed.computeIfAbsent(shard, key -> new ArrayList<>()).add(router.bucketOf(id));
+                        }
+                    });
+                });
+                pending = moved(missed);
+            }
+            return null;
+        });
+
+        Map<UUID, StatusUpdateOutcome> outcomes = new LinkedHashMap<>();
+        distinctIds.forEach(id -> outcomes.put(id, shardOutcomes.get(id)));
+        return new StatusUpdateResult(outcomes, transitions);
+    }
+
+    @Override
+    public Optional<User> findByPhone(PhoneNumber phoneNumber) {
+        return findOnAnyShard("SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE phone_number = ?",
+                ROW_MAPPER, phoneNumber.getValue());
+    }
+
+    @Override
+    public boolean existsByPhone(PhoneNumber phoneNumber) {
+        return findOnAnyShard("SELECT id FROM users WHERE phone_number = ?",
+                (rs, rowNum) -> rs.getObject("id", UUID.class), phoneNumber.getValue()).isPresent();
+    }
+
+    @Override
+    public void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt) {
+        Map<Integer, Map<UUID, LocalDateTime>> byBucket = new HashMap<>();
+        lastSeenAt.forEach((id, seen) -> byBucket
+                .computeIfAbsent(router.bucketOf(id), key -> new HashMap<>())
+                .put(id, seen));
+
+        router.withBuckets(byBucket.keySet(), () -> {
+            Map<Integer, List<Integer>> pending = bucketsByShard(byBucket.keySet());
+            while (!pending.isEmpty()) {
+                onShards(pending, (shard, buckets) -> {
+                    Map<UUID, LocalDateTime> shardLastSeen = new HashMap<>();
+                    buckets.forEach(bucket -> shardLastSeen.putAll(byBucket.get(bucket)));
+                    return LastSeenUpdate.update(shards.get(shard), shardLastSeen, BucketOwnership.OWNED_ROWS);
+                });
+                // Writing the same timestamps again is harmless, so all moved buckets are written again
+                pending = moved(pending);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastSeen(UUID id) {
+        return router.withBucket(router.bucketOf(id), shard -> LastSeenUpdate.find(shards.get(shard), id));
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return findUserIdByEmail(email).isPresent();
+    }
+
+    @Override
+    public UserSearchPage search(UserSearchQuery query) {
+        List<CompletableFuture<List<UserSearchResult>>> searches = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> TrigramUserSearch.search(new NamedParameterJdbcTemplate(shard), query), fanOutExecutor))
+                .toList();
+
+        return TrigramUserSearch.merge(searches.stream().map(CompletableFuture::join).toList(), query.limit());
+    }
+
+    @Override
+    public List<User> findUpdatedAfter(UserChangeCursor after, int limit) {
+        List<CompletableFuture<List<User>>> pages = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> UserChangeFeed.find(shard, after, limit), fanOutExecutor))
+                .toList();
+
+        return UserChangeFeed.merge(pages.stream().map(CompletableFuture::join).toList(), limit);
+    }
+
+    @Override
+    public UserCounts countUsers() {
+        List<CompletableFuture<UserCounts>> counts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> UserCountQuery.count(shard), countExecutor))
+                .toList();
+
+        return UserCounts.sum(counts.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Registers the user's email in the global index.
+     *
+     * @return true if a new entry was created, false if the user already owned it
+     * @throws DuplicateKeyException if the email belongs to another user
+     */
+    private boolean registerEmail(User user) {
+        String address = user.getEmail().getAddress();
+        try {
+            indexJdbc.update("INSERT INTO user_email_index (email, user_id) VALUES (?, ?)", address, user.getId());
+            return true;
+        } catch (DuplicateKeyException e) {
+            UUID owner = indexJdbc.queryForObject(
+                    "SELECT user_id FROM user_email_index WHERE email = ?", UUID.class, address);
+            if (!user.getId().equals(owner)) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes the index entry created by a save whose shard write failed. The entry is kept if the user is on
+     * its shard (another save of the same user succeeded) or if that cannot be checked: a kept entry only
+     * reserves the email, a wrongly removed one would let another user take it.
+     */
+    private void unregisterEmail(User user, int bucket, RuntimeException failure) {
+        boolean stored;
+        try {
+            stored = router.withBucket(bucket, shard -> !shards.get(shard)
+                    .queryForList("SELECT id FROM users WHERE id = ?", UUID.class, user.getId())
+                    .isEmpty());
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+            log.warn("Could not check shard for user {} after a failed save, email index entry kept", user.getId());
+            return;
+        }
+
+        if (!stored) {
+            indexJdbc.update("DELETE FROM user_email_index WHERE email = ? AND user_id = ?",
+                    user.getEmail().getAddress(), user.getId());
+        }
+    }
+
+    private Optional<UUID> findUserIdByEmail(Email email) {
+        return indexJdbc.queryForList("SELECT user_id FROM user_email_index WHERE email = ?",
+                        UUID.class, email.getAddress())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Runs a single-row query on every shard in parallel and returns the first row found.
+     */
+    private <T> Optional<T> findOnAnyShard(String sql, RowMapper<T> rowMapper, Object... args) {
+        List<CompletableFuture<List<T>>> queries = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.query(sql, rowMapper, args), fanOutExecutor))
+                .toList();
+
+        return queries.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    private List<User> findAllByIds(JdbcTemplate shard, List<UUID> ids) {
+        return new NamedParameterJdbcTemplate(shard).query(
+                "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id IN (:ids)",
+                Map.of("ids", ids), ROW_MAPPER);
+    }
+
+    /**
+     * Groups buckets by their current shard.
+     */
+    private Map<Integer, List<Integer>> bucketsByShard(Collection<Integer> buckets) {
+        Map<Integer, List<Integer>> byShard = new HashMap<>();
+        buckets.forEach(bucket -> byShard.computeIfAbsent(router.shardOf(bucket), key -> new ArrayList<>())
+                .add(bucket));
+        return byShard;
+    }
+
+    /**
+     * Runs an action on several shards in parallel.
+     *
+     * @param bucketsByShard the buckets to run the action for, by shard
+     * @param action         receives a shard id and its buckets
+     * @return the result of the action, by shard
+     */
+    private <T> Map<Integer, T> onShards(Map<Integer, List<Integer>> bucketsByShard,
+                                         BiFunction<Integer, List<Integer>, T> action) {
+        Map<Integer, CompletableFuture<T>> runs = new HashMap<>();
+        bucketsByShard.forEach((shard, buckets) -> runs.put(shard,
+                CompletableFuture.supplyAsync(() -> action.apply(shard, buckets), fanOutExecutor)));
+
+        Map<Integer, T> results = new HashMap<>();
+        runs.forEach((shard, run) -> results.put(shard, run.join()));
+        return results;
+    }
+
+    /**
+     * Finds the buckets that shards no longer own among buckets just written to them.
+     *
+     * @param bucketsByShard the buckets written, by shard
+     * @return the buckets moved away, by their new shard
+     * @throws com.ecommerce.user_service.infrastructure.resilience.PersistenceUnavailableException
+     *         if one of them is still being moved
+     */
+    private Map<Integer, List<Integer>> moved(Map<Integer, List<Integer>> bucketsByShard) {
+        Map<Integer, List<Integer>> moved = new HashMap<>();
+        bucketsByShard.forEach((shard, buckets) -> {
+            Set<Integer> owned = BucketOwnership.owned(shards.get(shard), buckets);
+            new LinkedHashSet<>(buckets).stream()
+                    .filter(bucket -> !owned.contains(bucket))
+                    .forEach(bucket -> moved
+                            .computeIfAbsent(router.shardAfterFence(bucket, shard,
+                                    new BucketFencedException(bucket, shard)), key -> new ArrayList<>())
+                            .add(bucket));
+        });
+        return moved;
+    }
+
+    private static List<UUID> idsOf(List<Integer> buckets, Map<Integer, List<UUID>> idsByBucket) {
+        return buckets.stream()
+                .flatMap(bucket -> idsByBucket.get(bucket).stream())
+                .toList();
+    }
+
+    private boolean owns(int shard, int bucket) {
+        return !BucketOwnership.owned(shards.get(shard), List.of(bucket)).isEmpty();
+    }
+
+    /**
+     * Inserts or updates a user on its shard.
+     *
+     * @throws BucketFencedException if the shard no longer owns the user's bucket
+     */
+    private int upsert(int shardId, int bucket, User user) {
+        JdbcTemplate shard = shards.get(shardId);
+        int updated = update(shard, user);
+        if (updated > 0) {
+            return updated;
+        }
+
+        try {
+            // Only inserted if the shard owns the bucket
+            int inserted = shard.update(
+                    "INSERT INTO users (id, shard_bucket, email, first_name, last_name, phone_number, status, "
+                            + "created_at, updated_at) SELECT ?, ?, ?, ?, ?, ?, ?, ?, ? "
+                            + "FROM owned_bucket WHERE bucket = ?",
+                    user.getId(), bucket, user.getEmail().getAddress(), user.getFirstName(), user.getLastName(),
+                    phoneValue(user), user.getStatus().name(), user.getCreatedAt(), user.getUpdatedAt(), bucket);
+            if (inserted == 0) {
+                throw new BucketFencedException(bucket, shardId);
+            }
+            return inserted;
+        } catch (DuplicateKeyException e) {
+            // Either a concurrent save inserted the same user since the update (then update it),
+            // or another user of the shard has this phone number
+            updated = update(shard, user);
+            if (updated > 0) {
+                return updated;
+            }
+            throw e;
+        }
+    }
+
+    private static int update(JdbcTemplate shard, User user) {
+        return shard.update(
+                "UPDATE users SET first_name = ?, last_name = ?, phone_number = ?, status = ?, updated_at = ? "
+                        + "WHERE id = ? AND " + BucketOwnership.OWNED_ROWS,
+                user.getFirstName(), user.getLastName(), phoneValue(user), user.getStatus().name(),
+                user.getUpdatedAt(), user.getId());
+    }
+
+    private static String phoneValue(User user) {
+        return user.getPhoneNumber() != null ? user.getPhoneNumber().getValue() : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.infrastructure.resilience.QueryTimeouts;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wires the sharded users store, enabled with user-service.persistence.backend=sharded
+ * (see the "sharded" profile). The primary datasource holds the global email index and
+ * the bucket assignments; users live in the shard databases.
+ * Fanned-out queries keep the statement timeout of the calling thread (see {@link QueryTimeouts}).
+ * They run on bounded executors that refuse work once full (503): one for the queries of requests, and a
+ * small one for the user counts of statistics reconciliation, whose long recounts must not hold the threads
+ * of requests.
+ */
+
+@Configuration
+@ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "sharded")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("No shards configured under user-service.sharding.shards");
+        }
+
+        ShardDataSources shardDataSources = new ShardDataSources(properties.getShards());
+        if (properties.isInitializeSchema()) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("db/sharding/shard-schema.sql"),
+                    new ClassPathResource("db/schema/user-search.sql"));
+            shardDataSources.getDataSources().forEach(populator::execute);
+        }
+        return shardDataSources;
+    }
+
+    @Bean
+    public ShardRouter shardRouter(DataSource dataSource, ShardingProperties properties) {
+        if (properties.isInitializeSchema()) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/sharding/index-schema.sql")).execute(dataSource);
+        }
+        return new ShardRouter(new JdbcTemplate(dataSource), properties.getBuckets(), properties.getShards().size());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardFanOutExecutor(ShardingProperties properties) {
+        return boundedExecutor("shard-fan-out-", properties.getShards().size() * properties.getFanOutThreadsPerShard(),
+                properties.getFanOutQueueCapacity());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardCountExecutor(ShardingProperties properties) {
+        // One count per shard at a time, and one more waiting
+        return boundedExecutor("shard-count-", properties.getShards().size(), properties.getShards().size());
+    }
+
+    @Bean
+    @Qualifier("userRepositoryBackend")
+    public ShardedUserRepository shardedUserRepository(ShardDataSources shardDataSources, DataSource dataSource,
+                                                       ShardRouter shardRouter, ExecutorService shardFanOutExecutor,
+                                                       ExecutorService shardCountExecutor) {
+        return new ShardedUserRepository(shardDataSources.getJdbcTemplates(), new JdbcTemplate(dataSource),
+                shardRouter, QueryTimeouts.propagating(shardFanOutExecutor),
+                QueryTimeouts.propagating(shardCountExecutor));
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDataSources shardDataSources, ShardRouter shardRouter,
+                                           ShardingProperties properties) {
+        return new ShardRebalancer(shardDataSources.getJdbcTemplates(), shardRouter,
+                properties.getMigrationBatchSize(), properties.getMoveFenceGrace(),
+                properties.getAssignmentRefreshInterval().multipliedBy(2));
+    }
+
+    private static ExecutorService boundedExecutor(String threadPrefix, int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, threadPrefix + threadNumber.incrementAndGet()),
+                (task, executor) -> {
+                    throw new RejectedExecutionException("Shard queries are saturated, retry later");
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the sharded users store.
+ * Users are routed to a bucket by a hash of their ID, and buckets are assigned to shards.
+ * The number of buckets is fixed once data exists; resharding moves buckets between shards.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.sharding")
+public class ShardingProperties {
+
+    /**
+     * Number of routing buckets. Must not change once data has been written.
+     */
+    private int buckets = 1024;
+
+    /**
+     * Create the shard and index tables on startup if they do not exist.
+     */
+    private boolean initializeSchema = true;
+
+    /**
+     * Rows copied per batch when a bucket is moved to another shard.
+     */
+    private int migrationBatchSize = 500;
+
+    /**
+     * How often the bucket assignments are checked for moves made by other instances.
+     * A move waits twice this long before deleting the rows it copied.
+     */
+    private Duration assignmentRefreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long a move lets the writes already running on a fenced shard finish before copying its rows.
+     * Must be longer than the longest write statement timeout (user-service.persistence.resilience).
+     */
+    private Duration moveFenceGrace = Duration.ofSeconds(35);
+
+    /**
+     * Threads per shard of the executor running the per-shard queries of a call. The resilience bulkheads
+     * admit at most 9 concurrent calls (user-service.persistence.resilience), so 10 lets every admitted call
+     * reach every shard at once.
+     */
+    private int fanOutThreadsPerShard = 10;
+
+    /**
+     * Per-shard queries that wait for a fan-out thread before calls are refused (503).
+     */
+    private int fanOutQueueCapacity = 100;
+
+    /**
+     * Shard databases. The shard id is the position in this list.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Bucket move run once after startup ({@link ShardMoveRunner}).
+     */
+    private Move move = new Move();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Data
+    public static class Move {
+
+        /**
+         * Move the bucket range to the target shard after startup. Enable it on one instance only.
+         */
+        private boolean enabled = false;
+
+        /**
+         * First bucket of the range.
+         */
+        private Integer fromBucket;
+
+        /**
+         * Last bucket of the range (inclusive).
+         */
+        private Integer toBucket;
+
+        /**
+         * Shard id to move the buckets to.
+         */
+        private Integer targetShard;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database health, probed in the background instead of on the health endpoint's request path.
+ * - A daemon thread runs {@code SELECT 1} every probe interval, with the probe timeout as statement timeout
+ * - The health endpoint reports the last probe: its outcome, latency and time
+ * - A probe that has not completed for several intervals (e.g. waiting on an exhausted pool) reports DOWN
+ * - With the resilience decorator enabled, the circuit state and free bulkhead permits are added as details
+ * Replaces Spring Boot's "db" indicator, which queries the database on every health request.
+ */
+
+@Slf4j
+public class PersistenceHealthIndicator implements HealthIndicator, AutoCloseable {
+
+    private static final String PROBE_QUERY = "SELECT 1";
+    private static final int STALLED_AFTER_INTERVALS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final Duration probeInterval;
+    private final Duration stalledAfter;
+    private final Optional<ResilientUserRepository> resilience;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Probe lastProbe;
+
+    public PersistenceHealthIndicator(DataSource dataSource, PersistenceResilienceProperties.Health properties,
+                                      Optional<ResilientUserRepository> resilience) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setQueryTimeout(QueryTimeouts.toSeconds(properties.getProbeTimeout()));
+        this.probeInterval = properties.getProbeInterval();
+        this.stalledAfter = probeInterval.multipliedBy(STALLED_AFTER_INTERVALS).plus(properties.getProbeTimeout());
+        this.resilience = resilience;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "persistence-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts probing, first right away.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one probe and keeps its outcome.
+     */
+    void probe() {
+        long start = System.nanoTime();
+        try {
+            jdbc.queryForObject(PROBE_QUERY, Integer.class);
+            lastProbe = new Probe(Instant.now(), start, Duration.ofNanos(System.nanoTime() - start), null);
+        } catch (RuntimeException e) {
+            if (lastProbe == null || lastProbe.error() == null) {
+                log.warn("Database health probe failed: {}", e.getMessage());
+            }
+            lastProbe = new Probe(Instant.now(), start, Duration.ofNanos(System.nanoTime() - start), e);
+        }
+    }
+
+    @Override
+    public Health health() {
+        Probe probe = lastProbe;
+        Health.Builder builder;
+        if (probe == null) {
+            builder = Health.unknown().withDetail("reason", "No probe completed yet");
+        } else if (Duration.ofNanos(System.nanoTime() - probe.startedNanos()).compareTo(stalledAfter) > 0) {
+            builder = Health.down()
+                    .withDetail("reason", "Probe stalled")
+                    .withDetail("checkedAt", probe.checkedAt());
+        } else {
+            builder = probe.error() == null ? Health.up() : Health.down(probe.error());
+            builder.withDetail("latencyMs", probe.latency().toMillis())
+                    .withDetail("checkedAt", probe.checkedAt());
+        }
+
+        resilience.ifPresent(repository -> builder
+                .withDetail("circuit", repository.circuitState())
+                .withDetail("availableReadPermits", repository.availableReadPermits())
+                .withDetail("availableWritePermits", repository.availableWritePermits()));
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private record Probe(Instant checkedAt, long startedNanos, Duration latency, Throwable error) {
+    }
+}
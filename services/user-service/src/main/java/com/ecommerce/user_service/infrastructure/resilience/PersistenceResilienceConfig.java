@@ -0,0 +1,126 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+/**
+ * Wires the resilience policies of the database backends (jpa and sharded):
+ * - the {@link ResilientUserRepository} decorator, as the primary UserRepository, around the backend bean
+ *   qualified "userRepositoryBackend"
+ * - the {@link QueryTimeoutDataSource} wrapper around the application DataSource
+ * - Micrometer metrics of the circuit breaker and bulkheads (resilience4j.*)
+ * - the {@link PersistenceHealthIndicator}, also when the decorator is disabled
+ *   with {@code user-service.persistence.resilience.enabled=false}
+ */
+
+@Slf4j
+@Configuration
+@ConditionalOnExpression("'${user-service.persistence.backend:jpa}' != 'in-memory'")
+public class PersistenceResilienceConfig {
+
+    private static final String ENABLED = "user-service.persistence.resilience.enabled";
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor queryTimeoutDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryTimeoutDataSource)) {
+                    return new QueryTimeoutDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public CircuitBreakerRegistry persistenceCircuitBreakerRegistry(PersistenceResilienceProperties properties) {
+        return CircuitBreakerRegistry.of(circuitBreakerConfig(properties.getCircuitBreaker()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public BulkheadRegistry persistenceBulkheadRegistry() {
+        return BulkheadRegistry.ofDefaults();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public MeterBinder persistenceResilienceMetrics(CircuitBreakerRegistry persistenceCircuitBreakerRegistry,
+                                                    BulkheadRegistry persistenceBulkheadRegistry) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(persistenceCircuitBreakerRegistry).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(persistenceBulkheadRegistry).bindTo(registry);
+        };
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public ResilientUserRepository resilientUserRepository(@Qualifier("userRepositoryBackend") UserRepository backend,
+                                                           CircuitBreakerRegistry persistenceCircuitBreakerRegistry,
+                                                           BulkheadRegistry persistenceBulkheadRegistry,
+                                                           PersistenceResilienceProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = persistenceCircuitBreakerRegistry.circuitBreaker("persistence");
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Persistence circuit breaker: {}", event.getStateTransition()));
+
+        return new ResilientUserRepository(backend, circuitBreaker,
+                persistenceBulkheadRegistry.bulkhead("persistence-reads", bulkheadConfig(properties.getReads())),
+                persistenceBulkheadRegistry.bulkhead("persistence-writes", bulkheadConfig(properties.getWrites())),
+                properties, meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public PersistenceHealthIndicator persistenceHealthIndicator(DataSource dataSource,
+                                                                 PersistenceResilienceProperties properties,
+                                                                 Optional<ResilientUserRepository> resilientUserRepository) {
+        return new PersistenceHealthIndicator(dataSource, properties.getHealth(), resilientUserRepository);
+    }
+
+    static CircuitBreakerConfig circuitBreakerConfig(PersistenceResilienceProperties.CircuitBreaker properties) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(ResilientUserRepository::isInfrastructureFailure)
+                // A full bulkhead says nothing about the database
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+    }
+
+    static BulkheadConfig bulkheadConfig(PersistenceResilienceProperties.Bulkhead properties) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getMaxWait())
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resilience policies of the user repository (see {@link ResilientUserRepository}) and the persistence health probe.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.persistence.resilience")
+public class PersistenceResilienceProperties {
+
+    /**
+     * Whether repository calls go through timeouts, bulkheads and the circuit breaker (database backends only).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statement timeout of operations without their own entry in query-timeouts.
+     * JDBC timeouts are whole seconds: durations are rounded up.
+     */
+    private Duration defaultQueryTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Statement timeout by operation key (e.g. "search", "update-status"; see PersistenceOperation).
+     */
+    private Map<String, Duration> queryTimeouts = new HashMap<>();
+
+    /**
+     * Concurrent lookups, searches and counts. Reads and writes together should stay below the connection pool size,
+     * so background work (health probe, statistics) always finds a connection.
+     */
+    private Bulkhead reads = new Bulkhead(6, Duration.ofMillis(100));
+
+    /**
+     * Concurrent saves, deletes and status updates.
+     */
+    private Bulkhead writes = new Bulkhead(3, Duration.ofMillis(100));
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private FallbackCache fallbackCache = new FallbackCache();
+
+    private Health health = new Health();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bulkhead {
+
+        private int maxConcurrentCalls;
+
+        /**
+         * How long a call may wait for a free slot before it is refused with 503.
+         */
+        private Duration maxWait;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Percentage of failed calls (timeouts, connection failures) that opens the circuit.
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Percentage of slow calls that opens the circuit.
+         */
+        private float slowCallRateThreshold = 80;
+
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Number of last calls the rates are computed over.
+         */
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * How long calls fail fast before a few trial calls are let through.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    /**
+     * Users last read or saved, served by lookups while the database is unavailable.
+     */
+    @Data
+    public static class FallbackCache {
+
+        private long maxEntries = 10_000;
+
+        /**
+         * Oldest data a fallback read may return.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Health {
+
+        /**
+         * How often the database is probed, away from the health endpoint's thread.
+         */
+        private Duration probeInterval = Duration.ofSeconds(5);
+
+        private Duration probeTimeout = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A repository call was refused without reaching the database: the circuit is open or the bulkhead is full.
+ * Clients should retry later. A RejectedExecutionException, so upper layers can handle it without
+ * knowing the resilience policies.
+ */
+
+public class PersistenceUnavailableException extends RejectedExecutionException {
+
+    public PersistenceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource that sets the {@link QueryTimeouts} of the current thread on every statement its connections create,
+ * whether by Hibernate or by a JdbcTemplate. Without a current timeout, statements are left as they are.
+ * A timeout set later by the caller (e.g. a JdbcTemplate query timeout or a transaction timeout) wins.
+ */
+
+public class QueryTimeoutDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public QueryTimeoutDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withTimeouts(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withTimeouts(super.getConnection(username, password));
+    }
+
+    private static Connection withTimeouts(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryTimeoutDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+
+                    if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                        Integer seconds = QueryTimeouts.currentSeconds();
+                        if (seconds != null) {
+                            statement.setQueryTimeout(seconds);
+                        }
+                    }
+                    return result;
+                });
+    }
+}
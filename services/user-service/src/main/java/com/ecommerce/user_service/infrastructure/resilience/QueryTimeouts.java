@@ -0,0 +1,76 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Statement timeout of the persistence operation running on the current thread.
+ * It is set around a repository call with {@link #apply} and applied to every JDBC statement created meanwhile
+ * through a {@link QueryTimeoutDataSource}; the database cancels statements that run longer.
+ * JDBC timeouts are whole seconds, so durations are rounded up, to at least one second.
+ */
+
+public final class QueryTimeouts {
+
+    private static final ThreadLocal<Integer> CURRENT_SECONDS = new ThreadLocal<>();
+
+    private QueryTimeouts() {
+    }
+
+    /**
+     * Runs a call with a statement timeout. Nested calls use their own timeout, then restore the outer one.
+     */
+    public static <T> T apply(Duration timeout, Supplier<T> call) {
+        Integer outer = CURRENT_SECONDS.get();
+        CURRENT_SECONDS.set(toSeconds(timeout));
+        try {
+            return call.get();
+        } finally {
+            restore(outer);
+        }
+    }
+
+    /**
+     * Wraps an executor so that tasks run with the statement timeout of the thread that submitted them,
+     * e.g. the queries fanned out to shards.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> {
+            Integer seconds = CURRENT_SECONDS.get();
+            if (seconds == null) {
+                executor.execute(task);
+                return;
+            }
+            executor.execute(() -> {
+                Integer outer = CURRENT_SECONDS.get();
+                CURRENT_SECONDS.set(seconds);
+                try {
+                    task.run();
+                } finally {
+                    restore(outer);
+                }
+            });
+        };
+    }
+
+    /**
+     * Returns the timeout of the current thread in seconds, or null if none is set.
+     */
+    static Integer currentSeconds() {
+        return CURRENT_SECONDS.get();
+    }
+
+    static int toSeconds(Duration timeout) {
+        long millis = timeout.toMillis();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (millis + 999) / 1000));
+    }
+
+    private static void restore(Integer outer) {
+        if (outer == null) {
+            CURRENT_SECONDS.remove();
+        } else {
+            CURRENT_SECONDS.set(outer);
+        }
+    }
+}
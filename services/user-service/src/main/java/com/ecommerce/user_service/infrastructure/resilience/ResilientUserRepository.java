@@ -0,0 +1,324 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceOperation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decorator of the user repository backend that keeps a slow or failing database from taking the service down.
+ * - Every call runs with the statement timeout of its operation (see {@link QueryTimeouts})
+ * - Reads and writes get separate bulkheads, so a burst of slow searches cannot starve saves of connections
+ *   (and the other way round); a call that finds its bulkhead full after a short wait is refused
+ * - A circuit breaker, in front of the bulkheads, opens on a high rate of infrastructure failures
+ *   (timeouts, connection failures) or slow calls; business errors such as constraint violations
+ *   and optimistic locking conflicts do not count
+ * - While the database is unavailable (open circuit, full bulkhead or infrastructure failure), lookups by id
+ *   and by email are served from the snapshots of users this instance last read or saved, up to a configured age;
+ *   other calls fail with {@link PersistenceUnavailableException} (503) or the original error
+ * Fallback reads may miss changes made by other instances since the snapshot was taken.
+ * Status updates and deletes drop the affected users from the fallback cache.
+ */
+
+public class ResilientUserRepository implements UserRepository {
+
+    private static final Set<PersistenceOperation> WRITES = Set.of(
+            PersistenceOperation.SAVE, PersistenceOperation.DELETE, PersistenceOperation.UPDATE_STATUS,
+            PersistenceOperation.UPDATE_LAST_SEEN);
+
+    private final UserRepository delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Map<PersistenceOperation, Duration> timeouts = new EnumMap<>(PersistenceOperation.class);
+    private final Cache<UUID, UserSnapshot> snapshotsById;
+    private final Cache<String, UUID> idsByEmail;
+    private final MeterRegistry meterRegistry;
+
+    public ResilientUserRepository(UserRepository delegate, CircuitBreaker circuitBreaker,
+                                   Bulkhead readBulkhead, Bulkhead writeBulkhead,
+                                   PersistenceResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+        this.meterRegistry = meterRegistry;
+
+        for (PersistenceOperation operation : PersistenceOperation.values()) {
+            Duration timeout = properties.getQueryTimeouts()
+                    .getOrDefault(operation.getKey(), properties.getDefaultQueryTimeout());
+            if (timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException(
+                        "Query timeout for " + operation.getKey() + " must be positive: " + timeout);
+            }
+            timeouts.put(operation, timeout);
+        }
+
+        PersistenceResilienceProperties.FallbackCache fallbackCache = properties.getFallbackCache();
+        this.snapshotsById = Caffeine.newBuilder()
+                .maximumSize(fallbackCache.getMaxEntries())
+                .expireAfterWrite(fallbackCache.getTimeToLive())
+                .build();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(fallbackCache.getMaxEntries())
+                .expireAfterWrite(fallbackCache.getTimeToLive())
+                .build();
+    }
+
+    @Override
+    public User save(User user) {
+        User savedUser = call(PersistenceOperation.SAVE, () -> delegate.save(user));
+        remember(savedUser.snapshot());
+        return savedUser;
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return findSnapshotById(id).map(UserSnapshot::toUser);
+    }
+
+    @Override
+    public Optional<UserSnapshot> findSnapshotById(UUID id) {
+        return read(PersistenceOperation.FIND_BY_ID,
+                () -> delegate.findSnapshotById(id),
+                user -> user.ifPresent(this::remember),
+                () -> Optional.ofNullable(snapshotsById.getIfPresent(id)).map(Optional::of));
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<UUID> ids) {
+        return findSnapshotsByIds(ids).stream().map(UserSnapshot::toUser).toList();
+    }
+
+    @Override
+    public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+        return read(PersistenceOperation.FIND_ALL_BY_IDS,
+                () -> delegate.findSnapshotsByIds(ids),
+                users -> users.forEach(this::remember),
+                () -> cachedSnapshots(ids));
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        return read(PersistenceOperation.FIND_BY_EMAIL,
+                () -> delegate.findByEmail(email),
+                user -> user.ifPresent(found -> remember(found.snapshot())),
+                () -> cachedSnapshot(email).map(snapshot -> Optional.of(snapshot.toUser())));
+    }
+
+    @Override
+    public void deleteUser(UUID id) {
+        call(PersistenceOperation.DELETE, () -> {
+            delegate.deleteUser(id);
+            return null;
+        });
+        snapshotsById.invalidate(id);
+    }
+
+    @Override
+    public StatusUpdateResult updateStatus(Collection<UUID> ids, UserStatus status) {
+        try {
+            return call(PersistenceOperation.UPDATE_STATUS, () -> delegate.updateStatus(ids, status));
+        } finally {
+            // Also on failure: chunks committed before it have changed
+            snapshotsById.invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public Optional<User> findByPhone(PhoneNumber phoneNumber) {
+        // No fallback: phone lookups serve logins and fraud checks, which must not see stale data
+        return call(PersistenceOperation.FIND_BY_PHONE, () -> delegate.findByPhone(phoneNumber));
+    }
+
+    @Override
+    public boolean existsByPhone(PhoneNumber phoneNumber) {
+        return call(PersistenceOperation.EXISTS_BY_PHONE, () -> delegate.existsByPhone(phoneNumber));
+    }
+
+    @Override
+    public void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt) {
+        // Cached snapshots do not hold the last-seen timestamp, so nothing to invalidate
+        call(PersistenceOperation.UPDATE_LAST_SEEN, () -> {
+            delegate.updateLastSeen(lastSeenAt);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastSeen(UUID id) {
+        return call(PersistenceOperation.FIND_LAST_SEEN, () -> delegate.findLastSeen(id));
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        // Only a cached user proves existence; absence cannot be served from the cache
+        return read(PersistenceOperation.EXISTS_BY_EMAIL,
+                () -> delegate.existsByEmail(email),
+                exists -> { },
+                () -> cachedSnapshot(email).map(snapshot -> true));
+    }
+
+    @Override
+    public UserSearchPage search(UserSearchQuery query) {
+        return call(PersistenceOperation.SEARCH, () -> delegate.search(query));
+    }
+
+    @Override
+    public List<User> findUpdatedAfter(UserChangeCursor after, int limit) {
+        return call(PersistenceOperation.FIND_UPDATED_AFTER, () -> delegate.findUpdatedAfter(after, limit));
+    }
+
+    @Override
+    public UserCounts countUsers() {
+        return call(PersistenceOperation.COUNT, delegate::countUsers);
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int availableReadPermits() {
+        return readBulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    public int availableWritePermits() {
+        return writeBulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    /**
+     * Checks whether a repository failure is caused by the database or the way to it, rather than by the call.
+     * Only such failures count toward opening the circuit and allow fallback reads.
+     */
+    static boolean isInfrastructureFailure(Throwable error) {
+        Throwable failure = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (failure instanceof ConcurrencyFailureException) {
+            return false;
+        }
+        if (failure instanceof TransientDataAccessException
+                || failure instanceof DataAccessResourceFailureException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof CannotCreateTransactionException) {
+            return true;
+        }
+
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTimeoutException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String sqlState = sqlException.getSQLState();
+                // 08: connection exception, 57014: query canceled (statement timeout)
+                if (sqlState.startsWith("08") || sqlState.equals("57014")) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private <T> T call(PersistenceOperation operation, Supplier<T> call) {
+        Bulkhead bulkhead = WRITES.contains(operation) ? writeBulkhead : readBulkhead;
+        Duration timeout = timeouts.get(operation);
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead, () -> QueryTimeouts.apply(timeout, call));
+
+        try {
+            return circuitBreaker.executeSupplier(guarded);
+        } catch (CallNotPermittedException e) {
+            throw new PersistenceUnavailableException("Database circuit is open", e);
+        } catch (BulkheadFullException e) {
+            throw new PersistenceUnavailableException("Too many concurrent database calls", e);
+        }
+    }
+
+    private <T> T read(PersistenceOperation operation, Supplier<T> call, Consumer<T> onSuccess,
+                       Supplier<Optional<T>> fallback) {
+        T result;
+        try {
+            result = call(operation, call);
+        } catch (RuntimeException e) {
+            if (!(e instanceof PersistenceUnavailableException) && !isInfrastructureFailure(e)) {
+                throw e;
+            }
+            Optional<T> cached = fallback.get();
+            if (cached.isEmpty()) {
+                throw e;
+            }
+            meterRegistry.counter("user.persistence.fallback.reads", "operation", operation.getKey()).increment();
+            return cached.get();
+        }
+        onSuccess.accept(result);
+        return result;
+    }
+
+    private void remember(UserSnapshot user) {
+        snapshotsById.put(user.id(), user);
+        idsByEmail.put(user.email().getAddress(), user.id());
+    }
+
+    private Optional<UserSnapshot> cachedSnapshot(Email email) {
+        UUID id = idsByEmail.getIfPresent(email.getAddress());
+        return Optional.ofNullable(id == null ? null : snapshotsById.getIfPresent(id))
+                .filter(snapshot -> snapshot.email().equals(email));
+    }
+
+    /**
+     * Returns the cached snapshots of all the given users, or nothing if any of them is missing:
+     * a partial result would be mistaken for users that do not exist.
+     */
+    private Optional<List<UserSnapshot>> cachedSnapshots(Collection<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        Map<UUID, UserSnapshot> cached = snapshotsById.getAllPresent(distinctIds);
+        if (cached.size() < distinctIds.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(cached.values()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import com.ecommerce.user_service.domain.service.PasswordHasher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * bcrypt implementation of PasswordHasher, running on a {@link HashingExecutor}.
+ * Hashes are stored as {bcrypt}$2a$NN$..., so the algorithm can be changed later: a hash with
+ * another algorithm id or a lower cost factor than the configured one needs a rehash.
+ */
+
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    private static final String ENCODING_ID = "bcrypt";
+
+    private final PasswordEncoder encoder;
+    private final HashingExecutor executor;
+    // Checked instead of a missing hash, so missing and existing users take the same time
+    private final String dummyHash;
+
+    public BCryptPasswordHasher(int strength, HashingExecutor executor) {
+        this.encoder = new DelegatingPasswordEncoder(ENCODING_ID,
+                Map.of(ENCODING_ID, new BCryptPasswordEncoder(strength)));
+        this.executor = executor;
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public CompletableFuture<String> hash(String rawPassword) {
+        return executor.submit(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        if (passwordHash == null) {
+            return executor.submit(() -> {
+                encoder.matches(rawPassword, dummyHash);
+                return false;
+            });
+        }
+        return executor.submit(() -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    @Override
+    public boolean needsRehash(String passwordHash) {
+        return encoder.upgradeEncoding(passwordHash);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for CPU-heavy password hashing, kept apart from the request threads.
+ * - A fixed number of threads and a bounded queue: a login storm cannot grow memory or threads
+ * - Load shedding adapts to the observed cost of a task: a task is refused up front when the
+ *   tasks already queued would keep it waiting longer than the configured maximum, and also
+ *   when the queue is full. Refused tasks fail fast with {@link HashingOverloadedException}
+ * - Queue depth, active threads, expected wait, completed and shed tasks are published as metrics
+ */
+
+public class HashingExecutor implements MeterBinder, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "user.credentials.hashing.";
+    // Weight of the latest task in the moving average of the task cost
+    private static final int COST_SMOOTHING_SHIFT = 3;
+
+    private final ThreadPoolExecutor pool;
+    private final int threads;
+    private final long maxQueueWaitNanos;
+    private final AtomicLong averageTaskNanos = new AtomicLong();
+    private final LongAdder shedTasks = new LongAdder();
+
+    public HashingExecutor(int threads, int queueCapacity, Duration maxQueueWait) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.threads = threads;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "password-hashing-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs a task on a hashing thread, unless the executor is saturated.
+     *
+     * @param task the task
+     * @return the result of the task, or a future failed with {@link HashingOverloadedException}
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long expectedWaitNanos = expectedWaitNanos();
+        if (expectedWaitNanos > maxQueueWaitNanos) {
+            return shed("Expected wait for a hashing thread is "
+                    + TimeUnit.NANOSECONDS.toMillis(expectedWaitNanos) + " ms");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            pool.execute(() -> run(task, result));
+        } catch (RejectedExecutionException e) {
+            return shed("Hashing queue is full");
+        }
+        return result;
+    }
+
+    /**
+     * Returns how long a task submitted now is expected to wait for a thread.
+     */
+    public long expectedWaitNanos() {
+        return pool.getQueue().size() * averageTaskNanos.get() / threads;
+    }
+
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public long getShedTaskCount() {
+        return shedTasks.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "queue.depth", pool, executor -> executor.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads running a task")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "expected.wait", this, executor -> executor.expectedWaitNanos() / 1e9)
+                .description("Expected wait for a hashing thread")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "completed", pool, ThreadPoolExecutor::getCompletedTaskCount)
+                .description("Hashing tasks completed")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "shed", shedTasks, LongAdder::sum)
+                .description("Hashing tasks refused because the executor was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private <T> void run(Supplier<T> task, CompletableFuture<T> result) {
+        long start = System.nanoTime();
+        try {
+            result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            long taskNanos = System.nanoTime() - start;
+            averageTaskNanos.getAndUpdate(average -> average == 0
+                    ? taskNanos
+                    : average + ((taskNanos - average) >> COST_SMOOTHING_SHIFT));
+        }
+    }
+
+    private <T> CompletableFuture<T> shed(String reason) {
+        shedTasks.increment();
+        return CompletableFuture.failedFuture(new HashingOverloadedException(reason));
+    }
+}
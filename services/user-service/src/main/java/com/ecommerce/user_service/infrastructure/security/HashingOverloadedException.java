@@ -0,0 +1,16 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A hashing task was refused because the hashing executor is saturated.
+ * Clients should retry later. A RejectedExecutionException, so upper layers can handle it without
+ * knowing the hashing executor.
+ */
+
+public class HashingOverloadedException extends RejectedExecutionException {
+
+    public HashingOverloadedException(String message) {
+        super(message);
+    }
+}
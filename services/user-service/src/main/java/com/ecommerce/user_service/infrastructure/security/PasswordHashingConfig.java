@@ -0,0 +1,27 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the password hasher and its executor.
+ * The executor is a MeterBinder, so its metrics are registered with the application's MeterRegistry.
+ */
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean(destroyMethod = "close")
+    public HashingExecutor passwordHashingExecutor(PasswordHashingProperties properties) {
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return new HashingExecutor(threads, properties.getQueueCapacity(), properties.getMaxQueueWait());
+    }
+
+    @Bean
+    public BCryptPasswordHasher passwordHasher(PasswordHashingProperties properties,
+                                               HashingExecutor passwordHashingExecutor) {
+        return new BCryptPasswordHasher(properties.getBcryptStrength(), passwordHashingExecutor);
+    }
+}
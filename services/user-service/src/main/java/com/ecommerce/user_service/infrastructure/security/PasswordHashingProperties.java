@@ -0,0 +1,35 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing parameters and the limits of the hashing executor.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.credentials.hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * bcrypt cost factor (log2 of the rounds). Raising it makes existing hashes be replaced on next login.
+     */
+    private int bcryptStrength = 12;
+
+    /**
+     * Hashing threads; 0 means one per available processor.
+     */
+    private int threads = 0;
+
+    /**
+     * Maximum number of hashing tasks waiting for a thread.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Tasks are refused when the expected wait for a thread is longer than this.
+     */
+    private Duration maxQueueWait = Duration.ofMillis(250);
+}
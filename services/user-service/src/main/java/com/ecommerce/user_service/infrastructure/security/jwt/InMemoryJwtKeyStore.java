@@ -0,0 +1,25 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import java.util.Objects;
+
+/**
+ * Key store of a single instance: keys are regenerated on restart and not shared with other instances.
+ */
+public class InMemoryJwtKeyStore implements JwtKeyStore {
+
+    private String keys;
+
+    @Override
+    public synchronized String load() {
+        return keys;
+    }
+
+    @Override
+    public synchronized boolean replace(String expected, String updated) {
+        if (!Objects.equals(keys, expected)) {
+            return false;
+        }
+        keys = updated;
+        return true;
+    }
+}
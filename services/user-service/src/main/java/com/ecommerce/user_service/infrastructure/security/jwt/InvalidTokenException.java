@@ -0,0 +1,16 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+/**
+ * An access token is malformed, badly signed, expired or revoked.
+ */
+
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the public signing keys (JWK set), so other services verify tokens without calling this one.
+ * Clients may cache the set briefly and fetch it again on an unknown kid.
+ */
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(signingKeys.publicKeys().toJSONObject());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.service.UserActivity;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the bearer token of a request, if there is one.
+ * - A valid token puts the user ID in the {@value #USER_ID_ATTRIBUTE} request attribute
+ *   and records the user as active (see {@link UserActivity})
+ * - An invalid, expired or revoked token ends the request with 401
+ * - Requests without a token pass through; endpoints decide whether they need one
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_ATTRIBUTE = "authenticatedUserId";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenService tokenService;
+    private final UserActivity userActivity;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            VerifiedToken token = tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+            request.setAttribute(USER_ID_ATTRIBUTE, token.userId());
+            userActivity.touch(token.userId());
+        } catch (InvalidTokenException e) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
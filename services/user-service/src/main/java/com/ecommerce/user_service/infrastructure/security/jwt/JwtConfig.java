@@ -0,0 +1,49 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+
+/**
+ * Wires issuance and verification of access tokens, with the signing key store selected by
+ * {@code user-service.jwt.key-store}. Key refresh and revocation refresh are scheduled by {@link JwtMaintenanceTasks}.
+ */
+
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user-service.jwt.key-store", havingValue = "redis")
+    public JwtKeyStore redisJwtKeyStore(StringRedisTemplate redisTemplate) {
+        return new RedisJwtKeyStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(JwtKeyStore.class)
+    public JwtKeyStore inMemoryJwtKeyStore() {
+        return new InMemoryJwtKeyStore();
+    }
+
+    @Bean
+    public JwtSigningKeys jwtSigningKeys(JwtKeyStore jwtKeyStore, JwtProperties properties) {
+        return new JwtSigningKeys(jwtKeyStore, properties.getKeyRotationInterval(), properties.getKeyPublicationLead(),
+                properties.getTokenTtl().plus(properties.getClockSkew()), Clock.systemUTC());
+    }
+
+    @Bean
+    public TokenRevocations tokenRevocations(UserRepository userRepository, JwtProperties properties) {
+        return new TokenRevocations(userRepository, properties.getTokenTtl().plus(properties.getClockSkew()),
+                properties.getRevocationOverlap(), properties.getRevocationPageSize(), Clock.systemDefaultZone());
+    }
+
+    @Bean
+    public JwtTokenService jwtTokenService(JwtSigningKeys jwtSigningKeys, TokenRevocations tokenRevocations,
+                                           JwtProperties properties) {
+        return new JwtTokenService(jwtSigningKeys, tokenRevocations, properties, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+/**
+ * Storage of the signing key set shared by the instances issuing access tokens.
+ * The set is a JWK set in JSON, private keys included, replaced whole with a compare-and-set,
+ * so of concurrent rotations only one is kept and every instance loads the same keys.
+ */
+public interface JwtKeyStore {
+
+    /**
+     * Returns the stored key set, or null if none was stored yet.
+     */
+    String load();
+
+    /**
+     * Replaces the stored key set, if it is still the expected one.
+     *
+     * @param expected the key set the update was made from, or null if none was stored
+     * @param updated  the new key set
+     * @return true if replaced, false if another instance replaced it first
+     */
+    boolean replace(String expected, String updated);
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedRateTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Schedules signing key refresh (which rotates the keys when due) and revocation refresh at the intervals
+ * of {@link JwtProperties}. The first revocation refresh runs at startup; the keys are loaded when created.
+ */
+
+@Component
+@RequiredArgsConstructor
+public class JwtMaintenanceTasks implements SchedulingConfigurer {
+
+    private final JwtSigningKeys signingKeys;
+    private final TokenRevocations revocations;
+    private final JwtProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration keyRefresh = properties.getKeyRefreshInterval();
+        registrar.addFixedRateTask(new FixedRateTask(signingKeys::refresh, keyRefresh, keyRefresh));
+        registrar.addFixedDelayTask(revocations::refresh, properties.getRevocationRefreshInterval());
+    }
+}
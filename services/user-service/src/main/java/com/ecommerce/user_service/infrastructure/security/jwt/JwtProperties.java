@@ -0,0 +1,72 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Issuance and verification of access tokens (JWT).
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.jwt")
+public class JwtProperties {
+
+    /**
+     * Value of the iss claim, checked on verification.
+     */
+    private String issuer = "user-service";
+
+    /**
+     * Lifetime of an access token. Also how long a deactivated user stays in the revocation set.
+     */
+    private Duration tokenTtl = Duration.ofMinutes(15);
+
+    /**
+     * Tolerated clock difference when checking exp, and extra retention of rotated keys.
+     */
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    /**
+     * Where signing keys are stored: in-memory (per instance) or redis (shared by all instances, which then
+     * sign with the same keys and publish the same JWK set).
+     */
+    private String keyStore = "in-memory";
+
+    /**
+     * How often a new signing key takes over. Previous keys keep verifying until their tokens expire.
+     */
+    private Duration keyRotationInterval = Duration.ofHours(24);
+
+    /**
+     * How often the signing keys are loaded from the key store, which also rotates them when due.
+     */
+    private Duration keyRefreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * How long at least a new key is published before it signs, so that every instance has loaded it and
+     * clients caching the JWK set (5 minutes) know it. Must exceed the refresh interval plus 5 minutes.
+     */
+    private Duration keyPublicationLead = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of verified tokens whose claims are cached; 0 disables the cache.
+     */
+    private int claimsCacheSize = 10_000;
+
+    /**
+     * How often the revocation set reads the user change feed. Bounds the delay of a revocation.
+     */
+    private Duration revocationRefreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * How far back every refresh reads again, to catch changes committed late or stamped by a skewed clock.
+     */
+    private Duration revocationOverlap = Duration.ofSeconds(5);
+
+    /**
+     * Users read per page of the change feed.
+     */
+    private int revocationPageSize = 1000;
+}
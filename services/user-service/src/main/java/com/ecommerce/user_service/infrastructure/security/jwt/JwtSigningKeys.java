@@ -0,0 +1,208 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RS256 signing keys of access tokens, loaded from a {@link JwtKeyStore} shared by the instances.
+ * - Each key has an activation time (nbf): the latest active key signs, so instances sharing the store
+ *   sign with the same key. The next key is stored, and published at /v1/auth/jwks, ahead of its activation
+ * - Rotation happens in the store: the first instance to find no next key adds one with a compare-and-set;
+ *   the others load its result. A key stops verifying (exp) once every token it signed has expired,
+ *   and is then dropped
+ * - {@link #refresh()} reloads the store; signers and verifiers are built once per key, not per token
+ * - Readers see an immutable snapshot of the keys, so lookups take no lock
+ */
+
+public class JwtSigningKeys {
+
+    static final JWSAlgorithm ALGORITHM = JWSAlgorithm.RS256;
+    private static final int KEY_SIZE = 2048;
+
+    private record SigningKey(RSAKey jwk, JWSSigner signer, JWSVerifier verifier) {
+    }
+
+    private record KeySet(SigningKey current, Map<String, SigningKey> byId, JWKSet publicKeys) {
+    }
+
+    private final JwtKeyStore store;
+    private final Duration rotationInterval;
+    private final Duration publicationLead;
+    private final Duration retention;
+    private final Clock clock;
+    private volatile KeySet keys;
+
+    /**
+     * Loads the stored keys, generating them if the store is empty.
+     *
+     * @param store            the key store
+     * @param rotationInterval how long each key signs before the next one takes over
+     * @param publicationLead  how long at least a key is published before it signs (refresh interval plus
+     *                         how long clients cache the JWK set)
+     * @param retention        how long a replaced key keeps verifying (token lifetime plus clock skew)
+     * @param clock            the clock
+     */
+    public JwtSigningKeys(JwtKeyStore store, Duration rotationInterval, Duration publicationLead, Duration retention,
+                          Clock clock) {
+        this.store = store;
+        this.rotationInterval = rotationInterval;
+        this.publicationLead = publicationLead;
+        this.retention = retention;
+        this.clock = clock;
+        refresh();
+    }
+
+    /**
+     * Loads the stored keys, rotating them first if they have no next key or have expired keys.
+     */
+    public synchronized void refresh() {
+        Instant now = clock.instant();
+        while (true) {
+            String stored = store.load();
+            List<RSAKey> storedKeys = parse(stored);
+            List<RSAKey> rotated = rotate(storedKeys, now);
+            if (rotated.equals(storedKeys)) {
+                keys = keySet(storedKeys, now);
+                return;
+            }
+            if (store.replace(stored, new JWKSet(new ArrayList<JWK>(rotated)).toString(false))) {
+                keys = keySet(rotated, now);
+                return;
+            }
+            // Rotated by another instance in between: load its keys
+        }
+    }
+
+    public String currentKeyId() {
+        return keys.current().jwk().getKeyID();
+    }
+
+    public JWSSigner currentSigner() {
+        return keys.current().signer();
+    }
+
+    /**
+     * Returns the verifier of a key, or null if the key is unknown or was dropped.
+     */
+    public JWSVerifier verifierFor(String keyId) {
+        SigningKey key = keyId != null ? keys.byId().get(keyId) : null;
+        return key != null ? key.verifier() : null;
+    }
+
+    /**
+     * Returns the public keys of the current, next and replaced keys.
+     */
+    public JWKSet publicKeys() {
+        return keys.publicKeys();
+    }
+
+    /**
+     * Drops the expired keys, adds an active key if there is none and a next key if there is none,
+     * and sets when each replaced key expires.
+     */
+    private List<RSAKey> rotate(List<RSAKey> stored, Instant now) {
+        List<RSAKey> rotated = new ArrayList<>(stored.stream()
+                .filter(key -> key.getExpirationTime() == null || key.getExpirationTime().toInstant().isAfter(now))
+                .toList());
+        if (rotated.stream().noneMatch(key -> !activation(key).isAfter(now))) {
+            rotated.add(generateKey(now));
+        }
+        rotated.sort(Comparator.comparing(JwtSigningKeys::activation));
+        Instant latest = activation(rotated.get(rotated.size() - 1));
+        if (!latest.isAfter(now)) {
+            Instant next = latest.plus(rotationInterval);
+            rotated.add(generateKey(next.isAfter(now.plus(publicationLead)) ? next : now.plus(publicationLead)));
+        }
+
+        // A key replaced by the next one verifies the tokens it signed until they expire
+        for (int i = 0; i < rotated.size() - 1; i++) {
+            RSAKey key = rotated.get(i);
+            if (key.getExpirationTime() == null) {
+                Instant expiration = activation(rotated.get(i + 1)).plus(retention);
+                rotated.set(i, new RSAKey.Builder(key).expirationTime(Date.from(expiration)).build());
+            }
+        }
+        return rotated;
+    }
+
+    private KeySet keySet(List<RSAKey> stored, Instant now) {
+        KeySet previous = keys;
+        Map<String, SigningKey> byId = new LinkedHashMap<>();
+        SigningKey current = null;
+        for (RSAKey jwk : stored) {
+            SigningKey known = previous != null ? previous.byId().get(jwk.getKeyID()) : null;
+            SigningKey key = known != null && known.jwk().equals(jwk) ? known : signingKey(jwk);
+            byId.put(jwk.getKeyID(), key);
+            if (!activation(jwk).isAfter(now)) {
+                current = key;
+            }
+        }
+
+        List<JWK> publicKeys = byId.values().stream()
+                .map(key -> (JWK) key.jwk().toPublicJWK())
+                .toList();
+        return new KeySet(current, Map.copyOf(byId), new JWKSet(publicKeys));
+    }
+
+    private static List<RSAKey> parse(String stored) {
+        if (stored == null) {
+            return List.of();
+        }
+        try {
+            return JWKSet.parse(stored).getKeys().stream()
+                    .map(JWK::toRSAKey)
+                    .sorted(Comparator.comparing(JwtSigningKeys::activation))
+                    .toList();
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot parse the stored JWT signing keys", e);
+        }
+    }
+
+    private static Instant activation(RSAKey key) {
+        return key.getNotBeforeTime().toInstant();
+    }
+
+    private static SigningKey signingKey(RSAKey jwk) {
+        try {
+            return new SigningKey(jwk, new RSASSASigner(jwk), new RSASSAVerifier(jwk.toRSAPublicKey()));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot load JWT signing key " + jwk.getKeyID(), e);
+        }
+    }
+
+    private static RSAKey generateKey(Instant activation) {
+        try {
+            // Whole seconds, as nbf is stored
+            return new RSAKeyGenerator(KEY_SIZE)
+                    .keyID(UUID.randomUUID().toString())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(ALGORITHM)
+                    .notBeforeTime(Date.from(activation.truncatedTo(ChronoUnit.SECONDS)))
+                    .generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot generate a JWT signing key", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.model.AccessToken;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.service.AccessTokenIssuer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and verifies access tokens (JWT, RS256).
+ * Verification never touches the database:
+ * - the signature is checked with the cached verifier of the token's key ({@link JwtSigningKeys})
+ * - the claims of verified tokens are cached, so a token seen again skips parsing and the signature check
+ * - revocation is a lookup in the in-memory {@link TokenRevocations}, done on every verification
+ */
+
+public class JwtTokenService implements AccessTokenIssuer {
+
+    private final JwtSigningKeys signingKeys;
+    private final TokenRevocations revocations;
+    private final String issuer;
+    private final Duration tokenTtl;
+    private final Duration clockSkew;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenService(JwtSigningKeys signingKeys, TokenRevocations revocations,
+                           JwtProperties properties, Clock clock) {
+        this.signingKeys = signingKeys;
+        this.revocations = revocations;
+        this.issuer = properties.getIssuer();
+        this.tokenTtl = properties.getTokenTtl();
+        this.clockSkew = properties.getClockSkew();
+        this.clock = clock;
+        this.verifiedTokens = properties.getClaimsCacheSize() > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getClaimsCacheSize())
+                        .expireAfterWrite(tokenTtl.plus(clockSkew))
+                        .build()
+                : null;
+    }
+
+    @Override
+    public AccessToken issue(User user) {
+        if (!user.isActive()) {
+            throw new IllegalStateException("Cannot issue a token to a user that is not active");
+        }
+
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(tokenTtl);
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(user.getId().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(expiresAt))
+                .jwtID(UUID.randomUUID().toString())
+                .build();
+        JWSHeader header = new JWSHeader.Builder(JwtSigningKeys.ALGORITHM)
+                .type(JOSEObjectType.JWT)
+                .keyID(signingKeys.currentKeyId())
+                .build();
+
+        SignedJWT jwt = new SignedJWT(header, claims);
+        try {
+            jwt.sign(signingKeys.currentSigner());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot sign access token", e);
+        }
+        return new AccessToken(jwt.serialize(), expiresAt);
+    }
+
+    /**
+     * Verifies an access token.
+     *
+     * @param token the encoded token
+     * @return its claims
+     * @throws InvalidTokenException if the token is malformed, badly signed, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (verified == null) {
+            verified = verifySignedToken(token);
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, verified);
+            }
+        }
+
+        if (clock.instant().isAfter(verified.expiresAt().plus(clockSkew))) {
+            throw new InvalidTokenException("Token expired");
+        }
+        if (revocations.isRevoked(verified.userId())) {
+            throw new InvalidTokenException("Token revoked");
+        }
+        return verified;
+    }
+
+    private VerifiedToken verifySignedToken(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            if (!JwtSigningKeys.ALGORITHM.equals(jwt.getHeader().getAlgorithm())) {
+                throw new InvalidTokenException("Unexpected signing algorithm");
+            }
+            JWSVerifier verifier = signingKeys.verifierFor(jwt.getHeader().getKeyID());
+            if (verifier == null) {
+                throw new InvalidTokenException("Unknown signing key");
+            }
+            if (!jwt.verify(verifier)) {
+                throw new InvalidTokenException("Invalid signature");
+            }
+
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            if (!issuer.equals(claims.getIssuer()) || claims.getSubject() == null
+                    || claims.getExpirationTime() == null) {
+                throw new InvalidTokenException("Missing or unexpected claims");
+            }
+            return new VerifiedToken(UUID.fromString(claims.getSubject()), claims.getExpirationTime().toInstant());
+        } catch (ParseException | JOSEException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Key store shared by all instances, on Redis: one key holding the JWK set, replaced with a Lua
+ * compare-and-set. It holds private keys, so the Redis instance must be reachable by this service only.
+ */
+public class RedisJwtKeyStore implements JwtKeyStore {
+
+    static final String KEY = "user-service:jwt:keys";
+
+    private static final RedisScript<Long> REPLACE = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if (current == false and ARGV[1] == '') or current == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    public RedisJwtKeyStore(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public String load() {
+        return redis.opsForValue().get(KEY);
+    }
+
+    @Override
+    public boolean replace(String expected, String updated) {
+        Long replaced = redis.execute(REPLACE, List.of(KEY), expected != null ? expected : "", updated);
+        return replaced != null && replaced == 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The users whose access tokens are revoked, kept in memory and updated incrementally
+ * from the user change feed ({@link UserRepository#findUpdatedAfter}), so verifying a token
+ * never fetches the user.
+ * - A user is revoked while not ACTIVE: deactivation and deletion revoke, reactivation lifts it
+ * - Tokens are only issued to active users, so an entry older than the token lifetime protects
+ *   nothing and is dropped: the set only holds users revoked within the last token lifetime
+ * - Each refresh also reads the last few seconds again, to pick up changes committed late
+ * Revocations reach verification after at most one refresh interval.
+ */
+
+public class TokenRevocations {
+
+    private final UserRepository userRepository;
+    private final Duration window;
+    private final Duration overlap;
+    private final int pageSize;
+    private final Clock clock;
+    private final Map<UUID, LocalDateTime> revokedAt = new ConcurrentHashMap<>();
+    private UserChangeCursor cursor;
+
+    /**
+     * @param window  how long a revocation is kept (token lifetime plus clock skew)
+     * @param overlap how far back every refresh reads again
+     */
+    public TokenRevocations(UserRepository userRepository, Duration window, Duration overlap,
+                            int pageSize, Clock clock) {
+        this.userRepository = userRepository;
+        this.window = window;
+        this.overlap = overlap;
+        this.pageSize = pageSize;
+        this.clock = clock;
+        this.cursor = UserChangeCursor.from(LocalDateTime.now(clock).minus(window));
+    }
+
+    public boolean isRevoked(UUID userId) {
+        return revokedAt.containsKey(userId);
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    /**
+     * Reads the changes since the last refresh and drops expired revocations.
+     */
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        UserChangeCursor reread = UserChangeCursor.from(now.minus(overlap));
+        UserChangeCursor position = reread.updatedAt().isBefore(cursor.updatedAt()) ? reread : cursor;
+
+        List<User> page;
+        do {
+            page = userRepository.findUpdatedAfter(position, pageSize);
+            for (User user : page) {
+                if (user.isActive()) {
+                    revokedAt.remove(user.getId());
+                } else {
+                    revokedAt.put(user.getId(), user.getUpdatedAt());
+                }
+                position = UserChangeCursor.after(user);
+            }
+        } while (page.size() == pageSize);
+
+        if (position.updatedAt().isAfter(cursor.updatedAt())) {
+            cursor = position;
+        }
+
+        LocalDateTime expired = now.minus(window);
+        revokedAt.values().removeIf(revoked -> revoked.isBefore(expired));
+    }
+}
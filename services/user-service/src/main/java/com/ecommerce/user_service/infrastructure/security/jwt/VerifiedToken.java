@@ -0,0 +1,13 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The claims of a verified access token.
+ *
+ * @param userId    the subject
+ * @param expiresAt the expiry
+ */
+public record VerifiedToken(UUID userId, Instant expiresAt) {
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+
+import java.util.List;
+
+/**
+ * Per-instance store of the user counters, companion of the in-memory backend.
+ */
+
+public class InMemoryUserStatisticsStore implements UserStatisticsStore {
+
+    private UserCounts counts = UserCounts.EMPTY;
+
+    @Override
+    public synchronized UserCounts load() {
+        return counts;
+    }
+
+    @Override
+    public synchronized void add(UserCounts deltas) {
+        counts = UserCounts.sum(List.of(counts, deltas));
+    }
+
+    @Override
+    public synchronized void replace(UserCounts counts) {
+        this.counts = counts;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the user counters in the user_status_counts and user_daily_signups tables
+ * (db/schema/user-statistics.sql) of the main database.
+ * - Deltas are applied as relative UPDATEs in one transaction, so concurrent instances never overwrite
+ *   each other's changes; missing rows are created first, each in its own statement, with a lost insert
+ *   race being harmless
+ * - If a row disappears before its UPDATE (a concurrent {@link #replace}), the whole transaction is rolled back
+ *   and the caller keeps the deltas for a later attempt
+ */
+
+public class JdbcUserStatisticsStore implements UserStatisticsStore {
+
+    private static final String STATUS_TABLE = "user_status_counts";
+    private static final String DAY_TABLE = "user_daily_signups";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public JdbcUserStatisticsStore(JdbcTemplate jdbc, TransactionTemplate transaction) {
+        this.jdbc = jdbc;
+        this.transaction = transaction;
+    }
+
+    @Override
+    public UserCounts load() {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        jdbc.query("SELECT status, user_count FROM " + STATUS_TABLE, rs -> {
+            byStatus.put(UserStatus.valueOf(rs.getString("status")), rs.getLong("user_count"));
+        });
+
+        Map<LocalDate, Long> signupsByDay = new HashMap<>();
+        jdbc.query("SELECT signup_day, signups FROM " + DAY_TABLE, rs -> {
+            signupsByDay.put(rs.getObject("signup_day", LocalDate.class), rs.getLong("signups"));
+        });
+
+        return new UserCounts(byStatus, signupsByDay);
+    }
+
+    @Override
+    public void add(UserCounts deltas) {
+        createMissingRows(deltas);
+
+        transaction.executeWithoutResult(status -> {
+            increment("UPDATE " + STATUS_TABLE + " SET user_count = user_count + ? WHERE status = ?",
+                    deltas.byStatus().entrySet().stream()
+                            .map(entry -> new Object[]{entry.getValue(), entry.getKey().name()})
+                            .toList());
+            increment("UPDATE " + DAY_TABLE + " SET signups = signups + ? WHERE signup_day = ?",
+                    deltas.signupsByDay().entrySet().stream()
+                            .map(entry -> new Object[]{entry.getValue(), Date.valueOf(entry.getKey())})
+                            .toList());
+        });
+    }
+
+    @Override
+    public void replace(UserCounts counts) {
+        transaction.executeWithoutResult(status -> {
+            jdbc.update("DELETE FROM " + STATUS_TABLE);
+            jdbc.batchUpdate("INSERT INTO " + STATUS_TABLE + " (status, user_count) VALUES (?, ?)",
+                    counts.byStatus().entrySet().stream()
+                            .map(entry -> new Object[]{entry.getKey().name(), entry.getValue()})
+                            .toList());
+
+            jdbc.update("DELETE FROM " + DAY_TABLE);
+            jdbc.batchUpdate("INSERT INTO " + DAY_TABLE + " (signup_day, signups) VALUES (?, ?)",
+                    counts.signupsByDay().entrySet().stream()
+                            .map(entry -> new Object[]{Date.valueOf(entry.getKey()), entry.getValue()})
+                            .toList());
+        });
+    }
+
+    private void createMissingRows(UserCounts deltas) {
+        List<String> existingStatuses = jdbc.queryForList("SELECT status FROM " + STATUS_TABLE, String.class);
+        for (UserStatus status : deltas.byStatus().keySet()) {
+            if (!existingStatuses.contains(status.name())) {
+                insertZero("INSERT INTO " + STATUS_TABLE + " (status, user_count) VALUES (?, 0)", status.name());
+            }
+        }
+
+        Collection<LocalDate> days = deltas.signupsByDay().keySet();
+        List<LocalDate> existingDays = days.isEmpty() ? List.of() : jdbc.queryForList(
+                "SELECT signup_day FROM " + DAY_TABLE + " WHERE signup_day >= ?", LocalDate.class,
+                Date.valueOf(days.stream().min(LocalDate::compareTo).orElseThrow()));
+        for (LocalDate day : days) {
+            if (!existingDays.contains(day)) {
+                insertZero("INSERT INTO " + DAY_TABLE + " (signup_day, signups) VALUES (?, 0)", Date.valueOf(day));
+            }
+        }
+    }
+
+    private void insertZero(String sql, Object key) {
+        try {
+            jdbc.update(sql, key);
+        } catch (DuplicateKeyException e) {
+            // Created concurrently by another instance
+        }
+    }
+
+    private void increment(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int[] updated = jdbc.batchUpdate(sql, rows);
+        for (int count : updated) {
+            if (count == 0) {
+                throw new IllegalStateException("Statistics row removed concurrently, deltas not applied");
+            }
+        }
+    }
+}
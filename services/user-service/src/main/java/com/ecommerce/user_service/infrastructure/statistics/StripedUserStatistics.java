@@ -0,0 +1,197 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.service.UserStatistics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User statistics kept in striped in-memory counters and flushed to a {@link UserStatisticsStore}.
+ * - Recording a change increments {@link LongAdder}s (one per status, one per signup day), so concurrent
+ *   writers do not contend on a shared counter
+ * - A read is O(1): the counts last read from the store, plus the deltas being flushed, plus the unflushed deltas
+ * - {@link #flush()} adds the deltas to the store, then reads back the store, which also picks up the changes
+ *   flushed by other instances. Deltas the store did not take are kept for the next flush; once it has
+ *   taken them, a failed read back only delays the changes of other instances
+ * - {@link #reconcile()} recounts the users table and overwrites the store, correcting drift from changes
+ *   that are not recorded (bulk status updates, hard deletes, writes lost in a crash)
+ * While a flush hands deltas over, a read may count them twice for an instant; counts are eventually exact
+ * up to the changes made during the last recount.
+ * The number of users by status is also published as the {@value #GAUGE} gauge.
+ */
+@Slf4j
+public class StripedUserStatistics implements UserStatistics, MeterBinder, AutoCloseable {
+
+    static final String GAUGE = "users.count";
+
+    private final UserStatisticsStore store;
+    private final UserRepository userRepository;
+
+    private final LongAdder[] statusDeltas = new LongAdder[UserStatus.values().length];
+    private final ConcurrentMap<LocalDate, LongAdder> signupDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * Counts read from the store and deltas being written to it, swapped together.
+     */
+    private volatile Flushed flushed = new Flushed(UserCounts.EMPTY, UserCounts.EMPTY);
+
+    private record Flushed(UserCounts stored, UserCounts inFlight) {
+    }
+
+    public StripedUserStatistics(UserStatisticsStore store, UserRepository userRepository) {
+        this.store = store;
+        this.userRepository = userRepository;
+        for (int i = 0; i < statusDeltas.length; i++) {
+            statusDeltas[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordSignup(LocalDate day, UserStatus status) {
+        statusDeltas[status.ordinal()].increment();
+        signupDeltas.computeIfAbsent(day, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void recordTransitions(Collection<UserStatusTransition> transitions) {
+        for (UserStatusTransition transition : transitions) {
+            statusDeltas[transition.from().ordinal()].decrement();
+            statusDeltas[transition.to().ordinal()].increment();
+        }
+    }
+
+    @Override
+    public long countByStatus(UserStatus status) {
+        Flushed current = flushed;
+        return current.stored().count(status) + current.inFlight().count(status)
+                + statusDeltas[status.ordinal()].sum();
+    }
+
+    @Override
+    public long signupsOn(LocalDate day) {
+        Flushed current = flushed;
+        LongAdder delta = signupDeltas.get(day);
+        return current.stored().signupsOn(day) + current.inFlight().signupsOn(day)
+                + (delta != null ? delta.sum() : 0);
+    }
+
+    /**
+     * Adds the recorded changes to the store and reads back the counters of all instances.
+     */
+    public synchronized void flush() {
+        UserCounts deltas = drainDeltas();
+        if (!deltas.isEmpty()) {
+            try {
+                store.add(deltas);
+            } catch (RuntimeException e) {
+                addToAdders(deltas, 1);
+                flushed = new Flushed(flushed.stored(), UserCounts.EMPTY);
+                log.warn("User statistics flush failed, {} changes kept for the next flush", deltas.total(), e);
+                return;
+            }
+        }
+
+        try {
+            flushed = new Flushed(store.load(), UserCounts.EMPTY);
+        } catch (RuntimeException e) {
+            // The store has the deltas: count them as stored, not again as unflushed
+            flushed = new Flushed(UserCounts.sum(List.of(flushed.stored(), deltas)), UserCounts.EMPTY);
+            log.warn("User statistics read back failed, counts of other instances are stale until the next flush", e);
+        }
+    }
+
+    /**
+     * Recounts the users and overwrites the store with the result.
+     */
+    public synchronized void reconcile() {
+        flush();
+
+        UserCounts actual = userRepository.countUsers();
+        UserCounts stored = flushed.stored();
+        store.replace(actual);
+        flushed = new Flushed(actual, UserCounts.EMPTY);
+
+        for (UserStatus status : UserStatus.values()) {
+            long drift = stored.count(status) - actual.count(status);
+            if (drift != 0) {
+                log.info("User statistics reconciled, {} count was off by {}", status, drift);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UserStatus status : UserStatus.values()) {
+            Gauge.builder(GAUGE, this, statistics -> statistics.countByStatus(status))
+                    .description("Users by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Flushes the last changes.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Moves the deltas to {@code flushed.inFlight}. Changes recorded meanwhile stay in the adders.
+     */
+    private UserCounts drainDeltas() {
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        for (UserStatus status : UserStatus.values()) {
+            long delta = statusDeltas[status.ordinal()].sum();
+            if (delta != 0) {
+                byStatus.put(status, delta);
+            }
+        }
+
+        Map<LocalDate, Long> signupsByDay = new HashMap<>();
+        signupDeltas.forEach((day, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                signupsByDay.put(day, delta);
+            }
+        });
+
+        UserCounts deltas = new UserCounts(byStatus, signupsByDay);
+        flushed = new Flushed(flushed.stored(), deltas);
+        addToAdders(deltas, -1);
+        pruneSignupDays();
+        return deltas;
+    }
+
+    private void addToAdders(UserCounts deltas, long sign) {
+        deltas.byStatus().forEach((status, delta) -> statusDeltas[status.ordinal()].add(sign * delta));
+        deltas.signupsByDay().forEach((day, delta) ->
+                signupDeltas.computeIfAbsent(day, key -> new LongAdder()).add(sign * delta));
+    }
+
+    /**
+     * Drops the drained adders of past days; signups are only recorded for the current day.
+     * Two days of margin cover a signup created just before midnight and recorded just after.
+     */
+    private void pruneSignupDays() {
+        LocalDate oldest = LocalDate.now().minusDays(2);
+        List<LocalDate> past = signupDeltas.keySet().stream().filter(day -> day.isBefore(oldest)).toList();
+        past.forEach(day -> signupDeltas.computeIfPresent(day, (key, adder) -> adder.sum() == 0 ? null : adder));
+    }
+}
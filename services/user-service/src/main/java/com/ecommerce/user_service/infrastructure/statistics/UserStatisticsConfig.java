@@ -0,0 +1,38 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the user statistics and their store: the summary tables of the main database,
+ * or memory with the in-memory backend.
+ */
+
+@Configuration
+public class UserStatisticsConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${user-service.persistence.backend:jpa}' != 'in-memory'")
+    public UserStatisticsStore jdbcUserStatisticsStore(JdbcTemplate jdbcTemplate,
+                                                       PlatformTransactionManager transactionManager) {
+        return new JdbcUserStatisticsStore(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user-service.persistence.backend", havingValue = "in-memory")
+    public UserStatisticsStore inMemoryUserStatisticsStore() {
+        return new InMemoryUserStatisticsStore();
+    }
+
+    @Bean(destroyMethod = "close")
+    public StripedUserStatistics userStatistics(UserStatisticsStore userStatisticsStore,
+                                                UserRepository userRepository) {
+        return new StripedUserStatistics(userStatisticsStore, userRepository);
+    }
+}
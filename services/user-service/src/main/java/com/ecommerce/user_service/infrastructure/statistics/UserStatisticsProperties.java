@@ -0,0 +1,27 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Incrementally maintained user statistics (see {@link StripedUserStatistics}).
+ */
+
+@Data
+@ConfigurationProperties(prefix = "user-service.statistics")
+public class UserStatisticsProperties {
+
+    /**
+     * How often the in-memory counters are added to the summary tables and the other instances'
+     * changes are read back. Also bounds how long a crash can lose recorded changes until the next reconciliation.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * When the summary tables are recounted from the users table (Spring cron expression).
+     * "-" disables reconciliation.
+     */
+    private String reconciliationCron = "0 30 3 * * *";
+}
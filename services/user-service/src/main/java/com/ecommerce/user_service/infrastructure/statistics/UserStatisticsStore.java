@@ -0,0 +1,26 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+
+/**
+ * Durable storage of the user counters, shared by all instances.
+ */
+
+public interface UserStatisticsStore {
+    /**
+     * Reads all counters.
+     */
+    UserCounts load();
+
+    /**
+     * Adds deltas to the counters, all or none of them.
+     *
+     * @param deltas the changes to add; counts may be negative
+     */
+    void add(UserCounts deltas);
+
+    /**
+     * Replaces all counters, e.g. with the result of a recount.
+     */
+    void replace(UserCounts counts);
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the flush and the reconciliation of the user statistics, per {@link UserStatisticsProperties}.
+ * The first flush runs at startup and loads the stored counters.
+ */
+
+@Component
+@RequiredArgsConstructor
+public class UserStatisticsTasks implements SchedulingConfigurer {
+
+    private final StripedUserStatistics statistics;
+    private final UserStatisticsProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(statistics::flush, properties.getFlushInterval());
+        registrar.addCronTask(statistics::reconcile, properties.getReconciliationCron());
+    }
+}
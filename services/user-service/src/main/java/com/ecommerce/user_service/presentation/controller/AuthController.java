@@ -0,0 +1,32 @@
+package com.ecommerce.user_service.presentation.controller;
+
+import com.ecommerce.user_service.application.service.AuthenticationService;
+import com.ecommerce.user_service.presentation.dto.LoginRequest;
+import com.ecommerce.user_service.presentation.dto.TokenResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Login endpoint. The response is asynchronous: the request thread is released while
+ * the password is checked on the hashing threads.
+ */
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthenticationService authenticationService;
+
+    @PostMapping("/login")
+    public CompletableFuture<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
+        return authenticationService.login(request.email(), request.password())
+                .thenApply(TokenResponse::of);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.user_service.presentation.controller;
+
+import com.ecommerce.user_service.application.dto.RegisterUserCommand;
+import com.ecommerce.user_service.application.dto.UpdateProfileCommand;
+import com.ecommerce.user_service.application.dto.UserDto;
+import com.ecommerce.user_service.application.idempotency.IdempotencyService;
+import com.ecommerce.user_service.application.idempotency.IdempotentResult;
+import com.ecommerce.user_service.application.service.CredentialService;
+import com.ecommerce.user_service.application.service.UserService;
+import com.ecommerce.user_service.infrastructure.security.jwt.JwtAuthenticationFilter;
+import com.ecommerce.user_service.presentation.dto.RegisterUserRequest;
+import com.ecommerce.user_service.presentation.dto.SetPasswordRequest;
+import com.ecommerce.user_service.presentation.dto.UpdateProfileRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * User lifecycle endpoints.
+ * A user sets their own password with a bearer token for their ID (see JwtAuthenticationFilter);
+ * the first password is given at registration.
+ * Registration, profile updates and deletion accept an {@value #IDEMPOTENCY_KEY} header: a retry with the
+ * same key and body gets the first response, marked with {@value #IDEMPOTENT_REPLAYED}, instead of running again.
+ */
+
+@Validated
+@RestController
+@RequestMapping("/v1/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final UserService userService;
+    private final CredentialService credentialService;
+    private final IdempotencyService idempotencyService;
+
+    @PostMapping
+    public ResponseEntity<UserDto> register(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) @Size(max = MAX_KEY_LENGTH) String key,
+            @Valid @RequestBody RegisterUserRequest request) {
+        RegisterUserCommand command = request.toCommand();
+        IdempotentResult<UserDto> result = idempotencyService.execute("register", key, command, UserDto.class,
+                () -> userService.register(command));
+
+        UserDto user = result.value();
+        return withReplayHeader(ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(user.id()).toUri()), result)
+                .body(user);
+    }
+
+    @GetMapping("/{id}")
+    public UserDto getUser(@PathVariable UUID id) {
+        return userService.getUser(id);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<UserDto> updateProfile(
+            @PathVariable UUID id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) @Size(max = MAX_KEY_LENGTH) String key,
+            @Valid @RequestBody UpdateProfileRequest request) {
+        UpdateProfileCommand command = request.toCommand();
+        IdempotentResult<UserDto> result = idempotencyService.execute("update-profile", key, List.of(id, command),
+                UserDto.class, () -> userService.updateProfile(id, command));
+
+        return withReplayHeader(ResponseEntity.ok(), result).body(result.value());
+    }
+
+    @PutMapping("/{id}/password")
+    public ResponseEntity<Void> setPassword(
+            @PathVariable UUID id,
+            @RequestAttribute(name = JwtAuthenticationFilter.USER_ID_ATTRIBUTE, required = false) UUID authenticatedUserId,
+            @Valid @RequestBody SetPasswordRequest request) {
+        if (authenticatedUserId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bearer token required");
+        }
+        if (!authenticatedUserId.equals(id)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot set the password of another user");
+        }
+        credentialService.setPassword(id, request.password());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/activate")
+    public UserDto activate(@PathVariable UUID id) {
+        return userService.activate(id);
+    }
+
+    @PostMapping("/{id}/deactivate")
+    public UserDto deactivate(@PathVariable UUID id) {
+        return userService.deactivate(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(
+            @PathVariable UUID id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) @Size(max = MAX_KEY_LENGTH) String key) {
+        IdempotentResult<Void> result = idempotencyService.execute("delete", key, id, Void.class, () -> {
+            userService.delete(id);
+            return null;
+        });
+
+        return withReplayHeader(ResponseEntity.status(HttpStatus.NO_CONTENT), result).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withReplayHeader(ResponseEntity.BodyBuilder response,
+                                                               IdempotentResult<?> result) {
+        return result.replayed() ? response.header(IDEMPOTENT_REPLAYED, "true") : response;
+    }
+}
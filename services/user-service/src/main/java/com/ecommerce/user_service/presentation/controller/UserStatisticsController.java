@@ -0,0 +1,38 @@
+package com.ecommerce.user_service.presentation.controller;
+
+import com.ecommerce.user_service.application.dto.DailySignupsDto;
+import com.ecommerce.user_service.application.dto.UserStatisticsDto;
+import com.ecommerce.user_service.application.service.UserStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * User statistics for dashboards, served from maintained counters (see UserStatisticsService).
+ */
+
+@RestController
+@RequestMapping("/v1/users/statistics")
+@RequiredArgsConstructor
+public class UserStatisticsController {
+
+    private final UserStatisticsService userStatisticsService;
+
+    @GetMapping
+    public UserStatisticsDto countByStatus() {
+        return userStatisticsService.countByStatus();
+    }
+
+    @GetMapping("/signups")
+    public List<DailySignupsDto> signups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return userStatisticsService.signups(from, to);
+    }
+}
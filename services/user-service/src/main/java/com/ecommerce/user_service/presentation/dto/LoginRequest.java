@@ -0,0 +1,17 @@
+package com.ecommerce.user_service.presentation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a login request.
+ *
+ * @param email    the user email
+ * @param password the password
+ */
+public record LoginRequest(@NotBlank String email, @NotBlank String password) {
+
+    @Override
+    public String toString() {
+        return "LoginRequest{email=" + email + '}';
+    }
+}
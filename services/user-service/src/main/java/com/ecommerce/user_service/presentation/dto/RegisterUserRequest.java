@@ -0,0 +1,27 @@
+package com.ecommerce.user_service.presentation.dto;
+
+import com.ecommerce.user_service.application.dto.RegisterUserCommand;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a registration request.
+ *
+ * @param email       the user email
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param phoneNumber the phone number, optional
+ * @param password    the password to log in with, optional
+ */
+public record RegisterUserRequest(@NotBlank String email, @NotBlank String firstName, @NotBlank String lastName,
+                                  String phoneNumber, String password) {
+
+    public RegisterUserCommand toCommand() {
+        return new RegisterUserCommand(email, firstName, lastName, phoneNumber, password);
+    }
+
+    @Override
+    public String toString() {
+        return "RegisterUserRequest{email=" + email + ", firstName=" + firstName + ", lastName=" + lastName
+                + ", phoneNumber=" + phoneNumber + '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.user_service.presentation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a request setting the password of a user.
+ *
+ * @param password the new password
+ */
+public record SetPasswordRequest(@NotBlank String password) {
+
+    @Override
+    public String toString() {
+        return "SetPasswordRequest{}";
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.user_service.presentation.dto;
+
+import com.ecommerce.user_service.domain.model.AccessToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Access token returned by a successful login (OAuth 2.0 token response fields).
+ *
+ * @param accessToken the token, sent back as "Authorization: Bearer ..."
+ * @param tokenType   always "Bearer"
+ * @param expiresIn   seconds until the token expires
+ */
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+
+    public static TokenResponse of(AccessToken token) {
+        long expiresIn = Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toSeconds());
+        return new TokenResponse(token.value(), "Bearer", expiresIn);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user_service.presentation.dto;
+
+import com.ecommerce.user_service.application.dto.UpdateProfileCommand;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a profile update request.
+ *
+ * @param firstName   the first name
+ * @param lastName    the last name
+ * @param phoneNumber the phone number, optional
+ */
+public record UpdateProfileRequest(@NotBlank String firstName, @NotBlank String lastName, String phoneNumber) {
+
+    public UpdateProfileCommand toCommand() {
+        return new UpdateProfileCommand(firstName, lastName, phoneNumber);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.user_service.presentation.grpc;
+
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.presentation.grpc.v1.ExistsByEmailRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.ExistsByEmailResponse;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUserByIdRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUsersByIdsRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.UserLookupGrpc;
+import com.ecommerce.user_service.presentation.grpc.v1.UserMessage;
+import com.google.protobuf.ByteString;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Internal user lookups over gRPC, on the UserRepository port.
+ * - The deadline of the call is checked before every repository call, so work stops once the caller
+ *   has given up; calls without a deadline get the server default (see DeadlineInterceptor)
+ * - FindAllByIds loads one chunk of ids at a time, only when the client is ready for more messages,
+ *   so a slow client holds at most one chunk in memory
+ * - Persistence failures the client should retry answer UNAVAILABLE (DEADLINE_EXCEEDED for a query
+ *   timeout), as the REST API answers 503
+ */
+public class UserLookupGrpcService extends UserLookupGrpc.UserLookupImplBase {
+
+    private final UserRepository userRepository;
+    private final int maxIdsPerRequest;
+    private final int streamChunkSize;
+
+    public UserLookupGrpcService(UserRepository userRepository, int maxIdsPerRequest, int streamChunkSize) {
+        this.userRepository = userRepository;
+        this.maxIdsPerRequest = maxIdsPerRequest;
+        this.streamChunkSize = streamChunkSize;
+    }
+
+    @Override
+    public void findById(FindUserByIdRequest request, StreamObserver<UserMessage> responseObserver) {
+        try {
+            UUID id = UserMessages.toUuid(request.getId());
+            checkDeadline();
+            UserSnapshot user = userRepository.findSnapshotById(id).orElseThrow(() -> Status.NOT_FOUND
+                    .withDescription("User not found with ID: " + id)
+                    .asRuntimeException());
+            responseObserver.onNext(UserMessages.toMessage(user));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+        }
+    }
+
+    @Override
+    public void findAllByIds(FindUsersByIdsRequest request, StreamObserver<UserMessage> responseObserver) {
+        try {
+            if (request.getIdsCount() > maxIdsPerRequest) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("At most " + maxIdsPerRequest + " ids per request, got " + request.getIdsCount())
+                        .asRuntimeException();
+            }
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (ByteString id : request.getIdsList()) {
+                ids.add(UserMessages.toUuid(id));
+            }
+
+            UserStream stream = new UserStream(List.copyOf(ids), (ServerCallStreamObserver<UserMessage>) responseObserver);
+            stream.observer.setOnCancelHandler(stream::cancel);
+            stream.observer.setOnReadyHandler(stream::drain);
+            stream.drain();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+        }
+    }
+
+    @Override
+    public void existsByEmail(ExistsByEmailRequest request, StreamObserver<ExistsByEmailResponse> responseObserver) {
+        try {
+            Email email = toEmail(request.getEmail());
+            checkDeadline();
+            responseObserver.onNext(ExistsByEmailResponse.newBuilder()
+                    .setExists(userRepository.existsByEmail(email))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+        }
+    }
+
+    private static Email toEmail(String address) {
+        try {
+            return new Email(address);
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+    }
+
+    /**
+     * Returns the status of a failure the client can act on, rethrowing any other failure.
+     */
+    private static StatusRuntimeException toStatusException(RuntimeException e) {
+        if (e instanceof StatusRuntimeException status) {
+            return status;
+        }
+        if (e instanceof QueryTimeoutException) {
+            return Status.DEADLINE_EXCEEDED.withDescription("Database query timed out").withCause(e).asRuntimeException();
+        }
+        if (e instanceof RejectedExecutionException) {
+            return Status.UNAVAILABLE.withDescription("Service is busy, retry later").withCause(e).asRuntimeException();
+        }
+        if (e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException) {
+            return Status.UNAVAILABLE.withDescription("Database is unavailable, retry later").withCause(e)
+                    .asRuntimeException();
+        }
+        throw e;
+    }
+
+    private static void checkDeadline() {
+        Context context = Context.current();
+        Deadline deadline = context.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw Status.DEADLINE_EXCEEDED.withDescription("Deadline exceeded").asRuntimeException();
+        }
+        if (context.isCancelled()) {
+            throw Status.CANCELLED.withDescription("Call cancelled").asRuntimeException();
+        }
+    }
+
+    /**
+     * Flow-controlled stream of the users of a FindAllByIds call. Its methods run on the call's
+     * serializing executor, one at a time.
+     */
+    private final class UserStream {
+
+        private final List<UUID> ids;
+        private final ServerCallStreamObserver<UserMessage> observer;
+        private Iterator<UserSnapshot> chunk = Collections.emptyIterator();
+        private int nextId;
+        private boolean done;
+
+        UserStream(List<UUID> ids, ServerCallStreamObserver<UserMessage> observer) {
+            this.ids = ids;
+            this.observer = observer;
+        }
+
+        void drain() {
+            try {
+                while (!done && observer.isReady()) {
+                    if (chunk.hasNext()) {
+                        observer.onNext(UserMessages.toMessage(chunk.next()));
+                    } else if (nextId < ids.size()) {
+                        checkDeadline();
+                        int end = Math.min(nextId + streamChunkSize, ids.size());
+                        chunk = userRepository.findSnapshotsByIds(ids.subList(nextId, end)).iterator();
+                        nextId = end;
+                    } else {
+                        done = true;
+                        observer.onCompleted();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                observer.onError(toStatusException(e));
+            }
+        }
+
+        void cancel() {
+            done = true;
+        }
+    }
+}
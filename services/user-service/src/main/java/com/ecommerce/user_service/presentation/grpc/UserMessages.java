@@ -0,0 +1,68 @@
+package com.ecommerce.user_service.presentation.grpc;
+
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.presentation.grpc.v1.UserMessage;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Conversions between domain objects and the messages of user_lookup.proto.
+ */
+final class UserMessages {
+
+    private static final int UUID_BYTES = 16;
+
+    private UserMessages() {
+    }
+
+    static UserMessage toMessage(UserSnapshot user) {
+        UserMessage.Builder message = UserMessage.newBuilder()
+                .setId(toBytes(user.id()))
+                .setEmail(user.email().getAddress())
+                .setFirstName(user.firstName())
+                .setLastName(user.lastName())
+                .setStatus(UserMessage.Status.valueOf(user.status().name()))
+                .setCreatedAt(toTimestamp(user.createdAt()))
+                .setUpdatedAt(toTimestamp(user.updatedAt()));
+        if (user.phoneNumber() != null) {
+            message.setPhoneNumber(user.phoneNumber().getValue());
+        }
+        return message.build();
+    }
+
+    static ByteString toBytes(UUID id) {
+        return ByteString.copyFrom(ByteBuffer.allocate(UUID_BYTES)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+    }
+
+    /**
+     * @throws io.grpc.StatusRuntimeException with INVALID_ARGUMENT if the bytes are not a UUID
+     */
+    static UUID toUuid(ByteString bytes) {
+        if (bytes.size() != UUID_BYTES) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("User ID must be " + UUID_BYTES + " bytes, got " + bytes.size())
+                    .asRuntimeException();
+        }
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    // Domain timestamps are local times of the service's zone
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
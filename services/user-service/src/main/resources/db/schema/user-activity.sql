@@ -0,0 +1,5 @@
+-- Last activity of each user, written in batches by the activity flush (WriteBehindUserActivity).
+-- - Not mapped by UserEntity: saving a user never overwrites it, and writing it never bumps updated_at
+-- - Not indexed on purpose: an update that changes no indexed column can be a heap-only tuple (HOT) update,
+--   so a flush rewrites the rows but none of the indexes of users
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
@@ -0,0 +1,7 @@
+-- Password credentials (CredentialEntity), for profiles that do not let Hibernate generate the schema.
+CREATE TABLE IF NOT EXISTS user_credentials (
+    user_id UUID NOT NULL,
+    password_hash VARCHAR(100) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT user_credentials_pkey PRIMARY KEY (user_id)
+);
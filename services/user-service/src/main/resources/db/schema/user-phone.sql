@@ -0,0 +1,12 @@
+-- Unique lookup index on phone numbers (E.164, normalized by PhoneNumber), for findByPhone and existsByPhone.
+-- Partial: users without a phone number are left out of the index.
+-- Existing rows must be normalized first (PhoneNumberBackfill), or duplicates in another format go unnoticed.
+-- Not fatal: if users already share a phone number, the index is not created and startup goes on. The backfill
+-- then reports those users and, once they are resolved, creates the index CONCURRENTLY (PhoneNumberIndex).
+DO '
+BEGIN
+    CREATE UNIQUE INDEX IF NOT EXISTS idx_user_phone ON users (phone_number) WHERE phone_number IS NOT NULL;
+EXCEPTION WHEN unique_violation THEN
+    RAISE WARNING ''idx_user_phone not created: users share a phone number, run the phone number backfill'';
+END
+';
@@ -0,0 +1,17 @@
+-- Trigram indexes for the ranked, typo-tolerant user search (TrigramUserSearch).
+-- The full name expression must match the one used by the search query.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_user_full_name_trgm
+    ON users USING gin ((first_name || ' ' || last_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_user_email_trgm
+    ON users USING gin (email gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_user_phone_number_trgm
+    ON users USING gin (phone_number gin_trgm_ops);
+
+-- Word similarity (<%) costs far more per row than the default function cost of 1 tells the planner:
+-- without this, a long search text, whose many trigrams make the index scans look dear, gets a sequential
+-- scan of the whole table. Needs the owner of the extension, as CREATE EXTENSION does.
+ALTER FUNCTION word_similarity_op(text, text) COST 100;
@@ -0,0 +1,13 @@
+-- Durable user counters of the statistics subsystem (StripedUserStatistics).
+-- Rows are created on demand; counts are deltas applied by every instance and overwritten on reconciliation.
+CREATE TABLE IF NOT EXISTS user_status_counts (
+    status VARCHAR(20) NOT NULL,
+    user_count BIGINT NOT NULL,
+    CONSTRAINT user_status_counts_pkey PRIMARY KEY (status)
+);
+
+CREATE TABLE IF NOT EXISTS user_daily_signups (
+    signup_day DATE NOT NULL,
+    signups BIGINT NOT NULL,
+    CONSTRAINT user_daily_signups_pkey PRIMARY KEY (signup_day)
+);
@@ -0,0 +1,92 @@
+-- Hash-partitioned users table, used by the "partitioned" profile instead of the table generated from UserEntity.
+-- - users is split into 16 partitions by hash of id; every index below is created on each partition
+-- - A unique index on a partitioned table must contain the partition key, so email uniqueness moves to the
+--   user_emails lookup table. Its primary key keeps the name idx_user_email, and a trigger keeps it in step
+--   with users inside the same transaction: a duplicate email still fails the insert into users
+-- - Lookups by email go through user_emails (one index probe) instead of probing every partition
+-- - Phone numbers work the same way, with the user_phones table (primary key idx_user_phone); its trigger
+--   also follows phone number changes
+-- Every statement is idempotent; the script runs on each start. Function bodies are single-quoted,
+-- as the SQL script runner does not understand dollar quoting.
+CREATE TABLE IF NOT EXISTS users (
+    id UUID NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    last_seen_at TIMESTAMP,
+    CONSTRAINT users_pkey PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+CREATE TABLE IF NOT EXISTS users_p00 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 0);
+CREATE TABLE IF NOT EXISTS users_p01 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 1);
+CREATE TABLE IF NOT EXISTS users_p02 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 2);
+CREATE TABLE IF NOT EXISTS users_p03 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 3);
+CREATE TABLE IF NOT EXISTS users_p04 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 4);
+CREATE TABLE IF NOT EXISTS users_p05 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 5);
+CREATE TABLE IF NOT EXISTS users_p06 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 6);
+CREATE TABLE IF NOT EXISTS users_p07 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 7);
+CREATE TABLE IF NOT EXISTS users_p08 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 8);
+CREATE TABLE IF NOT EXISTS users_p09 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 9);
+CREATE TABLE IF NOT EXISTS users_p10 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 10);
+CREATE TABLE IF NOT EXISTS users_p11 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 11);
+CREATE TABLE IF NOT EXISTS users_p12 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 12);
+CREATE TABLE IF NOT EXISTS users_p13 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 13);
+CREATE TABLE IF NOT EXISTS users_p14 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 14);
+CREATE TABLE IF NOT EXISTS users_p15 PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER 15);
+
+CREATE INDEX IF NOT EXISTS idx_user_status ON users (status);
+CREATE INDEX IF NOT EXISTS idx_user_updated_at ON users (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS user_emails (
+    email VARCHAR(255) NOT NULL,
+    user_id UUID NOT NULL,
+    CONSTRAINT idx_user_email PRIMARY KEY (email)
+);
+
+CREATE OR REPLACE FUNCTION sync_user_emails() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''INSERT'' THEN
+        INSERT INTO user_emails (email, user_id) VALUES (NEW.email, NEW.id);
+        RETURN NEW;
+    END IF;
+    DELETE FROM user_emails WHERE email = OLD.email AND user_id = OLD.id;
+    RETURN OLD;
+END
+';
+
+DROP TRIGGER IF EXISTS trg_user_emails_sync ON users;
+CREATE TRIGGER trg_user_emails_sync
+    AFTER INSERT OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION sync_user_emails();
+
+CREATE TABLE IF NOT EXISTS user_phones (
+    phone_number VARCHAR(20) NOT NULL,
+    user_id UUID NOT NULL,
+    CONSTRAINT idx_user_phone PRIMARY KEY (phone_number)
+);
+
+CREATE OR REPLACE FUNCTION sync_user_phones() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''UPDATE'' AND NEW.phone_number IS NOT DISTINCT FROM OLD.phone_number THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN (''UPDATE'', ''DELETE'') THEN
+        DELETE FROM user_phones WHERE phone_number = OLD.phone_number AND user_id = OLD.id;
+    END IF;
+    IF TG_OP IN (''INSERT'', ''UPDATE'') THEN
+        IF NEW.phone_number IS NOT NULL THEN
+            INSERT INTO user_phones (phone_number, user_id) VALUES (NEW.phone_number, NEW.id);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+';
+
+DROP TRIGGER IF EXISTS trg_user_phones_sync ON users;
+CREATE TRIGGER trg_user_phones_sync
+    AFTER INSERT OR UPDATE OF phone_number OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION sync_user_phones();
@@ -0,0 +1,16 @@
+-- Global routing tables, kept in the primary (index) database.
+-- user_email_index enforces email uniqueness across all shards.
+CREATE TABLE IF NOT EXISTS user_email_index (
+    email VARCHAR(255) PRIMARY KEY,
+    user_id UUID NOT NULL
+);
+
+-- version counts the changes of a bucket's assignment: routers reload the assignments when their sum
+-- changes, and 0 means the bucket was never moved.
+CREATE TABLE IF NOT EXISTS user_shard_bucket (
+    bucket INTEGER PRIMARY KEY,
+    shard_id INTEGER NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE user_shard_bucket ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
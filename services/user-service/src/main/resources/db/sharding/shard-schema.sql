@@ -0,0 +1,31 @@
+-- Schema of every users shard.
+-- shard_bucket is the routing bucket of the row id, so a bucket can be moved to another shard.
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    shard_bucket INTEGER NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    last_seen_at TIMESTAMP
+);
+
+-- last_seen_at is written by the activity flush only; existing shards get it here. It is not indexed
+-- on purpose, so that flushes stay heap-only (HOT) updates.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_email ON users (email);
+-- Unique within the shard only. NULLs never conflict; the index is not partial so that it also runs on H2
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_phone ON users (phone_number);
+CREATE INDEX IF NOT EXISTS idx_user_status ON users (status);
+CREATE INDEX IF NOT EXISTS idx_user_shard_bucket ON users (shard_bucket);
+CREATE INDEX IF NOT EXISTS idx_user_updated_at ON users (updated_at, id);
+
+-- Buckets this shard owns (see BucketOwnership). Writes only touch rows of owned buckets, so a shard
+-- rejects the writes of instances that still route a moved bucket to it.
+CREATE TABLE IF NOT EXISTS owned_bucket (
+    bucket INTEGER PRIMARY KEY
+);
@@ -0,0 +1,95 @@
+package com.ecommerce.user_service.application.idempotency;
+
+import com.ecommerce.user_service.application.dto.RegisterUserCommand;
+import com.ecommerce.user_service.application.dto.UserDto;
+import com.ecommerce.user_service.application.service.UserService;
+import com.ecommerce.user_service.domain.exception.UserAlreadyExistsException;
+import com.ecommerce.user_service.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.ecommerce.user_service.infrastructure.statistics.InMemoryUserStatisticsStore;
+import com.ecommerce.user_service.infrastructure.statistics.StripedUserStatistics;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registrations per second under a retry-heavy workload: each client either registers a new user or,
+ * with probability retryRatio, retries its last registration with the same key and body.
+ * Without idempotency a retry re-runs the email check and fails with UserAlreadyExistsException;
+ * with it, a retry replays the recorded response. In-memory repository and store, 4 clients.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class IdempotencyServiceBenchmark {
+
+    @Param({"0", "0.5", "0.9"})
+    public double retryRatio;
+
+    @Param({"true", "false"})
+    public boolean idempotent;
+
+    private UserService userService;
+    private IdempotencyService idempotencyService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        // No CredentialService: the registrations have no password
+        userService = new UserService(userRepository,
+                new StripedUserStatistics(new InMemoryUserStatisticsStore(), userRepository), null);
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(1_000_000),
+                JsonMapper.builder().findAndAddModules().build(),
+                Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(5));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        String key;
+        RegisterUserCommand command;
+
+        RegisterUserCommand next(double retryRatio) {
+            if (command == null || ThreadLocalRandom.current().nextDouble() >= retryRatio) {
+                key = UUID.randomUUID().toString();
+                command = new RegisterUserCommand(key + "@example.com", "John", "Doe", null);
+            }
+            return command;
+        }
+    }
+
+    @Benchmark
+    public Object register(Client client) {
+        RegisterUserCommand command = client.next(retryRatio);
+        if (!idempotent) {
+            try {
+                return userService.register(command);
+            } catch (UserAlreadyExistsException e) {
+                return e;
+            }
+        }
+        return idempotencyService.execute("register", client.key, command, UserDto.class,
+                () -> userService.register(command));
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.user_service.application.idempotency;
+
+import com.ecommerce.user_service.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyService, with the in-memory store.
+ */
+
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final IdempotencyService service = new IdempotencyService(new InMemoryIdempotencyStore(1000),
+            OBJECT_MAPPER, Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should replay the first response to a retry without running the operation again")
+    void shouldReplayFirstResponse() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        IdempotentResult<String> first = service.execute("register", "key-1", "request", String.class,
+                () -> "response-" + runs.incrementAndGet());
+
+        // When
+        IdempotentResult<String> retry = service.execute("register", "key-1", "request", String.class,
+                () -> "response-" + runs.incrementAndGet());
+
+        // Then
+        assertEquals(1, runs.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals("response-1", retry.value());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request, but not for a different operation")
+    void shouldRejectReusedKey() {
+        // Given
+        service.execute("register", "key-1", "request", String.class, () -> "response");
+
+        // When / Then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.execute("register", "key-1", "other request", String.class, () -> "response"));
+        assertFalse(service.execute("delete", "key-1", "other request", String.class, () -> "response").replayed());
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation fails, so a retry runs again")
+    void shouldReleaseKeyOnFailure() {
+        // Given
+        assertThrows(IllegalArgumentException.class, () -> service.execute("register", "key-1", "request",
+                String.class, () -> {
+                    throw new IllegalArgumentException("invalid");
+                }));
+
+        // When
+        IdempotentResult<String> retry = service.execute("register", "key-1", "request", String.class,
+                () -> "response");
+
+        // Then
+        assertFalse(retry.replayed());
+        assertEquals("response", retry.value());
+    }
+
+    @Test
+    @DisplayName("Should run the operation once for simultaneous duplicates, all getting its response")
+    void shouldRunOnceForSimultaneousDuplicates() throws Exception {
+        // Given
+        int duplicates = 8;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+
+        // When
+        List<Future<IdempotentResult<String>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < duplicates; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.execute("register", "key-1", "request", String.class, () -> {
+                        sleep(50);
+                        return "response-" + runs.incrementAndGet();
+                    });
+                }));
+            }
+            start.countDown();
+
+            // Then
+            int replayed = 0;
+            for (Future<IdempotentResult<String>> result : results) {
+                assertEquals("response-1", result.get().value());
+                replayed += result.get().replayed() ? 1 : 0;
+            }
+            assertEquals(1, runs.get());
+            assertEquals(duplicates - 1, replayed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a duplicate when the first request is still running after the wait timeout")
+    void shouldRefuseDuplicateAfterWaitTimeout() throws Exception {
+        // Given
+        IdempotencyStore store = new InMemoryIdempotencyStore(1000);
+        IdempotencyService impatient = new IdempotencyService(store, OBJECT_MAPPER,
+                Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ofMillis(50));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<IdempotentResult<String>> first = executor.submit(() -> impatient.execute("register", "key-1",
+                    "request", String.class, () -> {
+                        running.countDown();
+                        await(finish);
+                        return "response";
+                    }));
+            running.await();
+
+            // When / Then
+            assertThrows(IdempotencyRequestInProgressException.class,
+                    () -> impatient.execute("register", "key-1", "request", String.class, () -> "duplicate"));
+            finish.countDown();
+            assertEquals("response", first.get().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryCredentialRepository;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.ecommerce.user_service.infrastructure.security.BCryptPasswordHasher;
+import com.ecommerce.user_service.infrastructure.security.HashingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core: CredentialService.authenticate with a single hashing thread,
+ * in-memory repositories, for several bcrypt cost factors.
+ * Multiply by the hashing threads (one per core by default) for the capacity of an instance.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class CredentialServiceBenchmark {
+
+    private static final Email EMAIL = new Email("login@example.com");
+    private static final String PASSWORD = "correct horse battery";
+
+    @Param({"10", "12"})
+    public int bcryptStrength;
+
+    private HashingExecutor executor;
+    private CredentialService service;
+
+    @Setup
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        executor = new HashingExecutor(1, 16, Duration.ofMinutes(1));
+        service = new CredentialService(userRepository, new InMemoryCredentialRepository(),
+                new BCryptPasswordHasher(bcryptStrength, executor));
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = userRepository.save(
+                new User(UUID.randomUUID(), EMAIL, "John", "Doe", null, UserStatus.ACTIVE, now, now));
+        service.setPassword(user.getId(), PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public User login() {
+        return service.authenticate(EMAIL, PASSWORD).join();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.domain.exception.InvalidCredentialsException;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserCredential;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryCredentialRepository;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.ecommerce.user_service.infrastructure.security.BCryptPasswordHasher;
+import com.ecommerce.user_service.infrastructure.security.HashingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CredentialService, with in-memory repositories and a low bcrypt cost.
+ */
+
+@DisplayName("Credential Service Tests")
+class CredentialServiceTest {
+
+    private static final String PASSWORD = "correct horse battery";
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final InMemoryCredentialRepository credentialRepository = new InMemoryCredentialRepository();
+    private final HashingExecutor executor = new HashingExecutor(2, 16, Duration.ofSeconds(10));
+    private final CredentialService service = serviceWithStrength(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a user with the right password")
+    void shouldAuthenticateWithRightPassword() {
+        // Given
+        User user = userRepository.save(newUser("test@example.com"));
+        service.setPassword(user.getId(), PASSWORD);
+
+        // When
+        User authenticated = service.authenticate(new Email("test@example.com"), PASSWORD).join();
+
+        // Then
+        assertEquals(user, authenticated);
+        assertTrue(credentialRepository.findByUserId(user.getId()).orElseThrow().passwordHash().startsWith("{bcrypt}"));
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong password, an unknown email and an inactive user alike")
+    void shouldRejectInvalidCredentials() {
+        // Given
+        User user = userRepository.save(newUser("test@example.com"));
+        service.setPassword(user.getId(), PASSWORD);
+        User inactive = userRepository.save(newUser("inactive@example.com"));
+        service.setPassword(inactive.getId(), PASSWORD);
+        userRepository.updateStatus(List.of(inactive.getId()), UserStatus.INACTIVE);
+
+        // When & Then
+        assertInvalidCredentials(() -> service.authenticate(new Email("test@example.com"), "wrong password").join());
+        assertInvalidCredentials(() -> service.authenticate(new Email("nobody@example.com"), PASSWORD).join());
+        assertInvalidCredentials(() -> service.authenticate(new Email("inactive@example.com"), PASSWORD).join());
+    }
+
+    @Test
+    @DisplayName("Should rehash the password on login when the cost factor was raised")
+    void shouldRehashOnLoginWhenParametersChanged() throws Exception {
+        // Given
+        User user = userRepository.save(newUser("test@example.com"));
+        service.setPassword(user.getId(), PASSWORD);
+        String oldHash = credentialRepository.findByUserId(user.getId()).orElseThrow().passwordHash();
+        CredentialService stronger = serviceWithStrength(5);
+
+        // When
+        stronger.authenticate(new Email("test@example.com"), PASSWORD).join();
+
+        // Then
+        String newHash = awaitHashChange(user.getId(), oldHash);
+        assertTrue(newHash.startsWith("{bcrypt}$2a$05$"));
+        assertEquals(user, stronger.authenticate(new Email("test@example.com"), PASSWORD).join());
+    }
+
+    @Test
+    @DisplayName("Should save a new password hash on the caller's thread")
+    void shouldSavePasswordHashOnCallersThread() {
+        // Given
+        User user = userRepository.save(newUser("test@example.com"));
+        List<Thread> savingThreads = new CopyOnWriteArrayList<>();
+        CredentialService recording = new CredentialService(userRepository, new InMemoryCredentialRepository() {
+            @Override
+            public UserCredential save(UserCredential credential) {
+                savingThreads.add(Thread.currentThread());
+                return super.save(credential);
+            }
+        }, new BCryptPasswordHasher(4, executor));
+
+        // When
+        recording.setPassword(user.getId(), PASSWORD);
+
+        // Then
+        assertEquals(List.of(Thread.currentThread()), savingThreads);
+    }
+
+    @Test
+    @DisplayName("Should reject too short passwords")
+    void shouldRejectTooShortPassword() {
+        // Given
+        User user = userRepository.save(newUser("test@example.com"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.setPassword(user.getId(), "short"));
+    }
+
+    private CredentialService serviceWithStrength(int strength) {
+        return new CredentialService(userRepository, credentialRepository, new BCryptPasswordHasher(strength, executor));
+    }
+
+    private String awaitHashChange(UUID userId, String oldHash) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            String hash = credentialRepository.findByUserId(userId).orElseThrow().passwordHash();
+            if (!hash.equals(oldHash)) {
+                return hash;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Password was not rehashed");
+    }
+
+    private static void assertInvalidCredentials(Runnable login) {
+        CompletionException exception = assertThrows(CompletionException.class, login::run);
+        assertInstanceOf(InvalidCredentialsException.class, exception.getCause());
+    }
+
+    private static User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+}
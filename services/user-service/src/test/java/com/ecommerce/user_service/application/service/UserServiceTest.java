@@ -0,0 +1,206 @@
+package com.ecommerce.user_service.application.service;
+
+import com.ecommerce.user_service.application.dto.RegisterUserCommand;
+import com.ecommerce.user_service.application.dto.UpdateProfileCommand;
+import com.ecommerce.user_service.application.dto.UserDto;
+import com.ecommerce.user_service.domain.exception.PhoneNumberAlreadyInUseException;
+import com.ecommerce.user_service.domain.exception.UserAlreadyExistsException;
+import com.ecommerce.user_service.domain.exception.UserNotFoundException;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryCredentialRepository;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.ecommerce.user_service.infrastructure.security.BCryptPasswordHasher;
+import com.ecommerce.user_service.infrastructure.security.HashingExecutor;
+import com.ecommerce.user_service.infrastructure.statistics.InMemoryUserStatisticsStore;
+import com.ecommerce.user_service.infrastructure.statistics.StripedUserStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserService, with the in-memory repositories and a low bcrypt cost.
+ */
+
+@DisplayName("User Service Tests")
+class UserServiceTest {
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final StripedUserStatistics statistics =
+            new StripedUserStatistics(new InMemoryUserStatisticsStore(), userRepository);
+    private final InMemoryCredentialRepository credentialRepository = new InMemoryCredentialRepository();
+    private final HashingExecutor hashingExecutor = new HashingExecutor(2, 16, Duration.ofSeconds(10));
+    private final CredentialService credentialService = new CredentialService(userRepository, credentialRepository,
+            new BCryptPasswordHasher(4, hashingExecutor));
+    private final UserService service = new UserService(userRepository, statistics, credentialService);
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Should register an active user once per email")
+    void shouldRegisterUserOncePerEmail() {
+        // Given
+        RegisterUserCommand command = new RegisterUserCommand("test@example.com", "John", "Doe", null);
+
+        // When
+        UserDto user = service.register(command);
+
+        // Then
+        assertEquals(UserStatus.ACTIVE, user.status());
+        assertEquals(user, service.getUser(user.id()));
+        assertThrows(UserAlreadyExistsException.class, () -> service.register(command));
+    }
+
+    @Test
+    @DisplayName("Should register a user with a password to log in with")
+    void shouldRegisterUserWithPassword() throws Exception {
+        // Given
+        RegisterUserCommand command =
+                new RegisterUserCommand("test@example.com", "John", "Doe", null, "correct horse battery");
+
+        // When
+        UserDto user = service.register(command);
+
+        // Then
+        assertTrue(credentialRepository.findByUserId(user.id()).isPresent());
+        assertEquals(user.id(), credentialService.authenticate(new Email("test@example.com"), "correct horse battery")
+                .join().getId());
+        assertFalse(command.toString().contains("correct horse battery"));
+        assertFalse(new ObjectMapper().writeValueAsString(command).contains("correct horse battery"));
+    }
+
+    @Test
+    @DisplayName("Should not register a user whose password is not valid")
+    void shouldNotRegisterUserWithInvalidPassword() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.register(
+                new RegisterUserCommand("test@example.com", "John", "Doe", null, "short")));
+        assertFalse(userRepository.existsByEmail(new Email("test@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should keep a phone number to one user, in any format")
+    void shouldKeepPhoneNumberToOneUser() {
+        // Given
+        UserDto user = service.register(new RegisterUserCommand("first@example.com", "John", "Doe", "+34 600 123 456"));
+        UserDto other = service.register(new RegisterUserCommand("second@example.com", "Jane", "Doe", null));
+
+        // When & Then
+        assertEquals("+34600123456", user.phoneNumber());
+        assertThrows(PhoneNumberAlreadyInUseException.class, () -> service.register(
+                new RegisterUserCommand("third@example.com", "Jim", "Doe", "0034600123456")));
+        assertThrows(PhoneNumberAlreadyInUseException.class, () -> service.updateProfile(
+                other.id(), new UpdateProfileCommand("Jane", "Doe", "+34600123456")));
+        assertEquals("+34600123456", service.updateProfile(
+                user.id(), new UpdateProfileCommand("Johnny", "Doe", "+34600123456")).phoneNumber());
+        assertThrows(IllegalArgumentException.class, () -> service.updateProfile(
+                other.id(), new UpdateProfileCommand("Jane", "Doe", "600123456")));
+    }
+
+    @Test
+    @DisplayName("Should refuse to update a deleted user")
+    void shouldRefuseToUpdateDeletedUser() {
+        // Given
+        UserDto user = service.register(new RegisterUserCommand("test@example.com", "John", "Doe", null));
+
+        // When
+        service.delete(user.id());
+
+        // Then
+        assertEquals(UserStatus.DELETED, service.getUser(user.id()).status());
+        assertThrows(IllegalStateException.class,
+                () -> service.updateProfile(user.id(), new UpdateProfileCommand("Jane", "Doe", null)));
+    }
+
+    @Test
+    @DisplayName("Should keep the statistics current on registration and status changes")
+    void shouldKeepStatisticsCurrent() {
+        // Given
+        UserDto first = service.register(new RegisterUserCommand("first@example.com", "John", "Doe", null));
+        UserDto second = service.register(new RegisterUserCommand("second@example.com", "Jane", "Doe", null));
+
+        // When
+        service.deactivate(first.id());
+        service.deactivate(first.id());
+        service.delete(second.id());
+        statistics.flush();
+        service.activate(first.id());
+
+        // Then
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(0, statistics.countByStatus(UserStatus.INACTIVE));
+        assertEquals(1, statistics.countByStatus(UserStatus.DELETED));
+        assertEquals(2, statistics.signupsOn(first.createdAt().toLocalDate()));
+        assertEquals(userRepository.countUsers().byStatus().get(UserStatus.ACTIVE),
+                statistics.countByStatus(UserStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should record a status change once when it is made concurrently")
+    void shouldRecordConcurrentStatusChangeOnce() throws Exception {
+        // Given
+        UserDto user = service.register(new RegisterUserCommand("test@example.com", "John", "Doe", null));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try {
+            List<Future<UserDto>> deactivations = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return service.deactivate(user.id());
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<UserDto> deactivation : deactivations) {
+                assertEquals(UserStatus.INACTIVE, deactivation.get(5, TimeUnit.SECONDS).status());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(0, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(1, statistics.countByStatus(UserStatus.INACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should record the status changes of a bulk status change")
+    void shouldRecordStatusChangesOfBulkStatusChange() {
+        // Given
+        UserDto active = service.register(new RegisterUserCommand("active@example.com", "John", "Doe", null));
+        UserDto inactive = service.register(new RegisterUserCommand("inactive@example.com", "Jane", "Doe", null));
+        UserDto deleted = service.register(new RegisterUserCommand("deleted@example.com", "Jim", "Doe", null));
+        service.deactivate(inactive.id());
+        service.delete(deleted.id());
+
+        // When
+        StatusUpdateResult result = service.changeStatus(
+                List.of(active.id(), inactive.id(), deleted.id(), UUID.randomUUID()), UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(List.of(active.id()), List.copyOf(result.transitions().keySet()));
+        assertEquals(0, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(2, statistics.countByStatus(UserStatus.INACTIVE));
+        assertEquals(1, statistics.countByStatus(UserStatus.DELETED));
+        assertThrows(IllegalStateException.class, () -> service.activate(deleted.id()));
+        assertThrows(UserNotFoundException.class, () -> service.deactivate(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.user_service.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserSearchQuery.
+ */
+
+@DisplayName("User Search Query Tests")
+class UserSearchQueryTest {
+
+    @Test
+    @DisplayName("Should trim search text")
+    void shouldTrimSearchText() {
+        // When
+        UserSearchQuery query = new UserSearchQuery("  john  ", 20, null);
+
+        // Then
+        assertEquals("john", query.text());
+    }
+
+    @Test
+    @DisplayName("Should throw exception for blank search text")
+    void shouldThrowExceptionForBlankSearchText() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new UserSearchQuery("   ", 20, null)
+        );
+
+        assertEquals("Search text cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw exception for search text shorter than a trigram")
+    void shouldThrowExceptionForShortSearchText() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new UserSearchQuery("jo", 20, null));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for limit out of range")
+    void shouldThrowExceptionForLimitOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new UserSearchQuery("john", 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new UserSearchQuery("john", 101, null));
+    }
+
+    @Test
+    @DisplayName("Should keep text and limit when moving to the next page")
+    void shouldKeepTextAndLimitForNextPage() {
+        // Given
+        UserSearchQuery query = new UserSearchQuery("john", 20, null);
+        UserSearchCursor cursor = new UserSearchCursor(0.8, UUID.randomUUID());
+
+        // When
+        UserSearchQuery next = query.after(cursor);
+
+        // Then
+        assertEquals("john", next.text());
+        assertEquals(20, next.limit());
+        assertEquals(cursor, next.after());
+    }
+}
@@ -1,10 +1,12 @@
 package com.ecommerce.user_service.domain.model;
 
 import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,7 +26,7 @@ class UserTest {
         Email email = new Email("test@example.com");
         String firstName = "John";
         String lastName = "Doe";
-        String phoneNumber = "+12345678";
+        PhoneNumber phoneNumber = new PhoneNumber("+12345678");
         UserStatus status = UserStatus.ACTIVE;
         LocalDateTime now = LocalDateTime.now();
 
@@ -36,7 +38,7 @@ class UserTest {
         assertEquals(id, user.getId());
         assertEquals("John", user.getFirstName());
         assertEquals("Doe", user.getLastName());
-        assertEquals("+12345678", user.getPhoneNumber());
+        assertEquals(new PhoneNumber("+12345678"), user.getPhoneNumber());
         assertEquals(UserStatus.ACTIVE, user.getStatus());
         assertEquals(now, user.getCreatedAt());
         assertEquals(now, user.getUpdatedAt());
@@ -265,15 +267,15 @@ class UserTest {
         UUID id = UUID.randomUUID();
         Email email = new Email("test@example.com");
         LocalDateTime now = LocalDateTime.now();
-        User user = new User(id, email, "John", "Doe", "+1234567890", UserStatus.ACTIVE, now, now);
+        User user = new User(id, email, "John", "Doe", new PhoneNumber("+1234567890"), UserStatus.ACTIVE, now, now);
 
         // When
-        user.updateProfile("Jane", "Smith", "+9876543210");
+        user.updateProfile("Jane", "Smith", new PhoneNumber("+9876543210"));
 
         // Then
         assertEquals("Jane", user.getFirstName());
         assertEquals("Smith", user.getLastName());
-        assertEquals("+9876543210", user.getPhoneNumber());
+        assertEquals(new PhoneNumber("+9876543210"), user.getPhoneNumber());
         assertTrue(user.getUpdatedAt().isAfter(now));
     }
 
@@ -341,4 +343,44 @@ class UserTest {
         assertEquals(user1, user2);
         assertEquals(user1.hashCode(), user2.hashCode());
     }
+
+    @Test
+    @DisplayName("Should keep a snapshot unchanged when the user changes afterwards")
+    void shouldKeepSnapshotUnchanged() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User(UUID.randomUUID(), new Email("test@example.com"), "John", "Doe", null,
+                UserStatus.ACTIVE, now, now);
+        UserSnapshot snapshot = user.snapshot();
+
+        // When
+        user.updateProfile("Jane", "Smith", null);
+        user.delete();
+
+        // Then
+        assertEquals("John Doe", snapshot.fullName());
+        assertTrue(snapshot.isActive());
+        User restored = snapshot.toUser();
+        assertEquals(user, restored);
+        assertEquals("John", restored.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should record status transitions until they are pulled")
+    void shouldRecordStatusTransitionsUntilPulled() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User(UUID.randomUUID(), new Email("test@example.com"), "John", "Doe", null,
+                UserStatus.ACTIVE, now, now);
+
+        // When
+        user.activate();
+        user.deactivate();
+        user.delete();
+
+        // Then
+        assertEquals(List.of(new UserStatusTransition(UserStatus.ACTIVE, UserStatus.INACTIVE),
+                new UserStatusTransition(UserStatus.INACTIVE, UserStatus.DELETED)), user.pullStatusTransitions());
+        assertTrue(user.pullStatusTransitions().isEmpty());
+    }
 }
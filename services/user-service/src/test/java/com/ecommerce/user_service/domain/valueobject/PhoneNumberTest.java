@@ -0,0 +1,52 @@
+package com.ecommerce.user_service.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PhoneNumber value object.
+ */
+
+@DisplayName("Phone Number Value Object Tests")
+class PhoneNumberTest {
+
+    @Test
+    @DisplayName("Should normalize common international formats to E.164")
+    void shouldNormalizeToE164() {
+        // When & Then
+        assertEquals("+34600123456", new PhoneNumber("+34600123456").getValue());
+        assertEquals("+34600123456", new PhoneNumber(" +34 600 12 34 56 ").getValue());
+        assertEquals("+34600123456", new PhoneNumber("0034 600-123-456").getValue());
+        assertEquals("+12025550123", new PhoneNumber("+1 (202) 555.0123").getValue());
+        assertEquals(new PhoneNumber("+34600123456"), new PhoneNumber("0034600123456"));
+    }
+
+    @Test
+    @DisplayName("Should reject numbers that are not E.164")
+    void shouldRejectInvalidNumbers() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber(null));
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber("  "));
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber("600123456"), "No country code");
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber("+0600123456"));
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber("+3460012345678901"), "Over 15 digits");
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNumber("+34 600 ABC 456"));
+    }
+
+    @Test
+    @DisplayName("Should treat missing input as no phone number, and parse without failing")
+    void shouldHandleOptionalInput() {
+        // When & Then
+        assertNull(PhoneNumber.ofNullable(null));
+        assertNull(PhoneNumber.ofNullable(" "));
+        assertEquals("+34600123456", PhoneNumber.ofNullable("+34 600 123 456").getValue());
+
+        assertEquals(Optional.of(new PhoneNumber("+34600123456")), PhoneNumber.tryParse("0034600123456"));
+        assertEquals(Optional.empty(), PhoneNumber.tryParse("call me"));
+        assertEquals(Optional.empty(), PhoneNumber.tryParse(null));
+    }
+}
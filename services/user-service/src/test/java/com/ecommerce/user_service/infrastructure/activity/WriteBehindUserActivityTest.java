@@ -0,0 +1,208 @@
+package com.ecommerce.user_service.infrastructure.activity;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WriteBehindUserActivity, with in-memory users.
+ */
+
+@DisplayName("Write-Behind User Activity Tests")
+class WriteBehindUserActivityTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final RecordingRepository userRepository = new RecordingRepository();
+    private final TickingClock clock = new TickingClock();
+
+    @Test
+    @DisplayName("Should coalesce concurrent touches into one update with the latest timestamp per user")
+    void shouldCoalesceTouches() {
+        // Given
+        WriteBehindUserActivity activity = new WriteBehindUserActivity(userRepository, clock, 1000);
+        List<UUID> ids = List.of(createUser(1), createUser(2));
+
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 500; j++) {
+                    ids.forEach(activity::touch);
+                }
+            }));
+        }
+        requests.forEach(CompletableFuture::join);
+
+        // When
+        activity.flush();
+
+        // Then
+        assertEquals(1, userRepository.updates.get());
+        assertEquals(0, activity.pendingUsers());
+        LocalDateTime last = clock.current();
+        for (UUID id : ids) {
+            LocalDateTime seen = userRepository.findLastSeen(id).orElseThrow();
+            assertFalse(seen.isAfter(last));
+        }
+        assertEquals(last, ids.stream()
+                .map(id -> userRepository.findLastSeen(id).orElseThrow())
+                .max(LocalDateTime::compareTo).orElseThrow());
+
+        activity.flush();
+        assertEquals(1, userRepository.updates.get(), "Nothing to write, no update");
+    }
+
+    @Test
+    @DisplayName("Should drop touches of new users when the buffer is full, and keep touches of buffered users")
+    void shouldBoundBufferedUsers() {
+        // Given
+        WriteBehindUserActivity activity = new WriteBehindUserActivity(userRepository, clock, 2);
+        UUID first = createUser(1);
+        UUID second = createUser(2);
+        UUID third = createUser(3);
+
+        // When
+        activity.touch(first);
+        activity.touch(second);
+        activity.touch(third);
+        activity.touch(first);
+
+        // Then
+        assertEquals(2, activity.pendingUsers());
+        assertEquals(1, activity.droppedTouches());
+
+        activity.flush();
+        assertEquals(Optional.of(START.plusSeconds(4)), userRepository.findLastSeen(first));
+        assertTrue(userRepository.findLastSeen(third).isEmpty());
+
+        activity.touch(third);
+        assertEquals(1, activity.pendingUsers());
+    }
+
+    @Test
+    @DisplayName("Should keep the activity of a failed flush for the next one, without losing newer touches")
+    void shouldKeepActivityOfFailedFlush() {
+        // Given
+        WriteBehindUserActivity activity = new WriteBehindUserActivity(userRepository, clock, 1000);
+        UUID id = createUser(1);
+        UUID other = createUser(2);
+        activity.touch(id);
+        activity.touch(other);
+        userRepository.failing = true;
+
+        // When
+        activity.flush();
+        activity.touch(id);
+
+        // Then
+        assertEquals(2, activity.pendingUsers());
+        assertTrue(userRepository.findLastSeen(id).isEmpty());
+
+        userRepository.failing = false;
+        activity.flush();
+        assertEquals(Optional.of(START.plusSeconds(3)), userRepository.findLastSeen(id));
+        assertEquals(Optional.of(START.plusSeconds(2)), userRepository.findLastSeen(other));
+    }
+
+    @Test
+    @DisplayName("Should write the buffered activity on close")
+    void shouldFlushOnClose() {
+        // Given
+        WriteBehindUserActivity activity = new WriteBehindUserActivity(userRepository, clock, 1000);
+        UUID id = createUser(1);
+        activity.touch(id);
+
+        // When
+        activity.close();
+
+        // Then
+        assertEquals(Optional.of(START.plusSeconds(1)), userRepository.findLastSeen(id));
+        assertEquals(0, activity.pendingUsers());
+    }
+
+    @Test
+    @DisplayName("Should never move the last activity backwards, nor change the user")
+    void shouldOnlyMoveLastActivityForward() {
+        // Given
+        UUID id = createUser(1);
+        User before = userRepository.findById(id).orElseThrow();
+        userRepository.updateLastSeen(Map.of(id, START.plusHours(1)));
+
+        // When
+        userRepository.updateLastSeen(Map.of(id, START, UUID.randomUUID(), START));
+
+        // Then
+        assertEquals(Optional.of(START.plusHours(1)), userRepository.findLastSeen(id));
+        assertEquals(before.getUpdatedAt(), userRepository.findById(id).orElseThrow().getUpdatedAt());
+    }
+
+    private UUID createUser(int index) {
+        UUID id = UUID.randomUUID();
+        userRepository.save(new User(id, new Email("user" + index + "@example.com"), "Ada", "Lovelace",
+                null, UserStatus.ACTIVE, START.minusDays(1), START.minusDays(1)));
+        return id;
+    }
+
+    /**
+     * In-memory users that count the last-seen updates and can be made to fail.
+     */
+    private static final class RecordingRepository extends InMemoryUserRepository {
+
+        private final AtomicInteger updates = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        public void updateLastSeen(Map<UUID, LocalDateTime> lastSeenAt) {
+            if (failing) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            updates.incrementAndGet();
+            super.updateLastSeen(lastSeenAt);
+        }
+    }
+
+    /**
+     * A clock one second further on every read, starting at {@link #START}.
+     */
+    private static final class TickingClock extends Clock {
+
+        private final AtomicInteger ticks = new AtomicInteger();
+
+        LocalDateTime current() {
+            return START.plusSeconds(ticks.get());
+        }
+
+        @Override
+        public Instant instant() {
+            return START.plusSeconds(ticks.incrementAndGet()).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one persistence log event per configuration:
+ * - disabled: DEBUG off, must stay close to a plain level check
+ * - sampled: DEBUG on, 1% of events formatted and appended
+ * - always: DEBUG on, every event formatted and appended
+ * Events are appended to a counting appender, so console I/O is not part of the figures.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampledPersistenceLoggerBenchmark {
+
+    @Param({"disabled", "sampled", "always"})
+    public String mode;
+
+    private SampledPersistenceLogger persistenceLog;
+    private final Email email = new Email("john.doe@example.com");
+    private final UUID id = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = context.getLogger(SampledPersistenceLogger.LOGGER_NAME);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel("disabled".equals(mode) ? Level.INFO : Level.DEBUG);
+
+        AppenderBase<ILoggingEvent> counting = new AppenderBase<>() {
+            private long count;
+
+            @Override
+            protected void append(ILoggingEvent event) {
+                event.getFormattedMessage();
+                event.getKeyValuePairs();
+                count++;
+            }
+        };
+        counting.setContext(context);
+        counting.start();
+        logger.addAppender(counting);
+
+        PersistenceLoggingProperties properties = new PersistenceLoggingProperties();
+        properties.setDefaultSampleRate("sampled".equals(mode) ? 0.01 : 1.0);
+        properties.setSampleRates(Map.of());
+        persistenceLog = new SampledPersistenceLogger(logger, properties);
+    }
+
+    @Benchmark
+    public void findByEmailEvent() {
+        persistenceLog.at(PersistenceOperation.FIND_BY_EMAIL)
+                .addKeyValue("email", () -> LogMasking.maskEmail(email))
+                .addKeyValue("found", true)
+                .log("User lookup by email");
+    }
+
+    @Benchmark
+    public void findByIdEvent() {
+        persistenceLog.at(PersistenceOperation.FIND_BY_ID)
+                .addKeyValue("userId", id)
+                .addKeyValue("found", true)
+                .log("User lookup by id");
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.user_service.infrastructure.logging;
+
+import com.ecommerce.user_service.domain.valueobject.Email;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.NOPLogger;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SampledPersistenceLogger and LogMasking.
+ */
+
+@DisplayName("Sampled Persistence Logger Tests")
+class SampledPersistenceLoggerTest {
+
+    @Test
+    @DisplayName("Should mask the local part of an email")
+    void shouldMaskLocalPartOfEmail() {
+        // Given
+        Email email = new Email("john.doe@example.com");
+
+        // When
+        String masked = LogMasking.maskEmail(email);
+
+        // Then
+        assertEquals("j***@example.com", masked);
+    }
+
+    @Test
+    @DisplayName("Should return no-op builder when debug is disabled")
+    void shouldReturnNoOpBuilderWhenDebugIsDisabled() {
+        // Given
+        SampledPersistenceLogger persistenceLog =
+                new SampledPersistenceLogger(NOPLogger.NOP_LOGGER, new PersistenceLoggingProperties());
+
+        // When & Then
+        assertSame(NOPLoggingEventBuilder.singleton(), persistenceLog.at(PersistenceOperation.SAVE));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for sample rate out of range")
+    void shouldThrowExceptionForSampleRateOutOfRange() {
+        // Given
+        PersistenceLoggingProperties properties = new PersistenceLoggingProperties();
+        properties.setSampleRates(Map.of("find-by-id", 1.5));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new SampledPersistenceLogger(NOPLogger.NOP_LOGGER, properties)
+        );
+
+        assertTrue(exception.getMessage().contains("find-by-id"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PhoneNumberBackfill, against an H2 users table.
+ */
+
+@DisplayName("Phone Number Backfill Tests")
+class PhoneNumberBackfillTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/sharding/shard-schema.sql")
+                .build();
+        jdbc = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should normalize phone numbers in pages, without touching updated_at")
+    void shouldNormalizePhoneNumbers() throws InterruptedException {
+        // Given
+        UUID spaced = insert("+34 600 000 001");
+        UUID prefixed = insert("0034600000002");
+        UUID normalized = insert("+34600000003");
+        UUID none = insert(null);
+
+        // When
+        PhoneNumberBackfill.Result result = new PhoneNumberBackfill(jdbc, 2, Duration.ZERO).run();
+
+        // Then
+        assertEquals(new PhoneNumberBackfill.Result(3, 2, 0, 0), result);
+        assertEquals("+34600000001", phoneOf(spaced));
+        assertEquals("+34600000002", phoneOf(prefixed));
+        assertEquals("+34600000003", phoneOf(normalized));
+        assertNull(phoneOf(none));
+        assertEquals(4, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE updated_at = ?", Integer.class, UPDATED_AT));
+
+        assertEquals(new PhoneNumberBackfill.Result(3, 0, 0, 0),
+                new PhoneNumberBackfill(jdbc, 2, Duration.ZERO).run(), "A second run has nothing left to do");
+    }
+
+    @Test
+    @DisplayName("Should leave invalid and conflicting phone numbers unchanged, and report them")
+    void shouldReportInvalidAndConflictingPhoneNumbers() throws InterruptedException {
+        // Given
+        UUID invalid = insert("call me");
+        UUID owner = insert("+34600000001");
+        UUID duplicate = insert("0034 600 000 001");
+        UUID other = insert("+34 600 000 002");
+
+        // When
+        PhoneNumberBackfill.Result result = new PhoneNumberBackfill(jdbc, 10, Duration.ZERO).run();
+
+        // Then
+        assertEquals(new PhoneNumberBackfill.Result(4, 1, 1, 1), result);
+        assertEquals("call me", phoneOf(invalid));
+        assertEquals("+34600000001", phoneOf(owner));
+        assertEquals("0034 600 000 001", phoneOf(duplicate));
+        assertEquals("+34600000002", phoneOf(other));
+    }
+
+    private UUID insert(String phoneNumber) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+                INSERT INTO users (id, shard_bucket, email, first_name, last_name, phone_number, status,
+                                   created_at, updated_at)
+                VALUES (?, 0, ?, 'John', 'Doe', ?, 'ACTIVE', ?, ?)
+                """, id, id + "@example.com", phoneNumber, UPDATED_AT, UPDATED_AT);
+        return id;
+    }
+
+    private String phoneOf(UUID id) {
+        return jdbc.queryForObject("SELECT phone_number FROM users WHERE id = ?", String.class, id);
+    }
+}
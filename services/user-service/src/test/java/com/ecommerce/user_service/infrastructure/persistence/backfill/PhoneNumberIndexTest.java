@@ -0,0 +1,99 @@
+package com.ecommerce.user_service.infrastructure.persistence.backfill;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PhoneNumberIndex and the startup script of the index (db/schema/user-phone.sql),
+ * against a users table in an embedded PostgreSQL.
+ */
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Phone Number Index Tests")
+class PhoneNumberIndexTest {
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("DROP TABLE IF EXISTS users");
+        jdbc.execute("CREATE TABLE users (id UUID PRIMARY KEY, phone_number VARCHAR(20))");
+    }
+
+    @Test
+    @DisplayName("Should skip the index at startup when users share a phone number, and create it once resolved")
+    void shouldCreateIndexOnceDuplicatesAreResolved() {
+        // Given: two users sharing a phone number
+        insert("+34600000001");
+        UUID duplicate = insert("+34600000001");
+        insert(null);
+        insert(null);
+
+        // When: the startup script runs
+        assertDoesNotThrow(() -> new ResourceDatabasePopulator(new ClassPathResource("db/schema/user-phone.sql"))
+                .execute(jdbc.getDataSource()));
+
+        // Then: no index until the duplicate is resolved
+        assertFalse(indexExists());
+        assertEquals(PhoneNumberIndex.Outcome.DUPLICATES, new PhoneNumberIndex(jdbc).create());
+        assertFalse(indexExists());
+
+        jdbc.update("UPDATE users SET phone_number = '+34600000002' WHERE id = ?", duplicate);
+        assertEquals(PhoneNumberIndex.Outcome.CREATED, new PhoneNumberIndex(jdbc).create());
+        assertTrue(indexExists());
+        assertEquals(PhoneNumberIndex.Outcome.EXISTS, new PhoneNumberIndex(jdbc).create());
+        assertThrows(RuntimeException.class, () -> insert("+34600000001"));
+    }
+
+    @Test
+    @DisplayName("Should replace an invalid index left by a failed concurrent build")
+    void shouldReplaceInvalidIndex() {
+        // Given
+        insert("+34600000001");
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema/user-phone.sql")).execute(jdbc.getDataSource());
+        jdbc.update("UPDATE pg_index SET indisvalid = false WHERE indexrelid = to_regclass('idx_user_phone')");
+
+        // When
+        PhoneNumberIndex.Outcome outcome = new PhoneNumberIndex(jdbc).create();
+
+        // Then
+        assertEquals(PhoneNumberIndex.Outcome.CREATED, outcome);
+        assertEquals(Boolean.TRUE, jdbc.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass('idx_user_phone')", Boolean.class));
+    }
+
+    private boolean indexExists() {
+        return jdbc.queryForObject("SELECT to_regclass('idx_user_phone') IS NOT NULL", Boolean.class);
+    }
+
+    private UUID insert(String phoneNumber) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, phone_number) VALUES (?, ?)", id, phoneNumber);
+        return id;
+    }
+}
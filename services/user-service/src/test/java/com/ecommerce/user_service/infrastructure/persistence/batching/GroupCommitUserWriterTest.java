@@ -0,0 +1,171 @@
+package com.ecommerce.user_service.infrastructure.persistence.batching;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupCommitUserWriter, with a commit function recording its batches.
+ * The first save of each test blocks the writer, so the next saves queue up and form one batch.
+ */
+
+@DisplayName("Group Commit User Writer Tests")
+class GroupCommitUserWriterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<User>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private GroupCommitUserWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("Should commit queued saves in one batch, writing only the last save of each user")
+    void shouldBatchAndCoalesceSaves() throws InterruptedException {
+        // Given
+        writer = newWriter(10, users -> users);
+        User blocker = newUser("blocker@example.com", "John");
+        writer.submit(blocker);
+        firstBatchStarted.await();
+        User user = newUser("test@example.com", "John");
+        User renamed = rename(user, "Jane");
+        User other = newUser("other@example.com", "John");
+
+        // When
+        CompletableFuture<User> first = writer.submit(user);
+        CompletableFuture<User> second = writer.submit(renamed);
+        CompletableFuture<User> third = writer.submit(other);
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertEquals("Jane", first.join().getFirstName());
+        assertEquals("Jane", second.join().getFirstName());
+        assertEquals(other, third.join());
+        assertEquals(List.of(List.of(blocker), List.of(renamed, other)), batches);
+        assertEquals(1.0, registry.get("user.persistence.group-commit.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail only the bad save when a batch fails")
+    void shouldIsolateFailedSave() throws InterruptedException {
+        // Given
+        writer = newWriter(10, users -> {
+            if (users.stream().anyMatch(user -> user.getEmail().getAddress().startsWith("bad"))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return users;
+        });
+        writer.submit(newUser("blocker@example.com", "John"));
+        firstBatchStarted.await();
+
+        // When
+        CompletableFuture<User> good = writer.submit(newUser("good@example.com", "John"));
+        CompletableFuture<User> bad = writer.submit(newUser("bad@example.com", "John"));
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertEquals("good@example.com", good.join().getEmail().getAddress());
+        CompletionException failure = assertThrows(CompletionException.class, bad::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    @DisplayName("Should reject saves when the queue is full, and commit the queued ones on close")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given
+        writer = newWriter(1, users -> users);
+        writer.submit(newUser("blocker@example.com", "John"));
+        firstBatchStarted.await();
+        CompletableFuture<User> queued = writer.submit(newUser("queued@example.com", "John"));
+
+        // When
+        CompletableFuture<User> rejected = writer.submit(newUser("rejected@example.com", "John"));
+        releaseFirstBatch.countDown();
+        writer.close();
+
+        // Then
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(CompletionException.class, rejected::join).getCause());
+        assertTrue(queued.isDone() && !queued.isCompletedExceptionally());
+        assertEquals(1.0, registry.get("user.persistence.group-commit.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail the batch and reject later saves when the writer thread dies")
+    void shouldFailBatchAndRejectSavesWhenWriterDies() throws InterruptedException {
+        // Given: a commit that throws an Error, which kills the writer thread
+        writer = newWriter(10, users -> {
+            throw new Error("simulated");
+        });
+        CompletableFuture<User> blocker = writer.submit(newUser("blocker@example.com", "John"));
+        firstBatchStarted.await();
+        CompletableFuture<User> queued = writer.submit(newUser("queued@example.com", "John"));
+
+        // When
+        releaseFirstBatch.countDown();
+        CompletionException failure = assertThrows(CompletionException.class, blocker::join);
+        CompletableFuture<User> late = writer.submit(newUser("late@example.com", "John"));
+
+        // Then: every future completes, the ones not written with RejectedExecutionException
+        assertEquals("simulated", failure.getCause().getMessage());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(CompletionException.class, queued::join).getCause());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(CompletionException.class, late::join).getCause());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(CompletionException.class, () -> writer.submit(newUser("next@example.com", "John")).join())
+                        .getCause());
+    }
+
+    private GroupCommitUserWriter newWriter(int queueCapacity, Function<List<User>, List<User>> commit) {
+        return new GroupCommitUserWriter(users -> {
+            if (batches.isEmpty()) {
+                firstBatchStarted.countDown();
+                awaitRelease();
+            }
+            List<User> saved = commit.apply(users);
+            batches.add(List.copyOf(users));
+            return saved;
+        }, queueCapacity, 10, Duration.ZERO, Duration.ofSeconds(5), registry);
+    }
+
+    private void awaitRelease() {
+        try {
+            releaseFirstBatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static User newUser(String email, String firstName) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), firstName, "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+
+    private static User rename(User user, String firstName) {
+        return new User(user.getId(), user.getEmail(), firstName, user.getLastName(), user.getPhoneNumber(),
+                user.getStatus(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
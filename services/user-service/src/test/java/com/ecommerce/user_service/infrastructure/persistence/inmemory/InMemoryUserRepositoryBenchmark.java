@@ -0,0 +1,72 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of InMemoryUserRepository under concurrent access, on a store of 100k users.
+ * This is the ceiling of the persistence port when the database is taken out of the picture.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class InMemoryUserRepositoryBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private final InMemoryUserRepository repository = new InMemoryUserRepository();
+    private final User[] users = new User[USERS];
+    private final Email[] emails = new Email[USERS];
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            emails[i] = new Email("user" + i + "@example.com");
+            users[i] = repository.save(
+                    new User(UUID.randomUUID(), emails[i], "John", "Doe", null, UserStatus.ACTIVE, now, now));
+        }
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(users[ThreadLocalRandom.current().nextInt(USERS)].getId());
+    }
+
+    @Benchmark
+    public Object findByEmail() {
+        return repository.findByEmail(emails[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public boolean existsByEmail() {
+        return repository.existsByEmail(emails[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public Object save() {
+        return repository.save(users[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+}
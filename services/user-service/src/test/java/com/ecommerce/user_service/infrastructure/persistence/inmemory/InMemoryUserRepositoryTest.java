@@ -0,0 +1,298 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryUserRepository.
+ */
+
+@DisplayName("In-Memory User Repository Tests")
+class InMemoryUserRepositoryTest {
+
+    private final InMemoryUserRepository repository = new InMemoryUserRepository();
+
+    @Test
+    @DisplayName("Should find saved user by id and by email")
+    void shouldFindSavedUserByIdAndEmail() {
+        // Given
+        User user = newUser("test@example.com");
+
+        // When
+        repository.save(user);
+
+        // Then
+        assertEquals(user, repository.findById(user.getId()).orElseThrow());
+        assertEquals(user, repository.findByEmail(new Email("TEST@example.com")).orElseThrow());
+        assertTrue(repository.existsByEmail(new Email("test@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should not expose stored instances to callers")
+    void shouldNotExposeStoredInstances() {
+        // Given
+        User user = newUser("test@example.com");
+        repository.save(user);
+
+        // When
+        user.updateProfile("Jane", "Smith", null);
+        repository.findById(user.getId()).orElseThrow().deactivate();
+
+        // Then
+        User stored = repository.findById(user.getId()).orElseThrow();
+        assertEquals("John", stored.getFirstName());
+        assertEquals(UserStatus.ACTIVE, stored.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should share stored snapshots without copying, until the user is saved again")
+    void shouldShareStoredSnapshots() {
+        // Given
+        User user = repository.save(newUser("test@example.com"));
+
+        // When
+        UserSnapshot first = repository.findSnapshotById(user.getId()).orElseThrow();
+        UserSnapshot second = repository.findSnapshotsByIds(List.of(user.getId())).get(0);
+        user.updateProfile("Jane", "Smith", null);
+        repository.save(user);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("John", first.firstName());
+        assertEquals("Jane", repository.findSnapshotById(user.getId()).orElseThrow().firstName());
+    }
+
+    @Test
+    @DisplayName("Should reject another user with the same email")
+    void shouldRejectAnotherUserWithSameEmail() {
+        // Given
+        repository.save(newUser("taken@example.com"));
+        User other = newUser("taken@example.com");
+
+        // When & Then
+        assertThrows(DuplicateKeyException.class, () -> repository.save(other));
+        assertTrue(repository.findById(other.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should free the email when the user is deleted")
+    void shouldFreeEmailWhenUserIsDeleted() {
+        // Given
+        User user = repository.save(newUser("deleted@example.com"));
+
+        // When
+        repository.deleteUser(user.getId());
+
+        // Then
+        assertTrue(repository.findById(user.getId()).isEmpty());
+        assertFalse(repository.existsByEmail(new Email("deleted@example.com")));
+        assertDoesNotThrow(() -> repository.save(newUser("deleted@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent signups with the same email succeed")
+    void shouldLetOneConcurrentSignupWithSameEmailSucceed() throws Exception {
+        // Given
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> signups = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            signups.add(() -> {
+                start.await();
+                try {
+                    repository.save(newUser("race@example.com"));
+                    return true;
+                } catch (DuplicateKeyException e) {
+                    return false;
+                }
+            });
+        }
+
+        // When
+        List<Future<Boolean>> results = signups.stream().map(executor::submit).toList();
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, succeeded);
+        assertTrue(repository.existsByEmail(new Email("race@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should find users by name despite a typo, best match first")
+    void shouldFindUsersByNameDespiteTypo() {
+        // Given
+        repository.save(newUser("a@example.com", "Alexander", "Hamilton"));
+        repository.save(newUser("b@example.com", "Alexandra", "Hamilton"));
+        repository.save(newUser("c@example.com", "John", "Doe"));
+
+        // When
+        UserSearchPage page = repository.search(new UserSearchQuery("Alexandr Hamiltn", 10, null));
+
+        // Then
+        assertEquals(2, page.results().size());
+        assertTrue(page.results().get(0).score() >= page.results().get(1).score());
+        assertTrue(page.next().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find users by email prefix")
+    void shouldFindUsersByEmailPrefix() {
+        // Given
+        User user = repository.save(newUser("margaret.hamilton@nasa.gov", "Margaret", "Hamilton"));
+        repository.save(newUser("john.doe@example.com", "John", "Doe"));
+
+        // When
+        UserSearchPage page = repository.search(new UserSearchQuery("margaret.hamilton", 10, null));
+
+        // Then
+        assertEquals(1, page.results().size());
+        assertEquals(user.getId(), page.results().get(0).user().getId());
+    }
+
+    @Test
+    @DisplayName("Should page through search results with the cursor without gaps or repeats")
+    void shouldPageThroughSearchResultsWithCursor() {
+        // Given
+        for (int i = 0; i < 7; i++) {
+            repository.save(newUser("user" + i + "@example.com", "Grace", "Hopper"));
+        }
+        UserSearchQuery query = new UserSearchQuery("Grace Hopper", 3, null);
+
+        // When
+        Set<UUID> seen = new HashSet<>();
+        int pages = 0;
+        UserSearchPage page = repository.search(query);
+        while (true) {
+            pages++;
+            page.results().forEach(result -> assertTrue(seen.add(result.user().getId())));
+            if (page.next().isEmpty()) {
+                break;
+            }
+            page = repository.search(query.after(page.next().get()));
+        }
+
+        // Then
+        assertEquals(7, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should report an outcome for every user of a bulk status update")
+    void shouldReportOutcomePerUserOfBulkStatusUpdate() {
+        // Given
+        User active = repository.save(newUser("active@example.com"));
+        User deleted = newUser("deleted@example.com");
+        deleted.delete();
+        repository.save(deleted);
+        UUID missing = UUID.randomUUID();
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(
+                List.of(active.getId(), deleted.getId(), missing, active.getId()), UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(List.of(active.getId(), deleted.getId(), missing), List.copyOf(result.outcomes().keySet()));
+        assertEquals(StatusUpdateOutcome.UPDATED, result.outcomes().get(active.getId()));
+        assertEquals(StatusUpdateOutcome.USER_DELETED, result.outcomes().get(deleted.getId()));
+        assertEquals(StatusUpdateOutcome.NOT_FOUND, result.outcomes().get(missing));
+        assertEquals(Map.of(active.getId(), new UserStatusTransition(UserStatus.ACTIVE, UserStatus.INACTIVE)),
+                result.transitions());
+        assertEquals(UserStatus.INACTIVE, repository.findById(active.getId()).orElseThrow().getStatus());
+        assertEquals(UserStatus.DELETED, repository.findById(deleted.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report no transition for users who already have the target status")
+    void shouldReportNoTransitionForUsersAlreadyInStatus() {
+        // Given
+        User user = repository.save(newUser("test@example.com"));
+        repository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(List.of(user.getId()), result.idsWith(StatusUpdateOutcome.UPDATED));
+        assertTrue(result.transitions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never bring a deleted user back with a bulk status update")
+    void shouldNotReactivateDeletedUsersInBulk() {
+        // Given
+        User user = repository.save(newUser("test@example.com"));
+        repository.updateStatus(List.of(user.getId()), UserStatus.DELETED);
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(List.of(user.getId()), UserStatus.ACTIVE);
+
+        // Then
+        assertEquals(List.of(user.getId()), result.idsWith(StatusUpdateOutcome.USER_DELETED));
+        assertTrue(repository.findById(user.getId()).orElseThrow().isDeleted());
+    }
+
+    @Test
+    @DisplayName("Should find users by phone number and keep phone numbers unique")
+    void shouldFindUsersByUniquePhoneNumber() {
+        // Given
+        PhoneNumber phoneNumber = new PhoneNumber("+34600123456");
+        User user = newUser("test@example.com");
+        user.updateProfile("John", "Doe", phoneNumber);
+        repository.save(user);
+
+        User other = newUser("other@example.com");
+        other.updateProfile("Jane", "Doe", phoneNumber);
+
+        // When & Then
+        assertEquals(user, repository.findByPhone(new PhoneNumber("0034 600 123 456")).orElseThrow());
+        assertThrows(DuplicateKeyException.class, () -> repository.save(other));
+        assertFalse(repository.existsByEmail(new Email("other@example.com")));
+
+        user.updateProfile("John", "Doe", new PhoneNumber("+34600999999"));
+        repository.save(user);
+        assertFalse(repository.existsByPhone(phoneNumber));
+        repository.save(other);
+        assertEquals(other, repository.findByPhone(phoneNumber).orElseThrow());
+    }
+
+    private User newUser(String email) {
+        return newUser(email, "John", "Doe");
+    }
+
+    private User newUser(String email, String firstName, String lastName) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), firstName, lastName, null, UserStatus.ACTIVE, now, now);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.user_service.infrastructure.persistence.inmemory;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading shared users: defensively copied aggregates (findById, findAllByIds) versus the stored
+ * immutable snapshots (findSnapshotById, findSnapshotsByIds), 4 concurrent readers, 100k users.
+ * Run with the GC profiler to see the allocation per read:
+ * -Djmh.args="UserSnapshotBenchmark -prof gc" (gc.alloc.rate.norm, bytes per operation).
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class UserSnapshotBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int BATCH_SIZE = 100;
+
+    private final InMemoryUserRepository repository = new InMemoryUserRepository();
+    private final UUID[] ids = new UUID[USERS];
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            ids[i] = repository.save(new User(UUID.randomUUID(), new Email("user" + i + "@example.com"),
+                    "John", "Doe", new PhoneNumber(String.format("+346%08d", i)), UserStatus.ACTIVE, now, now)).getId();
+        }
+    }
+
+    @Benchmark
+    public Object findByIdCopy() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Object findByIdSnapshot() {
+        return repository.findSnapshotById(randomId());
+    }
+
+    @Benchmark
+    public Object findAllByIdsCopy() {
+        return repository.findAllByIds(randomIds());
+    }
+
+    @Benchmark
+    public Object findAllByIdsSnapshot() {
+        return repository.findSnapshotsByIds(randomIds());
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+
+    private List<UUID> randomIds() {
+        List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(randomId());
+        }
+        return batch;
+    }
+}
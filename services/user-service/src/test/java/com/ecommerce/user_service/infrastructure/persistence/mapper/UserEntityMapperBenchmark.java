@@ -0,0 +1,144 @@
+package com.ecommerce.user_service.infrastructure.persistence.mapper;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserStatusEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of mapping users between the domain and JPA entities: the MapStruct-generated UserEntityMapper
+ * versus the hand-written, builder-based mapper it replaced (kept below as the baseline).
+ * Each operation maps a list of {@value #ROWS} rows, and scores are per row:
+ * - toEntity: domain users to entities, as on save and group commit
+ * - toDomainList: entities to users with the list method, as in findAllByIds
+ * - toDomainStream: entities to users one by one in a stream, as the baseline did
+ * Run with the GC profiler to see the allocation per row:
+ * -Djmh.args="UserEntityMapperBenchmark -prof gc" (gc.alloc.rate.norm, bytes per row).
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserEntityMapperBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private final UserEntityMapper generated = new UserEntityMapperImpl();
+    private final BuilderUserEntityMapper handWritten = new BuilderUserEntityMapper();
+
+    private final List<User> users = new ArrayList<>(ROWS);
+    private final List<UserEntity> entities = new ArrayList<>(ROWS);
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User(UUID.randomUUID(), new Email("user" + i + "@example.com"), "John", "Doe",
+                    new PhoneNumber("+34600000000"), UserStatus.values()[i % UserStatus.values().length], now, now);
+            users.add(user);
+            entities.add(handWritten.toEntity(user));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserEntity> toEntityGenerated() {
+        return generated.toEntities(users);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserEntity> toEntityHandWritten() {
+        return users.stream().map(handWritten::toEntity).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<User> toDomainListGenerated() {
+        return generated.toDomain(entities);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<User> toDomainStreamGenerated() {
+        return entities.stream().map(generated::toDomain).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<User> toDomainStreamHandWritten() {
+        return entities.stream().map(handWritten::toDomain).toList();
+    }
+
+    /**
+     * The mapper before code generation: a Lombok builder per entity and hand-kept status switches.
+     */
+    static final class BuilderUserEntityMapper {
+
+        UserEntity toEntity(User user) {
+            if (user == null) {
+                return null;
+            }
+
+            return UserEntity.builder()
+                    .id(user.getId())
+                    .email(user.getEmail().getAddress())
+                    .firstName(user.getFirstName())
+                    .lastName(user.getLastName())
+                    .phoneNumber(user.getPhoneNumber() != null ? user.getPhoneNumber().getValue() : null)
+                    .status(toEntityStatus(user.getStatus()))
+                    .createdAt(user.getCreatedAt())
+                    .updatedAt(user.getUpdatedAt())
+                    .build();
+        }
+
+        User toDomain(UserEntity entity) {
+            if (entity == null) {
+                return null;
+            }
+
+            return new User(entity.getId(), new Email(entity.getEmail()), entity.getFirstName(),
+                    entity.getLastName(), PhoneNumber.tryParse(entity.getPhoneNumber()).orElse(null),
+                    toDomainStatus(entity.getStatus()),
+                    entity.getCreatedAt(), entity.getUpdatedAt());
+        }
+
+        private UserStatusEntity toEntityStatus(UserStatus status) {
+            return switch (status) {
+                case ACTIVE -> UserStatusEntity.ACTIVE;
+                case INACTIVE -> UserStatusEntity.INACTIVE;
+                case DELETED -> UserStatusEntity.DELETED;
+            };
+        }
+
+        private UserStatus toDomainStatus(UserStatusEntity status) {
+            return switch (status) {
+                case ACTIVE -> UserStatus.ACTIVE;
+                case INACTIVE -> UserStatus.INACTIVE;
+                case DELETED -> UserStatus.DELETED;
+            };
+        }
+    }
+}
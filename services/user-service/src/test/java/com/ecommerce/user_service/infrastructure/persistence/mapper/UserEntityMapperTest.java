@@ -0,0 +1,70 @@
+package com.ecommerce.user_service.infrastructure.persistence.mapper;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserEntity;
+import com.ecommerce.user_service.infrastructure.persistence.entity.UserStatusEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the generated UserEntityMapper.
+ */
+
+@DisplayName("User Entity Mapper Tests")
+class UserEntityMapperTest {
+
+    private final UserEntityMapper mapper = new UserEntityMapperImpl();
+
+    @Test
+    @DisplayName("Should map every field and status both ways")
+    void shouldMapEveryFieldAndStatusBothWays() {
+        for (UserStatus status : UserStatus.values()) {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+            User user = new User(UUID.randomUUID(), new Email("test@example.com"), "John", "Doe",
+                    new PhoneNumber("+34600000000"), status, createdAt, createdAt.plusHours(1));
+
+            // When
+            UserEntity entity = mapper.toEntity(user);
+            User mapped = mapper.toDomain(entity);
+            UserSnapshot snapshot = mapper.toSnapshot(entity);
+
+            // Then
+            assertEquals(UserStatusEntity.valueOf(status.name()), entity.getStatus());
+            assertEquals("test@example.com", entity.getEmail());
+            assertEquals(user.snapshot(), mapped.snapshot());
+            assertEquals(user.snapshot(), snapshot);
+        }
+    }
+
+    @Test
+    @DisplayName("Should map lists in order and nulls to null")
+    void shouldMapListsInOrderAndNullsToNull() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = Arrays.asList(
+                new User(UUID.randomUUID(), new Email("a@example.com"), "John", "Doe", null,
+                        UserStatus.ACTIVE, now, now),
+                new User(UUID.randomUUID(), new Email("b@example.com"), "Jane", "Doe", null,
+                        UserStatus.DELETED, now, now));
+
+        // When
+        List<User> mapped = mapper.toDomain(mapper.toEntities(users));
+
+        // Then
+        assertEquals(users.stream().map(User::snapshot).toList(), mapped.stream().map(User::snapshot).toList());
+        assertNull(mapper.toEntity(null));
+        assertNull(mapper.toDomain((UserEntity) null));
+    }
+}
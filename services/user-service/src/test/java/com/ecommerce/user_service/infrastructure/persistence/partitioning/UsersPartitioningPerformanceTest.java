@@ -0,0 +1,308 @@
+package com.ecommerce.user_service.infrastructure.persistence.partitioning;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.loadtest.UserBulkLoader;
+import com.ecommerce.user_service.loadtest.UserDataGenerator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the unpartitioned users table with the hash-partitioned layout (db/schema/users-partitioned.sql),
+ * each in its own database of an embedded PostgreSQL, with the dev schema scripts of its profile and the same
+ * generated users (see UserDataGenerator):
+ * - Write throughput: single-row inserts by concurrent clients, each insert its own transaction
+ * - VACUUM time after updating 10% of the rows
+ * - Point lookups by id and by email: 50th and 99th percentiles, the latter within a budget on both layouts
+ * Lookups run first, on the seeded tables only; the inserts and the update before VACUUM come after them.
+ * The figures of both layouts are printed side by side. Only the lookup budgets and the partition pruning are
+ * asserted; throughput and vacuum time depend too much on the machine.
+ * Tagged "performance": only run by the performance profile (./mvnw -Pperformance test).
+ * The scale and the budgets can be set with -Dperformance.users (default 100000) and
+ * -Dperformance.budget-factor (default 1).
+ */
+
+@Tag("performance")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Users Partitioning Performance Tests")
+class UsersPartitioningPerformanceTest {
+
+    private static final long USERS = Long.getLong("performance.users", 100_000L);
+    private static final double BUDGET_FACTOR =
+            Double.parseDouble(System.getProperty("performance.budget-factor", "1"));
+    private static final long SEED = 42L;
+    private static final int INSERT_CLIENTS = 8;
+    private static final int INSERTS = 20_000;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2000;
+    private static final long LOOKUP_BUDGET_MILLIS = 25;
+
+    /**
+     * The users table Hibernate generates from UserEntity, with its indexes.
+     */
+    private static final String PLAIN_USERS = """
+            CREATE TABLE users (
+                id UUID NOT NULL PRIMARY KEY,
+                email VARCHAR(255) NOT NULL,
+                first_name VARCHAR(100) NOT NULL,
+                last_name VARCHAR(100) NOT NULL,
+                phone_number VARCHAR(20),
+                status VARCHAR(20) NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                updated_at TIMESTAMP NOT NULL
+            );
+            CREATE UNIQUE INDEX idx_user_email ON users (email);
+            CREATE INDEX idx_user_status ON users (status);
+            CREATE INDEX idx_user_updated_at ON users (updated_at, id);
+            """;
+
+    private static final String INSERT_USER = "INSERT INTO users (id, email, first_name, last_name, phone_number,"
+            + " status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserDataGenerator generator =
+            new UserDataGenerator(SEED, UserDataGenerator.Settings.DEFAULTS, LocalDateTime.now());
+
+    private final Map<Layout, Map<String, String>> results = new LinkedHashMap<>();
+
+    private EmbeddedPostgres postgres;
+
+    /**
+     * A users table layout, with the dev schema scripts of its profile and its lookup by email.
+     */
+    private enum Layout {
+        PLAIN("plain", "SELECT * FROM users WHERE email = ?",
+                "db/schema/user-search.sql", "db/schema/user-activity.sql", "db/schema/user-phone.sql"),
+        PARTITIONED("partitioned",
+                "SELECT u.* FROM user_emails e JOIN users u ON u.id = e.user_id WHERE e.email = ?",
+                "db/schema/users-partitioned.sql", "db/schema/user-search.sql", "db/schema/user-activity.sql");
+
+        private final String database;
+        private final String findByEmail;
+        private final String[] scripts;
+
+        Layout(String database, String findByEmail, String... scripts) {
+            this.database = database;
+            this.findByEmail = findByEmail;
+            this.scripts = scripts;
+        }
+    }
+
+    @BeforeAll
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        for (Layout layout : Layout.values()) {
+            admin.execute("CREATE DATABASE " + layout.database);
+            DriverManagerDataSource dataSource = dataSource(layout);
+
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+            if (layout == Layout.PLAIN) {
+                populator.addScript(new ByteArrayResource(PLAIN_USERS.getBytes(StandardCharsets.UTF_8)));
+            }
+            Arrays.stream(layout.scripts).map(ClassPathResource::new).forEach(populator::addScript);
+            populator.execute(dataSource);
+
+            new UserBulkLoader(generator, dataSource, 4, 10_000).load(0, USERS);
+            new JdbcTemplate(dataSource).execute("VACUUM ANALYZE users");
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        printResults();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should prune lookups by id to one partition")
+    void shouldPruneLookupsByIdToOnePartition() {
+        // Given
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource(Layout.PARTITIONED));
+        User user = generator.user(new SplittableRandom(SEED).nextLong(USERS));
+
+        // When
+        List<String> plan = jdbc.queryForList("EXPLAIN SELECT * FROM users WHERE id = ?", String.class, user.getId());
+
+        // Then
+        long partitionsScanned = plan.stream().filter(line -> line.contains(" on users_p")).count();
+        assertEquals(1, partitionsScanned, () -> String.join("\n", plan));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should measure write throughput with concurrent single-row inserts")
+    void shouldMeasureWriteThroughput() {
+        for (Layout layout : Layout.values()) {
+            // Given: users after the seeded ones, the same for both layouts
+            AtomicLong next = new AtomicLong(USERS);
+            long end = USERS + INSERTS;
+            DriverManagerDataSource dataSource = dataSource(layout);
+            ExecutorService clients = Executors.newFixedThreadPool(INSERT_CLIENTS);
+
+            // When
+            long start = System.nanoTime();
+            try {
+                List<CompletableFuture<Void>> inserts = new ArrayList<>();
+                for (int i = 0; i < INSERT_CLIENTS; i++) {
+                    inserts.add(CompletableFuture.runAsync(() -> {
+                        try (Connection connection = dataSource.getConnection();
+                             PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+                            for (long index = next.getAndIncrement(); index < end; index = next.getAndIncrement()) {
+                                bind(insert, generator.user(index));
+                                insert.executeUpdate();
+                            }
+                        } catch (SQLException e) {
+                            throw new IllegalStateException("Insert failed", e);
+                        }
+                    }, clients));
+                }
+                CompletableFuture.allOf(inserts.toArray(CompletableFuture[]::new)).join();
+            } finally {
+                clients.shutdownNow();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            // Then
+            Long count = new JdbcTemplate(dataSource).queryForObject("SELECT count(*) FROM users", Long.class);
+            assertEquals(USERS + INSERTS, count, layout.database);
+            record(layout, "inserts/s", "%,.0f".formatted(INSERTS / seconds));
+        }
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should measure VACUUM time after updating a tenth of the users")
+    void shouldMeasureVacuumTime() {
+        for (Layout layout : Layout.values()) {
+            // Given
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource(layout));
+            int updated = jdbc.update("UPDATE users SET updated_at = now() WHERE hashtext(id::text) % 10 = 0");
+            assertTrue(updated > 0, layout.database);
+
+            // When
+            long start = System.nanoTime();
+            jdbc.execute("VACUUM users");
+            Duration vacuum = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then
+            record(layout, "VACUUM (10% updated)", "%.0f ms".formatted(vacuum.toNanos() / 1e6));
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should stay within point lookup budgets on both layouts")
+    void shouldStayWithinLookupBudgets() {
+        for (Layout layout : Layout.values()) {
+            SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                    postgres.getJdbcUrl("postgres", layout.database), "postgres", "", true);
+            try {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+                // When & Then
+                assertWithinBudget(layout, "find by id", user -> assertEquals(1, jdbc.queryForList(
+                        "SELECT * FROM users WHERE id = ?", user.getId()).size()));
+                assertWithinBudget(layout, "find by email", user -> assertEquals(1, jdbc.queryForList(
+                        layout.findByEmail, user.getEmail().getAddress()).size()));
+            } finally {
+                dataSource.destroy();
+            }
+        }
+    }
+
+    private void assertWithinBudget(Layout layout, String operation, Consumer<User> call) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+            User user = generator.user(random.nextLong(USERS));
+
+            long start = System.nanoTime();
+            call.accept(user);
+            if (i >= WARMUP_ITERATIONS) {
+                nanos[i - WARMUP_ITERATIONS] = System.nanoTime() - start;
+            }
+        }
+
+        Arrays.sort(nanos);
+        Duration p50 = Duration.ofNanos(nanos[nanos.length / 2]);
+        Duration p99 = Duration.ofNanos(nanos[(int) Math.ceil(nanos.length * 0.99) - 1]);
+        Duration budget = Duration.ofNanos((long) (LOOKUP_BUDGET_MILLIS * 1_000_000L * BUDGET_FACTOR));
+        record(layout, operation, "p50 %.2f ms, p99 %.2f ms".formatted(p50.toNanos() / 1e6, p99.toNanos() / 1e6));
+
+        assertTrue(p99.compareTo(budget) <= 0, () -> layout.database + " " + operation + ": p99 of "
+                + p99.toMillis() + " ms is over the budget of " + budget.toMillis() + " ms");
+    }
+
+    private synchronized void record(Layout layout, String measure, String value) {
+        results.computeIfAbsent(layout, ignored -> new LinkedHashMap<>()).put(measure, value);
+    }
+
+    private void printResults() {
+        System.out.printf("%nusers: unpartitioned vs partitioned (%,d users, %d insert clients)%n", USERS,
+                INSERT_CLIENTS);
+        results.getOrDefault(Layout.PLAIN, Map.of()).keySet().forEach(measure -> System.out.printf(
+                "%-22s %-32s %s%n", measure,
+                results.get(Layout.PLAIN).get(measure),
+                results.getOrDefault(Layout.PARTITIONED, Map.of()).getOrDefault(measure, "-")));
+    }
+
+    private DriverManagerDataSource dataSource(Layout layout) {
+        return new DriverManagerDataSource(postgres.getJdbcUrl("postgres", layout.database), "postgres", "");
+    }
+
+    private static void bind(PreparedStatement insert, User user) throws SQLException {
+        insert.setObject(1, user.getId());
+        insert.setString(2, user.getEmail().getAddress());
+        insert.setString(3, user.getFirstName());
+        insert.setString(4, user.getLastName());
+        if (user.getPhoneNumber() != null) {
+            insert.setString(5, user.getPhoneNumber().getValue());
+        } else {
+            insert.setNull(5, Types.VARCHAR);
+        }
+        insert.setString(6, user.getStatus().name());
+        insert.setTimestamp(7, Timestamp.valueOf(user.getCreatedAt()));
+        insert.setTimestamp(8, Timestamp.valueOf(user.getUpdatedAt()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+
+/**
+ * Embedded PostgreSQL 14 for JPA tests that need the real database (e.g. CTEs, arrays, query plans).
+ * The context's DataSource records the statements it sends (see StatementRecordingDataSource).
+ * Use with @AutoConfigureTestDatabase(replace = NONE); the dev schema is created by Hibernate and the
+ * db/schema scripts.
+ */
+
+@TestConfiguration
+class EmbeddedPostgresTestConfig {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.builder().start();
+    }
+
+    @Bean(destroyMethod = "close")
+    HikariDataSource connectionPool(EmbeddedPostgres postgres) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+        pool.setUsername("postgres");
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    StatementRecordingDataSource dataSource(HikariDataSource connectionPool) {
+        return new StatementRecordingDataSource(connectionPool);
+    }
+}
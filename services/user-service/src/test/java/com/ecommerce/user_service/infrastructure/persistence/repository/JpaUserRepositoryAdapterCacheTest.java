@@ -0,0 +1,166 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheConfig;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheProperties;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceLoggingProperties;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapperImpl;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the second-level cache behind JpaUserRepositoryAdapter.
+ * Runs without a surrounding transaction, so every repository call uses its own
+ * persistence context and can only avoid the database through the second-level cache.
+ */
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnableConfigurationProperties({SecondLevelCacheProperties.class, PersistenceLoggingProperties.class,
+        PartitioningProperties.class})
+@Import({JpaUserRepositoryAdapter.class, UserEntityMapperImpl.class, SampledPersistenceLogger.class,
+        SecondLevelCacheConfig.class})
+@DisplayName("JPA User Repository Second-Level Cache Tests")
+class JpaUserRepositoryAdapterCacheTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should serve findById from the cache after save")
+    void shouldServeFindByIdFromCacheAfterSave() {
+        // Given
+        User user = repository.save(newUser("cached@example.com"));
+        statistics.clear();
+
+        // When
+        User found = repository.findById(user.getId()).orElseThrow();
+
+        // Then
+        assertEquals(user.getId(), found.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should serve findByEmail from the natural id cache")
+    void shouldServeFindByEmailFromNaturalIdCache() {
+        // Given
+        User user = repository.save(newUser("natural@example.com"));
+        statistics.clear();
+
+        // When
+        User found = repository.findByEmail(new Email("natural@example.com")).orElseThrow();
+
+        // Then
+        assertEquals(user.getId(), found.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should serve findAllByIds from the cache")
+    void shouldServeFindAllByIdsFromCache() {
+        // Given
+        User first = repository.save(newUser("first@example.com"));
+        User second = repository.save(newUser("second@example.com"));
+        statistics.clear();
+
+        // When
+        List<User> found = repository.findAllByIds(List.of(first.getId(), second.getId(), UUID.randomUUID()));
+
+        // Then
+        assertEquals(2, found.size());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should return the updated user from the cache after save")
+    void shouldReturnUpdatedUserFromCacheAfterSave() {
+        // Given
+        User user = repository.save(newUser("updated@example.com"));
+        repository.findById(user.getId());
+        user.updateProfile("Jane", "Smith", null);
+
+        // When
+        repository.save(user);
+        statistics.clear();
+        User found = repository.findById(user.getId()).orElseThrow();
+
+        // Then
+        assertEquals("Jane", found.getFirstName());
+        assertEquals("Smith", found.getLastName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached lookups after deleteUser")
+    void shouldInvalidateCachedLookupsAfterDelete() {
+        // Given
+        User user = repository.save(newUser("deleted@example.com"));
+        Email email = new Email("deleted@example.com");
+        repository.findById(user.getId());
+        repository.findByEmail(email);
+        assertTrue(repository.existsByEmail(email));
+
+        // When
+        repository.deleteUser(user.getId());
+
+        // Then
+        assertTrue(repository.findById(user.getId()).isEmpty());
+        assertTrue(repository.findByEmail(email).isEmpty());
+        assertFalse(repository.existsByEmail(email));
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached existsByEmail result after save")
+    void shouldInvalidateCachedExistsByEmailAfterSave() {
+        // Given
+        Email email = new Email("signup@example.com");
+        assertFalse(repository.existsByEmail(email));
+
+        // When
+        repository.save(newUser("signup@example.com"));
+
+        // Then
+        assertTrue(repository.existsByEmail(email));
+    }
+
+    private User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+}
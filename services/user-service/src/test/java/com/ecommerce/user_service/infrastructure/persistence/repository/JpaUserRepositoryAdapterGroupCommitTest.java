@@ -0,0 +1,113 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheConfig;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheProperties;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceLoggingProperties;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.batching.GroupCommitConfig;
+import com.ecommerce.user_service.infrastructure.persistence.batching.GroupCommitProperties;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapperImpl;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JpaUserRepositoryAdapter.save with group commit enabled, on H2.
+ */
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "user-service.persistence.group-commit.enabled=true",
+        "user-service.persistence.group-commit.max-delay=5ms"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnableConfigurationProperties({SecondLevelCacheProperties.class, PersistenceLoggingProperties.class,
+        PartitioningProperties.class, GroupCommitProperties.class})
+@Import({JpaUserRepositoryAdapter.class, UserEntityMapperImpl.class, SampledPersistenceLogger.class,
+        SecondLevelCacheConfig.class, GroupCommitConfig.class,
+        JpaUserRepositoryAdapterGroupCommitTest.MetricsConfig.class})
+@DisplayName("JPA User Repository Group Commit Tests")
+class JpaUserRepositoryAdapterGroupCommitTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should commit concurrent saves in batches, each visible once its save returns")
+    void shouldCommitConcurrentSavesInBatches() {
+        // Given
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(newUser("batch" + i + "@example.com"));
+        }
+
+        // When
+        List<CompletableFuture<User>> saves = users.stream()
+                .map(user -> CompletableFuture.supplyAsync(() -> repository.save(user)))
+                .toList();
+        saves.forEach(CompletableFuture::join);
+
+        // Then
+        users.forEach(user -> assertTrue(repository.findById(user.getId()).isPresent()));
+        assertTrue(meterRegistry.get("user.persistence.group-commit.batch.size").summary().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should fail a duplicate email save with a data integrity violation, without failing the others")
+    void shouldFailDuplicateAlone() {
+        // Given
+        repository.save(newUser("taken@example.com"));
+        User duplicate = newUser("taken@example.com");
+        User other = newUser("free@example.com");
+
+        // When
+        CompletableFuture<User> duplicateSave = CompletableFuture.supplyAsync(() -> repository.save(duplicate));
+        CompletableFuture<User> otherSave = CompletableFuture.supplyAsync(() -> repository.save(other));
+
+        // Then
+        CompletionException failure = assertThrows(CompletionException.class, duplicateSave::join);
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        assertEquals(other.getId(), otherSave.join().getId());
+    }
+
+    private static User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheConfig;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheProperties;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceLoggingProperties;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapperImpl;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the email lookups of JpaUserRepositoryAdapter with the partitioned users layout.
+ * H2 has neither hash partitioning nor the PL/pgSQL trigger, so the user_emails rows the trigger
+ * would write are inserted by the test.
+ */
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "user-service.persistence.partitioning.enabled=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnableConfigurationProperties({SecondLevelCacheProperties.class, PersistenceLoggingProperties.class,
+        PartitioningProperties.class})
+@Import({JpaUserRepositoryAdapter.class, UserEntityMapperImpl.class, SampledPersistenceLogger.class,
+        SecondLevelCacheConfig.class})
+@DisplayName("JPA User Repository Partitioned Layout Tests")
+class JpaUserRepositoryAdapterPartitionedTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS user_emails (email VARCHAR(255) PRIMARY KEY, user_id UUID NOT NULL)");
+        jdbc.execute("DELETE FROM user_emails");
+    }
+
+    @Test
+    @DisplayName("Should resolve emails through the user_emails lookup table")
+    void shouldResolveEmailsThroughLookupTable() {
+        // Given
+        User user = repository.save(newUser("lookup@example.com"));
+        jdbc.update("INSERT INTO user_emails (email, user_id) VALUES (?, ?)", "lookup@example.com", user.getId());
+
+        // When
+        User found = repository.findByEmail(new Email("lookup@example.com")).orElseThrow();
+
+        // Then
+        assertEquals(user.getId(), found.getId());
+        assertTrue(repository.existsByEmail(new Email("lookup@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should not find emails missing from the lookup table")
+    void shouldNotFindEmailsMissingFromLookupTable() {
+        // Given
+        repository.save(newUser("unlisted@example.com"));
+
+        // When & Then
+        assertTrue(repository.findByEmail(new Email("unlisted@example.com")).isEmpty());
+        assertFalse(repository.existsByEmail(new Email("unlisted@example.com")));
+    }
+
+    private User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+}
@@ -0,0 +1,360 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheConfig;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheProperties;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceLoggingProperties;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapperImpl;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import com.ecommerce.user_service.infrastructure.persistence.repository.StatementRecordingDataSource.RecordedStatement;
+import com.ecommerce.user_service.loadtest.UserBulkLoader;
+import com.ecommerce.user_service.loadtest.UserDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance regression tests for JpaUserRepositoryAdapter, against an embedded PostgreSQL with the dev schema
+ * (entity tables and db/schema scripts) and generated users (see UserDataGenerator), loaded and analyzed once.
+ * - Statement counts: the round trips of each operation, with the second-level cache empty, so an N+1 query
+ *   or an extra lookup fails the test
+ * - Query plans: the statements actually sent are explained with their parameters and must use their index
+ * - Latency budgets: the 99th percentile of each operation, at the seeded scale, including searches for
+ *   misspelled names. Each operation is measured in several rounds and the best round is checked, so a one-off
+ *   pause (GC, another process) does not fail the budget while a slower query does. SQL and persistence logging
+ *   are off, so console output is not measured
+ * Tagged "performance": only run by the performance profile (./mvnw -Pperformance test).
+ * The scale and the budgets can be set with -Dperformance.users (default 100000) and
+ * -Dperformance.budget-factor (default 1, e.g. 2 on a slow machine).
+ */
+
+@Tag("performance")
+@DataJpaTest(showSql = false, properties = {"spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.ecommerce.user_service=INFO"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnableConfigurationProperties({SecondLevelCacheProperties.class, PersistenceLoggingProperties.class,
+        PartitioningProperties.class})
+@Import({JpaUserRepositoryAdapter.class, UserEntityMapperImpl.class, SampledPersistenceLogger.class,
+        SecondLevelCacheConfig.class, EmbeddedPostgresTestConfig.class})
+@DisplayName("JPA User Repository Performance Tests")
+class JpaUserRepositoryAdapterPerformanceTest {
+
+    private static final long USERS = Long.getLong("performance.users", 100_000L);
+    private static final double BUDGET_FACTOR =
+            Double.parseDouble(System.getProperty("performance.budget-factor", "1"));
+    private static final long SEED = 42L;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 1000;
+    private static final int ROUNDS = 3;
+
+    private final UserDataGenerator generator =
+            new UserDataGenerator(SEED, UserDataGenerator.Settings.DEFAULTS, LocalDateTime.now());
+    private final SplittableRandom random = new SplittableRandom(SEED);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JpaUserRepositoryAdapter repository;
+
+    @Autowired
+    private StatementRecordingDataSource statements;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "");
+        new UserBulkLoader(generator, dataSource, 4, 10_000).load(0, USERS);
+        // Sets the visibility map, so plans can use index-only scans as on a table vacuumed by autovacuum
+        jdbc.execute("VACUUM ANALYZE users");
+    }
+
+    @Test
+    @DisplayName("Should read users with one statement per lookup, whatever the number of users")
+    void shouldReadUsersWithOneStatementPerLookup() {
+        // Given
+        User user = seededUser(candidate -> candidate.getPhoneNumber() != null);
+        List<UUID> ids = LongStream.range(0, 100).mapToObj(i -> seededUser().getId()).toList();
+
+        // When & Then
+        assertEquals(1, statementsOf(() -> repository.findById(user.getId())).size(), "findById");
+        assertEquals(1, statementsOf(() -> repository.findSnapshotById(user.getId())).size(), "findSnapshotById");
+        assertEquals(1, statementsOf(() -> repository.findAllByIds(ids)).size(), "findAllByIds");
+        assertEquals(1, statementsOf(() -> repository.findSnapshotsByIds(ids)).size(), "findSnapshotsByIds");
+        assertEquals(1, statementsOf(() -> repository.findByEmail(user.getEmail())).size(), "findByEmail");
+        assertEquals(1, statementsOf(() -> repository.existsByEmail(user.getEmail())).size(), "existsByEmail");
+        assertEquals(1, statementsOf(() -> repository.findByPhone(user.getPhoneNumber())).size(), "findByPhone");
+        assertEquals(1, statementsOf(() -> repository.existsByPhone(user.getPhoneNumber())).size(), "existsByPhone");
+        assertEquals(1, statementsOf(() -> repository.findLastSeen(user.getId())).size(), "findLastSeen");
+        assertEquals(1, statementsOf(() -> repository.search(new UserSearchQuery(user.getFullName(), 20, null)))
+                .size(), "search");
+        assertEquals(1, statementsOf(() -> repository.findUpdatedAfter(
+                UserChangeCursor.from(LocalDateTime.now().minusDays(1)), 100)).size(), "findUpdatedAfter");
+    }
+
+    @Test
+    @DisplayName("Should write users without extra round trips")
+    void shouldWriteUsersWithoutExtraRoundTrips() {
+        // Given
+        User user = newUser();
+        User existing = seededUser(candidate -> !candidate.isDeleted());
+        existing.updateProfile("Jane", existing.getLastName(), existing.getPhoneNumber());
+        List<UUID> ids = LongStream.range(0, 2500).mapToObj(i -> seededUser().getId()).distinct().toList();
+        Map<UUID, LocalDateTime> lastSeenAt = new HashMap<>();
+        ids.forEach(id -> lastSeenAt.put(id, LocalDateTime.now()));
+
+        // When & Then
+        // The ID is assigned by the application, so saving loads the row before inserting or updating it
+        assertEquals(2, statementsOf(() -> repository.save(user)).size(), "save (insert)");
+        assertEquals(2, statementsOf(() -> repository.save(existing)).size(), "save (update)");
+        assertEquals((ids.size() + 999) / 1000, statementsOf(() -> repository.updateStatus(ids, UserStatus.INACTIVE))
+                .size(), "updateStatus, one statement per chunk of 1000");
+        assertEquals(1, statementsOf(() -> repository.updateLastSeen(lastSeenAt)).size(), "updateLastSeen");
+        assertEquals(2, statementsOf(() -> repository.deleteUser(user.getId())).size(), "deleteUser");
+    }
+
+    @Test
+    @DisplayName("Should create the indexes of the users table")
+    void shouldCreateUserIndexes() {
+        // When
+        Set<String> indexes = new HashSet<>(jdbc.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'users'", String.class));
+
+        // Then
+        assertTrue(indexes.containsAll(Set.of("idx_user_email", "idx_user_status", "idx_user_updated_at",
+                "idx_user_phone", "idx_user_full_name_trgm", "idx_user_email_trgm", "idx_user_phone_number_trgm")),
+                () -> "Missing indexes, found " + indexes);
+    }
+
+    @Test
+    @DisplayName("Should serve email, phone number and change feed queries from their indexes")
+    void shouldServeQueriesFromIndexes() {
+        // Given
+        User user = seededUser(candidate -> candidate.getPhoneNumber() != null);
+
+        // When & Then
+        assertUsesIndex("idx_user_email", statementsOf(() -> repository.findByEmail(user.getEmail())));
+        assertUsesIndex("idx_user_email", statementsOf(() -> repository.existsByEmail(user.getEmail())));
+        assertUsesIndex("idx_user_phone", statementsOf(() -> repository.findByPhone(user.getPhoneNumber())));
+        assertUsesIndex("idx_user_phone", statementsOf(() -> repository.existsByPhone(user.getPhoneNumber())));
+        assertUsesIndex("idx_user_updated_at", statementsOf(() -> repository.findUpdatedAfter(
+                UserChangeCursor.from(LocalDateTime.now().minusDays(1)), 100)));
+        // A long text has many trigrams, which makes the index scans look dearer than a sequential scan
+        User longName = seededUser(candidate -> candidate.getFullName().length() > 30);
+        assertUsesIndex("idx_user_full_name_trgm", statementsOf(() -> repository.search(
+                new UserSearchQuery(longName.getFullName(), 20, null))));
+    }
+
+    @Test
+    @DisplayName("Should stay within latency budgets at the seeded scale")
+    void shouldStayWithinLatencyBudgets() {
+        // When & Then
+        assertWithinBudget("findById", 25, user -> repository.findById(user.getId()));
+        assertWithinBudget("findByEmail", 25, user -> repository.findByEmail(user.getEmail()));
+        assertWithinBudget("existsByEmail", 25, user -> repository.existsByEmail(user.getEmail()));
+        assertWithinBudget("existsByPhone", 25, user -> {
+            if (user.getPhoneNumber() != null) {
+                repository.existsByPhone(user.getPhoneNumber());
+            }
+        });
+        assertWithinBudget("findAllByIds (100)", 50, user -> repository.findAllByIds(
+                LongStream.range(0, 100).mapToObj(i -> seededUser().getId()).toList()));
+        assertWithinBudget("search", 100, user -> repository.search(new UserSearchQuery(user.getFullName(), 20, null)));
+        assertWithinBudget("search (typo)", 100, user -> repository.search(
+                new UserSearchQuery(misspelled(user), 20, null)));
+        assertWithinBudget("save (update)", 25, user -> {
+            if (!user.isDeleted()) {
+                user.updateProfile(user.getFirstName(), user.getLastName(), user.getPhoneNumber());
+            }
+            repository.save(user);
+        });
+        assertWithinBudget("updateStatus (100)", 250, user -> repository.updateStatus(
+                LongStream.range(0, 100).mapToObj(i -> seededUser().getId()).toList(), user.getStatus()));
+    }
+
+    /**
+     * Runs an operation with an empty second-level cache and returns the statements it sent.
+     */
+    private List<RecordedStatement> statementsOf(Runnable operation) {
+        evictSecondLevelCache();
+        statements.drain();
+        operation.run();
+        return statements.drain();
+    }
+
+    /**
+     * Empties every region of the second-level cache, natural id and query results included.
+     */
+    private void evictSecondLevelCache() {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+    }
+
+    private void assertUsesIndex(String index, List<RecordedStatement> sent) {
+        assertFalse(sent.isEmpty(), "No statement sent");
+        for (RecordedStatement statement : sent) {
+            JsonNode plan = explain(statement);
+            Set<String> indexes = new HashSet<>();
+            List<String> sequentialScans = new ArrayList<>();
+            collect(plan, indexes, sequentialScans);
+
+            assertTrue(indexes.contains(index), () -> "Expected " + index + " in the plan of " + statement.sql()
+                    + "\n" + plan.toPrettyString());
+            assertTrue(sequentialScans.isEmpty(), () -> "Sequential scan of " + sequentialScans + " in the plan of "
+                    + statement.sql() + "\n" + plan.toPrettyString());
+        }
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        return jdbc.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                statement.bind(explain);
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private static void collect(JsonNode node, Set<String> indexes, List<String> sequentialScans) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collect(child, indexes, sequentialScans));
+    }
+
+    /**
+     * Runs an operation on random seeded users, with an empty second-level cache, and checks the 99th percentile
+     * of its best round.
+     */
+    private void assertWithinBudget(String operation, long budgetMillis, Consumer<User> call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            User user = seededUser();
+            evictSecondLevelCache();
+            call.accept(user);
+        }
+
+        long[] best = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] nanos = measureRound(call);
+            if (best == null || percentile(nanos, 0.99) < percentile(best, 0.99)) {
+                best = nanos;
+            }
+        }
+        Duration p50 = Duration.ofNanos(percentile(best, 0.5));
+        Duration p99 = Duration.ofNanos(percentile(best, 0.99));
+        Duration budget = Duration.ofNanos((long) (budgetMillis * 1_000_000L * BUDGET_FACTOR));
+        System.out.printf("%-20s p50 %6.2f ms  p99 %6.2f ms  budget %6.2f ms  (%,d users)%n",
+                operation, p50.toNanos() / 1e6, p99.toNanos() / 1e6, budget.toNanos() / 1e6, USERS);
+
+        assertTrue(p99.compareTo(budget) <= 0, () -> operation + ": p99 of " + p99.toMillis()
+                + " ms is over the budget of " + budget.toMillis() + " ms");
+    }
+
+    /**
+     * Returns the sorted durations of one round of measured calls.
+     */
+    private long[] measureRound(Consumer<User> call) {
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            User user = seededUser();
+            evictSecondLevelCache();
+
+            long start = System.nanoTime();
+            call.accept(user);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        return sortedNanos[Math.max(0, (int) Math.ceil(sortedNanos.length * percentile) - 1)];
+    }
+
+    private User seededUser() {
+        return generator.user(random.nextLong(USERS));
+    }
+
+    private User seededUser(Predicate<User> condition) {
+        User user = seededUser();
+        while (!condition.test(user)) {
+            user = seededUser();
+        }
+        return user;
+    }
+
+    /**
+     * Returns the full name of a user with a letter of the last name dropped, a typo the search still finds the
+     * user with.
+     */
+    private static String misspelled(User user) {
+        String lastName = user.getLastName();
+        int dropped = lastName.length() / 2;
+        return user.getFirstName() + " " + lastName.substring(0, dropped) + lastName.substring(dropped + 1);
+    }
+
+    private User newUser() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID id = UUID.randomUUID();
+        return new User(id, new Email(id + "@example.com"), "John", "Doe",
+                new PhoneNumber("+99" + String.format("%010d", random.nextLong(10_000_000_000L))), UserStatus.ACTIVE,
+                now, now);
+    }
+}
@@ -0,0 +1,249 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheConfig;
+import com.ecommerce.user_service.infrastructure.config.SecondLevelCacheProperties;
+import com.ecommerce.user_service.infrastructure.logging.PersistenceLoggingProperties;
+import com.ecommerce.user_service.infrastructure.logging.SampledPersistenceLogger;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.BulkUserStatusUpdate;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserChangeFeed;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UuidOrder;
+import com.ecommerce.user_service.infrastructure.persistence.mapper.UserEntityMapperImpl;
+import com.ecommerce.user_service.infrastructure.persistence.partitioning.PartitioningProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the statements of JpaUserRepositoryAdapter that only run on PostgreSQL (the bulk status and
+ * last seen update CTEs and their row locks) or behave differently there (the change feed's row value comparison), against an
+ * embedded PostgreSQL with the dev schema.
+ */
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnableConfigurationProperties({SecondLevelCacheProperties.class, PersistenceLoggingProperties.class,
+        PartitioningProperties.class})
+@Import({JpaUserRepositoryAdapter.class, UserEntityMapperImpl.class, SampledPersistenceLogger.class,
+        SecondLevelCacheConfig.class, EmbeddedPostgresTestConfig.class})
+@DisplayName("JPA User Repository PostgreSQL Tests")
+class JpaUserRepositoryAdapterPostgresTest {
+
+    @Autowired
+    private JpaUserRepositoryAdapter repository;
+
+    @Autowired
+    private StatementRecordingDataSource statements;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Should report the outcome of each requested user of a bulk status update")
+    void shouldReportOutcomeOfEachRequestedUser() {
+        // Given
+        User active = repository.save(newUser(UserStatus.ACTIVE));
+        User deleted = repository.save(newUser(UserStatus.DELETED));
+        UUID missing = UUID.randomUUID();
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(
+                List.of(active.getId(), deleted.getId(), missing, active.getId()), UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(List.of(active.getId(), deleted.getId(), missing), List.copyOf(result.outcomes().keySet()));
+        assertEquals(StatusUpdateOutcome.UPDATED, result.outcomes().get(active.getId()));
+        assertEquals(StatusUpdateOutcome.USER_DELETED, result.outcomes().get(deleted.getId()));
+        assertEquals(StatusUpdateOutcome.NOT_FOUND, result.outcomes().get(missing));
+        assertEquals(Map.of(active.getId(), new UserStatusTransition(UserStatus.ACTIVE, UserStatus.INACTIVE)),
+                result.transitions());
+        assertEquals(UserStatus.INACTIVE, repository.findById(active.getId()).orElseThrow().getStatus());
+        assertEquals(UserStatus.DELETED, repository.findById(deleted.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report a status change once when the same change is made concurrently")
+    void shouldReportConcurrentStatusChangeOnce() throws Exception {
+        // Given
+        User user = repository.save(newUser(UserStatus.ACTIVE));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<StatusUpdateResult> results = new ArrayList<>();
+        try {
+            List<Future<StatusUpdateResult>> updates = IntStream.range(0, 4)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return repository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<StatusUpdateResult> update : updates) {
+                results.add(update.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertTrue(results.stream().allMatch(result -> result.count(StatusUpdateOutcome.UPDATED) == 1));
+        assertEquals(1, results.stream().mapToInt(result -> result.transitions().size()).sum());
+    }
+
+    @Test
+    @DisplayName("Should evict bulk updated users from the second-level cache")
+    void shouldEvictBulkUpdatedUsersFromCache() {
+        // Given: the user is cached
+        User user = repository.save(newUser(UserStatus.ACTIVE));
+        repository.findById(user.getId());
+
+        // When
+        repository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(UserStatus.INACTIVE, repository.findById(user.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should update users across chunk boundaries, one statement per chunk")
+    void shouldUpdateUsersAcrossChunkBoundaries() {
+        // Given: one more user than a chunk holds, the last of them in database order deleted
+        List<User> users = new ArrayList<>(IntStream.range(0, BulkUserStatusUpdate.CHUNK_SIZE + 1)
+                .mapToObj(i -> newUser(UserStatus.ACTIVE))
+                .toList());
+        users.sort((left, right) -> UuidOrder.compare(left.getId(), right.getId()));
+        users.set(users.size() - 1, newUser(users.get(users.size() - 1).getId(), UserStatus.DELETED));
+        insert(users);
+        List<UUID> ids = new ArrayList<>(users.stream().map(User::getId).toList());
+        ids.add(UUID.randomUUID());
+        statements.drain();
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(ids, UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(2, statements.drain().size());
+        assertEquals(BulkUserStatusUpdate.CHUNK_SIZE, result.count(StatusUpdateOutcome.UPDATED));
+        assertEquals(BulkUserStatusUpdate.CHUNK_SIZE, result.transitions().size());
+        assertEquals(List.of(users.get(users.size() - 1).getId()), result.idsWith(StatusUpdateOutcome.USER_DELETED));
+        assertEquals(List.of(ids.get(ids.size() - 1)), result.idsWith(StatusUpdateOutcome.NOT_FOUND));
+        assertEquals(BulkUserStatusUpdate.CHUNK_SIZE, jdbc.queryForObject(
+                "SELECT count(*) FROM users WHERE id = ANY(?) AND status = 'INACTIVE'", Integer.class,
+                (Object) ids.toArray(UUID[]::new)));
+    }
+
+    @Test
+    @DisplayName("Should keep the latest last activity when flushes of the same users run concurrently")
+    void shouldKeepLatestLastSeenOfConcurrentFlushes() throws Exception {
+        // Given
+        List<User> users = IntStream.range(0, 200).mapToObj(i -> newUser(UUID.randomUUID(), UserStatus.ACTIVE))
+                .toList();
+        insert(users);
+        LocalDateTime seen = LocalDateTime.now().withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When: each flush sends every user, with its own timestamp
+        try {
+            List<Future<Void>> flushes = IntStream.range(0, 4)
+                    .mapToObj(i -> executor.<Void>submit(() -> {
+                        Map<UUID, LocalDateTime> lastSeenAt = new HashMap<>();
+                        users.forEach(user -> lastSeenAt.put(user.getId(), seen.plusMinutes(i)));
+                        start.await();
+                        repository.updateLastSeen(lastSeenAt);
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<Void> flush : flushes) {
+                flush.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        repository.updateLastSeen(Map.of(users.get(0).getId(), seen));
+
+        // Then: the latest timestamp, never moved backwards
+        for (User user : users) {
+            assertEquals(Optional.of(seen.plusMinutes(3)), repository.findLastSeen(user.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through the change feed across users updated at the same time")
+    void shouldPageThroughChangeFeedAcrossEqualTimestamps() {
+        // Given: users sharing one update timestamp, after an older one
+        LocalDateTime updatedAt = LocalDateTime.now().plusDays(1).withNano(0);
+        List<User> users = new ArrayList<>(IntStream.range(0, 10)
+                .mapToObj(i -> newUser(UUID.randomUUID(), UserStatus.ACTIVE, updatedAt))
+                .toList());
+        users.add(newUser(UUID.randomUUID(), UserStatus.ACTIVE, updatedAt.minusSeconds(2)));
+        insert(users);
+
+        // When
+        List<UUID> read = new ArrayList<>();
+        UserChangeCursor cursor = UserChangeCursor.from(updatedAt.minusSeconds(1));
+        List<User> page;
+        do {
+            page = repository.findUpdatedAfter(cursor, 3);
+            page.forEach(user -> read.add(user.getId()));
+            if (!page.isEmpty()) {
+                cursor = UserChangeCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == 3);
+
+        // Then: every user at the shared timestamp once, in feed order
+        assertEquals(users.subList(0, 10).stream().sorted(UserChangeFeed.ORDER).map(User::getId).toList(), read);
+    }
+
+    private void insert(List<User> users) {
+        jdbc.batchUpdate("INSERT INTO users (id, email, first_name, last_name, status, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)",
+                users.stream().map(user -> new Object[]{user.getId(), user.getEmail().getAddress(),
+                        user.getFirstName(), user.getLastName(), user.getStatus().name(), user.getCreatedAt(),
+                        user.getUpdatedAt()}).toList());
+    }
+
+    private User newUser(UserStatus status) {
+        return newUser(UUID.randomUUID(), status);
+    }
+
+    private User newUser(UUID id, UserStatus status) {
+        return newUser(id, status, LocalDateTime.now());
+    }
+
+    private User newUser(UUID id, UserStatus status, LocalDateTime updatedAt) {
+        return new User(id, new Email(id + "@example.com"), "John", "Doe", null, status, updatedAt, updatedAt);
+    }
+}
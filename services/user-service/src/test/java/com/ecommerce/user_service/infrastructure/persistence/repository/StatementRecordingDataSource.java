@@ -0,0 +1,129 @@
+package com.ecommerce.user_service.infrastructure.persistence.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DataSource that records the statements sent to the database through its connections, whether by Hibernate
+ * or by a JdbcTemplate. Each execute call is one recorded statement (a JDBC batch is one round trip), with its
+ * SQL and the parameters bound to it, so a test can count round trips and explain the plans of what was sent.
+ */
+
+class StatementRecordingDataSource extends DelegatingDataSource {
+
+    /**
+     * A statement sent to the database.
+     *
+     * @param sql        the SQL, with ? placeholders
+     * @param parameters the values bound to the placeholders, by index (starting at 1)
+     */
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+
+        /**
+         * Binds the recorded parameters to another statement of the same SQL (e.g. the same SQL prefixed with EXPLAIN).
+         */
+        void bind(PreparedStatement statement) throws SQLException {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+        }
+    }
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+
+    StatementRecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Returns the statements recorded since the last call, oldest first, and forgets them.
+     */
+    synchronized List<RecordedStatement> drain() {
+        List<RecordedStatement> drained = List.copyOf(statements);
+        statements.clear();
+        return drained;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    private synchronized void record(String sql, Map<Integer, Object> parameters) {
+        statements.add(new RecordedStatement(sql, Collections.unmodifiableMap(new TreeMap<>(parameters))));
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> switch (method.getName()) {
+            case "prepareStatement" -> recording(PreparedStatement.class, (Statement) result, (String) args[0]);
+            case "prepareCall" -> recording(CallableStatement.class, (Statement) result, (String) args[0]);
+            case "createStatement" -> recording(Statement.class, (Statement) result, null);
+            default -> result;
+        });
+    }
+
+    private <T extends Statement> T recording(Class<T> type, Statement statement, String preparedSql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, type.cast(statement), (method, args, result) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                record(sql, parameters);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Called after each method of a proxied object, with what the method returned; returns what the proxy returns.
+     */
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        return type.cast(Proxy.newProxyInstance(StatementRecordingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return afterCall.apply(method, args, result);
+                }));
+    }
+}
@@ -0,0 +1,250 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.domain.model.StatusUpdateOutcome;
+import com.ecommerce.user_service.domain.model.StatusUpdateResult;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.BulkUserStatusUpdate;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the statements of ShardedUserRepository that only run on PostgreSQL (the bulk status update
+ * CTE), against two shards and an index database in an embedded PostgreSQL.
+ */
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Sharded User Repository PostgreSQL Tests")
+class ShardedUserRepositoryPostgresTest {
+
+    private static final int SHARDS = 2;
+    private static final int BUCKETS = 8;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate index;
+    private ExecutorService executor;
+    private ShardRouter router;
+    private ShardedUserRepository repository;
+
+    @BeforeAll
+    void startDatabases() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+        for (int i = 0; i < SHARDS; i++) {
+            admin.execute("CREATE DATABASE shard" + i);
+            shards.add(new JdbcTemplate(dataSource("shard" + i)));
+        }
+        admin.execute("CREATE DATABASE shard_index");
+        index = new JdbcTemplate(dataSource("shard_index"));
+    }
+
+    @AfterAll
+    void stopDatabases() throws IOException {
+        dataSources.forEach(HikariDataSource::close);
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("DROP TABLE IF EXISTS users, owned_bucket");
+            new ResourceDatabasePopulator(new ClassPathResource("db/sharding/shard-schema.sql"))
+                    .execute(shard.getDataSource());
+        }
+        index.execute("DROP TABLE IF EXISTS user_email_index, user_shard_bucket");
+        new ResourceDatabasePopulator(new ClassPathResource("db/sharding/index-schema.sql"))
+                .execute(index.getDataSource());
+
+        executor = Executors.newFixedThreadPool(SHARDS);
+        router = new ShardRouter(index, BUCKETS, SHARDS);
+        repository = new ShardedUserRepository(shards, index, router, executor, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report the outcome of each requested user of a bulk status update across shards")
+    void shouldReportOutcomeOfEachRequestedUserAcrossShards() {
+        // Given: active users on every shard, a deleted user and an unknown ID
+        List<User> active = IntStream.range(0, 20).mapToObj(i -> repository.save(newUser(UserStatus.ACTIVE))).toList();
+        User deleted = repository.save(newUser(UserStatus.DELETED));
+        UUID missing = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>(active.stream().map(User::getId).toList());
+        ids.add(deleted.getId());
+        ids.add(missing);
+        assertTrue(countUsers(0) > 0 && countUsers(1) > 0);
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(ids, UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(ids, List.copyOf(result.outcomes().keySet()));
+        assertEquals(active.stream().map(User::getId).toList(), result.idsWith(StatusUpdateOutcome.UPDATED));
+        assertEquals(List.of(deleted.getId()), result.idsWith(StatusUpdateOutcome.USER_DELETED));
+        assertEquals(List.of(missing), result.idsWith(StatusUpdateOutcome.NOT_FOUND));
+        assertEquals(Set.copyOf(active.stream().map(User::getId).toList()), result.transitions().keySet());
+        active.forEach(user ->
+                assertEquals(UserStatus.INACTIVE, repository.findById(user.getId()).orElseThrow().getStatus()));
+        assertEquals(UserStatus.DELETED, repository.findById(deleted.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should update users across chunk boundaries on every shard")
+    void shouldUpdateUsersAcrossChunkBoundariesOnEveryShard() {
+        // Given: more users per shard than a chunk holds
+        List<UUID> ids = insertUsers(SHARDS * BulkUserStatusUpdate.CHUNK_SIZE + 200);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertTrue(countUsers(shard) > BulkUserStatusUpdate.CHUNK_SIZE);
+        }
+
+        // When
+        StatusUpdateResult result = repository.updateStatus(ids, UserStatus.INACTIVE);
+
+        // Then
+        assertEquals(ids.size(), result.count(StatusUpdateOutcome.UPDATED));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(countUsers(shard), shards.get(shard).queryForObject(
+                    "SELECT count(*) FROM users WHERE status = 'INACTIVE'", Integer.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should update users whose bucket is moved during a bulk status update")
+    void shouldUpdateUsersWhoseBucketIsMovedDuringBulkStatusUpdate() throws Exception {
+        // Given: shard updates that only start once a move of every bucket has had time to run
+        List<UUID> ids = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(newUser(UserStatus.ACTIVE)).getId())
+                .toList();
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, router, 7, Duration.ZERO, Duration.ZERO);
+        ExecutorService mover = Executors.newSingleThreadExecutor();
+        AtomicReference<Future<Long>> move = new AtomicReference<>();
+        Executor moveFirst = task -> {
+            move.compareAndSet(null, mover.submit(() -> rebalancer.moveBuckets(0, BUCKETS - 1, 1)));
+            try {
+                move.get().get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // The move waits for the buckets being updated
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+            executor.execute(task);
+        };
+        ShardedUserRepository updater = new ShardedUserRepository(shards, index, router, moveFirst, moveFirst);
+
+        try {
+            // When
+            StatusUpdateResult result = updater.updateStatus(ids, UserStatus.INACTIVE);
+
+            // Then
+            assertEquals(ids.size(), result.count(StatusUpdateOutcome.UPDATED));
+            move.get().get(5, TimeUnit.SECONDS);
+            assertEquals(30, shards.get(1).queryForObject(
+                    "SELECT count(*) FROM users WHERE status = 'INACTIVE'", Integer.class));
+        } finally {
+            mover.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should update users whose bucket another instance moved on the new shard")
+    void shouldUpdateUsersWhoseBucketAnotherInstanceMoved() {
+        // Given: another instance, with its own router, moves every bucket to shard 1
+        List<UUID> ids = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(newUser(UserStatus.ACTIVE)).getId())
+                .toList();
+        ShardRouter otherRouter = new ShardRouter(index, BUCKETS, SHARDS);
+        new ShardRebalancer(shards, otherRouter, 7, Duration.ZERO, Duration.ZERO).moveBuckets(0, BUCKETS - 1, 1);
+        LocalDateTime seen = LocalDateTime.now().withNano(0);
+        Map<UUID, LocalDateTime> lastSeenAt = new HashMap<>();
+        ids.forEach(id -> lastSeenAt.put(id, seen));
+
+        // When: this instance has not refreshed its assignments yet
+        StatusUpdateResult result = repository.updateStatus(ids, UserStatus.INACTIVE);
+        repository.updateLastSeen(lastSeenAt);
+
+        // Then
+        assertEquals(ids.size(), result.count(StatusUpdateOutcome.UPDATED));
+        assertEquals(ids.size(), result.transitions().size());
+        assertEquals(0, countUsers(0));
+        assertEquals(30, shards.get(1).queryForObject(
+                "SELECT count(*) FROM users WHERE status = 'INACTIVE' AND last_seen_at = ?", Integer.class, seen));
+    }
+
+    /**
+     * Inserts active users straight into the shards of their buckets, faster than saving them one by one.
+     */
+    private List<UUID> insertUsers(int count) {
+        List<List<Object[]>> rowsByShard = new ArrayList<>();
+        IntStream.range(0, SHARDS).forEach(shard -> rowsByShard.add(new ArrayList<>()));
+        List<UUID> ids = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            int bucket = router.bucketOf(id);
+            rowsByShard.get(router.shardOf(bucket))
+                    .add(new Object[]{id, bucket, id + "@example.com", "John", "Doe", "ACTIVE", now, now});
+            ids.add(id);
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shards.get(shard).batchUpdate("INSERT INTO users (id, shard_bucket, email, first_name, last_name, status,"
+                    + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rowsByShard.get(shard));
+        }
+        return ids;
+    }
+
+    private HikariDataSource dataSource(String database) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl("postgres", database));
+        dataSource.setUsername("postgres");
+        dataSource.setMaximumPoolSize(4);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private int countUsers(int shard) {
+        return shards.get(shard).queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    private User newUser(UserStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        UUID id = UUID.randomUUID();
+        return new User(id, new Email(id + "@example.com"), "John", "Doe", null, status, now, now);
+    }
+}
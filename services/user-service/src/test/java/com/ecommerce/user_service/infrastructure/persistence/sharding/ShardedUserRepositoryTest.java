@@ -0,0 +1,400 @@
+package com.ecommerce.user_service.infrastructure.persistence.sharding;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserChangeCursor;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.resilience.PersistenceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShardedUserRepository and ShardRebalancer against three embedded H2 shards
+ * and an embedded H2 index database.
+ */
+
+@DisplayName("Sharded User Repository Tests")
+class ShardedUserRepositoryTest {
+
+    private static final int SHARDS = 3;
+    private static final int BUCKETS = 12;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private ExecutorService executor;
+    private JdbcTemplate index;
+    private ShardRouter router;
+    private ShardedUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < SHARDS; i++) {
+            EmbeddedDatabase shard = database("db/sharding/shard-schema.sql");
+            shards.add(new JdbcTemplate(shard));
+        }
+        index = new JdbcTemplate(database("db/sharding/index-schema.sql"));
+
+        executor = Executors.newFixedThreadPool(SHARDS);
+        router = new ShardRouter(index, BUCKETS, SHARDS);
+        repository = new ShardedUserRepository(shards, index, router, executor, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    @DisplayName("Should store a user only in the shard of its bucket")
+    void shouldStoreUserOnlyInShardOfItsBucket() {
+        // Given
+        User user = newUser("routed@example.com");
+
+        // When
+        repository.save(user);
+
+        // Then
+        int expectedShard = router.shardOf(router.bucketOf(user.getId()));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(shard == expectedShard ? 1 : 0, countUsers(shard));
+        }
+        assertEquals("routed@example.com", repository.findById(user.getId()).orElseThrow().getEmail().getAddress());
+    }
+
+    @Test
+    @DisplayName("Should find user by email through the global index")
+    void shouldFindUserByEmailThroughIndex() {
+        // Given
+        User user = repository.save(newUser("indexed@example.com"));
+
+        // When & Then
+        assertEquals(user.getId(), repository.findByEmail(new Email("indexed@example.com")).orElseThrow().getId());
+        assertTrue(repository.existsByEmail(new Email("indexed@example.com")));
+        assertFalse(repository.existsByEmail(new Email("missing@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should reject the same email for another user on any shard")
+    void shouldRejectDuplicateEmailAcrossShards() {
+        // Given
+        repository.save(newUser("taken@example.com"));
+        User other = newUser("taken@example.com");
+
+        // When & Then
+        assertThrows(DuplicateKeyException.class, () -> repository.save(other));
+        assertTrue(repository.findById(other.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should update an existing user on save")
+    void shouldUpdateExistingUserOnSave() {
+        // Given
+        User user = repository.save(newUser("update@example.com"));
+        user.updateProfile("Jane", "Smith", new PhoneNumber("+34600000000"));
+
+        // When
+        repository.save(user);
+
+        // Then
+        User found = repository.findById(user.getId()).orElseThrow();
+        assertEquals("Jane", found.getFirstName());
+        assertEquals(new PhoneNumber("+34600000000"), found.getPhoneNumber());
+    }
+
+    @Test
+    @DisplayName("Should merge findAllByIds results from all shards")
+    void shouldMergeFindAllByIdsFromAllShards() {
+        // Given
+        List<User> users = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(newUser("user" + i + "@example.com")))
+                .toList();
+        List<UUID> ids = new ArrayList<>(users.stream().map(User::getId).toList());
+        ids.add(UUID.randomUUID());
+
+        // When
+        List<User> found = repository.findAllByIds(ids);
+
+        // Then
+        assertEquals(30, found.size());
+        assertEquals(users.stream().map(User::getId).collect(Collectors.toSet()),
+                found.stream().map(User::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Should remove row and index entry on deleteUser")
+    void shouldRemoveRowAndIndexEntryOnDelete() {
+        // Given
+        User user = repository.save(newUser("deleted@example.com"));
+
+        // When
+        repository.deleteUser(user.getId());
+
+        // Then
+        assertTrue(repository.findById(user.getId()).isEmpty());
+        assertFalse(repository.existsByEmail(new Email("deleted@example.com")));
+        repository.save(newUser("deleted@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should add up the user counts of all shards")
+    void shouldAddUpCountsOfAllShards() {
+        // Given
+        List<User> users = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(newUser("counted" + i + "@example.com")))
+                .toList();
+        users.subList(0, 10).forEach(user -> {
+            user.deactivate();
+            repository.save(user);
+        });
+
+        // When
+        UserCounts counts = repository.countUsers();
+
+        // Then
+        assertEquals(20, counts.count(UserStatus.ACTIVE));
+        assertEquals(10, counts.count(UserStatus.INACTIVE));
+        assertEquals(30, counts.signupsOn(users.get(0).getCreatedAt().toLocalDate()));
+    }
+
+    @Test
+    @DisplayName("Should keep users reachable after moving buckets to another shard")
+    void shouldKeepUsersReachableAfterMovingBuckets() {
+        // Given
+        List<User> users = IntStream.range(0, 50)
+                .mapToObj(i -> repository.save(newUser("moved" + i + "@example.com")))
+                .toList();
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, router, 7, Duration.ZERO, Duration.ZERO);
+
+        // When
+        rebalancer.moveBuckets(0, BUCKETS - 1, 2);
+
+        // Then
+        assertEquals(0, countUsers(0));
+        assertEquals(0, countUsers(1));
+        assertEquals(50, countUsers(2));
+        Set<UUID> ids = users.stream().map(User::getId).collect(Collectors.toSet());
+        assertEquals(50, repository.findAllByIds(ids).size());
+        users.forEach(user -> assertTrue(repository.findById(user.getId()).isPresent()));
+    }
+
+    @Test
+    @DisplayName("Should write to the new shard of a bucket moved by another instance")
+    void shouldWriteToNewShardOfBucketMovedByAnotherInstance() {
+        // Given: another instance, with its own router, moves the bucket of a user
+        User user = repository.save(newUser("stale@example.com"));
+        int bucket = router.bucketOf(user.getId());
+        int source = router.shardOf(bucket);
+        int target = (source + 1) % SHARDS;
+        ShardRouter otherRouter = new ShardRouter(index, BUCKETS, SHARDS);
+        new ShardRebalancer(shards, otherRouter, 7, Duration.ZERO, Duration.ZERO).moveBuckets(bucket, bucket, target);
+
+        // When: this instance has not refreshed its assignments yet
+        user.updateProfile("Jane", "Smith", null);
+        repository.save(user);
+
+        // Then
+        assertEquals(target, router.shardOf(bucket));
+        assertEquals("Jane", repository.findById(user.getId()).orElseThrow().getFirstName());
+        assertEquals(0, countUsers(source));
+        assertEquals(1, countUsers(target));
+    }
+
+    @Test
+    @DisplayName("Should refuse writes to a bucket being moved and keep serving reads")
+    void shouldRefuseWritesToBucketBeingMoved() {
+        // Given: a move has fenced the bucket of a user but not copied it yet
+        User user = repository.save(newUser("fenced@example.com"));
+        int bucket = router.bucketOf(user.getId());
+        router.markMoving(bucket);
+        BucketOwnership.fence(shards.get(router.shardOf(bucket)), bucket);
+
+        // When & Then
+        user.updateProfile("Jane", "Smith", null);
+        assertThrows(PersistenceUnavailableException.class, () -> repository.save(user));
+        assertThrows(PersistenceUnavailableException.class, () -> repository.deleteUser(user.getId()));
+        assertEquals("John", repository.findById(user.getId()).orElseThrow().getFirstName());
+        assertTrue(repository.existsByEmail(new Email("fenced@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should read the change feed across shards page by page, each user once")
+    void shouldReadChangeFeedAcrossShardsPageByPage() {
+        // Given: users sharing one update timestamp, so pages are cut by ID
+        LocalDateTime updatedAt = LocalDateTime.now().withNano(0);
+        Set<UUID> saved = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(new User(UUID.randomUUID(), new Email("feed" + i + "@example.com"),
+                        "John", "Doe", null, UserStatus.ACTIVE, updatedAt, updatedAt)))
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        // When
+        List<UUID> read = new ArrayList<>();
+        UserChangeCursor cursor = UserChangeCursor.from(updatedAt.minusSeconds(1));
+        List<User> page;
+        do {
+            page = repository.findUpdatedAfter(cursor, 7);
+            page.forEach(user -> read.add(user.getId()));
+            if (!page.isEmpty()) {
+                cursor = UserChangeCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == 7);
+
+        // Then
+        assertEquals(30, read.size());
+        assertEquals(saved, new HashSet<>(read));
+    }
+
+    @Test
+    @DisplayName("Should find a user by phone number on any shard")
+    void shouldFindUserByPhoneNumberOnAnyShard() {
+        // Given
+        List<User> users = IntStream.range(0, 10)
+                .mapToObj(i -> {
+                    User user = newUser("phone" + i + "@example.com");
+                    user.updateProfile("John", "Doe", new PhoneNumber("+3460000000" + i));
+                    return repository.save(user);
+                })
+                .toList();
+
+        // When & Then
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(users.get(i), repository.findByPhone(new PhoneNumber("+34 600 000 00" + i)).orElseThrow());
+        }
+        assertTrue(repository.existsByPhone(new PhoneNumber("+34600000003")));
+        assertFalse(repository.existsByPhone(new PhoneNumber("+34600000099")));
+    }
+
+    @Test
+    @DisplayName("Should not miss users whose bucket is moved during findAllByIds")
+    void shouldNotMissUsersWhoseBucketIsMovedDuringFindAllByIds() throws Exception {
+        // Given: shard queries that only start once a move of every bucket has had time to run
+        List<UUID> ids = IntStream.range(0, 30)
+                .mapToObj(i -> repository.save(newUser("moving" + i + "@example.com")).getId())
+                .toList();
+        ShardRebalancer rebalancer = new ShardRebalancer(shards, router, 7, Duration.ZERO, Duration.ZERO);
+        ExecutorService mover = Executors.newSingleThreadExecutor();
+        AtomicReference<Future<Long>> move = new AtomicReference<>();
+        Executor moveFirst = task -> {
+            move.compareAndSet(null, mover.submit(() -> rebalancer.moveBuckets(0, BUCKETS - 1, 2)));
+            try {
+                move.get().get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // The move waits for the buckets being read
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+            executor.execute(task);
+        };
+        ShardedUserRepository reader = new ShardedUserRepository(shards, index, router, moveFirst, moveFirst);
+
+        try {
+            // When
+            List<User> found = reader.findAllByIds(ids);
+
+            // Then
+            assertEquals(30, found.size());
+            move.get().get(5, TimeUnit.SECONDS);
+            assertEquals(30, countUsers(2));
+        } finally {
+            mover.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the email of a user inserted by a concurrent save of the same user")
+    void shouldKeepEmailOfUserInsertedByConcurrentSave() {
+        // Given: another save inserts the same user between the update and the insert of this one
+        User user = newUser("race@example.com");
+        int shard = router.shardOf(router.bucketOf(user.getId()));
+        List<JdbcTemplate> racingShards = new ArrayList<>(shards);
+        racingShards.set(shard, new JdbcTemplate(shards.get(shard).getDataSource()) {
+            private boolean raced;
+
+            @Override
+            public int update(String sql, Object... args) {
+                if (!raced && sql.startsWith("INSERT INTO users")) {
+                    raced = true;
+                    super.update(sql, args);
+                }
+                return super.update(sql, args);
+            }
+        });
+        ShardedUserRepository racing = new ShardedUserRepository(racingShards, index, router, executor, executor);
+
+        // When
+        racing.save(user);
+
+        // Then
+        assertEquals(user.getId(), repository.findByEmail(new Email("race@example.com")).orElseThrow().getId());
+        assertEquals(1, countUsers(shard));
+    }
+
+    @Test
+    @DisplayName("Should release the email when the shard write fails")
+    void shouldReleaseEmailWhenShardWriteFails() {
+        // Given: two users of one shard with the same phone number, which is unique within a shard
+        User first = newUser("first@example.com");
+        first.updateProfile("John", "Doe", new PhoneNumber("+34600000001"));
+        repository.save(first);
+        User second = newUser("second@example.com");
+        while (router.shardOf(router.bucketOf(second.getId())) != router.shardOf(router.bucketOf(first.getId()))) {
+            second = newUser("second@example.com");
+        }
+        second.updateProfile("Jane", "Doe", new PhoneNumber("+34600000001"));
+        User conflicting = second;
+
+        // When & Then
+        assertThrows(DuplicateKeyException.class, () -> repository.save(conflicting));
+        assertFalse(repository.existsByEmail(new Email("second@example.com")));
+        assertTrue(repository.existsByEmail(new Email("first@example.com")));
+    }
+
+    private EmbeddedDatabase database(String script) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript(script)
+                .build();
+        databases.add(database);
+        return database;
+    }
+
+    private int countUsers(int shard) {
+        return shards.get(shard).queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    private User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+}
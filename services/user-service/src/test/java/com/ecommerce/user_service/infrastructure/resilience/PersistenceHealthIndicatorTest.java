@@ -0,0 +1,52 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PersistenceHealthIndicator, probing an in-memory H2 database or an unreachable one.
+ */
+
+@DisplayName("Persistence Health Indicator Tests")
+class PersistenceHealthIndicatorTest {
+
+    @Test
+    @DisplayName("Should report the outcome of the last probe without querying the database")
+    void shouldReportLastProbe() {
+        try (PersistenceHealthIndicator indicator = new PersistenceHealthIndicator(
+                QueryTimeoutDataSourceTest.h2(), new PersistenceResilienceProperties.Health(), Optional.empty())) {
+            // Given
+            assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+
+            // When
+            indicator.probe();
+
+            // Then
+            Health health = indicator.health();
+            assertEquals(Status.UP, health.getStatus());
+            assertTrue(health.getDetails().containsKey("latencyMs"));
+            assertTrue(health.getDetails().containsKey("checkedAt"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report DOWN when the probe fails")
+    void shouldReportFailedProbe() {
+        try (PersistenceHealthIndicator indicator = new PersistenceHealthIndicator(
+                new DriverManagerDataSource("jdbc:h2:mem:unknown;IFEXISTS=TRUE"),
+                new PersistenceResilienceProperties.Health(), Optional.empty())) {
+            // When
+            indicator.probe();
+
+            // Then
+            assertEquals(Status.DOWN, indicator.health().getStatus());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryTimeoutDataSource and QueryTimeouts, on an in-memory H2 database.
+ */
+
+@DisplayName("Query Timeout DataSource Tests")
+class QueryTimeoutDataSourceTest {
+
+    private final QueryTimeoutDataSource dataSource = new QueryTimeoutDataSource(h2());
+
+    @Test
+    @DisplayName("Should set the current timeout, rounded up to seconds, on statements created meanwhile")
+    void shouldSetCurrentTimeoutOnStatements() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            // When
+            int[] timeouts = QueryTimeouts.apply(Duration.ofMillis(1500), () -> {
+                try (Statement statement = connection.createStatement();
+                     PreparedStatement prepared = connection.prepareStatement("SELECT 1")) {
+                    return new int[]{statement.getQueryTimeout(), prepared.getQueryTimeout()};
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // Then
+            assertArrayEquals(new int[]{2, 2}, timeouts);
+        }
+        // H2 keeps a statement timeout for the whole session, so check outside of a call on another connection
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    @DisplayName("Should run tasks with the timeout of the submitting thread")
+    void shouldPropagateTimeoutToExecutor() {
+        // Given
+        ExecutorService threads = Executors.newSingleThreadExecutor();
+        Executor executor = QueryTimeouts.propagating(threads);
+
+        try {
+            // When
+            Integer inTask = QueryTimeouts.apply(Duration.ofSeconds(30), () ->
+                    CompletableFuture.supplyAsync(QueryTimeouts::currentSeconds, executor).join());
+            Integer afterTask = CompletableFuture.supplyAsync(QueryTimeouts::currentSeconds, threads).join();
+
+            // Then
+            assertEquals(30, inTask);
+            assertNull(afterTask);
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:resilience");
+        return h2;
+    }
+}
@@ -0,0 +1,222 @@
+package com.ecommerce.user_service.infrastructure.resilience;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserSearchPage;
+import com.ecommerce.user_service.domain.model.UserSearchQuery;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResilientUserRepository, around an in-memory backend that injects faults.
+ */
+
+@DisplayName("Resilient User Repository Tests")
+class ResilientUserRepositoryTest {
+
+    private final FaultyUserRepository backend = new FaultyUserRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PersistenceResilienceProperties properties = properties();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("persistence",
+            PersistenceResilienceConfig.circuitBreakerConfig(properties.getCircuitBreaker()));
+    private final ResilientUserRepository repository = new ResilientUserRepository(backend, circuitBreaker,
+            Bulkhead.of("reads", PersistenceResilienceConfig.bulkheadConfig(properties.getReads())),
+            Bulkhead.of("writes", PersistenceResilienceConfig.bulkheadConfig(properties.getWrites())),
+            properties, meterRegistry);
+
+    @Test
+    @DisplayName("Should open the circuit on database failures and serve cached users meanwhile")
+    void shouldOpenCircuitAndServeCachedUsers() {
+        // Given
+        User user = repository.save(newUser("john@example.com"));
+        backend.fault = new QueryTimeoutException("Statement canceled");
+
+        // When: with the save, the failure rate reaches 75% over the window of 4 calls
+        for (int i = 0; i < 3; i++) {
+            assertThrows(QueryTimeoutException.class, () -> repository.search(new UserSearchQuery("john", 10, null)));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, repository.circuitState());
+        int callsBefore = backend.calls;
+        assertEquals(Optional.of(user.snapshot()), repository.findSnapshotById(user.getId()));
+        assertEquals(user.getId(), repository.findByEmail(new Email("john@example.com")).orElseThrow().getId());
+        assertEquals(List.of(user.snapshot()), repository.findSnapshotsByIds(List.of(user.getId())));
+        assertEquals(callsBefore, backend.calls);
+        assertEquals(3, meterRegistry.counter("user.persistence.fallback.reads", "operation", "find-by-id").count()
+                + meterRegistry.counter("user.persistence.fallback.reads", "operation", "find-by-email").count()
+                + meterRegistry.counter("user.persistence.fallback.reads", "operation", "find-all-by-ids").count());
+
+        UUID unknownId = UUID.randomUUID();
+        assertThrows(PersistenceUnavailableException.class, () -> repository.findById(unknownId));
+        assertThrows(PersistenceUnavailableException.class,
+                () -> repository.findAllByIds(List.of(user.getId(), unknownId)));
+        assertThrows(PersistenceUnavailableException.class, () -> repository.save(newUser("jane@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should not count business errors toward opening the circuit")
+    void shouldNotCountBusinessErrors() {
+        // Given
+        backend.fault = new DataIntegrityViolationException("Duplicate email");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DataIntegrityViolationException.class, () -> repository.save(newUser("john@example.com")));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, repository.circuitState());
+    }
+
+    @Test
+    @DisplayName("Should refuse reads beyond the read bulkhead while writes go through")
+    void shouldRefuseReadsBeyondBulkhead() throws Exception {
+        // Given
+        User user = repository.save(newUser("john@example.com"));
+        backend.blockReads = new CountDownLatch(1);
+        CompletableFuture<UserSearchPage> slowSearch = CompletableFuture.supplyAsync(
+                () -> repository.search(new UserSearchQuery("john", 10, null)));
+        assertTrue(backend.readStarted.await(5, TimeUnit.SECONDS));
+
+        try {
+            // When / Then
+            assertEquals(0, repository.availableReadPermits());
+            assertThrows(PersistenceUnavailableException.class,
+                    () -> repository.search(new UserSearchQuery("jane", 10, null)));
+            // The refused lookup is served from the cache
+            assertEquals(Optional.of(user.snapshot()), repository.findSnapshotById(user.getId()));
+            assertNotNull(repository.save(newUser("jane@example.com")));
+        } finally {
+            backend.blockReads.countDown();
+        }
+        assertNotNull(slowSearch.get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, repository.circuitState());
+    }
+
+    @Test
+    @DisplayName("Should run each operation with its own query timeout")
+    void shouldApplyQueryTimeoutPerOperation() {
+        // When
+        repository.search(new UserSearchQuery("john", 10, null));
+        Integer searchTimeout = backend.lastTimeoutSeconds;
+        repository.findById(UUID.randomUUID());
+        Integer lookupTimeout = backend.lastTimeoutSeconds;
+
+        // Then
+        assertEquals(5, searchTimeout);
+        assertEquals(2, lookupTimeout);
+        assertNull(QueryTimeouts.currentSeconds());
+    }
+
+    @Test
+    @DisplayName("Should drop users from the fallback cache when their status is updated")
+    void shouldInvalidateCacheOnStatusUpdate() {
+        // Given
+        User user = repository.save(newUser("john@example.com"));
+        repository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+
+        // When
+        backend.fault = new QueryTimeoutException("Statement canceled");
+
+        // Then
+        assertThrows(QueryTimeoutException.class, () -> repository.findSnapshotById(user.getId()));
+    }
+
+    private static PersistenceResilienceProperties properties() {
+        PersistenceResilienceProperties properties = new PersistenceResilienceProperties();
+        properties.setQueryTimeouts(Map.of("search", Duration.ofSeconds(5)));
+        properties.getReads().setMaxConcurrentCalls(1);
+        properties.getReads().setMaxWait(Duration.ZERO);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private static User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+
+    /**
+     * In-memory users whose calls fail with a given exception or block on a latch,
+     * and which record the query timeout they were called with.
+     */
+    private static class FaultyUserRepository extends InMemoryUserRepository {
+
+        volatile RuntimeException fault;
+        volatile CountDownLatch blockReads;
+        final CountDownLatch readStarted = new CountDownLatch(1);
+        volatile Integer lastTimeoutSeconds;
+        volatile int calls;
+
+        @Override
+        public User save(User user) {
+            enter(false);
+            return super.save(user);
+        }
+
+        @Override
+        public Optional<UserSnapshot> findSnapshotById(UUID id) {
+            enter(true);
+            return super.findSnapshotById(id);
+        }
+
+        @Override
+        public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+            enter(true);
+            return super.findSnapshotsByIds(ids);
+        }
+
+        @Override
+        public Optional<User> findByEmail(Email email) {
+            enter(true);
+            return super.findByEmail(email);
+        }
+
+        @Override
+        public UserSearchPage search(UserSearchQuery query) {
+            enter(true);
+            return super.search(query);
+        }
+
+        private void enter(boolean read) {
+            calls++;
+            lastTimeoutSeconds = QueryTimeouts.currentSeconds();
+            if (fault != null) {
+                throw fault;
+            }
+            CountDownLatch latch = blockReads;
+            if (read && latch != null) {
+                readStarted.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.user_service.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashingExecutor load shedding.
+ */
+
+@DisplayName("Hashing Executor Tests")
+class HashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should shed tasks when the queue is full")
+    void shouldShedTasksWhenQueueIsFull() throws Exception {
+        // Given
+        executor = new HashingExecutor(1, 1, Duration.ofHours(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        started.await();
+        CompletableFuture<String> queued = executor.submit(() -> "second");
+
+        // When
+        CompletableFuture<String> shed = executor.submit(() -> "third");
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, shed::join);
+        assertInstanceOf(HashingOverloadedException.class, exception.getCause());
+        assertEquals(1, executor.getShedTaskCount());
+        release.countDown();
+        assertEquals("first", running.join());
+        assertEquals("second", queued.join());
+    }
+
+    @Test
+    @DisplayName("Should shed tasks when the expected wait exceeds the maximum")
+    void shouldShedTasksWhenExpectedWaitIsTooLong() throws Exception {
+        // Given: tasks known to take about 50 ms, and one already waiting
+        executor = new HashingExecutor(1, 100, Duration.ofMillis(10));
+        executor.submit(() -> sleep(50)).join();
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        started.await();
+        executor.submit(() -> null);
+
+        // When
+        CompletableFuture<Object> shed = executor.submit(() -> null);
+
+        // Then
+        assertTrue(executor.expectedWaitNanos() > Duration.ofMillis(10).toNanos());
+        CompletionException exception = assertThrows(CompletionException.class, shed::join);
+        assertInstanceOf(HashingOverloadedException.class, exception.getCause());
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
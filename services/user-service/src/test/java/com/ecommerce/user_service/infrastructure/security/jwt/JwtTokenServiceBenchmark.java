@@ -0,0 +1,86 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification throughput of JwtTokenService, without (claimsCacheSize=0) and with the
+ * verified claims cache, over 1000 live tokens and a revocation set of 1000 users.
+ * Issuance is measured too, as it signs with RSA on every call.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private static final int TOKENS = 1000;
+    private static final int REVOKED_USERS = 1000;
+
+    @Param({"0", "10000"})
+    public int claimsCacheSize;
+
+    private final String[] tokens = new String[TOKENS];
+    private User user;
+    private JwtTokenService tokenService;
+
+    @Setup
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        JwtProperties properties = new JwtProperties();
+        properties.setClaimsCacheSize(claimsCacheSize);
+        TokenRevocations revocations = new TokenRevocations(userRepository,
+                properties.getTokenTtl(), properties.getRevocationOverlap(), 1000, Clock.systemDefaultZone());
+        tokenService = new JwtTokenService(
+                new JwtSigningKeys(new InMemoryJwtKeyStore(), properties.getKeyRotationInterval(),
+                        properties.getKeyPublicationLead(), properties.getTokenTtl(), Clock.systemUTC()),
+                revocations, properties, Clock.systemUTC());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < REVOKED_USERS; i++) {
+            userRepository.save(new User(UUID.randomUUID(), new Email("revoked" + i + "@example.com"),
+                    "John", "Doe", null, UserStatus.INACTIVE, now, now));
+        }
+        revocations.refresh();
+
+        user = userRepository.save(new User(UUID.randomUUID(), new Email("active@example.com"),
+                "John", "Doe", null, UserStatus.ACTIVE, now, now));
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = tokenService.issue(user).value();
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenService.verify(tokens[ThreadLocalRandom.current().nextInt(TOKENS)]);
+    }
+
+    @Benchmark
+    public Object issue() {
+        return tokenService.issue(user);
+    }
+}
@@ -0,0 +1,175 @@
+package com.ecommerce.user_service.infrastructure.security.jwt;
+
+import com.ecommerce.user_service.domain.model.AccessToken;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtTokenService, JwtSigningKeys (with in-memory key stores) and TokenRevocations.
+ */
+
+@DisplayName("JWT Token Service Tests")
+class JwtTokenServiceTest {
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final JwtProperties properties = new JwtProperties();
+    private final JwtSigningKeys signingKeys = newSigningKeys(new InMemoryJwtKeyStore(), Clock.systemUTC());
+    private final TokenRevocations revocations = new TokenRevocations(userRepository,
+            Duration.ofMinutes(16), Duration.ofSeconds(5), 100, Clock.systemDefaultZone());
+    private final JwtTokenService tokenService =
+            new JwtTokenService(signingKeys, revocations, properties, Clock.systemUTC());
+
+    @Test
+    @DisplayName("Should verify a token it issued")
+    void shouldVerifyIssuedToken() {
+        // Given
+        User user = userRepository.save(newUser());
+
+        // When
+        AccessToken token = tokenService.issue(user);
+
+        // Then
+        VerifiedToken verified = tokenService.verify(token.value());
+        assertEquals(user.getId(), verified.userId());
+        assertEquals(token.expiresAt().getEpochSecond(), verified.expiresAt().getEpochSecond());
+        assertSame(verified, tokenService.verify(token.value()));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = tokenService.issue(userRepository.save(newUser())).value();
+        String[] parts = token.split("\\.");
+        String otherSubject = tokenService.issue(userRepository.save(newUser())).value().split("\\.")[1];
+
+        // When & Then
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(parts[0] + "." + otherSubject + "." + parts[2]));
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify("not-a-token"));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of deactivated users after a refresh, and accept them again on reactivation")
+    void shouldRevokeTokensOfDeactivatedUsers() {
+        // Given
+        User user = userRepository.save(newUser());
+        String token = tokenService.issue(user).value();
+        tokenService.verify(token);
+
+        // When
+        userRepository.updateStatus(List.of(user.getId()), UserStatus.INACTIVE);
+        revocations.refresh();
+
+        // Then
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(token));
+        assertEquals(1, revocations.size());
+
+        userRepository.updateStatus(List.of(user.getId()), UserStatus.ACTIVE);
+        revocations.refresh();
+        assertEquals(user.getId(), tokenService.verify(token).userId());
+        assertEquals(0, revocations.size());
+    }
+
+    @Test
+    @DisplayName("Should sign with the same key and publish the same keys on every instance sharing the key store")
+    void shouldShareKeysAcrossInstances() {
+        // Given
+        InMemoryJwtKeyStore store = new InMemoryJwtKeyStore();
+        JwtSigningKeys first = newSigningKeys(store, Clock.systemUTC());
+        JwtSigningKeys second = newSigningKeys(store, Clock.systemUTC());
+
+        // When
+        String token = new JwtTokenService(first, revocations, properties, Clock.systemUTC())
+                .issue(userRepository.save(newUser())).value();
+
+        // Then
+        assertEquals(first.currentKeyId(), second.currentKeyId());
+        assertEquals(first.publicKeys().toString(), second.publicKeys().toString());
+        assertEquals(2, second.publicKeys().getKeys().size());
+        assertDoesNotThrow(() -> new JwtTokenService(second, revocations, properties, Clock.systemUTC()).verify(token));
+    }
+
+    @Test
+    @DisplayName("Should rotate the shared keys once, and keep verifying tokens of a replaced key until they expire")
+    void shouldRotateSharedKeysOnceAndVerifyTokensWithinRetention() throws Exception {
+        // Given: two instances sharing a key store, and a token signed with the first key
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(start);
+        InMemoryJwtKeyStore store = new InMemoryJwtKeyStore();
+        JwtSigningKeys first = newSigningKeys(store, clock);
+        JwtSigningKeys second = newSigningKeys(store, clock);
+        JwtProperties noCache = new JwtProperties();
+        noCache.setClaimsCacheSize(0);
+        JwtTokenService service = new JwtTokenService(second, revocations, noCache, Clock.systemUTC());
+        String firstKeyId = first.currentKeyId();
+        String token = new JwtTokenService(first, revocations, noCache, Clock.systemUTC())
+                .issue(userRepository.save(newUser())).value();
+
+        // When: the next key takes over and both instances refresh
+        clock.now = start.plus(Duration.ofHours(24)).plus(Duration.ofMinutes(1));
+        first.refresh();
+        second.refresh();
+
+        // Then: one rotation, the next key signs on both, the replaced key still verifies
+        assertEquals(3, JWKSet.parse(store.load()).getKeys().size());
+        assertNotEquals(firstKeyId, first.currentKeyId());
+        assertEquals(first.currentKeyId(), second.currentKeyId());
+        assertEquals(first.publicKeys().toString(), second.publicKeys().toString());
+        assertDoesNotThrow(() -> service.verify(token));
+
+        clock.now = start.plus(Duration.ofHours(24)).plus(Duration.ofMinutes(20));
+        second.refresh();
+        assertThrows(InvalidTokenException.class, () -> service.verify(token));
+        assertEquals(2, second.publicKeys().getKeys().size());
+    }
+
+    private static JwtSigningKeys newSigningKeys(JwtKeyStore store, Clock clock) {
+        return new JwtSigningKeys(store, Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofMinutes(16), clock);
+    }
+
+    private static User newUser() {
+        LocalDateTime now = LocalDateTime.now().minusSeconds(1);
+        return new User(UUID.randomUUID(), new Email(UUID.randomUUID() + "@example.com"), "John", "Doe", null,
+                UserStatus.ACTIVE, now, now);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
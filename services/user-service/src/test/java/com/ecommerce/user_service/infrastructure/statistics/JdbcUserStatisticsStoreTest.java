@@ -0,0 +1,74 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JdbcUserStatisticsStore, on H2 with db/schema/user-statistics.sql.
+ */
+
+@JdbcTest(properties = "spring.sql.init.schema-locations=classpath:db/schema/user-statistics.sql")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JDBC User Statistics Store Tests")
+class JdbcUserStatisticsStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcUserStatisticsStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JdbcUserStatisticsStore(jdbcTemplate, new TransactionTemplate(transactionManager));
+        store.replace(UserCounts.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should add deltas to the counters, creating missing rows")
+    void shouldAddDeltas() {
+        // Given
+        store.add(new UserCounts(Map.of(UserStatus.ACTIVE, 3L), Map.of(DAY, 3L)));
+
+        // When
+        store.add(new UserCounts(Map.of(UserStatus.ACTIVE, -1L, UserStatus.DELETED, 1L),
+                Map.of(DAY, 1L, DAY.plusDays(1), 2L)));
+
+        // Then
+        assertEquals(new UserCounts(Map.of(UserStatus.ACTIVE, 2L, UserStatus.DELETED, 1L),
+                Map.of(DAY, 4L, DAY.plusDays(1), 2L)), store.load());
+    }
+
+    @Test
+    @DisplayName("Should replace all counters")
+    void shouldReplaceCounters() {
+        // Given
+        store.add(new UserCounts(Map.of(UserStatus.ACTIVE, 3L), Map.of(DAY, 3L)));
+        UserCounts recount = new UserCounts(Map.of(UserStatus.INACTIVE, 5L), Map.of(DAY.minusDays(1), 5L));
+
+        // When
+        store.replace(recount);
+
+        // Then
+        assertEquals(recount, store.load());
+    }
+}
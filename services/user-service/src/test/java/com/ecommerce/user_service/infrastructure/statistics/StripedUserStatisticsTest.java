@@ -0,0 +1,165 @@
+package com.ecommerce.user_service.infrastructure.statistics;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserCounts;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.model.UserStatusTransition;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StripedUserStatistics, with in-memory users and store.
+ */
+
+@DisplayName("Striped User Statistics Tests")
+class StripedUserStatisticsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final FailingStore store = new FailingStore();
+    private final StripedUserStatistics statistics = new StripedUserStatistics(store, userRepository);
+
+    @Test
+    @DisplayName("Should count concurrent changes exactly, before and after a flush")
+    void shouldCountConcurrentChanges() {
+        // Given
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    statistics.recordSignup(TODAY, UserStatus.ACTIVE);
+                    statistics.recordTransitions(List.of(
+                            new UserStatusTransition(UserStatus.ACTIVE, UserStatus.INACTIVE)));
+                }
+            }));
+        }
+
+        // When
+        writers.forEach(CompletableFuture::join);
+
+        // Then
+        assertEquals(0, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(4000, statistics.countByStatus(UserStatus.INACTIVE));
+        assertEquals(4000, statistics.signupsOn(TODAY));
+
+        statistics.flush();
+        assertEquals(4000, store.load().count(UserStatus.INACTIVE));
+        assertEquals(4000, statistics.countByStatus(UserStatus.INACTIVE));
+        assertEquals(4000, statistics.signupsOn(TODAY));
+    }
+
+    @Test
+    @DisplayName("Should keep the changes of a failed flush for the next one")
+    void shouldKeepChangesOfFailedFlush() {
+        // Given
+        statistics.recordSignup(TODAY, UserStatus.ACTIVE);
+        store.failing = true;
+
+        // When
+        statistics.flush();
+
+        // Then
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+        assertTrue(store.load().isEmpty());
+
+        store.failing = false;
+        statistics.flush();
+        assertEquals(1, store.load().count(UserStatus.ACTIVE));
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should not flush the changes again when reading back the store fails")
+    void shouldNotFlushChangesTwiceWhenReadBackFails() {
+        // Given
+        statistics.recordSignup(TODAY, UserStatus.ACTIVE);
+        store.failingLoad = true;
+
+        // When
+        statistics.flush();
+
+        // Then
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(1, statistics.signupsOn(TODAY));
+
+        store.failingLoad = false;
+        statistics.flush();
+        assertEquals(1, store.load().count(UserStatus.ACTIVE));
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should read back the changes flushed by other instances")
+    void shouldReadBackOtherInstancesChanges() {
+        // Given
+        statistics.recordSignup(TODAY, UserStatus.ACTIVE);
+        store.add(new UserCounts(Map.of(UserStatus.ACTIVE, 2L), Map.of(TODAY, 2L)));
+
+        // When
+        statistics.flush();
+
+        // Then
+        assertEquals(3, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(3, statistics.signupsOn(TODAY));
+    }
+
+    @Test
+    @DisplayName("Should correct drift from unrecorded changes on reconciliation")
+    void shouldCorrectDriftOnReconciliation() {
+        // Given
+        LocalDateTime createdAt = TODAY.atTime(10, 0);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = userRepository.save(new User(UUID.randomUUID(), new Email("user" + i + "@example.com"),
+                    "John", "Doe", null, UserStatus.ACTIVE, createdAt, createdAt));
+            statistics.recordSignup(TODAY, UserStatus.ACTIVE);
+            ids.add(user.getId());
+        }
+        // Bulk updates are not recorded
+        userRepository.updateStatus(ids.subList(0, 2), UserStatus.INACTIVE);
+
+        // When
+        statistics.reconcile();
+
+        // Then
+        assertEquals(1, statistics.countByStatus(UserStatus.ACTIVE));
+        assertEquals(2, statistics.countByStatus(UserStatus.INACTIVE));
+        assertEquals(3, statistics.signupsOn(TODAY));
+        assertEquals(userRepository.countUsers(), store.load());
+    }
+
+    private static class FailingStore extends InMemoryUserStatisticsStore {
+
+        private volatile boolean failing;
+        private volatile boolean failingLoad;
+
+        @Override
+        public synchronized void add(UserCounts deltas) {
+            if (failing) {
+                throw new IllegalStateException("Store unavailable");
+            }
+            super.add(deltas);
+        }
+
+        @Override
+        public synchronized UserCounts load() {
+            if (failingLoad) {
+                throw new IllegalStateException("Store unavailable");
+            }
+            return super.load();
+        }
+    }
+}
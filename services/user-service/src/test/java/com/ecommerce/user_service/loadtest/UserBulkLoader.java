@@ -0,0 +1,155 @@
+package com.ecommerce.user_service.loadtest;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.infrastructure.persistence.jdbc.UserCountQuery;
+import com.ecommerce.user_service.infrastructure.statistics.JdbcUserStatisticsStore;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads generated users into the users table of a PostgreSQL database with COPY, the fastest way in.
+ * - Several threads, each with its own connection, copy batches of consecutive indexes
+ * - Each batch is a COPY statement and is committed on its own, so progress survives a failure
+ *   (restart with the offset of the first missing batch)
+ * - Works on the plain and on the hash-partitioned users table; the user_emails trigger of the latter
+ *   fires for copied rows too
+ * Afterwards the table is analyzed and the user statistics counters are recounted, as the nightly
+ * reconciliation would.
+ */
+
+public class UserBulkLoader {
+
+    private static final String COPY_USERS = "COPY users (id, email, first_name, last_name, phone_number, status,"
+            + " created_at, updated_at) FROM STDIN (FORMAT csv)";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final UserDataGenerator generator;
+    private final DataSource dataSource;
+    private final int threads;
+    private final int batchSize;
+
+    public UserBulkLoader(UserDataGenerator generator, DriverManagerDataSource dataSource, int threads, int batchSize) {
+        this.generator = generator;
+        this.dataSource = dataSource;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads the users with indexes [offset, offset + count) and prints the progress.
+     */
+    public void load(long offset, long count) {
+        AtomicLong nextBatch = new AtomicLong(offset);
+        AtomicLong loaded = new AtomicLong();
+        long end = offset + count;
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> loaders = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                loaders.add(CompletableFuture.runAsync(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        PGConnection postgres = connection.unwrap(PGConnection.class);
+                        for (long from = nextBatch.getAndAdd(batchSize); from < end;
+                             from = nextBatch.getAndAdd(batchSize)) {
+                            long to = Math.min(end, from + batchSize);
+                            copy(postgres, from, to);
+                            report(loaded.addAndGet(to - from), count, start);
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Bulk load failed", e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(loaders.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("ANALYZE users");
+        recountStatistics(jdbc);
+        System.out.printf("Loaded %,d users in %.1f s%n", count, (System.nanoTime() - start) / 1e9);
+    }
+
+    private void copy(PGConnection postgres, long from, long to) throws SQLException {
+        CopyIn copy = postgres.getCopyAPI().copyIn(COPY_USERS);
+        try {
+            StringBuilder rows = new StringBuilder(CHUNK_BYTES + 512);
+            for (long index = from; index < to; index++) {
+                appendRow(rows, generator.user(index));
+                if (rows.length() >= CHUNK_BYTES) {
+                    write(copy, rows);
+                }
+            }
+            write(copy, rows);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copy, StringBuilder rows) throws SQLException {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+
+    static void appendRow(StringBuilder rows, User user) {
+        rows.append(user.getId()).append(',');
+        appendField(rows, user.getEmail().getAddress()).append(',');
+        appendField(rows, user.getFirstName()).append(',');
+        appendField(rows, user.getLastName()).append(',');
+        // An unquoted empty field is NULL in CSV format
+        if (user.getPhoneNumber() != null) {
+            appendField(rows, user.getPhoneNumber().getValue());
+        }
+        rows.append(',').append(user.getStatus().name())
+                .append(',').append(TIMESTAMP.format(user.getCreatedAt()))
+                .append(',').append(TIMESTAMP.format(user.getUpdatedAt()))
+                .append('\n');
+    }
+
+    private static StringBuilder appendField(StringBuilder rows, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && !value.isEmpty()) {
+            return rows.append(value);
+        }
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void recountStatistics(JdbcTemplate jdbc) {
+        Integer tables = jdbc.queryForObject(
+                "SELECT count(*) FROM information_schema.tables WHERE table_name = 'user_status_counts'", Integer.class);
+        if (tables == null || tables == 0) {
+            System.out.println("No user statistics tables, counters not recounted");
+            return;
+        }
+        new JdbcUserStatisticsStore(jdbc, new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+                .replace(UserCountQuery.count(jdbc));
+    }
+
+    private static void report(long loaded, long count, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d / %,d users, %,.0f rows/s%n", loaded, count, loaded / seconds);
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.user_service.loadtest;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic generator of realistic users for capacity tests.
+ * The id and email of the user at a given index only depend on the seed, so the seeder and the workload
+ * driver agree on them without sharing any state: the driver looks up user #n by generating it again
+ * (dates also depend on the reference time). Users are valid domain objects (the User constructor and Email validate them).
+ * Distributions are skewed the way production data is, not uniform:
+ * - Status: 82% ACTIVE, 13% INACTIVE, 5% DELETED by default
+ * - Email domains: 80% from a few consumer providers, 20% from a long tail of company domains, Zipf in both
+ * - Email local parts: several "first.last" styles, made unique by the index
+ * - Name lengths: mostly 4-8 characters, with a long tail of compound names up to the column limit (100)
+ * - Phone numbers: 70% of users, E.164 with a skewed country mix; the last 8 digits are the index,
+ *   so they are unique (like idx_user_phone requires) for up to 100 million users
+ * - Sign-up dates: over the last two years, growing toward the reference time; 30% updated since
+ */
+
+public class UserDataGenerator {
+
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private static final List<String> PROVIDERS = List.of(
+            "gmail.com", "yahoo.com", "hotmail.com", "outlook.com", "icloud.com", "aol.com",
+            "protonmail.com", "gmx.de", "mail.ru", "yandex.ru", "live.com", "msn.com");
+
+    private static final String[] SYLLABLES = {
+            "a", "al", "an", "ar", "be", "ca", "da", "de", "el", "en", "fa", "ga", "ha", "ia", "is", "jo",
+            "ka", "la", "le", "li", "lo", "ma", "mi", "na", "ne", "no", "ra", "re", "ri", "ro", "sa", "se",
+            "so", "ta", "te", "ti", "to", "va", "vi", "ya", "za", "ck", "son", "ez", "ova", "berg", "ski"};
+
+    /**
+     * Weights of the name lengths 2 to 12; longer names come from compound names.
+     */
+    private static final double[] NAME_LENGTH_WEIGHTS = {1, 4, 14, 20, 20, 15, 10, 7, 4, 3, 2};
+
+    private static final String[] COUNTRY_CODES = {"1", "34", "44", "49", "33", "52", "54", "91", "81"};
+    private static final double[] COUNTRY_CODE_WEIGHTS = {30, 20, 12, 10, 8, 7, 5, 5, 3};
+
+    private static final double[] EMAIL_STYLE_WEIGHTS = {45, 25, 20, 10};
+
+    private final long seed;
+    private final Settings settings;
+    private final LocalDateTime now;
+    private final WeightedChoice<UserStatus> statuses;
+    private final WeightedChoice<Integer> nameLengths;
+    private final WeightedChoice<String> countryCodes;
+    private final WeightedChoice<EmailStyle> emailStyles;
+    private final ZipfSampler providers;
+    private final ZipfSampler companies;
+
+    public UserDataGenerator(long seed, Settings settings, LocalDateTime now) {
+        this.seed = seed;
+        this.settings = settings;
+        this.now = now.truncatedTo(ChronoUnit.SECONDS);
+        // Ordered maps only: the choices must not depend on the iteration order of the JVM run
+        this.statuses = new WeightedChoice<>(new EnumMap<>(settings.statusMix()));
+        this.providers = new ZipfSampler(PROVIDERS.size(), settings.domainSkew());
+        this.companies = new ZipfSampler(settings.companyDomains(), settings.domainSkew());
+
+        Map<String, Double> countryCodes = new LinkedHashMap<>();
+        for (int i = 0; i < COUNTRY_CODES.length; i++) {
+            countryCodes.put(COUNTRY_CODES[i], COUNTRY_CODE_WEIGHTS[i]);
+        }
+        this.countryCodes = new WeightedChoice<>(countryCodes);
+
+        Map<EmailStyle, Double> emailStyles = new EnumMap<>(EmailStyle.class);
+        for (EmailStyle style : EmailStyle.values()) {
+            emailStyles.put(style, EMAIL_STYLE_WEIGHTS[style.ordinal()]);
+        }
+        this.emailStyles = new WeightedChoice<>(emailStyles);
+
+        Map<Integer, Double> lengths = new LinkedHashMap<>();
+        for (int i = 0; i < NAME_LENGTH_WEIGHTS.length; i++) {
+            lengths.put(i + 2, NAME_LENGTH_WEIGHTS[i]);
+        }
+        this.nameLengths = new WeightedChoice<>(lengths);
+    }
+
+    /**
+     * Generates the user at an index.
+     *
+     * @param index the index of the user, from 0
+     * @return the same user for the same index, seed and reference time
+     */
+    public User user(long index) {
+        SplittableRandom random = random(index);
+
+        UUID id = new UUID(random.nextLong() & 0xFFFFFFFFFFFF0FFFL | 0x4000L,
+                random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L);
+        Profile profile = profile(random);
+        String email = localPart(profile, random) + "." + Long.toString(index, 36) + "@" + domain(random);
+
+        // 1 - sqrt(u) leans toward 0: more recent sign-ups than old ones
+        long secondsAgo = (long) (settings.days() * 86_400L * (1 - Math.sqrt(random.nextDouble())));
+        LocalDateTime createdAt = now.minusSeconds(secondsAgo);
+        LocalDateTime updatedAt = random.nextDouble() < 0.3
+                ? createdAt.plusSeconds((long) (random.nextDouble() * ChronoUnit.SECONDS.between(createdAt, now)))
+                : createdAt;
+
+        PhoneNumber phoneNumber = profile.phoneNumber() != null
+                ? new PhoneNumber(withIndex(profile.phoneNumber(), index))
+                : null;
+
+        return new User(id, new Email(email), profile.firstName(), profile.lastName(), phoneNumber,
+                statuses.next(random), createdAt, updatedAt);
+    }
+
+    /**
+     * Generates new profile data, e.g. for profile updates.
+     */
+    public Profile profile(SplittableRandom random) {
+        String phoneNumber = random.nextDouble() < settings.phoneRatio() ? phoneNumber(random) : null;
+        return new Profile(name(random, 0.03), name(random, 0.12), phoneNumber);
+    }
+
+    /**
+     * Returns the random numbers of a user: independent of other indexes, the same on every call.
+     */
+    SplittableRandom random(long index) {
+        return new SplittableRandom(new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L)).nextLong());
+    }
+
+    /**
+     * A name of skewed length; with the given probability, a compound name of two to five parts.
+     */
+    private String name(SplittableRandom random, double compoundRatio) {
+        int parts = random.nextDouble() < compoundRatio ? 2 + random.nextInt(random.nextDouble() < 0.9 ? 1 : 4) : 1;
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < parts && name.length() < MAX_NAME_LENGTH - 3; i++) {
+            if (i > 0) {
+                name.append(random.nextBoolean() ? '-' : ' ');
+            }
+            int length = nameLengths.next(random);
+            StringBuilder part = new StringBuilder();
+            while (part.length() < length) {
+                part.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            part.setLength(length);
+            part.setCharAt(0, Character.toUpperCase(part.charAt(0)));
+            name.append(part);
+        }
+        name.setLength(Math.min(name.length(), MAX_NAME_LENGTH));
+        return name.toString().strip();
+    }
+
+    private String localPart(Profile profile, SplittableRandom random) {
+        String first = asciiLetters(profile.firstName());
+        String last = asciiLetters(profile.lastName());
+        String localPart = switch (emailStyles.next(random)) {
+            case FIRST_DOT_LAST -> first + "." + last;
+            case INITIAL_LAST -> first.charAt(0) + last;
+            case FIRST_LAST -> first + last;
+            case FIRST_UNDERSCORE_LAST -> first + "_" + last;
+        };
+        return localPart.substring(0, Math.min(localPart.length(), 40));
+    }
+
+    private String domain(SplittableRandom random) {
+        return random.nextDouble() < settings.companyEmailRatio()
+                ? "company" + companies.sample(random) + ".com"
+                : PROVIDERS.get((int) providers.sample(random) - 1);
+    }
+
+    private String phoneNumber(SplittableRandom random) {
+        String countryCode = countryCodes.next(random);
+        StringBuilder number = new StringBuilder("+").append(countryCode);
+        // E.164: up to 15 digits; most national numbers have 9 or 10
+        int digits = (countryCode.length() == 1 ? 10 : 9) + (random.nextDouble() < 0.1 ? 1 : 0);
+        number.append(1 + random.nextInt(9));
+        for (int i = 1; i < digits; i++) {
+            number.append(random.nextInt(10));
+        }
+        return number.toString();
+    }
+
+    private static String withIndex(String phoneNumber, long index) {
+        return phoneNumber.substring(0, phoneNumber.length() - 8) + String.format("%08d", index % 100_000_000L);
+    }
+
+    private static String asciiLetters(String name) {
+        return name.toLowerCase().replaceAll("[^a-z]", "");
+    }
+
+    /**
+     * Distributions of generated users.
+     *
+     * @param statusMix         relative weight of each status
+     * @param phoneRatio        fraction of users with a phone number
+     * @param days              how far back sign-ups go
+     * @param companyEmailRatio fraction of emails on a company domain rather than a consumer provider
+     * @param companyDomains    number of company domains
+     * @param domainSkew        Zipf exponent of email domain popularity
+     */
+    public record Settings(Map<UserStatus, Double> statusMix, double phoneRatio, int days, double companyEmailRatio,
+                           int companyDomains, double domainSkew) {
+
+        public static final Settings DEFAULTS = new Settings(
+                Map.of(UserStatus.ACTIVE, 82.0, UserStatus.INACTIVE, 13.0, UserStatus.DELETED, 5.0),
+                0.7, 730, 0.2, 50_000, 1.1);
+    }
+
+    /**
+     * Names and phone number of a user.
+     */
+    public record Profile(String firstName, String lastName, String phoneNumber) {
+    }
+
+    private enum EmailStyle {
+        FIRST_DOT_LAST, INITIAL_LAST, FIRST_LAST, FIRST_UNDERSCORE_LAST
+    }
+}
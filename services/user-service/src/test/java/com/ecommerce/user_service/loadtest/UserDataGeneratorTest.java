@@ -0,0 +1,142 @@
+package com.ecommerce.user_service.loadtest;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the capacity-test data: UserDataGenerator, its samplers and the COPY rows.
+ */
+
+@DisplayName("User Data Generator Tests")
+class UserDataGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+    private static final int USERS = 20_000;
+
+    private final UserDataGenerator generator = new UserDataGenerator(42, UserDataGenerator.Settings.DEFAULTS, NOW);
+
+    @Test
+    @DisplayName("Should generate the same id and email for an index, whatever the reference time")
+    void shouldBeDeterministicByIndex() {
+        // Given
+        UserDataGenerator later = new UserDataGenerator(42, UserDataGenerator.Settings.DEFAULTS, NOW.plusDays(3));
+
+        // When
+        User first = generator.user(12_345);
+        User again = later.user(12_345);
+
+        // Then
+        assertEquals(first.getId(), again.getId());
+        assertEquals(first.getEmail(), again.getEmail());
+        assertEquals(4, first.getId().version());
+        assertNotEquals(first.getId(), new UserDataGenerator(43, UserDataGenerator.Settings.DEFAULTS, NOW)
+                .user(12_345).getId());
+    }
+
+    @Test
+    @DisplayName("Should generate valid, unique users with skewed distributions")
+    void shouldGenerateSkewedUsers() {
+        // Given
+        Set<UUID> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Map<UserStatus, Integer> statuses = new EnumMap<>(UserStatus.class);
+        Map<String, Integer> domains = new HashMap<>();
+        Set<String> phoneNumbers = new HashSet<>();
+        int longNames = 0;
+
+        // When
+        for (int i = 0; i < USERS; i++) {
+            User user = generator.user(i);
+            ids.add(user.getId());
+            emails.add(user.getEmail().getAddress());
+            statuses.merge(user.getStatus(), 1, Integer::sum);
+            domains.merge(user.getEmail().getAddress().substring(user.getEmail().getAddress().indexOf('@') + 1),
+                    1, Integer::sum);
+
+            assertFalse(user.getCreatedAt().isAfter(NOW));
+            assertFalse(user.getUpdatedAt().isBefore(user.getCreatedAt()));
+            assertTrue(user.getFirstName().length() <= 100 && user.getLastName().length() <= 100);
+            if (user.getPhoneNumber() != null) {
+                String phoneNumber = user.getPhoneNumber().getValue();
+                assertTrue(phoneNumber.matches("\\+[1-9]\\d{7,14}"), phoneNumber);
+                phoneNumbers.add(phoneNumber);
+            }
+            if (user.getLastName().length() > 12) {
+                longNames++;
+            }
+        }
+
+        // Then
+        assertEquals(USERS, ids.size());
+        assertEquals(USERS, emails.size());
+        assertEquals(0.82, statuses.get(UserStatus.ACTIVE) / (double) USERS, 0.02);
+        assertEquals(0.05, statuses.get(UserStatus.DELETED) / (double) USERS, 0.01);
+        assertEquals(0.7, phoneNumbers.size() / (double) USERS, 0.02, "Phone numbers are unique");
+        assertTrue(longNames > 0, "Compound last names are expected");
+        // One provider gets more users than the whole long tail of company domains
+        int companies = domains.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("company"))
+                .mapToInt(Map.Entry::getValue).sum();
+        assertEquals(0.2, companies / (double) USERS, 0.02);
+        assertTrue(domains.get("gmail.com") > companies, domains.get("gmail.com") + " vs " + companies);
+        assertTrue(domains.size() > 500);
+    }
+
+    @Test
+    @DisplayName("Should draw low ranks most often, and every rank when uniform")
+    void shouldSampleZipfRanks() {
+        // Given
+        SplittableRandom random = new SplittableRandom(1);
+        ZipfSampler skewed = new ZipfSampler(1_000_000, 1.0);
+        ZipfSampler uniform = new ZipfSampler(10, 0.0);
+        int top10 = 0;
+        int[] uniformCounts = new int[11];
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            long rank = skewed.sample(random);
+            assertTrue(rank >= 1 && rank <= 1_000_000);
+            if (rank <= 10) {
+                top10++;
+            }
+            uniformCounts[(int) uniform.sample(random)]++;
+        }
+
+        // Then: H(10) / H(1,000,000) is about 20%
+        assertEquals(0.20, top10 / 100_000.0, 0.02);
+        for (int rank = 1; rank <= 10; rank++) {
+            assertEquals(10_000, uniformCounts[rank], 600);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write COPY rows with NULL phone numbers and quoted separators")
+    void shouldWriteCsvRows() {
+        // Given
+        User user = generator.user(7);
+        user.setPhoneNumber(null);
+        user.setLastName("O\"Neil, Jr");
+        StringBuilder rows = new StringBuilder();
+
+        // When
+        UserBulkLoader.appendRow(rows, user);
+
+        // Then
+        assertEquals(user.getId() + "," + user.getEmail().getAddress() + "," + user.getFirstName()
+                + ",\"O\"\"Neil, Jr\",," + user.getStatus() + "," + user.getCreatedAt() + "," + user.getUpdatedAt()
+                + "\n", rows.toString());
+    }
+}
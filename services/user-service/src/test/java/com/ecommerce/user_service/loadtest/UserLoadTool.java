@@ -0,0 +1,106 @@
+package com.ecommerce.user_service.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line of the capacity-test tool: seeds users, then drives a workload against a running instance.
+ * Run it through the load-test profile:
+ * <pre>
+ * ./mvnw -Pload-test test-compile exec:exec -Dload.args="seed --users=2000000"
+ * ./mvnw -Pload-test test-compile exec:exec -Dload.args="run --users=2000000 --rate=2000 --duration=5m"
+ * </pre>
+ * Both commands must use the same --seed and --users, so the driver finds the seeded users.
+ */
+
+public final class UserLoadTool {
+
+    private static final String USAGE = """
+            Usage: UserLoadTool <seed|run> [--option=value ...]
+
+            Common options:
+              --seed=42                    seed of the generated users
+              --users=1000000              number of users (seed: to load; run: already loaded)
+
+            seed: bulk-loads users into PostgreSQL with COPY
+              --jdbc-url=jdbc:postgresql://localhost:5433/user_service_db
+              --jdbc-user=postgres --jdbc-password=postgres
+              --offset=0                   index of the first user, to resume or append
+              --threads=4                  loading connections
+              --batch-size=50000           users per COPY (and per commit)
+
+            run: drives a read/write mix against a running instance
+              --base-url=http://localhost:8081/api
+              --grpc=localhost:9090        internal gRPC endpoint (lookups by email)
+              --mix=%s
+              --key-skew=1.0               Zipf exponent of user popularity, 0 for uniform
+              --threads=32                 concurrent workers
+              --rate=0                     target ops/s, 0 for a closed loop (as fast as responses come)
+              --warmup=30s --duration=2m
+              --histogram-log=<file>       write interval histograms (HdrHistogram log format)
+            """.formatted(WorkloadMix.DEFAULT);
+
+    private UserLoadTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        Map<String, String> options = options(args);
+        UserDataGenerator generator = new UserDataGenerator(Long.parseLong(options.getOrDefault("seed", "42")),
+                UserDataGenerator.Settings.DEFAULTS, LocalDateTime.now());
+        long users = Long.parseLong(options.getOrDefault("users", "1000000"));
+
+        if (args[0].equals("seed")) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5433/user_service_db"),
+                    options.getOrDefault("jdbc-user", "postgres"),
+                    options.getOrDefault("jdbc-password", "postgres"));
+            new UserBulkLoader(generator, dataSource,
+                    Integer.parseInt(options.getOrDefault("threads", "4")),
+                    Integer.parseInt(options.getOrDefault("batch-size", "50000")))
+                    .load(Long.parseLong(options.getOrDefault("offset", "0")), users);
+            return;
+        }
+
+        String[] grpc = options.getOrDefault("grpc", "localhost:9090").split(":");
+        String histogramLog = options.get("histogram-log");
+        new WorkloadDriver(generator, new WorkloadDriver.Settings(
+                options.getOrDefault("base-url", "http://localhost:8081/api"),
+                grpc[0], Integer.parseInt(grpc[1]), users,
+                Double.parseDouble(options.getOrDefault("key-skew", "1.0")),
+                WorkloadMix.parse(options.getOrDefault("mix", WorkloadMix.DEFAULT)),
+                Integer.parseInt(options.getOrDefault("threads", "32")),
+                Double.parseDouble(options.getOrDefault("rate", "0")),
+                duration(options.getOrDefault("warmup", "30s")),
+                duration(options.getOrDefault("duration", "2m")),
+                histogramLog == null ? null : Path.of(histogramLog)))
+                .run();
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --option=value: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+}
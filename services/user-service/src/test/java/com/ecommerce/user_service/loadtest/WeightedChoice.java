@@ -0,0 +1,47 @@
+package com.ecommerce.user_service.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Random choice among a few values with given relative weights.
+ */
+
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulativeWeights;
+
+    WeightedChoice(Map<T, ? extends Number> weights) {
+        this.values = new ArrayList<>();
+        this.cumulativeWeights = new double[weights.size()];
+
+        double total = 0;
+        for (Map.Entry<T, ? extends Number> entry : weights.entrySet()) {
+            double weight = entry.getValue().doubleValue();
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Weight of " + entry.getKey() + " cannot be negative: " + weight);
+            }
+            total += weight;
+            cumulativeWeights[values.size()] = total;
+            values.add(entry.getKey());
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive: " + weights);
+        }
+    }
+
+    T next(SplittableRandom random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        index = index < 0 ? -index - 1 : index + 1;
+        // Skip values of weight 0, whose cumulative weight equals the previous one
+        while (index < cumulativeWeights.length - 1 && cumulativeWeights[index] <= point) {
+            index++;
+        }
+        return values.get(Math.min(index, values.size() - 1));
+    }
+}
@@ -0,0 +1,289 @@
+package com.ecommerce.user_service.loadtest;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.loadtest.WorkloadMix.Operation;
+import com.ecommerce.user_service.presentation.grpc.v1.ExistsByEmailRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.UserLookupGrpc;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a read/write mix against a running user-service and reports throughput and latency percentiles.
+ * - Lookups and profile updates pick users seeded by {@link UserBulkLoader}, with Zipf-skewed popularity;
+ *   soft deletes pick any user; sign-ups create users with indexes no other run uses
+ * - With a target rate, the load is open: each worker has a schedule of start times and latency is measured
+ *   from the scheduled start, so a stalled service shows up as the latency clients would see
+ *   (no coordinated omission). Without a rate, each worker calls as fast as responses come back
+ * - Latencies go to one HdrHistogram recorder per operation: one line per second while running, then
+ *   percentiles per operation; with a histogram log, intervals are also written for HdrHistogram tools
+ * Responses are counted by status, 2xx or not: 404s for deleted users and 409s are part of the picture.
+ */
+
+public class WorkloadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final UserDataGenerator generator;
+    private final Settings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+    private final ZipfSampler popularUsers;
+    private final AtomicLong nextSignup;
+
+    private ManagedChannel channel;
+    private UserLookupGrpc.UserLookupBlockingStub lookup;
+
+    public WorkloadDriver(UserDataGenerator generator, Settings settings) {
+        this.generator = generator;
+        this.settings = settings;
+        this.popularUsers = new ZipfSampler(settings.users(), settings.keySkew());
+        // Far above the seeded indexes, and different on every run
+        this.nextSignup = new AtomicLong(Math.max(settings.users(), System.currentTimeMillis() * 1000));
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_LATENCY_MICROS, 3));
+            totals.put(operation, new Histogram(HIGHEST_LATENCY_MICROS, 3));
+        }
+    }
+
+    /**
+     * Runs the warm-up, then the measured duration, and prints the report.
+     */
+    public void run() throws InterruptedException, FileNotFoundException {
+        channel = NettyChannelBuilder.forAddress(settings.grpcHost(), settings.grpcPort()).usePlaintext().build();
+        lookup = UserLookupGrpc.newBlockingStub(channel);
+        HistogramLogWriter log = settings.histogramLog() == null ? null
+                : new HistogramLogWriter(settings.histogramLog().toFile());
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> reportInterval(start, measureFrom, log), 1, 1, TimeUnit.SECONDS);
+
+        System.out.printf("Mix %s, %d threads, %s, warm-up %ss, measured %ss%n", settings.mix(), settings.threads(),
+                settings.rate() > 0 ? "%.0f ops/s".formatted(settings.rate()) : "closed loop",
+                settings.warmup().toSeconds(), settings.duration().toSeconds());
+        if (log != null) {
+            log.outputLogFormatVersion();
+            log.outputLegend();
+        }
+
+        CountDownLatch done = new CountDownLatch(settings.threads());
+        for (int i = 0; i < settings.threads(); i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    work(worker, start, end);
+                } finally {
+                    done.countDown();
+                }
+            }, "workload-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        reportInterval(start, measureFrom, log);
+        channel.shutdownNow();
+        printSummary();
+    }
+
+    private void work(int worker, long start, long end) {
+        SplittableRandom random = new SplittableRandom(System.nanoTime() ^ worker);
+        long interval = settings.rate() > 0 ? (long) (settings.threads() * 1e9 / settings.rate()) : 0;
+        // Spread the workers' schedules over one interval
+        long scheduled = start + interval * worker / settings.threads();
+
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                if (scheduled - now > 0) {
+                    LockSupport.parkNanos(scheduled - now);
+                }
+            } else {
+                scheduled = now;
+            }
+            if (scheduled - end >= 0) {
+                return;
+            }
+
+            Operation operation = settings.mix().next(random);
+            String status = call(operation, random);
+            long latencyMicros = (System.nanoTime() - scheduled) / 1000;
+            recorders.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_LATENCY_MICROS));
+            responses.computeIfAbsent(operation.getKey() + " " + status, key -> new LongAdder()).increment();
+            scheduled += interval;
+        }
+    }
+
+    /**
+     * Runs one operation and returns its outcome: the HTTP or gRPC status, or the exception.
+     */
+    private String call(Operation operation, SplittableRandom random) {
+        try {
+            return switch (operation) {
+                case LOOKUP_BY_ID -> send(HttpRequest.newBuilder(users(popularUser(random).getId().toString())).GET());
+                case LOOKUP_BY_EMAIL -> existsByEmail(popularUser(random).getEmail().getAddress());
+                case SIGNUP -> {
+                    User user = generator.user(nextSignup.getAndIncrement());
+                    Map<String, String> body = new LinkedHashMap<>();
+                    body.put("email", user.getEmail().getAddress());
+                    body.put("firstName", user.getFirstName());
+                    body.put("lastName", user.getLastName());
+                    body.put("phoneNumber", user.getPhoneNumber() != null ? user.getPhoneNumber().getValue() : null);
+                    yield send(HttpRequest.newBuilder(users("")).POST(json(body)));
+                }
+                case UPDATE_PROFILE -> {
+                    // New names; the phone number stays, as a random one could belong to another user
+                    User user = popularUser(random);
+                    UserDataGenerator.Profile profile = generator.profile(random);
+                    Map<String, String> body = new LinkedHashMap<>();
+                    body.put("firstName", profile.firstName());
+                    body.put("lastName", profile.lastName());
+                    body.put("phoneNumber", user.getPhoneNumber() != null ? user.getPhoneNumber().getValue() : null);
+                    yield send(HttpRequest.newBuilder(users(user.getId().toString())).PUT(json(body)));
+                }
+                case SOFT_DELETE -> send(HttpRequest.newBuilder(
+                        users(generator.user(random.nextLong(settings.users())).getId().toString())).DELETE());
+            };
+        } catch (IOException e) {
+            return e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private User popularUser(SplittableRandom random) {
+        return generator.user(popularUsers.sample(random) - 1);
+    }
+
+    private URI users(String path) {
+        return URI.create(settings.baseUrl() + "/v1/users" + (path.isEmpty() ? "" : "/" + path));
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, String> body) throws JsonProcessingException {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = http.send(request
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return String.valueOf(response.statusCode());
+    }
+
+    private String existsByEmail(String email) {
+        try {
+            lookup.withDeadlineAfter(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .existsByEmail(ExistsByEmailRequest.newBuilder().setEmail(email).build());
+            return Status.Code.OK.name();
+        } catch (StatusRuntimeException e) {
+            return e.getStatus().getCode().name();
+        }
+    }
+
+    private synchronized void reportInterval(long start, long measureFrom, HistogramLogWriter log) {
+        long now = System.nanoTime();
+        boolean measuring = now - measureFrom >= 0;
+        Histogram all = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram();
+            all.add(interval);
+            if (measuring) {
+                totals.get(operation).add(interval);
+                if (log != null && interval.getTotalCount() > 0) {
+                    interval.setTag(operation.getKey());
+                    log.outputIntervalHistogram(interval);
+                }
+            }
+        }
+
+        System.out.printf("%5ds %s %,8d ops/s  p50 %7.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                TimeUnit.NANOSECONDS.toSeconds(now - start), measuring ? "   " : "(w)", all.getTotalCount(),
+                millis(all.getValueAtPercentile(50)), millis(all.getValueAtPercentile(99)), millis(all.getMaxValue()));
+    }
+
+    private void printSummary() {
+        double seconds = settings.duration().toNanos() / 1e9;
+        System.out.printf("%n%-16s %10s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram total = totals.get(operation);
+            if (total.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-16s %,10d %,10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.getKey(), total.getTotalCount(), total.getTotalCount() / seconds,
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+        }
+
+        // Responses include the warm-up
+        System.out.println();
+        Map<String, Long> counts = new TreeMap<>();
+        responses.forEach((key, count) -> counts.put(key, count.sum()));
+        counts.forEach((key, count) -> System.out.printf("%-32s %,10d%n", key, count));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Workload settings.
+     *
+     * @param baseUrl      base URL of the REST API, e.g. http://localhost:8081/api
+     * @param grpcHost     host of the internal gRPC endpoint
+     * @param grpcPort     port of the internal gRPC endpoint
+     * @param users        number of seeded users (indexes 0 to users - 1)
+     * @param keySkew      Zipf exponent of user popularity (0: uniform)
+     * @param mix          the operation mix
+     * @param threads      concurrent workers
+     * @param rate         target operations per second, all workers together; 0 for a closed loop
+     * @param warmup       time before measuring
+     * @param duration     measured time
+     * @param histogramLog where to write interval histograms, or null
+     */
+    public record Settings(String baseUrl, String grpcHost, int grpcPort, long users, double keySkew,
+                           WorkloadMix mix, int threads, double rate, Duration warmup, Duration duration,
+                           Path histogramLog) {
+    }
+}
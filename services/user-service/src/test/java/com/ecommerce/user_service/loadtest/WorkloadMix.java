@@ -0,0 +1,87 @@
+package com.ecommerce.user_service.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative frequency of each operation of a workload, written as in
+ * {@code lookup-by-id=70,lookup-by-email=15,signup=8,update-profile=5,soft-delete=2}.
+ */
+
+public final class WorkloadMix {
+
+    public static final String DEFAULT = "lookup-by-id=70,lookup-by-email=15,signup=8,update-profile=5,soft-delete=2";
+
+    private final Map<Operation, Double> weights;
+    private final WeightedChoice<Operation> choice;
+
+    private WorkloadMix(Map<Operation, Double> weights) {
+        this.weights = weights;
+        this.choice = new WeightedChoice<>(weights);
+    }
+
+    /**
+     * Parses a mix; operations left out are not run.
+     *
+     * @throws IllegalArgumentException if an operation is unknown or no weight is positive
+     */
+    public static WorkloadMix parse(String mix) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight: " + entry);
+            }
+            weights.put(Operation.of(keyAndWeight[0].trim()), Double.parseDouble(keyAndWeight[1].trim()));
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Operation next(SplittableRandom random) {
+        return choice.next(random);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((operation, weight) -> mix.append(mix.isEmpty() ? "" : ",")
+                .append(operation.getKey()).append('=').append(weight));
+        return mix.toString();
+    }
+
+    /**
+     * Operations of the workload and the endpoints they call.
+     */
+    public enum Operation {
+        /** GET /v1/users/{id} on a popular user */
+        LOOKUP_BY_ID("lookup-by-id"),
+        /** gRPC UserLookup/ExistsByEmail on a popular user, as other services do */
+        LOOKUP_BY_EMAIL("lookup-by-email"),
+        /** POST /v1/users with a new user */
+        SIGNUP("signup"),
+        /** PUT /v1/users/{id} with new names, on a popular user */
+        UPDATE_PROFILE("update-profile"),
+        /** DELETE /v1/users/{id} on any user */
+        SOFT_DELETE("soft-delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + key);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.user_service.loadtest;
+
+import com.ecommerce.user_service.loadtest.WorkloadMix.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkloadMix.
+ */
+
+@DisplayName("Workload Mix Tests")
+class WorkloadMixTest {
+
+    @Test
+    @DisplayName("Should pick operations in proportion to their weights, never those left out")
+    void shouldPickByWeight() {
+        // Given
+        WorkloadMix mix = WorkloadMix.parse("lookup-by-id=75, signup=25, soft-delete=0");
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // When
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(0.75, counts.get(Operation.LOOKUP_BY_ID) / 40_000.0, 0.01);
+        assertEquals(0.25, counts.get(Operation.SIGNUP) / 40_000.0, 0.01);
+        assertFalse(counts.containsKey(Operation.SOFT_DELETE));
+        assertFalse(counts.containsKey(Operation.UPDATE_PROFILE));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown operations and mixes without weight")
+    void shouldRejectInvalidMix() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("lookup-by-name=10"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("signup"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("signup=0"));
+        assertNotNull(WorkloadMix.parse(WorkloadMix.DEFAULT));
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.user_service.presentation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * End-to-end tests of passwords over HTTP, with the in-memory backend and a low bcrypt cost:
+ * register with a password, log in, set a new password with the token, log in again.
+ */
+
+@SpringBootTest(properties = "user-service.credentials.hashing.bcrypt-strength=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+@DisplayName("Password Login Flow Tests")
+class PasswordLoginFlowTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should log in with the password given at registration, then with the one set afterwards")
+    void shouldLogInWithRegisteredThenNewPassword() throws Exception {
+        // Given: a user registered with a password
+        String id = register("flow@example.com", "first password");
+        String token = login("flow@example.com", "first password");
+
+        // When
+        int status = setPassword(id, token, "second password");
+
+        // Then
+        assertEquals(204, status);
+        assertEquals(401, loginStatus("flow@example.com", "first password"));
+        assertNotNull(login("flow@example.com", "second password"));
+    }
+
+    @Test
+    @DisplayName("Should only let a user set their own password")
+    void shouldOnlyLetUserSetOwnPassword() throws Exception {
+        // Given
+        String id = register("owner@example.com", "owner password");
+        register("other@example.com", "other password");
+        String otherToken = login("other@example.com", "other password");
+
+        // When & Then
+        assertEquals(401, setPassword(id, null, "stolen password"));
+        assertEquals(403, setPassword(id, otherToken, "stolen password"));
+        assertNotNull(login("owner@example.com", "owner password"));
+    }
+
+    private String register(String email, String password) throws Exception {
+        MvcResult result = mvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("email", email, "firstName", "John", "lastName", "Doe",
+                                "password", password))))
+                .andReturn();
+        assertEquals(201, result.getResponse().getStatus());
+        return read(result).get("id").asText();
+    }
+
+    private String login(String email, String password) throws Exception {
+        MvcResult result = loginResult(email, password);
+        assertEquals(200, result.getResponse().getStatus());
+        return read(result).get("accessToken").asText();
+    }
+
+    private int loginStatus(String email, String password) throws Exception {
+        return loginResult(email, password).getResponse().getStatus();
+    }
+
+    private MvcResult loginResult(String email, String password) throws Exception {
+        MvcResult started = mvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("email", email, "password", password))))
+                .andReturn();
+        return mvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private int setPassword(String id, String token, String password) throws Exception {
+        var request = put("/v1/users/{id}/password", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("password", password)));
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return mvc.perform(request).andReturn().getResponse().getStatus();
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.user_service.presentation.grpc;
+
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserSnapshot;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.infrastructure.grpc.DeadlineInterceptor;
+import com.ecommerce.user_service.infrastructure.persistence.inmemory.InMemoryUserRepository;
+import com.ecommerce.user_service.presentation.grpc.v1.ExistsByEmailRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUserByIdRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUsersByIdsRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.UserLookupGrpc;
+import com.ecommerce.user_service.presentation.grpc.v1.UserMessage;
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserLookupGrpcService over an in-process channel, with the in-memory repository.
+ */
+
+@DisplayName("User Lookup gRPC Service Tests")
+class UserLookupGrpcServiceTest {
+
+    private static final int STREAM_CHUNK_SIZE = 2;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should find a user by id, and answer NOT_FOUND for an unknown id")
+    void shouldFindUserById() throws IOException {
+        // Given
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        User user = repository.save(newUser("test@example.com"));
+        UserLookupGrpc.UserLookupBlockingStub stub = start(repository, Duration.ofSeconds(5));
+
+        // When
+        UserMessage found = stub.findById(FindUserByIdRequest.newBuilder().setId(UserMessages.toBytes(user.getId())).build());
+
+        // Then
+        assertEquals(user.getId(), UserMessages.toUuid(found.getId()));
+        assertEquals("test@example.com", found.getEmail());
+        assertEquals(UserMessage.Status.ACTIVE, found.getStatus());
+        assertEquals("", found.getPhoneNumber());
+        StatusRuntimeException notFound = assertThrows(StatusRuntimeException.class, () -> stub.findById(
+                FindUserByIdRequest.newBuilder().setId(UserMessages.toBytes(UUID.randomUUID())).build()));
+        assertEquals(Status.Code.NOT_FOUND, notFound.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should stream the users found across several chunks, skipping unknown ids")
+    void shouldStreamUsersAcrossChunks() throws IOException {
+        // Given
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(repository.save(newUser("user" + i + "@example.com")).getId());
+        }
+        UserLookupGrpc.UserLookupBlockingStub stub = start(repository, Duration.ofSeconds(5));
+        FindUsersByIdsRequest.Builder request = FindUsersByIdsRequest.newBuilder();
+        ids.forEach(id -> request.addIds(UserMessages.toBytes(id)));
+        request.addIds(UserMessages.toBytes(UUID.randomUUID()));
+
+        // When
+        Set<UUID> found = new HashSet<>();
+        stub.findAllByIds(request.build()).forEachRemaining(user -> found.add(UserMessages.toUuid(user.getId())));
+
+        // Then
+        assertEquals(Set.copyOf(ids), found);
+    }
+
+    @Test
+    @DisplayName("Should tell whether an email exists, and reject an invalid email or id")
+    void shouldCheckEmailAndRejectInvalidArguments() throws IOException {
+        // Given
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        repository.save(newUser("test@example.com"));
+        UserLookupGrpc.UserLookupBlockingStub stub = start(repository, Duration.ofSeconds(5));
+
+        // When / Then
+        assertTrue(stub.existsByEmail(ExistsByEmailRequest.newBuilder().setEmail("test@example.com").build()).getExists());
+        assertFalse(stub.existsByEmail(ExistsByEmailRequest.newBuilder().setEmail("other@example.com").build()).getExists());
+        assertEquals(Status.Code.INVALID_ARGUMENT, assertThrows(StatusRuntimeException.class, () -> stub.existsByEmail(
+                ExistsByEmailRequest.newBuilder().setEmail("not an email").build())).getStatus().getCode());
+        assertEquals(Status.Code.INVALID_ARGUMENT, assertThrows(StatusRuntimeException.class, () -> stub.findById(
+                FindUserByIdRequest.newBuilder().setId(ByteString.copyFromUtf8("short")).build())).getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should stop streaming with DEADLINE_EXCEEDED once the default deadline has passed")
+    void shouldStopStreamingAtDeadline() throws IOException {
+        // Given a repository taking 50 ms per chunk, 5 chunks, and a 120 ms default deadline
+        InMemoryUserRepository repository = new InMemoryUserRepository() {
+            @Override
+            public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+                sleep(50);
+                return super.findSnapshotsByIds(ids);
+            }
+        };
+        List<ByteString> ids = new ArrayList<>();
+        for (int i = 0; i < 5 * STREAM_CHUNK_SIZE; i++) {
+            ids.add(UserMessages.toBytes(repository.save(newUser("user" + i + "@example.com")).getId()));
+        }
+        UserLookupGrpc.UserLookupBlockingStub stub = start(repository, Duration.ofMillis(120));
+
+        // When
+        Iterator<UserMessage> users = stub.findAllByIds(FindUsersByIdsRequest.newBuilder().addAllIds(ids).build());
+        List<UserMessage> received = new ArrayList<>();
+        StatusRuntimeException failure = assertThrows(StatusRuntimeException.class,
+                () -> users.forEachRemaining(received::add));
+
+        // Then
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, failure.getStatus().getCode());
+        assertTrue(received.size() < ids.size());
+    }
+
+    @Test
+    @DisplayName("Should answer UNAVAILABLE or DEADLINE_EXCEEDED when the database fails, also while streaming")
+    void shouldMapPersistenceFailures() throws IOException {
+        // Given a repository whose lookups by id time out and whose other lookups cannot reach the database
+        InMemoryUserRepository repository = new InMemoryUserRepository() {
+            @Override
+            public Optional<UserSnapshot> findSnapshotById(UUID id) {
+                throw new QueryTimeoutException("Query timed out");
+            }
+
+            @Override
+            public List<UserSnapshot> findSnapshotsByIds(Collection<UUID> ids) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+
+            @Override
+            public boolean existsByEmail(Email email) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+        };
+        UserLookupGrpc.UserLookupBlockingStub stub = start(repository, Duration.ofSeconds(5));
+        ByteString id = UserMessages.toBytes(UUID.randomUUID());
+
+        // When
+        StatusRuntimeException findById = assertThrows(StatusRuntimeException.class,
+                () -> stub.findById(FindUserByIdRequest.newBuilder().setId(id).build()));
+        StatusRuntimeException findAllByIds = assertThrows(StatusRuntimeException.class,
+                () -> stub.findAllByIds(FindUsersByIdsRequest.newBuilder().addIds(id).build()).forEachRemaining(user -> {
+                }));
+        StatusRuntimeException existsByEmail = assertThrows(StatusRuntimeException.class, () -> stub.existsByEmail(
+                ExistsByEmailRequest.newBuilder().setEmail("test@example.com").build()));
+
+        // Then
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, findById.getStatus().getCode());
+        assertEquals(Status.Code.UNAVAILABLE, findAllByIds.getStatus().getCode());
+        assertEquals(Status.Code.UNAVAILABLE, existsByEmail.getStatus().getCode());
+    }
+
+    private UserLookupGrpc.UserLookupBlockingStub start(InMemoryUserRepository repository, Duration defaultDeadline)
+            throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        UserLookupGrpcService service = new UserLookupGrpcService(repository, 100, STREAM_CHUNK_SIZE);
+        server = InProcessServerBuilder.forName(name)
+                .addService(ServerInterceptors.intercept(service, new DeadlineInterceptor(defaultDeadline, scheduler)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        return UserLookupGrpc.newBlockingStub(channel);
+    }
+
+    private static User newUser(String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User(UUID.randomUUID(), new Email(email), "John", "Doe", null, UserStatus.ACTIVE, now, now);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.user_service.presentation.grpc;
+
+import com.ecommerce.user_service.UserServiceApplication;
+import com.ecommerce.user_service.application.dto.UserDto;
+import com.ecommerce.user_service.domain.model.User;
+import com.ecommerce.user_service.domain.model.UserStatus;
+import com.ecommerce.user_service.domain.repository.UserRepository;
+import com.ecommerce.user_service.domain.valueobject.Email;
+import com.ecommerce.user_service.domain.valueobject.PhoneNumber;
+import com.ecommerce.user_service.infrastructure.grpc.GrpcServer;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUserByIdRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.FindUsersByIdsRequest;
+import com.ecommerce.user_service.presentation.grpc.v1.UserLookupGrpc;
+import com.ecommerce.user_service.presentation.grpc.v1.UserMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of a user lookup by id over REST (JSON, HTTP/1.1, GET /v1/users/{id}) and over gRPC
+ * (protobuf, HTTP/2), against the whole application on the in-memory backend; plus a 100-id FindAllByIds stream.
+ * Client and server share the process: at the end of each iteration the process CPU time per request
+ * (client plus server side) is printed, e.g. "cpu/op: 85.1 us".
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class UserLookupTransportBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int BATCH_SIZE = 100;
+
+    private final LongAdder operations = new LongAdder();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ObjectMapper objectMapper;
+    private String restBaseUrl;
+    private ManagedChannel channel;
+    private UserLookupGrpc.UserLookupBlockingStub stub;
+    private List<UUID> ids;
+    private long cpuAtIterationStart;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .run("--spring.profiles.active=in-memory", "--server.port=0", "--logging.level.root=WARN");
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ids = new ArrayList<>(USERS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            PhoneNumber phoneNumber = new PhoneNumber(String.format("+346%08d", i));
+            ids.add(userRepository.save(new User(UUID.randomUUID(), new Email("user" + i + "@example.com"),
+                    "John", "Doe", phoneNumber, UserStatus.ACTIVE, now, now)).getId());
+        }
+
+        int restPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+        restBaseUrl = "http://localhost:" + restPort
+                + context.getEnvironment().getProperty("server.servlet.context-path", "") + "/v1/users/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        channel = NettyChannelBuilder.forAddress("localhost", context.getBean(GrpcServer.class).getPort())
+                .usePlaintext()
+                .build();
+        stub = UserLookupGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.shutdownNow();
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuClock() {
+        operations.reset();
+        cpuAtIterationStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCpuPerOperation(BenchmarkParams params) {
+        long cpuNanos = os.getProcessCpuTime() - cpuAtIterationStart;
+        System.out.printf("%ncpu/op: %.1f us (%s)%n",
+                cpuNanos / 1_000.0 / Math.max(1, operations.sum()), params.getBenchmark());
+    }
+
+    @Benchmark
+    public UserDto restFindById() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(restBaseUrl + randomId())).GET().build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + request.uri() + " returned " + response.statusCode());
+        }
+        operations.increment();
+        return objectMapper.readValue(response.body(), UserDto.class);
+    }
+
+    @Benchmark
+    public UserMessage grpcFindById() {
+        UserMessage user = stub.withDeadlineAfter(1, TimeUnit.SECONDS)
+                .findById(FindUserByIdRequest.newBuilder().setId(UserMessages.toBytes(randomId())).build());
+        operations.increment();
+        return user;
+    }
+
+    @Benchmark
+    public int grpcFindAllByIds100() {
+        FindUsersByIdsRequest.Builder request = FindUsersByIdsRequest.newBuilder();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            request.addIds(UserMessages.toBytes(randomId()));
+        }
+        Iterator<UserMessage> users = stub.withDeadlineAfter(1, TimeUnit.SECONDS).findAllByIds(request.build());
+        int count = 0;
+        while (users.hasNext()) {
+            users.next();
+            count++;
+        }
+        operations.increment();
+        return count;
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}